@@ -0,0 +1,34 @@
+package com.example.chessserver;
+
+import com.example.chessserver.controller.UciProtocolHandler;
+import com.example.chessserver.service.ChessMoveGeneratorServiceImpl;
+import com.example.chessserver.service.ChessPositionEvaluatorServiceImpl;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.ChessmanMovementValidatorServiceImpl;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+// Engine alone over UCI on stdin and stdout, without Spring, HTTP or the DB. Arguments are run as a command before
+// reading stdin, e.g. "bench 4" runs the bench and quits.
+public class ChessUciApplication {
+
+    public static void main(String[] args) throws IOException {
+        ChessmanMovementValidatorService chessmanMovementValidatorService = new ChessmanMovementValidatorServiceImpl();
+        UciProtocolHandler uciProtocolHandler = new UciProtocolHandler(
+                new ChessMoveGeneratorServiceImpl(chessmanMovementValidatorService), chessmanMovementValidatorService,
+                new ChessPositionEvaluatorServiceImpl(),
+                new PrintStream(System.out, false, StandardCharsets.UTF_8));
+
+        if (args.length > 0) {
+            uciProtocolHandler.handleCommand(String.join(" ", args));
+            uciProtocolHandler.handleCommand("quit");
+            return;
+        }
+
+        uciProtocolHandler.run(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.example.chessserver.component;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Limits requests in flight to a limit adapted to their latency. Latency above the lowest seen is time spent queueing
+// for the DB and the CPU, so the limit shrinks in proportion once latency exceeds the lowest by the tolerance, and
+// grows by its square root while latency stays low and the limit is in use. Requests over the limit wait for a permit
+// up to their max wait and are shed afterward. Waiting requests park on a lock condition rather than in a monitor, so
+// on virtual threads they leave their carrier free.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int SAMPLES_PER_UPDATE = 20;
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    // Lowest latency is forgotten now and then, so that the limit follows a slower workload as well
+    private static final int UPDATES_PER_MIN_LATENCY_RESET = 50;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private long sampleLatencySumNanos;
+    private int samples;
+    private int maxInFlightOfSamples;
+    private int updates;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    // Returns nanoseconds waited for a permit, or -1 if no permit became free within max wait
+    public long acquire(long maxWaitNanos) {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                acquirePermit();
+                return 0;
+            }
+            if (maxWaitNanos <= 0) {
+                return -1;
+            }
+
+            long start = System.nanoTime();
+            waiting++;
+            try {
+                long remainingNanos = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remainingNanos <= 0) {
+                        return -1;
+                    }
+                    remainingNanos = permitReleased.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            } finally {
+                waiting--;
+            }
+
+            acquirePermit();
+            return System.nanoTime() - start;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Latency is the time the request held its permit
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+
+            minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+            sampleLatencySumNanos += latencyNanos;
+            if (++samples >= SAMPLES_PER_UPDATE) {
+                updateLimit();
+            }
+
+            // Limit may have grown by more than one permit
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquirePermit() {
+        inFlight++;
+        maxInFlightOfSamples = Math.max(maxInFlightOfSamples, inFlight);
+    }
+
+    private void updateLimit() {
+        double averageLatencyNanos = (double) sampleLatencySumNanos / samples;
+        double gradient = Math.max(MIN_GRADIENT,
+                Math.min(1.0, LATENCY_TOLERANCE * minLatencyNanos / averageLatencyNanos));
+
+        // An unused limit is not grown, it would admit a burst it was never tested with
+        boolean limitIsUsed = maxInFlightOfSamples >= limit / 2;
+        if (gradient < 1.0 || limitIsUsed) {
+            double newLimit = limit * gradient + (gradient < 1.0 ? 0 : Math.sqrt(limit));
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        }
+
+        if (++updates % UPDATES_PER_MIN_LATENCY_RESET == 0) {
+            minLatencyNanos = (long) averageLatencyNanos;
+        }
+        sampleLatencySumNanos = 0;
+        samples = 0;
+        maxInFlightOfSamples = inFlight;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.example.chessserver.component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Probabilistic set of strings: mightContain is never false for a put string and is true for others at about the
+// false positive rate it is sized for. Strings cannot be removed. Bits are set atomically, so puts and reads may
+// run concurrently without losing a put.
+public class BloomFilter {
+
+    private static final long SECOND_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs expected insertions and a rate between 0 and 1");
+        }
+
+        // Optimal size and number of hashes for the expected insertions
+        long optimalBitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBitCount + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) bits.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        long step = mix(hash ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            long mask = 1L << bit;
+            bits.accumulateAndGet((int) (bit >>> 6), mask, (word, bitMask) -> word | bitMask);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long step = mix(hash ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // FNV-1a over the chars, finished by a mix so that similar game IDs spread over the whole filter
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+}
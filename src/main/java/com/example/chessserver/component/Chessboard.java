@@ -1,9 +1,12 @@
 package com.example.chessserver.component;
 
+import com.example.chessserver.jfr.ChessboardParseEvent;
+import com.example.chessserver.jfr.ChessboardSerialiseEvent;
 import com.example.chessserver.model.ChessCoordinate;
 import com.example.chessserver.model.ChessmanWithProperties;
 import com.example.chessserver.model.enums.Chessman;
 import com.example.chessserver.util.ChessboardMapConversionUtil;
+import com.example.chessserver.util.ThreadAllocationUtil;
 import com.example.openapi.chessserver.model.Color;
 import jakarta.annotation.Nonnull;
 import java.util.ArrayList;
@@ -33,14 +36,29 @@ public class Chessboard {
     private static final String EMPTY_CHESSBOARD = StringUtils.join(EMPTY_CHESSBOARD_BLACK_SIDE, CHESSBOARD_DELIMITER) +
             CHESSBOARD_DELIMITER + StringUtils.join(EMPTY_CHESSBOARD_WHITE_SIDE, CHESSBOARD_DELIMITER);
 
+    // Initial position in the format stored for new games, built once instead of per game
+    public static final String INITIAL_CHESSBOARD_READABLE = new Chessboard().getChessboardReadable();
+
     private final Map<String, HashMap<Integer, ChessmanWithProperties>> chessboardMap;
 
     public Chessboard() {
-        this.chessboardMap = ChessboardMapConversionUtil.createChessboardMap(EMPTY_CHESSBOARD);
+        this(EMPTY_CHESSBOARD);
     }
 
+    // JFR events are allocated and filled in only while a recording enables them
     public Chessboard(String chessboardReadable) {
+        ChessboardParseEvent event = new ChessboardParseEvent();
+        long allocatedBefore = event.isEnabled() ? ThreadAllocationUtil.getAllocatedBytes() : 0;
+        event.begin();
+
         this.chessboardMap = ChessboardMapConversionUtil.createChessboardMap(chessboardReadable);
+
+        if (event.shouldCommit()) {
+            event.chessmen = StringUtils.isEmpty(chessboardReadable) ? 0 :
+                    StringUtils.countMatches(chessboardReadable, CHESSBOARD_DELIMITER) + 1;
+            event.allocated = ThreadAllocationUtil.getAllocatedBytes() - allocatedBefore;
+            event.commit();
+        }
     }
 
     // Checks if there is a chessman with same color at given slot
@@ -189,7 +207,13 @@ public class Chessboard {
         }
 
         xCoordMap.remove(chessmanWithProperties.getCoordinate().getY(), chessmanWithProperties);
-        chessboardMap.put(chessmanWithProperties.getCoordinate().getX(), xCoordMap);
+
+        // Empty x coords are dropped, since getKing and createChessboardReadable treat them as a broken chessboard
+        if (xCoordMap.isEmpty()) {
+            chessboardMap.remove(chessmanWithProperties.getCoordinate().getX());
+        } else {
+            chessboardMap.put(chessmanWithProperties.getCoordinate().getX(), xCoordMap);
+        }
     }
 
     public void putChessmanWithProperties(ChessmanWithProperties chessmanWithProperties) {
@@ -203,7 +227,19 @@ public class Chessboard {
     }
 
     public String getChessboardReadable() {
-        return ChessboardMapConversionUtil.createChessboardReadable(this.chessboardMap);
+        ChessboardSerialiseEvent event = new ChessboardSerialiseEvent();
+        long allocatedBefore = event.isEnabled() ? ThreadAllocationUtil.getAllocatedBytes() : 0;
+        event.begin();
+
+        String chessboardReadable = ChessboardMapConversionUtil.createChessboardReadable(this.chessboardMap);
+
+        if (event.shouldCommit()) {
+            event.length = chessboardReadable.length();
+            event.allocated = ThreadAllocationUtil.getAllocatedBytes() - allocatedBefore;
+            event.commit();
+        }
+
+        return chessboardReadable;
     }
 
     public boolean isFirstRound(Color color) {
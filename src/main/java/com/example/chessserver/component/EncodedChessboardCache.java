@@ -0,0 +1,50 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.EncodedChessboardResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Serialised chessboard of the latest version read per game, a move makes it stale until the next read rebuilds it.
+// Keyed by version, which a game never reuses for another chessboard since a move racing another one is rejected.
+@Component
+public class EncodedChessboardCache {
+
+    private final Map<String, EncodedChessboardResponse> encodedChessboards;
+
+    @Autowired
+    public EncodedChessboardCache(@Value("${chessserver.chessboard.cache.max-entries:10000}") int maxEntries) {
+        // Access ordered, so the least recently read game is evicted first
+        this.encodedChessboards = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EncodedChessboardResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Returns cached chessboard only if it is of given version
+    public synchronized EncodedChessboardResponse get(String gameId, long version) {
+        EncodedChessboardResponse encodedChessboardResponse = encodedChessboards.get(gameId);
+        return encodedChessboardResponse != null && encodedChessboardResponse.getVersion() == version ?
+                encodedChessboardResponse : null;
+    }
+
+    // Keeps the newer chessboard of a game, a read racing a move never replaces it with an older one
+    public synchronized void put(String gameId, EncodedChessboardResponse encodedChessboardResponse) {
+        EncodedChessboardResponse cachedChessboardResponse = encodedChessboards.get(gameId);
+        if (cachedChessboardResponse != null &&
+                cachedChessboardResponse.getVersion() > encodedChessboardResponse.getVersion()) {
+            return;
+        }
+
+        encodedChessboards.put(gameId, encodedChessboardResponse);
+    }
+
+    public synchronized int size() {
+        return encodedChessboards.size();
+    }
+
+}
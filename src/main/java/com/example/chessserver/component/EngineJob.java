@@ -0,0 +1,97 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class EngineJob<T> {
+
+    private static final String ENGINE_JOB_IS_INTERRUPTED = "Engine job of game %s is interrupted";
+    private static final String ENGINE_JOB_IS_CANCELLED = "Engine job of game %s is cancelled";
+    private static final String UNEXPECTED_ERROR = "Unexpected error";
+
+    private final String gameId;
+    private final EngineJobPriority priority;
+    // Read by the running search, which stops at the next node once it is set
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean started = new AtomicBoolean();
+    @Getter(AccessLevel.NONE)
+    private int waiters;
+
+    public EngineJob(String gameId, EngineJobPriority priority) {
+        this.gameId = gameId;
+        this.priority = priority;
+    }
+
+    // A job still queued completes at once, so it neither keeps its waiters nor holds a queue slot until a worker
+    // picks it
+    public void cancel() {
+        cancelled.set(true);
+        if (started.compareAndSet(false, true)) {
+            result.completeExceptionally(new ServiceException(String.format(ENGINE_JOB_IS_CANCELLED, gameId),
+                    HttpStatus.SERVICE_UNAVAILABLE));
+        }
+    }
+
+    // Claims the job for a worker, fails once the job was cancelled while queued
+    public boolean start() {
+        return started.compareAndSet(false, true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    // Waits for the result. Once every waiter has left before the job completes, the job is cancelled,
+    // so no CPU is spent on a result nobody reads.
+    public T await() {
+        join();
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(String.format(ENGINE_JOB_IS_INTERRUPTED, gameId), HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new ServiceException(UNEXPECTED_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            leave();
+        }
+    }
+
+    // Waits for the result without holding a thread, every join is followed by exactly one leave
+    public synchronized CompletableFuture<T> join() {
+        waiters++;
+        return result;
+    }
+
+    // Joins unless the job is cancelled, checked under the same lock as leave, so no waiter joins a job its last
+    // waiter is just cancelling
+    public synchronized boolean tryJoin() {
+        if (isCancelled()) {
+            return false;
+        }
+
+        waiters++;
+        return true;
+    }
+
+    public synchronized void leave() {
+        if (--waiters == 0 && !result.isDone()) {
+            cancel();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.SearchResult;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EvaluationCache {
+
+    private final Map<Long, SearchResult> searchResults;
+
+    @Autowired
+    public EvaluationCache(@Value("${chessserver.evaluation.cache.max-entries:10000}") int maxEntries) {
+        // Access ordered, so the least recently used position is evicted first
+        this.searchResults = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, SearchResult> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Returns cached result only if it is searched at least as deep as requested
+    public synchronized SearchResult get(long positionHash, int depth) {
+        SearchResult searchResult = searchResults.get(positionHash);
+        return searchResult != null && searchResult.getDepth() >= depth ? searchResult : null;
+    }
+
+    // Keeps the deeper result of a position, a shallower search never replaces it
+    public synchronized void put(long positionHash, SearchResult searchResult) {
+        SearchResult cachedSearchResult = searchResults.get(positionHash);
+        if (cachedSearchResult != null && cachedSearchResult.getDepth() > searchResult.getDepth()) {
+            return;
+        }
+
+        searchResults.put(positionHash, searchResult);
+    }
+
+    public synchronized int size() {
+        return searchResults.size();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Move events of a game, written by one publisher at a time and read by any number of readers at their own
+// sequence. The writer never waits for readers, a reader falling more than the capacity behind finds its event
+// overwritten and resyncs with the snapshot instead.
+public class GameEventRingBuffer {
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+
+    private volatile long writeSequence;
+    private volatile GameSnapshot snapshot;
+
+    public GameEventRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity of ring buffer must be a power of two");
+        }
+
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    // Moves of a game may be saved by both players at once, so publishers are serialised
+    public synchronized void publish(ChessMoveEvent chessMoveEvent) {
+        long sequence = writeSequence;
+        entries.set((int) (sequence & mask), new Entry(sequence, chessMoveEvent));
+        snapshot = new GameSnapshot(sequence + 1, chessMoveEvent.getChessboard(), chessMoveEvent.getColorOfPlayer(),
+                chessMoveEvent.getVersion());
+        writeSequence = sequence + 1;
+    }
+
+    // Returns null if the event is overwritten already
+    public ChessMoveEvent get(long sequence) {
+        Entry entry = entries.get((int) (sequence & mask));
+        return entry == null || entry.sequence() != sequence ? null : entry.chessMoveEvent();
+    }
+
+    public long getWriteSequence() {
+        return writeSequence;
+    }
+
+    // Null until the first event is published
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private record Entry(long sequence, ChessMoveEvent chessMoveEvent) {
+    }
+
+}
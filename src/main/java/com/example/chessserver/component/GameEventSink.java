@@ -0,0 +1,17 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import java.io.IOException;
+
+// Receiver of the events of a game, called from one thread at a time
+public interface GameEventSink {
+
+    void sendSnapshot(GameSnapshot gameSnapshot) throws IOException;
+
+    void sendMove(long sequence, ChessMoveEvent chessMoveEvent) throws IOException;
+
+    // Ends the stream of a receiver dropped for being too slow, so that it reconnects rather than miss events
+    void close();
+
+}
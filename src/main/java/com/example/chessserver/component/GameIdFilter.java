@@ -0,0 +1,132 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.repository.ChessGameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Bloom filter over the IDs of all games, so that unknown game IDs are rejected without a query. Built by a streaming
+// scan once the application is ready and rebuilt periodically, since a filter cannot forget deleted games. Until the
+// first build completes every game ID might exist.
+@Slf4j
+@Component
+public class GameIdFilter {
+
+    private final ChessGameRepository chessGameRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedGames;
+    private final double falsePositiveRate;
+    private final long rebuildIntervalMillis;
+    private final ScheduledExecutorService rebuildExecutor;
+    private final Counter rejectedCounter;
+
+    private volatile BloomFilter filter;
+    // Filter being built, games created meanwhile are put into it as well
+    private volatile BloomFilter nextFilter;
+
+    @Autowired
+    public GameIdFilter(ChessGameRepository chessGameRepository, PlatformTransactionManager transactionManager,
+                        @Value("${chessserver.game-id-filter.enabled:true}") boolean enabled,
+                        @Value("${chessserver.game-id-filter.expected-games:1000000}") long expectedGames,
+                        @Value("${chessserver.game-id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                        @Value("${chessserver.game-id-filter.rebuild-interval-millis:3600000}") long rebuildIntervalMillis,
+                        MeterRegistry meterRegistry) {
+        this.chessGameRepository = chessGameRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedGames = expectedGames;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+        this.rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-id-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.rejectedCounter = Counter.builder("chessserver.game-id-filter.rejected")
+                .description("Requests for unknown game IDs rejected without a query")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            rebuildExecutor.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // Returns false only for a game ID which certainly does not exist
+    public boolean mightContain(String gameId) {
+        BloomFilter currentFilter = filter;
+        if (currentFilter == null || currentFilter.mightContain(gameId)) {
+            return true;
+        }
+
+        rejectedCounter.increment();
+        return false;
+    }
+
+    // Called once the game is saved, so that a rebuild either scans it or sees it put. The filter being built is read
+    // first, it is cleared only after the built filter is current.
+    public void put(String gameId) {
+        BloomFilter builtFilter = nextFilter;
+        if (builtFilter != null) {
+            builtFilter.put(gameId);
+        }
+
+        BloomFilter currentFilter = filter;
+        if (currentFilter != null) {
+            currentFilter.put(gameId);
+        }
+    }
+
+    // Sized for twice the games there are, so that it keeps its false positive rate until the next rebuild
+    public void rebuild() {
+        long games = chessGameRepository.count();
+        BloomFilter builtFilter = new BloomFilter(Math.max(expectedGames, games * 2), falsePositiveRate);
+        nextFilter = builtFilter;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> gameIds = chessGameRepository.streamAllGameIds()) {
+                    gameIds.forEach(builtFilter::put);
+                }
+            });
+
+            filter = builtFilter;
+            log.info("Game ID filter rebuilt with {} games, {} bits and {} hashes", games, builtFilter.getBitCount(),
+                    builtFilter.getHashCount());
+        } finally {
+            nextFilter = null;
+        }
+    }
+
+    // A failed rebuild keeps the previous filter and is retried at the next interval
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Game ID filter could not be rebuilt", e);
+        }
+    }
+
+}
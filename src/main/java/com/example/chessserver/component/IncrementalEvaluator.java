@@ -0,0 +1,17 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.openapi.chessserver.model.Color;
+
+// Follows a chessboard through the moves of a search. Chessmen are added and removed as they are
+// placed on and taken off the chessboard, so evaluation does not need to recount the whole chessboard.
+public interface IncrementalEvaluator {
+
+    void addChessman(ChessmanWithProperties chessmanWithProperties);
+
+    void removeChessman(ChessmanWithProperties chessmanWithProperties);
+
+    // Returns score in centipawns from the point of view of given player
+    int evaluate(Color colorOfPlayer);
+
+}
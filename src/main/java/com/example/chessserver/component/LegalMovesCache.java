@@ -0,0 +1,40 @@
+package com.example.chessserver.component;
+
+import com.example.openapi.chessserver.model.LegalMove;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Legal moves by position hash, positions shared by games are generated once
+@Component
+public class LegalMovesCache {
+
+    private final Map<Long, List<LegalMove>> legalMoves;
+
+    @Autowired
+    public LegalMovesCache(@Value("${chessserver.legal-moves.cache.max-entries:10000}") int maxEntries) {
+        // Access ordered, so the least recently used position is evicted first
+        this.legalMoves = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<LegalMove>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized List<LegalMove> get(long positionHash) {
+        return legalMoves.get(positionHash);
+    }
+
+    public synchronized void put(long positionHash, List<LegalMove> moves) {
+        legalMoves.put(positionHash, moves);
+    }
+
+    public synchronized int size() {
+        return legalMoves.size();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.enums.MoveStage;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Times the stages of a move, so that a slow move can be put down to the DB, decoding or the rules. Timers publish
+// a histogram and p50 to p99.9 of a sliding window, counters the outcomes of moves.
+@Component
+public class MoveStageMetrics {
+
+    private final Map<MoveStage, Timer> timersByStage = new EnumMap<>(MoveStage.class);
+    private final Map<ChessmanMovementStatus, Counter> countersByStatus = new EnumMap<>(ChessmanMovementStatus.class);
+
+    @Autowired
+    public MoveStageMetrics(MeterRegistry meterRegistry) {
+        for (MoveStage stage : MoveStage.values()) {
+            timersByStage.put(stage, Timer.builder("chessserver.move.stage")
+                    .description("Time spent in a stage of a move")
+                    .tag("stage", stage.name().toLowerCase(Locale.ENGLISH))
+                    .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (ChessmanMovementStatus status : ChessmanMovementStatus.values()) {
+            countersByStatus.put(status, Counter.builder("chessserver.move.outcomes")
+                    .description("Moves by their outcome")
+                    .tag("status", status.getValue())
+                    .register(meterRegistry));
+        }
+    }
+
+    // Records the stage started at given nanos and returns the nanos it ended at, when the next stage starts
+    public long record(MoveStage stage, long startNanos) {
+        long endNanos = System.nanoTime();
+        timersByStage.get(stage).record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+        return endNanos;
+    }
+
+    public void countOutcome(ChessmanMovementStatus status) {
+        countersByStatus.get(status).increment();
+    }
+
+}
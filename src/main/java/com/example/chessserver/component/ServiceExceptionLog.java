@@ -0,0 +1,75 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Logs ServiceExceptions answered to clients. Client errors are counted by status and logged without a stack, at most
+// max-logs-per-second of them, the rest being counted as suppressed in the next line logged. Server errors are always
+// logged with their stack.
+@Slf4j
+@Component
+public class ServiceExceptionLog {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxLogsPerSecond;
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, Counter> countersByStatus = new ConcurrentHashMap<>();
+
+    private final AtomicLong secondOfLogs = new AtomicLong();
+    private final AtomicInteger logsOfSecond = new AtomicInteger();
+    private final AtomicLong suppressedLogs = new AtomicLong();
+
+    @Autowired
+    public ServiceExceptionLog(@Value("${chessserver.errors.max-logs-per-second:10}") int maxLogsPerSecond,
+                               MeterRegistry meterRegistry) {
+        this.maxLogsPerSecond = maxLogsPerSecond;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void log(ServiceException e) {
+        int status = e.getStatus().value();
+        countersByStatus.computeIfAbsent(status, this::createCounter).increment();
+
+        if (e.getStatus().is5xxServerError()) {
+            log.error("ServiceException thrown", e);
+            return;
+        }
+
+        if (tryAcquireLog()) {
+            log.info("ServiceException thrown: {} {} ({} suppressed)", status, e.getMessage(),
+                    suppressedLogs.getAndSet(0));
+        } else {
+            suppressedLogs.incrementAndGet();
+        }
+    }
+
+    // A log of the second is acquired racily with the start of the next second, off by a few logs at most
+    private boolean tryAcquireLog() {
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        long lastSecond = secondOfLogs.get();
+        if (second != lastSecond && secondOfLogs.compareAndSet(lastSecond, second)) {
+            logsOfSecond.set(0);
+        }
+
+        return logsOfSecond.incrementAndGet() <= maxLogsPerSecond;
+    }
+
+    private Counter createCounter(int status) {
+        return Counter.builder("chessserver.errors")
+                .description("ServiceExceptions answered to clients")
+                .tag("status", Integer.toString(status))
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.chessserver.component.nnue;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.IncrementalEvaluator;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.openapi.chessserver.model.Color;
+import java.util.HashMap;
+
+// First layer of the network for both players. Every chessman added or removed updates one weight row per
+// player, which is far cheaper than recomputing the layer from all chessmen at every evaluation.
+public class NnueAccumulator implements IncrementalEvaluator {
+
+    private static final int CHESSBOARD_SIZE = 8;
+    private static final int SLOT_COUNT = CHESSBOARD_SIZE * CHESSBOARD_SIZE;
+    private static final int CHESSMAN_TYPE_COUNT = 6;
+
+    private final NnueNetwork nnueNetwork;
+    // [player color ordinal][hidden neuron]
+    private final short[][] accumulators;
+
+    public NnueAccumulator(NnueNetwork nnueNetwork, Chessboard chessboard) {
+        this.nnueNetwork = nnueNetwork;
+        this.accumulators = new short[Color.values().length][nnueNetwork.getHiddenSize()];
+        refresh(chessboard);
+    }
+
+    public void refresh(Chessboard chessboard) {
+        for (short[] accumulator : accumulators) {
+            nnueNetwork.refresh(accumulator);
+        }
+
+        for (HashMap<Integer, ChessmanWithProperties> yCoordMap : chessboard.getChessboardMap().values()) {
+            for (ChessmanWithProperties chessmanWithProperties : yCoordMap.values()) {
+                addChessman(chessmanWithProperties);
+            }
+        }
+    }
+
+    @Override
+    public void addChessman(ChessmanWithProperties chessmanWithProperties) {
+        for (Color perspective : Color.values()) {
+            nnueNetwork.addFeature(accumulators[perspective.ordinal()], getFeature(perspective, chessmanWithProperties));
+        }
+    }
+
+    @Override
+    public void removeChessman(ChessmanWithProperties chessmanWithProperties) {
+        for (Color perspective : Color.values()) {
+            nnueNetwork.subtractFeature(accumulators[perspective.ordinal()], getFeature(perspective, chessmanWithProperties));
+        }
+    }
+
+    @Override
+    public int evaluate(Color colorOfPlayer) {
+        Color colorOfOpponent = colorOfPlayer == Color.BLACK ? Color.WHITE : Color.BLACK;
+        return nnueNetwork.evaluate(accumulators[colorOfPlayer.ordinal()], accumulators[colorOfOpponent.ordinal()]);
+    }
+
+    // Features are relative to the perspective: own chessmen come first and black sees the chessboard mirrored,
+    // so the same weights serve both players
+    static int getFeature(Color perspective, ChessmanWithProperties chessmanWithProperties) {
+        ChessCoordinate coordinate = chessmanWithProperties.getCoordinate();
+        int y = perspective == Color.WHITE ? coordinate.getY() : CHESSBOARD_SIZE + 1 - coordinate.getY();
+        int slot = (y - 1) * CHESSBOARD_SIZE + (coordinate.getXInt() - 1);
+        int side = chessmanWithProperties.getColor() == perspective ? 0 : 1;
+
+        return (side * CHESSMAN_TYPE_COUNT + chessmanWithProperties.getChessman().ordinal()) * SLOT_COUNT + slot;
+    }
+
+}
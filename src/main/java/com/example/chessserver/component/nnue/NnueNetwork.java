@@ -0,0 +1,184 @@
+package com.example.chessserver.component.nnue;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import lombok.Getter;
+
+// Quantised 768 -> 2 x hiddenSize -> 1 network over piece-slot features.
+//
+// Weights file is big endian and laid out as:
+//   int magic ("NNUE"), int version, int hiddenSize,
+//   short featureWeights[768 * hiddenSize] (feature major), short featureBiases[hiddenSize],
+//   short outputWeights[2 * hiddenSize] (player half first), int outputBias
+@Getter
+public class NnueNetwork {
+
+    public static final int FEATURE_COUNT = 768;
+    public static final int MAGIC = 0x4E4E5545;
+    public static final int VERSION = 1;
+
+    // Accumulator values are clipped to [0, ACTIVATION_MAX] before the output layer
+    public static final int ACTIVATION_MAX = 255;
+    public static final int OUTPUT_WEIGHT_SCALE = 64;
+    public static final int EVALUATION_SCALE = 400;
+
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int INT_PARTS_PER_SHORT_VECTOR = SHORT_SPECIES.length() / INT_SPECIES.length();
+
+    private final int hiddenSize;
+    private final short[] featureWeights;
+    private final short[] featureBiases;
+    // Widened once at load, so the output layer multiplies int lanes without converting weights
+    private final int[] outputWeights;
+    private final int outputBias;
+    private final boolean vectorized;
+
+    public NnueNetwork(int hiddenSize, short[] featureWeights, short[] featureBiases, short[] outputWeights,
+                       int outputBias, boolean vectorized) {
+        if (featureWeights.length != FEATURE_COUNT * hiddenSize || featureBiases.length != hiddenSize ||
+                outputWeights.length != 2 * hiddenSize) {
+            throw new IllegalArgumentException("Weights do not match hidden size " + hiddenSize);
+        }
+
+        this.hiddenSize = hiddenSize;
+        this.featureWeights = featureWeights;
+        this.featureBiases = featureBiases;
+        this.outputWeights = new int[outputWeights.length];
+        for (int i = 0; i < outputWeights.length; i++) {
+            this.outputWeights[i] = outputWeights[i];
+        }
+        this.outputBias = outputBias;
+        this.vectorized = vectorized;
+    }
+
+    public static NnueNetwork load(Path weightsFile, boolean vectorized) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(weightsFile);
+             DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream))) {
+            if (dataInputStream.readInt() != MAGIC) {
+                throw new IOException("Weights file " + weightsFile + " is not a NNUE weights file");
+            }
+
+            int version = dataInputStream.readInt();
+            if (version != VERSION) {
+                throw new IOException("Weights file version " + version + " is not supported");
+            }
+
+            int hiddenSize = dataInputStream.readInt();
+            short[] featureWeights = readShorts(dataInputStream, FEATURE_COUNT * hiddenSize);
+            short[] featureBiases = readShorts(dataInputStream, hiddenSize);
+            short[] outputWeights = readShorts(dataInputStream, 2 * hiddenSize);
+            int outputBias = dataInputStream.readInt();
+
+            return new NnueNetwork(hiddenSize, featureWeights, featureBiases, outputWeights, outputBias, vectorized);
+        }
+    }
+
+    public void refresh(short[] accumulator) {
+        System.arraycopy(featureBiases, 0, accumulator, 0, hiddenSize);
+    }
+
+    public void addFeature(short[] accumulator, int feature) {
+        if (vectorized) {
+            updateVectorized(accumulator, feature, 1);
+        } else {
+            updateScalar(accumulator, feature, 1);
+        }
+    }
+
+    public void subtractFeature(short[] accumulator, int feature) {
+        if (vectorized) {
+            updateVectorized(accumulator, feature, -1);
+        } else {
+            updateScalar(accumulator, feature, -1);
+        }
+    }
+
+    // Returns score in centipawns from the point of view of the player owning the first accumulator
+    public int evaluate(short[] accumulatorOfPlayer, short[] accumulatorOfOpponent) {
+        long sum = vectorized ?
+                dotVectorized(accumulatorOfPlayer, 0) + dotVectorized(accumulatorOfOpponent, hiddenSize) :
+                dotScalar(accumulatorOfPlayer, 0) + dotScalar(accumulatorOfOpponent, hiddenSize);
+
+        return (int) ((sum + outputBias) * EVALUATION_SCALE / (ACTIVATION_MAX * OUTPUT_WEIGHT_SCALE));
+    }
+
+    private void updateScalar(short[] accumulator, int feature, int sign) {
+        int offset = feature * hiddenSize;
+        for (int i = 0; i < hiddenSize; i++) {
+            accumulator[i] += (short) (sign * featureWeights[offset + i]);
+        }
+    }
+
+    private void updateVectorized(short[] accumulator, int feature, int sign) {
+        int offset = feature * hiddenSize;
+        int bound = SHORT_SPECIES.loopBound(hiddenSize);
+
+        int i = 0;
+        for (; i < bound; i += SHORT_SPECIES.length()) {
+            ShortVector weights = ShortVector.fromArray(SHORT_SPECIES, featureWeights, offset + i);
+            ShortVector values = ShortVector.fromArray(SHORT_SPECIES, accumulator, i);
+            (sign > 0 ? values.add(weights) : values.sub(weights)).intoArray(accumulator, i);
+        }
+
+        for (; i < hiddenSize; i++) {
+            accumulator[i] += (short) (sign * featureWeights[offset + i]);
+        }
+    }
+
+    private long dotScalar(short[] accumulator, int weightOffset) {
+        long sum = 0;
+        for (int i = 0; i < hiddenSize; i++) {
+            int activation = Math.min(Math.max(accumulator[i], 0), ACTIVATION_MAX);
+            sum += (long) activation * outputWeights[weightOffset + i];
+        }
+
+        return sum;
+    }
+
+    private long dotVectorized(short[] accumulator, int weightOffset) {
+        IntVector sum = IntVector.zero(INT_SPECIES);
+        int bound = SHORT_SPECIES.loopBound(hiddenSize);
+
+        int i = 0;
+        for (; i < bound; i += SHORT_SPECIES.length()) {
+            ShortVector activation = ShortVector.fromArray(SHORT_SPECIES, accumulator, i)
+                    .max((short) 0)
+                    .min((short) ACTIVATION_MAX);
+
+            // Each short vector widens into several int vectors of the same bit size
+            for (int part = 0; part < INT_PARTS_PER_SHORT_VECTOR; part++) {
+                IntVector widenedActivation = (IntVector) activation.convertShape(VectorOperators.S2I, INT_SPECIES, part);
+                IntVector weights = IntVector.fromArray(INT_SPECIES, outputWeights,
+                        weightOffset + i + part * INT_SPECIES.length());
+                sum = sum.add(widenedActivation.mul(weights));
+            }
+        }
+
+        long result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < hiddenSize; i++) {
+            int activation = Math.min(Math.max(accumulator[i], 0), ACTIVATION_MAX);
+            result += (long) activation * outputWeights[weightOffset + i];
+        }
+
+        return result;
+    }
+
+    private static short[] readShorts(DataInputStream dataInputStream, int length) throws IOException {
+        short[] values = new short[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = dataInputStream.readShort();
+        }
+
+        return values;
+    }
+
+}
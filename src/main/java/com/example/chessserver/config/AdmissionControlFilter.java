@@ -0,0 +1,94 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.model.enums.EndpointClass;
+import com.example.chessserver.service.AdmissionControlService;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Admission control in front of the chess endpoints. Requests over the limit of their endpoint class are shed with
+// 503 and Retry-After rather than queueing without bound. Streams and long-polls hold their permit only until they
+// go async, waiting for a move costs no thread.
+@Component
+@ConditionalOnProperty(name = "chessserver.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String OVERLOADED = "Server is overloaded, retry later";
+    private static final String API_PREFIX = "/chess/v1/";
+
+    private final AdmissionControlService admissionControlService;
+    private final ObjectMapper objectMapper;
+    private final long retryAfterSeconds;
+
+    @Autowired
+    public AdmissionControlFilter(AdmissionControlService admissionControlService, ObjectMapper objectMapper,
+                                  @Value("${chessserver.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.admissionControlService = admissionControlService;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request.getMethod(), request.getRequestURI());
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!admissionControlService.tryAdmit(endpointClass)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorMessage().message(OVERLOADED));
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionControlService.release(endpointClass, System.nanoTime() - start);
+        }
+    }
+
+    // Returns null for requests which are not limited, e.g. actuator and WebSocket
+    static EndpointClass classify(String method, String path) {
+        if (!path.startsWith(API_PREFIX)) {
+            return null;
+        }
+
+        String endpoint = path.substring(API_PREFIX.length());
+        if (HttpMethod.PUT.matches(method) && (endpoint.equals("move-chessman") || endpoint.equals("promote-pawn")) ||
+                HttpMethod.POST.matches(method) && endpoint.equals("moves:batch")) {
+            return EndpointClass.MOVE;
+        }
+        if (HttpMethod.POST.matches(method) && (endpoint.equals("create") || endpoint.equals("create:batch"))) {
+            return EndpointClass.CREATE;
+        }
+        if (HttpMethod.GET.matches(method) && (endpoint.startsWith("evaluation/") || endpoint.startsWith("analysis/")) ||
+                HttpMethod.POST.matches(method) && endpoint.equals("solve")) {
+            return EndpointClass.ENGINE;
+        }
+        if (HttpMethod.GET.matches(method) && (endpoint.startsWith("chessboard/") || endpoint.startsWith("games/"))) {
+            return EndpointClass.READ;
+        }
+
+        return null;
+    }
+
+}
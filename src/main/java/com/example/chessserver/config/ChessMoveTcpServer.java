@@ -0,0 +1,267 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.controller.ChessMoveFrameHandler;
+import com.example.chessserver.util.ChessMoveFrameUtil;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+// TCP listener of the binary move protocol for machine clients. One selector thread reads and writes all connections,
+// requests read at once are handled as a batch by a worker, which calls the blocking ChessGameService. A connection is
+// not read while its batch is handled, so it is handled by one worker at a time and in order.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chessserver.tcp.enabled", havingValue = "true")
+public class ChessMoveTcpServer implements SmartLifecycle {
+
+    private static final String SELECTOR_THREAD_NAME = "move-tcp-selector";
+    private static final String WORKER_THREAD_PREFIX = "move-tcp-";
+
+    private final ChessMoveFrameHandler chessMoveFrameHandler;
+    private final int port;
+    private final int threads;
+    private final int maxPipelinedRequests;
+
+    // Connections whose batch is handled, to be written by the selector thread
+    private final Queue<Connection> handledConnections = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private ExecutorService workerExecutor;
+    private Thread selectorThread;
+
+    @Autowired
+    public ChessMoveTcpServer(ChessMoveFrameHandler chessMoveFrameHandler,
+                              @Value("${chessserver.tcp.port:9090}") int port,
+                              @Value("${chessserver.tcp.threads:0}") int threads,
+                              @Value("${chessserver.tcp.max-pipelined-requests:256}") int maxPipelinedRequests) {
+        this.chessMoveFrameHandler = chessMoveFrameHandler;
+        this.port = port;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxPipelinedRequests = maxPipelinedRequests;
+    }
+
+    @Override
+    public synchronized void start() {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        workerExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, WORKER_THREAD_PREFIX + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        selectorThread = new Thread(this::select, SELECTOR_THREAD_NAME);
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        log.info("Binary move protocol started on port {} with {} workers", getPort(), threads);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workerExecutor.shutdownNow();
+
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.debug("Selector could not be closed", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Bound port, differs from the configured one when that is 0
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void select() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                log.error("Selector failed", e);
+                return;
+            }
+
+            Connection handledConnection;
+            while ((handledConnection = handledConnections.poll()) != null) {
+                write(handledConnection);
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+
+                if (key.isAcceptable()) {
+                    accept();
+                } else if (key.isReadable()) {
+                    read((Connection) key.attachment());
+                } else if (key.isWritable()) {
+                    write((Connection) key.attachment());
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+
+            channel.configureBlocking(false);
+            // Replies are a few bytes each, they are sent at once rather than coalesced
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(maxPipelinedRequests);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        } catch (IOException e) {
+            log.debug("Connection could not be accepted", e);
+        }
+    }
+
+    private void read(Connection connection) {
+        try {
+            if (((SocketChannel) connection.key.channel()).read(connection.requests) < 0) {
+                closeQuietly(connection.key);
+                return;
+            }
+        } catch (IOException e) {
+            closeQuietly(connection.key);
+            return;
+        }
+
+        if (ChessMoveFrameUtil.hasCompleteRequest(connection.requests)) {
+            handle(connection);
+        }
+    }
+
+    // Buffers of the connection belong to the worker until it queues the connection back
+    private void handle(Connection connection) {
+        connection.key.interestOps(0);
+        try {
+            workerExecutor.execute(() -> {
+                connection.requests.flip();
+                try {
+                    connection.open = chessMoveFrameHandler.handleRequests(connection.requests, connection.replies,
+                            connection.gameIdsByHandle);
+                } catch (RuntimeException e) {
+                    log.error("Requests could not be handled", e);
+                    connection.open = false;
+                }
+                connection.requests.compact();
+                connection.replies.flip();
+
+                handledConnections.add(connection);
+                selector.wakeup();
+            });
+        } catch (RejectedExecutionException e) {
+            closeQuietly(connection.key);
+        }
+    }
+
+    private void write(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+
+        try {
+            ((SocketChannel) connection.key.channel()).write(connection.replies);
+        } catch (IOException e) {
+            closeQuietly(connection.key);
+            return;
+        }
+
+        // A client slow to read is not read from until its replies are written
+        if (connection.replies.hasRemaining()) {
+            connection.key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+
+        connection.replies.clear();
+        if (!connection.open) {
+            closeQuietly(connection.key);
+        } else if (ChessMoveFrameUtil.hasCompleteRequest(connection.requests)) {
+            handle(connection);
+        } else {
+            connection.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("Channel could not be closed", e);
+        }
+    }
+
+    private static class Connection {
+
+        private final ByteBuffer requests;
+        // Room for a reply per request of a full request buffer
+        private final ByteBuffer replies;
+        private final Map<Integer, String> gameIdsByHandle = new HashMap<>();
+        private SelectionKey key;
+        private boolean open = true;
+
+        private Connection(int maxPipelinedRequests) {
+            this.requests = ByteBuffer.allocate(maxPipelinedRequests * ChessMoveFrameUtil.MAX_REQUEST_LENGTH);
+            this.replies = ByteBuffer.allocate(requests.capacity() / ChessMoveFrameUtil.MIN_REQUEST_LENGTH
+                    * ChessMoveFrameUtil.REPLY_LENGTH);
+        }
+
+    }
+
+}
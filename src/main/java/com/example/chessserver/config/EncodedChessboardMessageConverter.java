@@ -0,0 +1,48 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.model.EncodedChessboardResponse;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+// Writes chessboards of getChessboard from the bytes serialised once per version instead of serialising them per read.
+// Converter beans come before the default ones, so Jackson is left the chessboards without bytes.
+@Component
+public class EncodedChessboardMessageConverter extends AbstractHttpMessageConverter<EncodedChessboardResponse> {
+
+    public EncodedChessboardMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncodedChessboardResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedChessboardResponse readInternal(Class<? extends EncodedChessboardResponse> clazz,
+                                                     HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded chessboards are written only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(EncodedChessboardResponse encodedChessboardResponse, MediaType contentType) {
+        return (long) encodedChessboardResponse.getBody().length;
+    }
+
+    @Override
+    protected void writeInternal(EncodedChessboardResponse encodedChessboardResponse, HttpOutputMessage outputMessage)
+            throws IOException {
+        outputMessage.getBody().write(encodedChessboardResponse.getBody());
+    }
+
+}
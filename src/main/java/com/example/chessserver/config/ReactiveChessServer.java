@@ -0,0 +1,83 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.controller.ReactiveChessGameController;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.ReactiveChessGameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+// Serves the reactive ChessApi on a port of its own, next to Tomcat. A fixed number of event loop threads handles
+// every connection, so open long-polls cost a channel each rather than a thread.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chessserver.reactive.enabled", havingValue = "true")
+public class ReactiveChessServer implements SmartLifecycle {
+
+    private static final String EVENT_LOOP_THREAD_PREFIX = "reactive-chess";
+
+    private final ObjectMapper objectMapper;
+    private final ReactiveChessGameController reactiveChessGameController;
+    private final int port;
+    private final int eventLoopThreads;
+
+    private AnnotationConfigApplicationContext context;
+    private LoopResources loopResources;
+    private DisposableServer server;
+
+    @Autowired
+    public ReactiveChessServer(ObjectMapper objectMapper, ReactiveChessGameService reactiveChessGameService,
+                               ChessmanMovementValidatorService chessmanMovementValidatorService,
+                               ServiceExceptionLog serviceExceptionLog,
+                               @Value("${chessserver.reactive.port:8081}") int port,
+                               @Value("${chessserver.reactive.event-loop-threads:2}") int eventLoopThreads,
+                               @Value("${chessserver.chessboard.max-wait-millis:30000}") long maxWaitMillis) {
+        this.objectMapper = objectMapper;
+        this.reactiveChessGameController = new ReactiveChessGameController(reactiveChessGameService,
+                chessmanMovementValidatorService, serviceExceptionLog, maxWaitMillis);
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    @Override
+    public synchronized void start() {
+        context = ReactiveWebConfig.createApplicationContext(objectMapper, reactiveChessGameController);
+        loopResources = LoopResources.create(EVENT_LOOP_THREAD_PREFIX, 1, eventLoopThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.applicationContext(context).build()))
+                .bindNow();
+        log.info("Reactive ChessApi started on port {} with {} event loop threads", server.port(), eventLoopThreads);
+    }
+
+    @Override
+    public synchronized void stop() {
+        server.disposeNow();
+        loopResources.disposeLater().block();
+        context.close();
+        server = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    // Bound port, differs from the configured one when that is 0
+    public synchronized int getPort() {
+        return server.port();
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.controller.ReactiveChessGameController;
+import com.example.openapi.chessserver.reactive.api.ChessApi;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurationSupport;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+
+// WebFlux infrastructure of the reactive ChessApi. It lives in a context of its own, as Spring Boot sets up the servlet
+// stack for the application, so neither this class nor the controller is annotated for component scanning.
+public class ReactiveWebConfig extends WebFluxConfigurationSupport {
+
+    private final ObjectMapper objectMapper;
+
+    public ReactiveWebConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Context holding the given controller, the object mapper of the application serialises like the servlet stack
+    public static AnnotationConfigApplicationContext createApplicationContext(
+            ObjectMapper objectMapper, ReactiveChessGameController reactiveChessGameController) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(ObjectMapper.class, () -> objectMapper);
+        context.registerBean(ReactiveChessGameController.class, () -> reactiveChessGameController);
+        context.register(ReactiveWebConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    @Override
+    protected RequestMappingHandlerMapping createRequestMappingHandlerMapping() {
+        return new RequestMappingHandlerMapping() {
+            @Override
+            protected boolean isHandler(Class<?> beanType) {
+                return ChessApi.class.isAssignableFrom(beanType);
+            }
+        };
+    }
+
+    @Override
+    protected void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.jfr.RepositoryCallEvent;
+import com.example.chessserver.util.ThreadAllocationUtil;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+// Wraps every Spring Data repository in an interceptor committing a JFR event per call, so that queries show up in
+// recordings by repository and method instead of as frames of Hibernate. Game ID is the first String argument.
+@Component
+public class RepositoryEventConfig implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(createInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+
+        return bean;
+    }
+
+    // Inherited methods such as save are declared by CrudRepository, so the repository is named by its interface
+    private static MethodInterceptor createInterceptor(String repository) {
+        return invocation -> {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+
+            long allocatedBefore = ThreadAllocationUtil.getAllocatedBytes();
+            event.begin();
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                event.failed = true;
+                throw e;
+            } finally {
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    for (Object argument : invocation.getArguments()) {
+                        if (argument instanceof String gameId) {
+                            event.gameId = gameId;
+                            break;
+                        }
+                    }
+                    event.allocated = ThreadAllocationUtil.getAllocatedBytes() - allocatedBefore;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.controller.ChessGameWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private static final String CHESS_GAME_WEBSOCKET_PATH = "/chess/v1/ws";
+
+    private final ChessGameWebSocketHandler chessGameWebSocketHandler;
+    private final String[] allowedOrigins;
+    private final int maxMessageBufferSize;
+    private final long maxSessionIdleTimeoutMillis;
+
+    @Autowired
+    public WebSocketConfig(ChessGameWebSocketHandler chessGameWebSocketHandler,
+                           @Value("${chessserver.websocket.allowed-origins:*}") String[] allowedOrigins,
+                           @Value("${chessserver.websocket.max-message-buffer-size:1024}") int maxMessageBufferSize,
+                           @Value("${chessserver.websocket.max-session-idle-timeout-millis:600000}") long maxSessionIdleTimeoutMillis) {
+        this.chessGameWebSocketHandler = chessGameWebSocketHandler;
+        this.allowedOrigins = allowedOrigins;
+        this.maxMessageBufferSize = maxMessageBufferSize;
+        this.maxSessionIdleTimeoutMillis = maxSessionIdleTimeoutMillis;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(chessGameWebSocketHandler, CHESS_GAME_WEBSOCKET_PATH)
+                .setAllowedOrigins(allowedOrigins);
+    }
+
+    // Messages of the channel are a few hundred bytes, small buffers keep the memory of each connection low
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxMessageBufferSize);
+        container.setMaxBinaryMessageBufferSize(maxMessageBufferSize);
+        container.setMaxSessionIdleTimeout(maxSessionIdleTimeoutMillis);
+        return container;
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.service.ChessAnalysisService;
+import com.example.openapi.chessserver.model.AnalysisResponse;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Streams analysis as server-sent events, which the generated ChessApi cannot express. One depth event is sent per
+// completed depth of iterative deepening, the stream completes when the search does. A search failing once the stream
+// has started is mapped as GlobalExceptionHandler maps it, but reported by an error event since the status is already
+// sent, after which the stream ends. Events are queued by the engine worker and sent by a sender thread of the stream,
+// so a client that stops reading never blocks the engine pool. A client falling more than the pending event limit
+// behind has its analysis stopped.
+@Slf4j
+@RestController
+@RequestMapping
+public class ChessAnalysisController {
+
+    private static final String DEPTH_EVENT = "depth";
+    private static final String ERROR_EVENT = "error";
+    private static final String UNEXPECTED_ERROR = "Unexpected error";
+    private static final String STREAM_IS_BACKED_UP = "Analysis stream of game %s is backed up";
+
+    private final ChessAnalysisService chessAnalysisService;
+    private final ServiceExceptionLog serviceExceptionLog;
+    private final long streamTimeoutMillis;
+    private final int maxPendingEvents;
+    // A thread per stream being sent to, a stalled client holds up its own sender only
+    private final ThreadPoolExecutor senderExecutor;
+
+    @Autowired
+    public ChessAnalysisController(ChessAnalysisService chessAnalysisService, ServiceExceptionLog serviceExceptionLog,
+                                   @Value("${chessserver.analysis.stream-timeout-millis:60000}") long streamTimeoutMillis,
+                                   @Value("${chessserver.analysis.max-pending-events:4}") int maxPendingEvents) {
+        this.chessAnalysisService = chessAnalysisService;
+        this.serviceExceptionLog = serviceExceptionLog;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.maxPendingEvents = maxPendingEvents;
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.senderExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "analysis-stream-sender-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @GetMapping(path = "/chess/v1/analysis/{gameId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getAnalysis(@PathVariable("gameId") String gameId,
+                                  @RequestParam(value = "lines", required = false) Integer lines,
+                                  @RequestParam(value = "depth", required = false) Integer depth,
+                                  @RequestParam(value = "timeMillis", required = false) Integer timeMillis) {
+        SseEmitter sseEmitter = new SseEmitter(streamTimeoutMillis);
+        AnalysisStream analysisStream = new AnalysisStream(sseEmitter);
+
+        // An exception thrown here stops the analysis, its error event is queued behind the pending ones
+        EngineJob<AnalysisResponse> analysis = chessAnalysisService.analyseChessGame(gameId, lines, depth, timeMillis,
+                analysisResponse -> {
+                    if (!analysisStream.offer(SseEmitter.event().name(DEPTH_EVENT)
+                            .data(analysisResponse, MediaType.APPLICATION_JSON))) {
+                        throw new ServiceException(String.format(STREAM_IS_BACKED_UP, gameId),
+                                HttpStatus.SERVICE_UNAVAILABLE);
+                    }
+                });
+        analysis.getResult().whenComplete((analysisResponse, throwable) -> {
+            if (throwable == null) {
+                analysisStream.end(null);
+                return;
+            }
+
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            analysisStream.end(SseEmitter.event().name(ERROR_EVENT)
+                    .data(toErrorMessage(cause), MediaType.APPLICATION_JSON));
+        });
+
+        // Search stops at its next node once the client is gone
+        sseEmitter.onTimeout(analysis::cancel);
+        sseEmitter.onError(throwable -> analysis.cancel());
+        sseEmitter.onCompletion(() -> {
+            analysisStream.closed = true;
+            analysis.cancel();
+        });
+
+        return sseEmitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+    }
+
+    private ErrorMessage toErrorMessage(Throwable throwable) {
+        if (throwable instanceof ServiceException serviceException) {
+            serviceExceptionLog.log(serviceException);
+            return new ErrorMessage().message(serviceException.getMessage());
+        }
+
+        log.error("Exception thrown", throwable);
+        return new ErrorMessage().message(UNEXPECTED_ERROR);
+    }
+
+    // Events of one stream, sent in order by at most one drain at a time. Only the drain touches the emitter.
+    private class AnalysisStream {
+
+        private final SseEmitter sseEmitter;
+        private final Queue<SseEmitter.SseEventBuilder> events = new ConcurrentLinkedQueue<>();
+        // Queued or being sent
+        private final AtomicInteger pendingEvents = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // No events follow, the stream completes once the queued ones are sent
+        private volatile boolean ended;
+        // Client is gone or the stream is completed, queued events are dropped
+        private volatile boolean closed;
+
+        private AnalysisStream(SseEmitter sseEmitter) {
+            this.sseEmitter = sseEmitter;
+        }
+
+        // Offered by the engine worker only, so the limit is checked and taken by a single thread
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed || pendingEvents.get() >= maxPendingEvents) {
+                return false;
+            }
+
+            pendingEvents.incrementAndGet();
+            events.add(event);
+            schedule();
+            return true;
+        }
+
+        private void end(SseEmitter.SseEventBuilder lastEvent) {
+            if (lastEvent != null) {
+                pendingEvents.incrementAndGet();
+                events.add(lastEvent);
+            }
+            ended = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senderExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = events.poll()) != null) {
+                    try {
+                        sseEmitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client is gone or the stream is already completed, the container reports it to the emitter
+                        closed = true;
+                    }
+                    pendingEvents.decrementAndGet();
+                }
+
+                if (ended && !closed) {
+                    closed = true;
+                    sseEmitter.complete();
+                }
+
+                scheduled.set(false);
+                // Events queued while the flag was still set are picked up here
+            } while (!closed && (ended || !events.isEmpty()) && scheduled.compareAndSet(false, true));
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.service.ChessEvaluationService;
+import com.example.openapi.chessserver.model.EvaluationResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+// Serves getEvaluation of api.yaml as a deferred result, which the generated ChessApi cannot express. The request
+// thread is released while the engine searches. A request stops waiting once its wait times out or the container
+// reports its connection as failed, and a search nobody waits for anymore is cancelled rather than run to its limits.
+// Queued searches count towards the wait, so a busy engine sheds requests instead of answering them after clients left.
+@RestController
+@RequestMapping
+public class ChessEvaluationController {
+
+    private static final String EVALUATION_TIMED_OUT = "Evaluation of game %s timed out";
+
+    private final ChessEvaluationService chessEvaluationService;
+    private final long waitTimeoutMillis;
+
+    @Autowired
+    public ChessEvaluationController(ChessEvaluationService chessEvaluationService,
+                                     @Value("${chessserver.evaluation.wait-timeout-millis:15000}") long waitTimeoutMillis) {
+        this.chessEvaluationService = chessEvaluationService;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @GetMapping(path = "/chess/v1/evaluation/{gameId}", produces = "application/json")
+    public DeferredResult<ResponseEntity<EvaluationResponse>> getEvaluation(
+            @PathVariable("gameId") String gameId,
+            @RequestParam(value = "depth", required = false) Integer depth,
+            @RequestParam(value = "timeMillis", required = false) Integer timeMillis) {
+        DeferredResult<ResponseEntity<EvaluationResponse>> deferredResult = new DeferredResult<>(waitTimeoutMillis,
+                () -> new ServiceException(String.format(EVALUATION_TIMED_OUT, gameId), HttpStatus.SERVICE_UNAVAILABLE));
+
+        CompletableFuture<EvaluationResponse> evaluation = chessEvaluationService.evaluateChessGame(gameId, depth,
+                timeMillis);
+        evaluation.whenComplete((evaluationResponse, throwable) -> {
+            if (throwable != null) {
+                deferredResult.setErrorResult(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            } else {
+                deferredResult.setResult(ResponseEntity.ok(evaluationResponse));
+            }
+        });
+        // Waiter leaves the search on timeout and on an error of the connection, both of which complete the request
+        deferredResult.onCompletion(() -> evaluation.cancel(false));
+
+        return deferredResult;
+    }
+
+}
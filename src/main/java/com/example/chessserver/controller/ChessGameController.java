@@ -7,18 +7,28 @@ import com.example.openapi.chessserver.api.ChessApi;
 import com.example.openapi.chessserver.model.ChessboardResponse;
 import com.example.openapi.chessserver.model.CreateChessGameRequest;
 import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.CreateChessGamesRequest;
+import com.example.openapi.chessserver.model.CreateChessGamesResponse;
+import com.example.openapi.chessserver.model.LegalMovesResponse;
+import com.example.openapi.chessserver.model.MoveBatchRequest;
+import com.example.openapi.chessserver.model.MoveBatchResponse;
 import com.example.openapi.chessserver.model.MoveChessmanRequest;
 import com.example.openapi.chessserver.model.MoveChessmanResponse;
 import com.example.openapi.chessserver.model.PromotePawnRequest;
 import com.example.openapi.chessserver.model.PromotePawnResponse;
 import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessLegalMovesService;
 import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.EncodedChessboardService;
+import com.example.chessserver.util.ChessboardETagUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -33,11 +43,17 @@ public class ChessGameController implements ChessApi {
 
     private final ChessGameService chessGameService;
     private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final ChessLegalMovesService chessLegalMovesService;
+    private final EncodedChessboardService encodedChessboardService;
 
     @Autowired
-    public ChessGameController(ChessGameService chessGameService, ChessmanMovementValidatorService chessmanMovementValidatorService) {
+    public ChessGameController(ChessGameService chessGameService, ChessmanMovementValidatorService chessmanMovementValidatorService,
+                               ChessLegalMovesService chessLegalMovesService,
+                               EncodedChessboardService encodedChessboardService) {
         this.chessGameService = chessGameService;
         this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.chessLegalMovesService = chessLegalMovesService;
+        this.encodedChessboardService = encodedChessboardService;
     }
 
     @Override
@@ -46,8 +62,36 @@ public class ChessGameController implements ChessApi {
     }
 
     @Override
-    public ResponseEntity<ChessboardResponse> getChessboard(@PathVariable("gameId") String gameId) {
-        return new ResponseEntity<>(chessGameService.getChessGame(gameId), HttpStatus.OK);
+    public ResponseEntity<CreateChessGamesResponse> createChessGames(@Valid CreateChessGamesRequest body) {
+        return new ResponseEntity<>(chessGameService.createChessGames(body), HttpStatus.CREATED);
+    }
+
+    // Requests with wait are served by ChessboardWatchController
+    @Override
+    public ResponseEntity<ChessboardResponse> getChessboard(@PathVariable("gameId") String gameId,
+                                                            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                                            @RequestParam(value = "wait", required = false) Integer wait,
+                                                            @RequestParam(value = "sinceVersion", required = false) Long sinceVersion) {
+        // Version is read alone, so an unchanged chessboard is neither loaded nor serialised. Plain reads look up the
+        // chessboard serialised for the version, which EncodedChessboardMessageConverter writes as is.
+        long version = 0;
+        if (ifNoneMatch != null || sinceVersion == null) {
+            version = chessGameService.getVersion(gameId);
+            if (ChessboardETagUtil.matches(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ChessboardETagUtil.toETag(version)).build();
+            }
+        }
+
+        ChessboardResponse chessboardResponse = sinceVersion == null ?
+                encodedChessboardService.getChessboard(gameId, version) :
+                chessGameService.getChessGameSince(gameId, sinceVersion);
+        return ResponseEntity.ok().eTag(ChessboardETagUtil.toETag(chessboardResponse.getVersion()))
+                .body(chessboardResponse);
+    }
+
+    @Override
+    public ResponseEntity<LegalMovesResponse> getLegalMoves(@PathVariable("gameId") String gameId) {
+        return new ResponseEntity<>(chessLegalMovesService.getLegalMoves(gameId), HttpStatus.OK);
     }
 
     @Override
@@ -93,4 +137,10 @@ public class ChessGameController implements ChessApi {
                 HttpStatus.OK);
     }
 
+    // Rejected moves are reported per move, the batch as a whole fails only if its size is out of bounds
+    @Override
+    public ResponseEntity<MoveBatchResponse> moveChessmen(@Valid MoveBatchRequest body) {
+        return new ResponseEntity<>(chessGameService.moveChessmen(body.getMoves()), HttpStatus.OK);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,357 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessGameMessage;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.enums.ChessGameMessageType;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.util.ChessGameMessageConversionUtil;
+import com.example.openapi.chessserver.model.BoardDelta;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.example.openapi.chessserver.model.PromotePawnResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+// Pushes moves of subscribed games to clients and accepts moves over the same connection. A connection holds
+// nothing but its subscriptions, so idle connections are cheap. Pushed messages are queued per connection and sent on
+// the fan-out pool, so the thread saving a move never waits for a subscriber. A slow subscriber holds up a fan-out
+// thread for the send time limit at most, after which its connection is closed.
+@Slf4j
+@Component
+public class ChessGameWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String SUBSCRIPTIONS = "subscriptions";
+    private static final String CONCURRENT_SESSION = "concurrentSession";
+    private static final String OUTBOX = "outbox";
+
+    private static final String INVALID_MESSAGE = "Message is invalid";
+    private static final String INVALID_MESSAGE_TYPE = "Message type %s is not accepted";
+    private static final String TOO_MANY_SUBSCRIPTIONS = "Subscriptions are limited to %s games per connection";
+    private static final String PROMOTION_IS_NOT_ALLOWED = "Promotion is not allowed";
+    private static final String INVALID_CHESSMAN_NAME = "Short name of chessman %s is invalid";
+    private static final String NOT_VALID_COORD_FROM = "%s%s is not a valid chess coordinate for from";
+    private static final String NOT_VALID_COORD_TO = "%s%s is not a valid chess coordinate for to";
+    private static final String NOT_VALID_COORD = "%s%s is not a valid chess coordinate";
+
+    private final ChessGameService chessGameService;
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final ObjectMapper objectMapper;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimit;
+    private final int maxSubscriptions;
+    private final ExecutorService fanOutExecutor;
+
+    private final ConcurrentMap<String, Set<Subscription>> subscriptionsByGameId = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChessGameWebSocketHandler(ChessGameService chessGameService,
+                                     ChessmanMovementValidatorService chessmanMovementValidatorService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${chessserver.websocket.send-time-limit-millis:5000}") int sendTimeLimitMillis,
+                                     @Value("${chessserver.websocket.send-buffer-size-limit:65536}") int sendBufferSizeLimit,
+                                     @Value("${chessserver.websocket.max-subscriptions:16}") int maxSubscriptions,
+                                     @Value("${chessserver.websocket.fan-out-threads:2}") int fanOutThreads) {
+        this.chessGameService = chessGameService;
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.objectMapper = objectMapper;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.maxSubscriptions = maxSubscriptions;
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, runnable -> {
+            Thread thread = new Thread(runnable, "websocket-fan-out-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // Sends from request threads and move events are serialised, a slow client is closed instead of blocking them
+        session.getAttributes().put(CONCURRENT_SESSION,
+                new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, sendBufferSizeLimit));
+        session.getAttributes().put(OUTBOX, new Outbox(session));
+        session.getAttributes().put(SUBSCRIPTIONS, new ConcurrentHashMap<String, Subscription>());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage textMessage) {
+        ChessGameMessage message;
+        try {
+            message = objectMapper.readValue(textMessage.getPayload(), ChessGameMessage.class);
+        } catch (JsonProcessingException e) {
+            sendError(session, null, INVALID_MESSAGE);
+            return;
+        }
+
+        try {
+            handleMessage(session, message);
+        } catch (ServiceException e) {
+            sendError(session, message.getGameId(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Exception thrown", e);
+            sendError(session, message.getGameId(), INVALID_MESSAGE);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        for (Subscription subscription : getSubscriptions(session).values()) {
+            removeSubscription(subscription);
+        }
+    }
+
+    @EventListener
+    public void onChessMove(ChessMoveEvent chessMoveEvent) {
+        Set<Subscription> subscriptions = subscriptionsByGameId.get(chessMoveEvent.getGameId());
+        if (subscriptions == null) {
+            return;
+        }
+
+        // Serialised once for every subscriber, and only queued here
+        TextMessage textMessage = toTextMessage(ChessGameMessageConversionUtil.createMovedMessage(chessMoveEvent));
+        for (Subscription subscription : subscriptions) {
+            subscription.push(textMessage);
+        }
+    }
+
+    private void handleMessage(WebSocketSession session, ChessGameMessage message) {
+        if (message.getType() == null) {
+            throw new ServiceException(INVALID_MESSAGE, HttpStatus.BAD_REQUEST);
+        }
+
+        switch (message.getType()) {
+            case SUBSCRIBE -> subscribe(session, message.getGameId());
+            case UNSUBSCRIBE -> unsubscribe(session, message.getGameId());
+            case MOVE -> moveChessman(session, message);
+            case PROMOTE -> promotePawn(session, message);
+            default -> throw new ServiceException(String.format(INVALID_MESSAGE_TYPE, message.getType().getValue()),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private void subscribe(WebSocketSession session, String gameId) {
+        ConcurrentMap<String, Subscription> subscriptions = getSubscriptions(session);
+        if (!subscriptions.containsKey(gameId) && subscriptions.size() >= maxSubscriptions) {
+            throw new ServiceException(String.format(TOO_MANY_SUBSCRIPTIONS, maxSubscriptions), HttpStatus.BAD_REQUEST);
+        }
+
+        Subscription subscription = new Subscription(gameId, (Outbox) session.getAttributes().get(OUTBOX));
+        Subscription replaced = subscriptions.put(gameId, subscription);
+        if (replaced != null) {
+            removeSubscription(replaced);
+        }
+        subscriptionsByGameId.computeIfAbsent(gameId, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+
+        // Subscription is registered before the chessboard is read, so it may be pushed a move the snapshot already
+        // contains, told by the version of its delta, but never misses one
+        ChessboardResponse chessboardResponse;
+        try {
+            chessboardResponse = chessGameService.getChessGame(gameId);
+        } catch (RuntimeException e) {
+            subscriptions.remove(gameId, subscription);
+            removeSubscription(subscription);
+            throw e;
+        }
+
+        // Current chessboard lets the client start from a known state without polling
+        ChessGameMessage message = new ChessGameMessage();
+        message.setType(ChessGameMessageType.SUBSCRIBED);
+        message.setGameId(gameId);
+        message.setChessboard(chessboardResponse.getChessboard());
+        message.setColorOfPlayer(chessboardResponse.getColorOfPlayer());
+        message.setVersion(chessboardResponse.getVersion());
+        subscription.start(toTextMessage(message));
+    }
+
+    private void unsubscribe(WebSocketSession session, String gameId) {
+        Subscription subscription = getSubscriptions(session).remove(gameId);
+        if (subscription != null) {
+            removeSubscription(subscription);
+        }
+    }
+
+    private void moveChessman(WebSocketSession session, ChessGameMessage message) {
+        ChessCoordinate coordinateFrom = toChessCoordinate(message.getCoordinateFrom(), NOT_VALID_COORD_FROM);
+        ChessCoordinate coordinateTo = toChessCoordinate(message.getCoordinateTo(), NOT_VALID_COORD_TO);
+
+        MoveChessmanResponse moveChessmanResponse =
+                chessGameService.moveChessman(coordinateFrom, coordinateTo, message.getGameId());
+        sendResult(session, message.getGameId(), moveChessmanResponse.getStatus(), moveChessmanResponse.getDelta());
+    }
+
+    private void promotePawn(WebSocketSession session, ChessGameMessage message) {
+        ChessCoordinate coordinate = toChessCoordinate(message.getCoordinate(), NOT_VALID_COORD);
+
+        Chessman chessmanToBePromoted = Chessman.getByShortName(message.getChessman());
+        if (chessmanToBePromoted == null) {
+            throw new ServiceException(String.format(INVALID_CHESSMAN_NAME, message.getChessman()),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        if (!chessmanMovementValidatorService.isPromotionAllowed(chessmanToBePromoted)) {
+            throw new ServiceException(PROMOTION_IS_NOT_ALLOWED,
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        PromotePawnResponse promotePawnResponse =
+                chessGameService.promotePawn(coordinate, chessmanToBePromoted, message.getGameId());
+        sendResult(session, message.getGameId(), promotePawnResponse.getStatus(), promotePawnResponse.getDelta());
+    }
+
+    private ChessCoordinate toChessCoordinate(String xy, String invalidCoordinateMessage) {
+        ChessCoordinate coordinate = new ChessCoordinate(xy);
+        if (chessmanMovementValidatorService.isNotInChessBorder(coordinate)) {
+            throw new ServiceException(String.format(invalidCoordinateMessage, coordinate.getX(), coordinate.getY()),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        return coordinate;
+    }
+
+    private void sendResult(WebSocketSession session, String gameId,
+                            ChessmanMovementStatus status, BoardDelta delta) {
+        ChessGameMessage message = new ChessGameMessage();
+        message.setType(ChessGameMessageType.RESULT);
+        message.setGameId(gameId);
+        message.setStatus(status);
+        message.setDelta(delta);
+        send(session, toTextMessage(message));
+    }
+
+    private void sendError(WebSocketSession session, String gameId, String errorMessage) {
+        ChessGameMessage message = new ChessGameMessage();
+        message.setType(ChessGameMessageType.ERROR);
+        message.setGameId(gameId);
+        message.setMessage(errorMessage);
+        send(session, toTextMessage(message));
+    }
+
+    private void send(WebSocketSession session, TextMessage textMessage) {
+        WebSocketSession concurrentSession = (WebSocketSession) session.getAttributes().get(CONCURRENT_SESSION);
+        try {
+            concurrentSession.sendMessage(textMessage);
+        } catch (IOException | SessionLimitExceededException e) {
+            // Session is closed by then, its subscriptions are removed in afterConnectionClosed
+            log.debug("Message could not be sent to session {}", session.getId(), e);
+        }
+    }
+
+    private TextMessage toTextMessage(ChessGameMessage message) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void removeSubscription(Subscription subscription) {
+        subscriptionsByGameId.computeIfPresent(subscription.gameId, (key, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, Subscription> getSubscriptions(WebSocketSession session) {
+        return (ConcurrentMap<String, Subscription>) session.getAttributes().get(SUBSCRIPTIONS);
+    }
+
+    // Moves pushed before the subscription is answered are held back, so the client gets the chessboard first
+    private static class Subscription {
+
+        private final String gameId;
+        private final Outbox outbox;
+        // Null once the subscription is answered
+        private List<TextMessage> heldBack = new ArrayList<>();
+
+        private Subscription(String gameId, Outbox outbox) {
+            this.gameId = gameId;
+            this.outbox = outbox;
+        }
+
+        private synchronized void push(TextMessage textMessage) {
+            if (heldBack != null) {
+                heldBack.add(textMessage);
+            } else {
+                outbox.offer(textMessage);
+            }
+        }
+
+        private synchronized void start(TextMessage subscribed) {
+            outbox.offer(subscribed);
+            heldBack.forEach(outbox::offer);
+            heldBack = null;
+        }
+
+    }
+
+    // Messages pushed to one connection, sent in order by at most one drain at a time on the fan-out pool
+    private class Outbox {
+
+        private final WebSocketSession session;
+        private final Queue<TextMessage> textMessages = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        private void offer(TextMessage textMessage) {
+            textMessages.add(textMessage);
+            if (scheduled.compareAndSet(false, true)) {
+                fanOutExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                TextMessage textMessage;
+                while ((textMessage = textMessages.poll()) != null) {
+                    send(session, textMessage);
+                }
+
+                scheduled.set(false);
+                // Messages queued while the flag was still set are picked up here
+            } while (!textMessages.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.service.ChessMateSolverService;
+import com.example.openapi.chessserver.model.SolveMateRequest;
+import com.example.openapi.chessserver.model.SolveMateResponse;
+import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+// Serves solveMate of api.yaml as a deferred result like ChessEvaluationController, so no request thread is held for
+// the proof-number search, and a search nobody waits for anymore is cancelled rather than run to its node budget.
+@RestController
+@RequestMapping
+public class ChessMateSolverController {
+
+    private static final String SOLVER_TIMED_OUT = "Solving mate timed out";
+
+    private final ChessMateSolverService chessMateSolverService;
+    private final long waitTimeoutMillis;
+
+    @Autowired
+    public ChessMateSolverController(ChessMateSolverService chessMateSolverService,
+                                     @Value("${chessserver.solver.wait-timeout-millis:30000}") long waitTimeoutMillis) {
+        this.chessMateSolverService = chessMateSolverService;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @PostMapping(path = "/chess/v1/solve", produces = "application/json", consumes = "application/json")
+    public DeferredResult<ResponseEntity<SolveMateResponse>> solveMate(@Valid @RequestBody SolveMateRequest body) {
+        DeferredResult<ResponseEntity<SolveMateResponse>> deferredResult = new DeferredResult<>(waitTimeoutMillis,
+                () -> new ServiceException(SOLVER_TIMED_OUT, HttpStatus.SERVICE_UNAVAILABLE));
+
+        CompletableFuture<SolveMateResponse> solution = chessMateSolverService.solveMate(body);
+        solution.whenComplete((solveMateResponse, throwable) -> {
+            if (throwable != null) {
+                deferredResult.setErrorResult(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            } else {
+                deferredResult.setResult(ResponseEntity.ok(solveMateResponse));
+            }
+        });
+        // Waiter leaves the search on timeout and on an error of the connection, both of which complete the request
+        deferredResult.onCompletion(() -> solution.cancel(false));
+
+        return deferredResult;
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.util.ChessMoveFrameUtil;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+// Binary move protocol of ChessMoveTcpServer, see ChessMoveFrameUtil for the frames. Requests of a connection are
+// handled in order and answered in order, so clients pipeline them and tell replies apart by their handle.
+@Slf4j
+@Component
+public class ChessMoveFrameHandler {
+
+    private static final String UNKNOWN_HANDLE = "Handle %d is not open";
+    private static final String NOT_VALID_SQUARE = "Square %d is not on the chessboard";
+    private static final String INVALID_CHESSMAN = "Chessman %d is invalid";
+    private static final String PROMOTION_IS_NOT_ALLOWED = "Promotion is not allowed";
+
+    private final ChessGameService chessGameService;
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+
+    @Autowired
+    public ChessMoveFrameHandler(ChessGameService chessGameService,
+                                 ChessmanMovementValidatorService chessmanMovementValidatorService) {
+        this.chessGameService = chessGameService;
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+    }
+
+    // Handles the complete requests of given buffer in read mode, a partial one is left in it. Replies must have room
+    // for a reply per request. Returns false after a request of unknown type, the connection cannot resync then.
+    public boolean handleRequests(ByteBuffer requests, ByteBuffer replies, Map<Integer, String> gameIdsByHandle) {
+        while (requests.hasRemaining()) {
+            byte type = requests.get(requests.position());
+            int length = ChessMoveFrameUtil.getRequestLength(type);
+            if (length == 0) {
+                log.info("Request of unknown type {} received", type);
+                ChessMoveFrameUtil.putReply(replies, type, ChessMoveFrameUtil.BAD_REQUEST, 0);
+                return false;
+            }
+
+            if (requests.remaining() < length) {
+                return true;
+            }
+
+            // Fields are read at their offsets, so a request rejected halfway is skipped as a whole
+            int start = requests.position();
+            requests.position(start + length);
+            int handle = Short.toUnsignedInt(requests.getShort(start + 2));
+            byte code;
+            try {
+                code = switch (type) {
+                    case ChessMoveFrameUtil.OPEN -> openChessGame(handle, requests.getLong(start + 4), gameIdsByHandle);
+                    case ChessMoveFrameUtil.MOVE -> moveChessman(handle, Byte.toUnsignedInt(requests.get(start + 4)),
+                            Byte.toUnsignedInt(requests.get(start + 5)), gameIdsByHandle);
+                    default -> promotePawn(handle, Byte.toUnsignedInt(requests.get(start + 4)),
+                            Byte.toUnsignedInt(requests.get(start + 5)), gameIdsByHandle);
+                };
+            } catch (ServiceException e) {
+                log.debug("ServiceException thrown", e);
+                code = ChessMoveFrameUtil.toCode(e.getStatus());
+            } catch (RuntimeException e) {
+                log.error("Exception thrown", e);
+                code = ChessMoveFrameUtil.INTERNAL_ERROR;
+            }
+
+            ChessMoveFrameUtil.putReply(replies, type, code, handle);
+        }
+
+        return true;
+    }
+
+    private byte openChessGame(int handle, long gameIdBits, Map<Integer, String> gameIdsByHandle) {
+        String gameId = ChessMoveFrameUtil.toGameId(gameIdBits);
+        // Existence is checked once, moves of an unknown game would fail alike
+        chessGameService.getVersion(gameId);
+        gameIdsByHandle.put(handle, gameId);
+        return ChessMoveFrameUtil.OK;
+    }
+
+    private byte moveChessman(int handle, int squareFrom, int squareTo, Map<Integer, String> gameIdsByHandle) {
+        ChessCoordinate coordinateFrom = toChessCoordinate(squareFrom);
+        ChessCoordinate coordinateTo = toChessCoordinate(squareTo);
+
+        return ChessMoveFrameUtil.toCode(chessGameService.moveChessman(coordinateFrom, coordinateTo,
+                getGameId(handle, gameIdsByHandle)).getStatus());
+    }
+
+    private byte promotePawn(int handle, int square, int ordinal, Map<Integer, String> gameIdsByHandle) {
+        ChessCoordinate coordinate = toChessCoordinate(square);
+
+        Chessman chessmanToBePromoted = ChessMoveFrameUtil.toChessman(ordinal);
+        if (chessmanToBePromoted == null) {
+            throw new ServiceException(String.format(INVALID_CHESSMAN, ordinal), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        if (!chessmanMovementValidatorService.isPromotionAllowed(chessmanToBePromoted)) {
+            throw new ServiceException(PROMOTION_IS_NOT_ALLOWED, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        return ChessMoveFrameUtil.toCode(chessGameService.promotePawn(coordinate, chessmanToBePromoted,
+                getGameId(handle, gameIdsByHandle)).getStatus());
+    }
+
+    private static ChessCoordinate toChessCoordinate(int square) {
+        ChessCoordinate coordinate = ChessMoveFrameUtil.toChessCoordinate(square);
+        if (coordinate == null) {
+            throw new ServiceException(String.format(NOT_VALID_SQUARE, square), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        return coordinate;
+    }
+
+    private static String getGameId(int handle, Map<Integer, String> gameIdsByHandle) {
+        String gameId = gameIdsByHandle.get(handle);
+        if (gameId == null) {
+            throw new ServiceException(String.format(UNKNOWN_HANDLE, handle), HttpStatus.BAD_REQUEST);
+        }
+
+        return gameId;
+    }
+
+}
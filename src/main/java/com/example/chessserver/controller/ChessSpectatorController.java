@@ -0,0 +1,74 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.GameEventSink;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import com.example.chessserver.service.ChessSpectatorService;
+import com.example.chessserver.util.ChessGameMessageConversionUtil;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Streams moves of a game to spectators as server-sent events. The stream starts with a snapshot event, which is
+// sent again whenever the spectator falls too far behind, followed by a moved event per move.
+@RestController
+@RequestMapping
+public class ChessSpectatorController {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String MOVED_EVENT = "moved";
+
+    private final ChessSpectatorService chessSpectatorService;
+    private final long streamTimeoutMillis;
+
+    @Autowired
+    public ChessSpectatorController(ChessSpectatorService chessSpectatorService,
+                                    @Value("${chessserver.spectator.stream-timeout-millis:1800000}") long streamTimeoutMillis) {
+        this.chessSpectatorService = chessSpectatorService;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    @GetMapping(path = "/chess/v1/games/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getGameEvents(@PathVariable("gameId") String gameId) {
+        SseEmitter sseEmitter = new SseEmitter(streamTimeoutMillis);
+
+        Runnable removeSpectator = chessSpectatorService.addSpectator(gameId, new GameEventSink() {
+
+            @Override
+            public void sendSnapshot(GameSnapshot gameSnapshot) throws IOException {
+                sseEmitter.send(SseEmitter.event()
+                        .name(SNAPSHOT_EVENT)
+                        .id(String.valueOf(gameSnapshot.getSequence()))
+                        .data(ChessGameMessageConversionUtil.createSnapshotMessage(gameId, gameSnapshot),
+                                MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void sendMove(long sequence, ChessMoveEvent chessMoveEvent) throws IOException {
+                sseEmitter.send(SseEmitter.event()
+                        .name(MOVED_EVENT)
+                        .id(String.valueOf(sequence + 1))
+                        .data(ChessGameMessageConversionUtil.createMovedMessage(chessMoveEvent), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close() {
+                sseEmitter.complete();
+            }
+
+        });
+
+        sseEmitter.onTimeout(removeSpectator);
+        sseEmitter.onError(throwable -> removeSpectator.run());
+        sseEmitter.onCompletion(removeSpectator);
+
+        return sseEmitter;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessboardWatchService;
+import com.example.chessserver.util.ChessboardETagUtil;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+// Long-poll of getChessboard, held as a deferred result which the generated ChessApi cannot express. The request
+// thread is released while waiting, the response is 200 once the version changes and 304 if the wait times out.
+@RestController
+@RequestMapping
+public class ChessboardWatchController {
+
+    private static final String INVALID_WAIT = "Wait must be between 1 and %d milliseconds";
+
+    private final ChessGameService chessGameService;
+    private final ChessboardWatchService chessboardWatchService;
+    private final long maxWaitMillis;
+
+    @Autowired
+    public ChessboardWatchController(ChessGameService chessGameService, ChessboardWatchService chessboardWatchService,
+                                     @Value("${chessserver.chessboard.max-wait-millis:30000}") long maxWaitMillis) {
+        this.chessGameService = chessGameService;
+        this.chessboardWatchService = chessboardWatchService;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @GetMapping(path = "/chess/v1/chessboard/{gameId}", params = "wait", produces = "application/json")
+    public DeferredResult<ResponseEntity<ChessboardResponse>> watchChessboard(
+            @PathVariable("gameId") String gameId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            @RequestParam("wait") Integer wait,
+            @RequestParam(value = "sinceVersion", required = false) Long sinceVersion) {
+        if (wait == null || wait < 1 || wait > maxWaitMillis) {
+            throw new ServiceException(String.format(INVALID_WAIT, maxWaitMillis), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        // Without If-None-Match the client waits for the next move
+        long version = chessGameService.getVersion(gameId);
+        if (ifNoneMatch != null && !ChessboardETagUtil.matches(ifNoneMatch, version)) {
+            DeferredResult<ResponseEntity<ChessboardResponse>> deferredResult = new DeferredResult<>();
+            deferredResult.setResult(toResponse(getChessboard(gameId, sinceVersion)));
+            return deferredResult;
+        }
+
+        DeferredResult<ResponseEntity<ChessboardResponse>> deferredResult = new DeferredResult<>(wait.longValue(),
+                () -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ChessboardETagUtil.toETag(version)).build());
+
+        CompletableFuture<ChessboardResponse> change = chessboardWatchService.awaitChange(gameId, version);
+        change.thenApply(chessboardResponse -> sinceVersion == null ? chessboardResponse :
+                        // Deltas are read once the change is known, waiting itself reads nothing. The watch service
+                        // completes waiters on its notifier pool, so the read never runs on the thread saving the move
+                        chessGameService.getChessGameSince(gameId, sinceVersion))
+                .whenComplete((chessboardResponse, throwable) -> {
+                    if (throwable != null) {
+                        deferredResult.setErrorResult(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                    } else {
+                        deferredResult.setResult(toResponse(chessboardResponse));
+                    }
+                });
+        // Waiter is released on timeout and when the client is gone
+        deferredResult.onCompletion(() -> change.cancel(false));
+
+        return deferredResult;
+    }
+
+    private ChessboardResponse getChessboard(String gameId, Long sinceVersion) {
+        return sinceVersion == null ? chessGameService.getChessGame(gameId) :
+                chessGameService.getChessGameSince(gameId, sinceVersion);
+    }
+
+    private static ResponseEntity<ChessboardResponse> toResponse(ChessboardResponse chessboardResponse) {
+        return ResponseEntity.ok().eTag(ChessboardETagUtil.toETag(chessboardResponse.getVersion()))
+                .body(chessboardResponse);
+    }
+
+}
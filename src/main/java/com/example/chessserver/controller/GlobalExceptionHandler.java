@@ -1,8 +1,10 @@
 package com.example.chessserver.controller;
 
+import com.example.chessserver.component.ServiceExceptionLog;
 import com.example.chessserver.exception.ServiceException;
 import com.example.openapi.chessserver.model.ErrorMessage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,6 +18,13 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final String UNEXPECTED_ERROR = "Unexpected error";
 
+    private final ServiceExceptionLog serviceExceptionLog;
+
+    @Autowired
+    public GlobalExceptionHandler(ServiceExceptionLog serviceExceptionLog) {
+        this.serviceExceptionLog = serviceExceptionLog;
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseBody
     public ResponseEntity<ErrorMessage> handleException(Exception e) {
@@ -26,11 +35,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(ServiceException.class)
     public ResponseEntity<ErrorMessage> handleServiceException(ServiceException e) {
-        if (e.getStatus().equals(HttpStatus.INTERNAL_SERVER_ERROR)) {
-            log.error("ServiceException thrown", e);
-        } else {
-            log.info("ServiceException thrown", e);
-        }
+        serviceExceptionLog.log(e);
 
         return ResponseEntity.status(e.getStatus())
                 .body(new ErrorMessage().message(e.getMessage()));
@@ -0,0 +1,171 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.ReactiveChessGameService;
+import com.example.chessserver.util.ChessboardETagUtil;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.CreateChessGameRequest;
+import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import com.example.openapi.chessserver.model.MoveChessmanRequest;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.example.openapi.chessserver.model.PromotePawnRequest;
+import com.example.openapi.chessserver.model.PromotePawnResponse;
+import com.example.openapi.chessserver.reactive.api.ChessApi;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+// Reactive ChessApi served on event loop threads by ReactiveChessServer, a long-poll holds no thread while waiting.
+// Not a stereotype, so it stays out of the servlet context, ReactiveWebConfig maps it instead. Operations left out
+// answer 501.
+@Slf4j
+public class ReactiveChessGameController implements ChessApi {
+
+    private static final String INVALID_WAIT = "Wait must be between 1 and %d milliseconds";
+    private static final String PROMOTION_IS_NOT_ALLOWED = "Promotion is not allowed";
+    private static final String INVALID_CHESSMAN_NAME = "Short name of chessman %s is invalid";
+    private static final String NOT_VALID_COORD_FROM = "%s%s is not a valid chess coordinate for from";
+    private static final String NOT_VALID_COORD_TO = "%s%s is not a valid chess coordinate for to";
+    private static final String NOT_VALID_COORD = "%s%s is not a valid chess coordinate";
+    private static final String UNEXPECTED_ERROR = "Unexpected error";
+
+    private final ReactiveChessGameService reactiveChessGameService;
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final ServiceExceptionLog serviceExceptionLog;
+    private final long maxWaitMillis;
+
+    public ReactiveChessGameController(ReactiveChessGameService reactiveChessGameService,
+                                       ChessmanMovementValidatorService chessmanMovementValidatorService,
+                                       ServiceExceptionLog serviceExceptionLog, long maxWaitMillis) {
+        this.reactiveChessGameService = reactiveChessGameService;
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.serviceExceptionLog = serviceExceptionLog;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public Mono<ResponseEntity<CreateChessGameResponse>> createChessGame(
+            @RequestBody Mono<CreateChessGameRequest> body, ServerWebExchange exchange) {
+        return body.flatMap(reactiveChessGameService::createChessGame)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ChessboardResponse>> getChessboard(@PathVariable("gameId") String gameId,
+                                                                  @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                                                  @RequestParam(value = "wait", required = false) Integer wait,
+                                                                  @RequestParam(value = "sinceVersion", required = false) Long sinceVersion,
+                                                                  ServerWebExchange exchange) {
+        if (wait != null && (wait < 1 || wait > maxWaitMillis)) {
+            return Mono.error(new ServiceException(String.format(INVALID_WAIT, maxWaitMillis),
+                    HttpStatus.UNPROCESSABLE_ENTITY));
+        }
+
+        Mono<ChessboardResponse> chessboard = sinceVersion == null ? reactiveChessGameService.getChessGame(gameId) :
+                reactiveChessGameService.getChessGameSince(gameId, sinceVersion);
+        return chessboard.flatMap(chessboardResponse -> {
+            long version = chessboardResponse.getVersion();
+            boolean notModified = ChessboardETagUtil.matches(ifNoneMatch, version);
+            // Without If-None-Match a waiting client waits for the next move
+            if (wait == null || (ifNoneMatch != null && !notModified)) {
+                return Mono.just(notModified ? notModified(version) : toResponse(chessboardResponse));
+            }
+
+            return reactiveChessGameService.awaitChange(gameId, version)
+                    .map(ReactiveChessGameController::toResponse)
+                    .timeout(Duration.ofMillis(wait), Mono.just(notModified(version)));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<MoveChessmanResponse>> moveChessman(@RequestBody Mono<MoveChessmanRequest> body,
+                                                                   ServerWebExchange exchange) {
+        return body.flatMap(request -> {
+            ChessCoordinate coordinateFrom = new ChessCoordinate(request.getCoordinateFrom());
+            if (chessmanMovementValidatorService.isNotInChessBorder(coordinateFrom)) {
+                return Mono.error(new ServiceException(String.format(NOT_VALID_COORD_FROM, coordinateFrom.getX(),
+                        coordinateFrom.getY()), HttpStatus.UNPROCESSABLE_ENTITY));
+            }
+
+            ChessCoordinate coordinateTo = new ChessCoordinate(request.getCoordinateTo());
+            if (chessmanMovementValidatorService.isNotInChessBorder(coordinateTo)) {
+                return Mono.error(new ServiceException(String.format(NOT_VALID_COORD_TO, coordinateTo.getX(),
+                        coordinateTo.getY()), HttpStatus.UNPROCESSABLE_ENTITY));
+            }
+
+            return reactiveChessGameService.moveChessman(coordinateFrom, coordinateTo, request.getGameId());
+        }).map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    @Override
+    public Mono<ResponseEntity<PromotePawnResponse>> promotePawn(@RequestBody Mono<PromotePawnRequest> body,
+                                                                 ServerWebExchange exchange) {
+        return body.flatMap(request -> {
+            ChessCoordinate coordinate = new ChessCoordinate(request.getCoordinate());
+            if (chessmanMovementValidatorService.isNotInChessBorder(coordinate)) {
+                return Mono.error(new ServiceException(String.format(NOT_VALID_COORD, coordinate.getX(),
+                        coordinate.getY()), HttpStatus.UNPROCESSABLE_ENTITY));
+            }
+
+            Chessman chessmanToBePromoted = Chessman.getByShortName(request.getChessman());
+            if (chessmanToBePromoted == null) {
+                return Mono.error(new ServiceException(String.format(INVALID_CHESSMAN_NAME, request.getChessman()),
+                        HttpStatus.UNPROCESSABLE_ENTITY));
+            }
+
+            if (!chessmanMovementValidatorService.isPromotionAllowed(chessmanToBePromoted)) {
+                return Mono.error(new ServiceException(PROMOTION_IS_NOT_ALLOWED, HttpStatus.UNPROCESSABLE_ENTITY));
+            }
+
+            return reactiveChessGameService.promotePawn(coordinate, chessmanToBePromoted, request.getGameId());
+        }).map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    // GlobalExceptionHandler belongs to the servlet stack, so errors are mapped here the same way
+    @ExceptionHandler(ServiceException.class)
+    public ResponseEntity<ErrorMessage> handleServiceException(ServiceException e) {
+        serviceExceptionLog.log(e);
+
+        return ResponseEntity.status(e.getStatus())
+                .body(new ErrorMessage().message(e.getMessage()));
+    }
+
+    // Malformed requests, such as an unreadable body or a non-numeric parameter
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorMessage> handleResponseStatusException(ResponseStatusException e) {
+        log.info("ResponseStatusException thrown: {}", e.getMessage());
+        return ResponseEntity.status(e.getStatusCode())
+                .body(new ErrorMessage().message(e.getReason()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorMessage> handleException(Exception e) {
+        log.error("Exception thrown", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorMessage().message(UNEXPECTED_ERROR));
+    }
+
+    private static ResponseEntity<ChessboardResponse> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ChessboardETagUtil.toETag(version)).build();
+    }
+
+    private static ResponseEntity<ChessboardResponse> toResponse(ChessboardResponse chessboardResponse) {
+        return ResponseEntity.ok().eTag(ChessboardETagUtil.toETag(chessboardResponse.getVersion()))
+                .body(chessboardResponse);
+    }
+
+}
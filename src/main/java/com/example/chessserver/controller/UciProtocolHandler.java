@@ -0,0 +1,417 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.nnue.NnueNetwork;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.MadeChessMove;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.SearchResult;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.service.ChessEngineService;
+import com.example.chessserver.service.ChessEngineServiceImpl;
+import com.example.chessserver.service.ChessMoveGeneratorService;
+import com.example.chessserver.service.ChessPositionEvaluatorService;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.NnueChessPositionEvaluatorServiceImpl;
+import com.example.chessserver.util.FenConversionUtil;
+import com.example.openapi.chessserver.model.Color;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+// Universal Chess Interface over text lines, backed by the chessboard, move generator and search of the server
+// without Spring. The engine plays the rules of this server: there is no castling or en passant, and a game is won by
+// capturing the king, which is reported as mate. Besides the protocol, "go perft <depth>" counts the leaves of the
+// move generator and "bench [depth]" searches fixed positions and reports nodes per second, both for regression checks.
+@Slf4j
+public class UciProtocolHandler {
+
+    private static final String ENGINE_NAME = "chess-server";
+    private static final String EVAL_FILE_OPTION = "EvalFile";
+    private static final String INVALID_COMMAND = "info string Invalid command '%s'";
+    private static final String INVALID_POSITION = "info string Invalid position: %s";
+    private static final String ILLEGAL_MOVE = "info string Illegal move '%s'";
+    private static final String INVALID_OPTION = "info string Invalid option: %s";
+    private static final String NO_MOVE = "0000";
+
+    private static final int MAX_DEPTH = 64;
+    private static final int DEFAULT_BENCH_DEPTH = 3;
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long MOVE_OVERHEAD_MILLIS = 50;
+    private static final int MAX_MATE_PLY = 1000;
+
+    // Opening, middlegame and endgame positions of the bench command
+    private static final List<String> BENCH_POSITIONS = List.of(
+            "startpos",
+            "fen r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/2N2N2/PPPP1PPP/R1BQK2R w - - 0 1",
+            "fen 2r3k1/pp3ppp/4p3/3n4/3P4/2N2P2/PP4PP/2R3K1 b - - 0 1",
+            "fen 8/5pk1/6p1/8/3R4/6P1/5PK1/3r4 w - - 0 1");
+
+    private final ChessMoveGeneratorService chessMoveGeneratorService;
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final PrintStream out;
+    private final ExecutorService searchExecutor;
+
+    private ChessEngineService chessEngineService;
+    private Chessboard chessboard = new Chessboard();
+    private Color colorOfPlayer = Color.WHITE;
+    private AtomicBoolean cancelled = new AtomicBoolean();
+    private Future<?> search;
+
+    public UciProtocolHandler(ChessMoveGeneratorService chessMoveGeneratorService,
+                              ChessmanMovementValidatorService chessmanMovementValidatorService,
+                              ChessPositionEvaluatorService chessPositionEvaluatorService, PrintStream out) {
+        this.chessMoveGeneratorService = chessMoveGeneratorService;
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.chessEngineService = new ChessEngineServiceImpl(chessMoveGeneratorService, chessmanMovementValidatorService,
+                chessPositionEvaluatorService);
+        this.out = out;
+        // A single search runs at a time, commands keep being read while it does
+        this.searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "uci-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Handles commands until quit or end of input
+    public void run(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!handleCommand(line)) {
+                return;
+            }
+        }
+        handleCommand("quit");
+    }
+
+    // Returns false once the engine quits
+    public boolean handleCommand(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        try {
+            return handleCommand(line, tokens);
+        } catch (NumberFormatException e) {
+            send(String.format(INVALID_COMMAND, line.trim()));
+            return true;
+        }
+    }
+
+    private boolean handleCommand(String line, String[] tokens) {
+        switch (tokens[0]) {
+            case "" -> {
+            }
+            case "uci" -> {
+                send("id name " + ENGINE_NAME);
+                send("id author " + ENGINE_NAME);
+                send("option name " + EVAL_FILE_OPTION + " type string default <empty>");
+                send("uciok");
+            }
+            case "isready" -> send("readyok");
+            case "ucinewgame" -> {
+                awaitSearch();
+                setPosition(new String[]{"position", "startpos"});
+            }
+            case "setoption" -> {
+                awaitSearch();
+                setOption(tokens);
+            }
+            case "position" -> {
+                awaitSearch();
+                setPosition(tokens);
+            }
+            case "go" -> {
+                awaitSearch();
+                if (tokens.length > 2 && "perft".equals(tokens[1])) {
+                    perft(Integer.parseInt(tokens[2]));
+                } else {
+                    go(tokens);
+                }
+            }
+            case "stop" -> stopSearch();
+            case "d" -> send(colorOfPlayer.getValue() + " to move: " + chessboard.getChessboardReadable());
+            case "bench" -> {
+                awaitSearch();
+                bench(tokens.length > 1 ? Integer.parseInt(tokens[1]) : DEFAULT_BENCH_DEPTH);
+            }
+            case "quit" -> {
+                stopSearch();
+                searchExecutor.shutdown();
+                return false;
+            }
+            default -> send(String.format(INVALID_COMMAND, line.trim()));
+        }
+
+        return true;
+    }
+
+    // Waits for the running search, if any, to send its best move. Commands other than stop and quit wait for it as
+    // well, so that a search is never cut short by the next position.
+    public void awaitSearch() {
+        if (search == null) {
+            return;
+        }
+
+        try {
+            search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("UCI search failed", e);
+        }
+    }
+
+    private void stopSearch() {
+        cancelled.set(true);
+        awaitSearch();
+    }
+
+    private void setOption(String[] tokens) {
+        // setoption name <id> value <x>
+        int valueIndex = Arrays.asList(tokens).indexOf("value");
+        if (tokens.length < 3 || !EVAL_FILE_OPTION.equals(tokens[2]) || valueIndex < 0) {
+            send(String.format(INVALID_OPTION, String.join(" ", tokens)));
+            return;
+        }
+
+        String weightsFile = String.join(" ", Arrays.copyOfRange(tokens, valueIndex + 1, tokens.length));
+        try {
+            // Vector API is used when the JVM was started with it
+            boolean vectorized = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+            NnueNetwork nnueNetwork = NnueNetwork.load(Path.of(weightsFile), vectorized);
+            chessEngineService = new ChessEngineServiceImpl(chessMoveGeneratorService, chessmanMovementValidatorService,
+                    new NnueChessPositionEvaluatorServiceImpl(nnueNetwork));
+            send("info string NNUE evaluator loaded from " + weightsFile + ", vectorized " + vectorized);
+        } catch (IOException e) {
+            send(String.format(INVALID_OPTION, e.getMessage()));
+        }
+    }
+
+    private void setPosition(String[] tokens) {
+        // position startpos|fen <fen> [moves <move>...]
+        int movesIndex = Arrays.asList(tokens).indexOf("moves");
+        int positionEnd = movesIndex < 0 ? tokens.length : movesIndex;
+
+        Chessboard newChessboard;
+        Color newColorOfPlayer;
+        try {
+            if (tokens.length > 1 && "startpos".equals(tokens[1])) {
+                newChessboard = new Chessboard();
+                newColorOfPlayer = Color.WHITE;
+            } else if (tokens.length > 3 && "fen".equals(tokens[1]) && positionEnd > 3) {
+                newChessboard = new Chessboard(FenConversionUtil.toChessboardReadable(tokens[2]));
+                newColorOfPlayer = FenConversionUtil.toColor(tokens[3]);
+            } else {
+                send(String.format(INVALID_POSITION, String.join(" ", tokens)));
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            send(String.format(INVALID_POSITION, e.getMessage()));
+            return;
+        }
+
+        chessboard = newChessboard;
+        colorOfPlayer = newColorOfPlayer;
+        for (int index = positionEnd + 1; index < tokens.length; index++) {
+            if (!makeMove(tokens[index])) {
+                send(String.format(ILLEGAL_MOVE, tokens[index]));
+                return;
+            }
+        }
+    }
+
+    // Plays a move in coordinate notation, with an optional promotion suffix, e.g. e2e4 or a7a8n
+    private boolean makeMove(String notation) {
+        if (notation.length() != 4 && notation.length() != 5) {
+            return false;
+        }
+
+        ChessMove move = new ChessMove(new ChessCoordinate(notation.substring(0, 2)),
+                new ChessCoordinate(notation.substring(2, 4)));
+        if (!chessMoveGeneratorService.generateMoves(chessboard, colorOfPlayer).contains(move)) {
+            return false;
+        }
+
+        MadeChessMove madeChessMove = chessMoveGeneratorService.makeMove(chessboard, move, null);
+        if (madeChessMove.isPromoted() && notation.length() == 5) {
+            Chessman chessman = FenConversionUtil.toChessman(notation.charAt(4));
+            if (chessman != null && chessmanMovementValidatorService.isPromotionAllowed(chessman)) {
+                madeChessMove.getMoved().setChessman(chessman);
+            }
+        }
+        colorOfPlayer = getOpponent(colorOfPlayer);
+
+        return true;
+    }
+
+    private void go(String[] tokens) {
+        int depth = MAX_DEPTH;
+        long timeLimitMillis = Long.MAX_VALUE / 2;
+        long maxNodes = Long.MAX_VALUE;
+        long time = -1;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+
+        for (int index = 1; index + 1 < tokens.length; index++) {
+            String value = tokens[index + 1];
+            switch (tokens[index]) {
+                case "depth" -> depth = Integer.parseInt(value);
+                case "movetime" -> timeLimitMillis = Long.parseLong(value);
+                case "nodes" -> maxNodes = Long.parseLong(value);
+                case "wtime" -> time = colorOfPlayer == Color.WHITE ? Long.parseLong(value) : time;
+                case "btime" -> time = colorOfPlayer == Color.BLACK ? Long.parseLong(value) : time;
+                case "winc" -> increment = colorOfPlayer == Color.WHITE ? Long.parseLong(value) : increment;
+                case "binc" -> increment = colorOfPlayer == Color.BLACK ? Long.parseLong(value) : increment;
+                case "movestogo" -> movesToGo = Math.max(1, Integer.parseInt(value));
+                default -> {
+                    continue;
+                }
+            }
+            index++;
+        }
+
+        // Clock is shared among the remaining moves, the overhead keeps the engine from losing on time
+        if (time >= 0) {
+            long budget = time / movesToGo + increment / 2;
+            timeLimitMillis = Math.min(timeLimitMillis, Math.max(1, Math.min(budget, time - MOVE_OVERHEAD_MILLIS)));
+        }
+
+        // Search runs on its own copy, so that the position can be changed meanwhile
+        Chessboard searchedChessboard = new Chessboard(chessboard.getChessboardReadable());
+        Color searchedColor = colorOfPlayer;
+        SearchLimits searchLimits = new SearchLimits(depth, timeLimitMillis, maxNodes);
+        AtomicBoolean searchCancelled = new AtomicBoolean();
+        cancelled = searchCancelled;
+
+        search = searchExecutor.submit(() -> {
+            long start = System.nanoTime();
+            List<SearchResult> analysis = chessEngineService.analyse(searchedChessboard, searchedColor, searchLimits, 1,
+                    searchCancelled, bestLines -> sendInfo(bestLines.get(0), start));
+
+            send("bestmove " + getBestMove(searchedChessboard, searchedColor, analysis));
+        });
+    }
+
+    private void perft(int depth) {
+        long start = System.nanoTime();
+        long nodes = 0;
+
+        for (ChessMove move : chessMoveGeneratorService.generateMoves(chessboard, colorOfPlayer)) {
+            MadeChessMove madeChessMove = chessMoveGeneratorService.makeMove(chessboard, move, null);
+            long moveNodes = perft(chessboard, getOpponent(colorOfPlayer), depth - 1);
+            chessMoveGeneratorService.unmakeMove(chessboard, madeChessMove, null);
+
+            send(move.getNotation() + ": " + moveNodes);
+            nodes += moveNodes;
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        send("");
+        send("Nodes searched: " + nodes);
+        send("Nodes/second: " + nodes * 1000 / Math.max(1, elapsedMillis));
+    }
+
+    // Games end with the capture of the king, so no move follows it
+    private long perft(Chessboard chessboard, Color colorOfPlayer, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (chessboard.getKing(colorOfPlayer) == null) {
+            return 0;
+        }
+
+        long nodes = 0;
+        for (ChessMove move : chessMoveGeneratorService.generateMoves(chessboard, colorOfPlayer)) {
+            MadeChessMove madeChessMove = chessMoveGeneratorService.makeMove(chessboard, move, null);
+            nodes += perft(chessboard, getOpponent(colorOfPlayer), depth - 1);
+            chessMoveGeneratorService.unmakeMove(chessboard, madeChessMove, null);
+        }
+
+        return nodes;
+    }
+
+    private void bench(int depth) {
+        long nodes = 0;
+        long elapsedNanos = 0;
+
+        for (String position : BENCH_POSITIONS) {
+            setPosition(("position " + position).split(" "));
+
+            long start = System.nanoTime();
+            SearchResult searchResult = chessEngineService.search(chessboard, colorOfPlayer,
+                    new SearchLimits(depth, Long.MAX_VALUE / 2, Long.MAX_VALUE), new AtomicBoolean());
+            elapsedNanos += System.nanoTime() - start;
+
+            nodes += searchResult == null ? 0 : searchResult.getNodes();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        send("");
+        send("Total time (ms) : " + elapsedMillis);
+        send("Nodes searched  : " + nodes);
+        send("Nodes/second    : " + nodes * 1000 / Math.max(1, elapsedMillis));
+        setPosition(new String[]{"position", "startpos"});
+    }
+
+    private void sendInfo(SearchResult searchResult, long start) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String pv = searchResult.getBestLine().stream().map(ChessMove::getNotation).collect(Collectors.joining(" "));
+
+        send(String.format(Locale.ENGLISH, "info depth %d score %s nodes %d nps %d time %d pv %s",
+                searchResult.getDepth(), toScore(searchResult.getScore()), searchResult.getNodes(),
+                searchResult.getNodes() * 1000 / Math.max(1, elapsedMillis), elapsedMillis, pv));
+    }
+
+    // Mate scores count the moves until the king is captured
+    private static String toScore(int score) {
+        int matePly = ChessEngineServiceImpl.MATE_SCORE - Math.abs(score);
+        if (matePly > MAX_MATE_PLY) {
+            return "cp " + score;
+        }
+
+        int mateMoves = (matePly + 1) / 2;
+        return "mate " + (score > 0 ? mateMoves : -mateMoves);
+    }
+
+    // A search stopped before depth 1 completes still answers with a move, as long as the game is not over
+    private String getBestMove(Chessboard chessboard, Color colorOfPlayer, List<SearchResult> analysis) {
+        if (!analysis.isEmpty()) {
+            return toNotation(chessboard, analysis.get(0).getBestLine().get(0));
+        }
+        if (chessboard.getKing(colorOfPlayer) == null || chessmanMovementValidatorService.isDrawGame(chessboard)) {
+            return NO_MOVE;
+        }
+
+        List<ChessMove> moves = chessMoveGeneratorService.generateMoves(chessboard, colorOfPlayer);
+        return moves.isEmpty() ? NO_MOVE : toNotation(chessboard, moves.get(0));
+    }
+
+    // Pawns reaching the last row are promoted to queen by the search
+    private String toNotation(Chessboard chessboard, ChessMove move) {
+        ChessmanWithProperties moved = chessboard.getChessmanWithProperties(move.getCoordinateFrom());
+        boolean promotion = chessmanMovementValidatorService.isPromotion(chessboard, moved, move.getCoordinateTo());
+        return move.getNotation() + (promotion ? "q" : "");
+    }
+
+    private static Color getOpponent(Color color) {
+        return color == Color.BLACK ? Color.WHITE : Color.BLACK;
+    }
+
+    private synchronized void send(String message) {
+        out.println(message);
+        out.flush();
+    }
+
+}
@@ -7,8 +7,10 @@ import org.springframework.http.HttpStatus;
 public class ServiceException extends RuntimeException {
     private final HttpStatus status;
 
+    // Client errors are expected outcomes, such as a move from an empty square, so they skip filling in the stack
+    // trace, which costs more than the rest of their handling. Server errors keep it.
     public ServiceException(String message, HttpStatus status) {
-        super(message);
+        super(message, null, false, status.is5xxServerError());
         this.status = status;
     }
 
@@ -0,0 +1,27 @@
+package com.example.chessserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.chessserver.ChessboardParse")
+@Label("Chessboard Parse")
+@Category({"Chess Server", "Chessboard"})
+@Description("Chessboard built from its readable form")
+@Enabled(false)
+@StackTrace(false)
+public class ChessboardParseEvent extends Event {
+
+    @Label("Chessmen")
+    public int chessmen;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+
+}
@@ -0,0 +1,27 @@
+package com.example.chessserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.chessserver.ChessboardSerialise")
+@Label("Chessboard Serialise")
+@Category({"Chess Server", "Chessboard"})
+@Description("Chessboard written to its readable form")
+@Enabled(false)
+@StackTrace(false)
+public class ChessboardSerialiseEvent extends Event {
+
+    @Label("Length")
+    public int length;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+
+}
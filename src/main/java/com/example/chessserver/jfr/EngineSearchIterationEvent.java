@@ -0,0 +1,41 @@
+package com.example.chessserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.chessserver.EngineSearchIteration")
+@Label("Engine Search Iteration")
+@Category({"Chess Server", "Engine"})
+@Description("Depth of an iterative deepening search")
+@Enabled(false)
+@StackTrace(false)
+public class EngineSearchIterationEvent extends Event {
+
+    @Label("Depth")
+    public int depth;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Nodes")
+    @Description("Nodes searched up to and including this depth")
+    public long nodes;
+
+    @Label("Completed")
+    @Description("False if time, node budget or cancellation stopped the depth")
+    public boolean completed;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+
+}
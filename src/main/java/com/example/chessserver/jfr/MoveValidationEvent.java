@@ -0,0 +1,39 @@
+package com.example.chessserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.chessserver.MoveValidation")
+@Label("Move Validation")
+@Category({"Chess Server", "Rules"})
+@Description("Move of a game checked against the rules")
+@Enabled(false)
+@StackTrace(false)
+public class MoveValidationEvent extends Event {
+
+    @Label("Game ID")
+    public String gameId;
+
+    @Label("Chessman")
+    public String chessman;
+
+    @Label("From")
+    public String coordinateFrom;
+
+    @Label("To")
+    public String coordinateTo;
+
+    @Label("Allowed")
+    public boolean allowed;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+
+}
@@ -0,0 +1,37 @@
+package com.example.chessserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.chessserver.RepositoryCall")
+@Label("Repository Call")
+@Category({"Chess Server", "Persistence"})
+@Description("Call of a Spring Data repository")
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Game ID")
+    @Description("Game ID argument of the call, if any")
+    public String gameId;
+
+    @Label("Failed")
+    public boolean failed;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocated;
+
+}
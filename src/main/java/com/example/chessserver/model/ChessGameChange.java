@@ -0,0 +1,20 @@
+package com.example.chessserver.model;
+
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.model.jpa.ChessGameDelta;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Move or promotion applied to a chess game in memory, saved and published by the caller
+@Data
+@AllArgsConstructor
+public class ChessGameChange {
+
+    private final ChessGame chessGame;
+    private final ChessmanMovementStatus status;
+    // Delta and event are left out when the move fails
+    private final ChessGameDelta chessGameDelta;
+    private final ChessMoveEvent chessMoveEvent;
+
+}
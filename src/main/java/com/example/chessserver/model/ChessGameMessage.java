@@ -0,0 +1,30 @@
+package com.example.chessserver.model;
+
+import com.example.chessserver.model.enums.ChessGameMessageType;
+import com.example.openapi.chessserver.model.BoardDelta;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Message of the WebSocket channel in both directions, fields not used by a message type are left out
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChessGameMessage {
+
+    private ChessGameMessageType type;
+    private String gameId;
+    private String coordinateFrom;
+    private String coordinateTo;
+    private String coordinate;
+    private String chessman;
+    private ChessmanMovementStatus status;
+    private Color colorOfPlayer;
+    private String chessboard;
+    private Long version;
+    private BoardDelta delta;
+    private String message;
+
+}
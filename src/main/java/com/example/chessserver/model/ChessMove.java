@@ -0,0 +1,18 @@
+package com.example.chessserver.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ChessMove {
+
+    private final ChessCoordinate coordinateFrom;
+    private final ChessCoordinate coordinateTo;
+
+    // Returns move in coordinate notation, e.g. e2e4
+    public String getNotation() {
+        return coordinateFrom.getXy() + coordinateTo.getXy();
+    }
+
+}
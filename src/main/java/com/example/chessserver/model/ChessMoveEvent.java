@@ -0,0 +1,28 @@
+package com.example.chessserver.model;
+
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.BoardDelta;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published once a move or promotion is persisted
+@Data
+@AllArgsConstructor
+public class ChessMoveEvent {
+
+    private final String gameId;
+    private final ChessmanMovementStatus status;
+    private final String coordinateFrom;
+    private final String coordinateTo;
+    // Chessman the pawn is promoted to, null for moves
+    private final Chessman promotedTo;
+    // Player to move next
+    private final Color colorOfPlayer;
+    // Chessboard and its version after the move
+    private final String chessboard;
+    private final long version;
+    private final BoardDelta delta;
+
+}
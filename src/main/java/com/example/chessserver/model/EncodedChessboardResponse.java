@@ -0,0 +1,22 @@
+package com.example.chessserver.model;
+
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+// ChessboardResponse along with its UTF-8 JSON serialised once per version of the chessboard, which
+// EncodedChessboardMessageConverter copies to responses as is. Shared by all reads of the version, so never changed.
+@Getter
+public class EncodedChessboardResponse extends ChessboardResponse {
+
+    @JsonIgnore
+    private final byte[] body;
+
+    public EncodedChessboardResponse(ChessboardResponse chessboardResponse, byte[] body) {
+        setChessboard(chessboardResponse.getChessboard());
+        setColorOfPlayer(chessboardResponse.getColorOfPlayer());
+        setVersion(chessboardResponse.getVersion());
+        this.body = body;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.chessserver.model;
+
+import com.example.openapi.chessserver.model.Color;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Chessboard of a game after every move event with a lower sequence
+@Data
+@AllArgsConstructor
+public class GameSnapshot {
+
+    private final long sequence;
+    private final String chessboard;
+    private final Color colorOfPlayer;
+    private final long version;
+
+}
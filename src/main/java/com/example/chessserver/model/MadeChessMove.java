@@ -0,0 +1,16 @@
+package com.example.chessserver.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// What a made move changed on the chessboard, so that it can be unmade
+@Data
+@AllArgsConstructor
+public class MadeChessMove {
+
+    private final ChessmanWithProperties moved;
+    private final ChessCoordinate coordinateFrom;
+    private final ChessmanWithProperties captured;
+    private final boolean promoted;
+
+}
@@ -0,0 +1,14 @@
+package com.example.chessserver.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SearchLimits {
+
+    private final int depth;
+    private final long timeLimitMillis;
+    private final long maxNodes;
+
+}
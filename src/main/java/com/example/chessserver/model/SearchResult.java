@@ -0,0 +1,17 @@
+package com.example.chessserver.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SearchResult {
+
+    // Score in centipawns from the point of view of the player to move
+    private final int score;
+    private final int depth;
+    private final List<ChessMove> bestLine;
+    private final long nodes;
+
+}
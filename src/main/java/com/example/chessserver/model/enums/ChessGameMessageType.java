@@ -0,0 +1,41 @@
+package com.example.chessserver.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+
+@Getter
+public enum ChessGameMessageType {
+
+    // Sent by clients
+    SUBSCRIBE("subscribe"),
+    UNSUBSCRIBE("unsubscribe"),
+    MOVE("move"),
+    PROMOTE("promote"),
+
+    // Sent by server
+    SUBSCRIBED("subscribed"),
+    SNAPSHOT("snapshot"),
+    MOVED("moved"),
+    RESULT("result"),
+    ERROR("error");
+
+    @JsonValue
+    private final String value;
+
+    ChessGameMessageType(String value) {
+        this.value = value;
+    }
+
+    @JsonCreator
+    public static ChessGameMessageType getByValue(String value) {
+        for (ChessGameMessageType messageType : ChessGameMessageType.values()) {
+            if (messageType.getValue().equals(value)) {
+                return messageType;
+            }
+        }
+
+        return null;
+    }
+
+}
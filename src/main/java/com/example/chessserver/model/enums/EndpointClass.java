@@ -0,0 +1,11 @@
+package com.example.chessserver.model.enums;
+
+// Ordered from the most to the least urgent, a class is shed while a more urgent one is queueing
+public enum EndpointClass {
+
+    MOVE,
+    CREATE,
+    READ,
+    ENGINE
+
+}
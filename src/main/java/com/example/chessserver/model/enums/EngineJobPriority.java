@@ -0,0 +1,9 @@
+package com.example.chessserver.model.enums;
+
+// Ordered from the most to the least urgent, queued engine jobs run in this order
+public enum EngineJobPriority {
+
+    EVALUATION,
+    ANALYSIS
+
+}
@@ -0,0 +1,13 @@
+package com.example.chessserver.model.enums;
+
+// Stages of a move in the order they run, each timed apart
+public enum MoveStage {
+
+    LOAD,
+    DECODE,
+    VALIDATION,
+    DETECTION,
+    ENCODE,
+    SAVE
+
+}
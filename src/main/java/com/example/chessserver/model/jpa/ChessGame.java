@@ -6,13 +6,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.Persistable;
 
 @Data
 @Entity
 @Table
-public class ChessGame {
+public class ChessGame implements Persistable<String> {
 
     @Id
     @Column(unique = true)
@@ -25,8 +31,43 @@ public class ChessGame {
     @Column
     private String chessboard;
 
+    // Increased by every move and promotion, clients use it to tell whether their chessboard is current
+    @Column
+    private long version;
+
+    // Checked and increased by every update, so of two moves of a game made from the same chessboard the later one fails
+    // instead of overwriting the other. Version above counts moves, a batch applies several of them in one update.
+    @Version
+    @Column
+    private long lockVersion;
+
+    // Game ID is assigned, so save could not tell new games apart and would look them up before inserting
+    @Transient
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return gameId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
     public void switchColorOfPlayer() {
         this.colorOfPlayer = colorOfPlayer == Color.BLACK ? Color.WHITE : Color.BLACK;
     }
 
+    public void increaseVersion() {
+        this.version++;
+    }
+
 }
@@ -0,0 +1,47 @@
+package com.example.chessserver.model.jpa;
+
+import com.example.openapi.chessserver.model.Color;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Changes of a chessboard made by the move of given version, only the latest ones of a game are kept
+@Data
+@Entity
+@Table(indexes = @Index(columnList = "gameId, version", unique = true))
+public class ChessGameDelta {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column
+    private String gameId;
+
+    @Column
+    private long version;
+
+    // Changed squares in the format of the chessboard, a bare coordinate is an emptied square
+    @Column
+    private String changes;
+
+    @Column
+    private String captured;
+
+    @Column
+    private String promotedTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private Color colorOfPlayer;
+
+    @Column
+    private long hash;
+
+}
@@ -0,0 +1,20 @@
+package com.example.chessserver.repository;
+
+import com.example.chessserver.model.jpa.ChessGameDelta;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ChessGameDeltaRepository extends JpaRepository<ChessGameDelta, Long> {
+
+    List<ChessGameDelta> findByGameIdAndVersionBetweenOrderByVersion(String gameId, long versionFrom, long versionTo);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChessGameDelta chessGameDelta where chessGameDelta.gameId = :gameId and chessGameDelta.version <= :version")
+    void deleteUpToVersion(@Param("gameId") String gameId, @Param("version") long version);
+
+}
@@ -1,10 +1,25 @@
 package com.example.chessserver.repository;
 
 import com.example.chessserver.model.jpa.ChessGame;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ChessGameRepository extends JpaRepository<ChessGame, String> {
 
     ChessGame findByGameId(String gameId);
 
+    // Version alone, without loading the chessboard
+    @Query("select chessGame.version from ChessGame chessGame where chessGame.gameId = :gameId")
+    Long findVersionByGameId(@Param("gameId") String gameId);
+
+    // IDs of all games, fetched in chunks as the stream is consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select chessGame.gameId from ChessGame chessGame")
+    Stream<String> streamAllGameIds();
+
 }
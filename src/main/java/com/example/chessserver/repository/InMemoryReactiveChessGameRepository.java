@@ -0,0 +1,93 @@
+package com.example.chessserver.repository;
+
+import com.example.chessserver.model.jpa.ChessGame;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// In-memory stand-in for a reactive driver. Games are copied in and out, so a game changes only when it is saved.
+// Saving a loaded game checks and increases its lock version as JPA does, so of two moves made from the same
+// chessboard the later one fails instead of overwriting the other.
+@Repository
+public class InMemoryReactiveChessGameRepository implements ReactiveChessGameRepository {
+
+    private static final String CHANGED_SINCE_LOADED = "Game ID %s was changed since it was loaded";
+
+    private final ConcurrentMap<String, ChessGame> chessGamesByGameId = new ConcurrentHashMap<>();
+
+    // Only games with subscribers have an entry
+    private final ConcurrentMap<String, Watch> watchesByGameId = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<ChessGame> findByGameId(String gameId) {
+        return Mono.fromSupplier(() -> {
+            ChessGame chessGame = chessGamesByGameId.get(gameId);
+            return chessGame == null ? null : copy(chessGame);
+        });
+    }
+
+    @Override
+    public Mono<ChessGame> save(ChessGame chessGame) {
+        return Mono.fromSupplier(() -> {
+            ChessGame savedChessGame = chessGamesByGameId.compute(chessGame.getGameId(), (gameId, storedChessGame) -> {
+                if (!chessGame.isNew()
+                        && (storedChessGame == null || storedChessGame.getLockVersion() != chessGame.getLockVersion())) {
+                    throw new OptimisticLockingFailureException(String.format(CHANGED_SINCE_LOADED, gameId));
+                }
+
+                ChessGame copy = copy(chessGame);
+                copy.setLockVersion(chessGame.isNew() ? 0 : chessGame.getLockVersion() + 1);
+                return copy;
+            });
+            chessGame.setLockVersion(savedChessGame.getLockVersion());
+            chessGame.setPersisted(true);
+
+            // Emitting under the lock of the entry keeps the sink of the game serialised
+            watchesByGameId.computeIfPresent(savedChessGame.getGameId(), (gameId, watch) -> {
+                watch.sink.tryEmitNext(copy(savedChessGame));
+                return watch;
+            });
+
+            return chessGame;
+        });
+    }
+
+    @Override
+    public Flux<ChessGame> findChangesByGameId(String gameId) {
+        return Flux.defer(() -> {
+            Watch watch = watchesByGameId.compute(gameId, (key, existingWatch) -> {
+                Watch watchOfGame = existingWatch == null ? new Watch() : existingWatch;
+                watchOfGame.subscribers++;
+                return watchOfGame;
+            });
+
+            return watch.sink.asFlux()
+                    .doFinally(signalType -> watchesByGameId.computeIfPresent(gameId,
+                            (key, watchOfGame) -> --watchOfGame.subscribers == 0 ? null : watchOfGame));
+        });
+    }
+
+    private static ChessGame copy(ChessGame chessGame) {
+        ChessGame copy = new ChessGame();
+        copy.setGameId(chessGame.getGameId());
+        copy.setColorOfPlayer(chessGame.getColorOfPlayer());
+        copy.setChessboard(chessGame.getChessboard());
+        copy.setVersion(chessGame.getVersion());
+        copy.setLockVersion(chessGame.getLockVersion());
+        copy.setPersisted(true);
+        return copy;
+    }
+
+    // Subscribers are counted under the lock of the entry, so a sink is never dropped while being subscribed to
+    private static class Watch {
+
+        private final Sinks.Many<ChessGame> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+
+    }
+
+}
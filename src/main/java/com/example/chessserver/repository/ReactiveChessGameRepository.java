@@ -0,0 +1,19 @@
+package com.example.chessserver.repository;
+
+import com.example.chessserver.model.jpa.ChessGame;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking store of chess games served by the reactive ChessApi
+public interface ReactiveChessGameRepository {
+
+    // Empty if the game is not found
+    Mono<ChessGame> findByGameId(String gameId);
+
+    // Fails with OptimisticLockingFailureException if the game was saved since it was loaded
+    Mono<ChessGame> save(ChessGame chessGame);
+
+    // Games saved from subscription on, the flux never completes on its own
+    Flux<ChessGame> findChangesByGameId(String gameId);
+
+}
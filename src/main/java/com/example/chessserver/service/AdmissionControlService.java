@@ -0,0 +1,12 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.model.enums.EndpointClass;
+
+public interface AdmissionControlService {
+
+    // Returns false if the request is shed, a request admitted must be released once handled
+    boolean tryAdmit(EndpointClass endpointClass);
+
+    void release(EndpointClass endpointClass, long latencyNanos);
+
+}
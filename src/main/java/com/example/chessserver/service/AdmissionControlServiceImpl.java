@@ -0,0 +1,104 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.AdaptiveConcurrencyLimiter;
+import com.example.chessserver.model.enums.EndpointClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AdmissionControlServiceImpl implements AdmissionControlService {
+
+    private static final String CLASS_TAG = "class";
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Long> maxQueueNanos = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Timer> queueWaitTimers = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejectedCounters = new EnumMap<>(EndpointClass.class);
+
+    @Autowired
+    public AdmissionControlServiceImpl(@Value("${chessserver.admission.min-limit:2}") int minLimit,
+                                       @Value("${chessserver.admission.max-limit:200}") int maxLimit,
+                                       @Value("${chessserver.admission.move.initial-limit:40}") int moveInitialLimit,
+                                       @Value("${chessserver.admission.move.max-queue-millis:500}") long moveMaxQueueMillis,
+                                       @Value("${chessserver.admission.create.initial-limit:10}") int createInitialLimit,
+                                       @Value("${chessserver.admission.create.max-queue-millis:200}") long createMaxQueueMillis,
+                                       @Value("${chessserver.admission.read.initial-limit:40}") int readInitialLimit,
+                                       @Value("${chessserver.admission.read.max-queue-millis:50}") long readMaxQueueMillis,
+                                       @Value("${chessserver.admission.engine.initial-limit:4}") int engineInitialLimit,
+                                       @Value("${chessserver.admission.engine.max-queue-millis:0}") long engineMaxQueueMillis,
+                                       MeterRegistry meterRegistry) {
+        register(EndpointClass.MOVE, moveInitialLimit, moveMaxQueueMillis, minLimit, maxLimit, meterRegistry);
+        register(EndpointClass.CREATE, createInitialLimit, createMaxQueueMillis, minLimit, maxLimit, meterRegistry);
+        register(EndpointClass.READ, readInitialLimit, readMaxQueueMillis, minLimit, maxLimit, meterRegistry);
+        register(EndpointClass.ENGINE, engineInitialLimit, engineMaxQueueMillis, minLimit, maxLimit, meterRegistry);
+    }
+
+    // A class yields to more urgent ones: while moves are queueing, reads are shed instead of competing with them
+    // for the DB and the CPU
+    @Override
+    public boolean tryAdmit(EndpointClass endpointClass) {
+        for (EndpointClass moreUrgentClass : EndpointClass.values()) {
+            if (moreUrgentClass == endpointClass) {
+                break;
+            }
+            if (limiters.get(moreUrgentClass).getWaiting() > 0) {
+                rejectedCounters.get(endpointClass).increment();
+                return false;
+            }
+        }
+
+        long waitedNanos = limiters.get(endpointClass).acquire(maxQueueNanos.get(endpointClass));
+        if (waitedNanos < 0) {
+            rejectedCounters.get(endpointClass).increment();
+            return false;
+        }
+
+        queueWaitTimers.get(endpointClass).record(waitedNanos, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    @Override
+    public void release(EndpointClass endpointClass, long latencyNanos) {
+        limiters.get(endpointClass).release(latencyNanos);
+    }
+
+    private void register(EndpointClass endpointClass, int initialLimit, long maxQueueMillis, int minLimit, int maxLimit,
+                          MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                Math.max(minLimit, Math.min(maxLimit, initialLimit)), minLimit, maxLimit);
+        limiters.put(endpointClass, limiter);
+        maxQueueNanos.put(endpointClass, TimeUnit.MILLISECONDS.toNanos(maxQueueMillis));
+
+        String className = endpointClass.name().toLowerCase(Locale.ENGLISH);
+        Gauge.builder("chessserver.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Requests admitted in flight at once")
+                .tag(CLASS_TAG, className)
+                .register(meterRegistry);
+        Gauge.builder("chessserver.admission.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests being handled")
+                .tag(CLASS_TAG, className)
+                .register(meterRegistry);
+        Gauge.builder("chessserver.admission.waiting", limiter, AdaptiveConcurrencyLimiter::getWaiting)
+                .description("Requests waiting for admission")
+                .tag(CLASS_TAG, className)
+                .register(meterRegistry);
+        queueWaitTimers.put(endpointClass, Timer.builder("chessserver.admission.queue.wait")
+                .description("Time admitted requests waited for admission")
+                .tag(CLASS_TAG, className)
+                .register(meterRegistry));
+        rejectedCounters.put(endpointClass, Counter.builder("chessserver.admission.rejected")
+                .description("Requests shed with 503")
+                .tag(CLASS_TAG, className)
+                .register(meterRegistry));
+    }
+
+}
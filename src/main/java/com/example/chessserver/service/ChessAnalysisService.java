@@ -0,0 +1,12 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EngineJob;
+import com.example.openapi.chessserver.model.AnalysisResponse;
+import java.util.function.Consumer;
+
+public interface ChessAnalysisService {
+
+    EngineJob<AnalysisResponse> analyseChessGame(String gameId, Integer lines, Integer depth, Integer timeMillis,
+                                                 Consumer<AnalysisResponse> onDepthCompleted);
+
+}
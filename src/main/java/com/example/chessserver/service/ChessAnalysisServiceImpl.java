@@ -0,0 +1,119 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.SearchResult;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.repository.ChessGameRepository;
+import com.example.openapi.chessserver.model.AnalysisLine;
+import com.example.openapi.chessserver.model.AnalysisResponse;
+import com.example.openapi.chessserver.model.Color;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChessAnalysisServiceImpl implements ChessAnalysisService {
+
+    private static final String NOT_FOUND = "Game ID %s is not found";
+    private static final String LINES_ARE_OUT_OF_RANGE = "Lines %s must be between 1 and %s";
+    private static final String DEPTH_IS_OUT_OF_RANGE = "Depth %s must be between 1 and %s";
+    private static final String TIME_IS_OUT_OF_RANGE = "Time limit %s must be between 1 and %s milliseconds";
+
+    private final ChessGameRepository chessGameRepository;
+    private final ChessEngineService chessEngineService;
+    private final EngineJobSchedulerService engineJobSchedulerService;
+    private final int defaultLines;
+    private final int maxLines;
+    private final int defaultDepth;
+    private final int maxDepth;
+    private final int defaultTimeMillis;
+    private final int maxTimeMillis;
+    private final long maxNodes;
+
+    @Autowired
+    public ChessAnalysisServiceImpl(ChessGameRepository chessGameRepository,
+                                    ChessEngineService chessEngineService,
+                                    EngineJobSchedulerService engineJobSchedulerService,
+                                    @Value("${chessserver.analysis.default-lines:3}") int defaultLines,
+                                    @Value("${chessserver.analysis.max-lines:5}") int maxLines,
+                                    @Value("${chessserver.analysis.default-depth:4}") int defaultDepth,
+                                    @Value("${chessserver.analysis.max-depth:6}") int maxDepth,
+                                    @Value("${chessserver.analysis.default-time-millis:5000}") int defaultTimeMillis,
+                                    @Value("${chessserver.analysis.max-time-millis:30000}") int maxTimeMillis,
+                                    @Value("${chessserver.analysis.max-nodes:5000000}") long maxNodes) {
+        this.chessGameRepository = chessGameRepository;
+        this.chessEngineService = chessEngineService;
+        this.engineJobSchedulerService = engineJobSchedulerService;
+        this.defaultLines = defaultLines;
+        this.maxLines = maxLines;
+        this.defaultDepth = defaultDepth;
+        this.maxDepth = maxDepth;
+        this.defaultTimeMillis = defaultTimeMillis;
+        this.maxTimeMillis = maxTimeMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    // Starts the analysis on the engine scheduler and returns without waiting for it. Best lines of every
+    // completed depth are passed to the consumer on the engine worker, an exception thrown by the consumer
+    // stops the analysis.
+    @Override
+    public EngineJob<AnalysisResponse> analyseChessGame(String gameId, Integer lines, Integer depth, Integer timeMillis,
+                                                        Consumer<AnalysisResponse> onDepthCompleted) {
+        int linesToSearch = lines == null ? defaultLines : lines;
+        if (linesToSearch < 1 || linesToSearch > maxLines) {
+            throw new ServiceException(String.format(LINES_ARE_OUT_OF_RANGE, linesToSearch, maxLines),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        int depthToSearch = depth == null ? defaultDepth : depth;
+        if (depthToSearch < 1 || depthToSearch > maxDepth) {
+            throw new ServiceException(String.format(DEPTH_IS_OUT_OF_RANGE, depthToSearch, maxDepth),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        int timeMillisToSearch = timeMillis == null ? defaultTimeMillis : timeMillis;
+        if (timeMillisToSearch < 1 || timeMillisToSearch > maxTimeMillis) {
+            throw new ServiceException(String.format(TIME_IS_OUT_OF_RANGE, timeMillisToSearch, maxTimeMillis),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        ChessGame chessGame = chessGameRepository.findByGameId(gameId);
+        if (chessGame == null) {
+            throw new ServiceException(String.format(NOT_FOUND, gameId),
+                    HttpStatus.NOT_FOUND);
+        }
+
+        Chessboard chessboard = new Chessboard(chessGame.getChessboard());
+        Color colorOfPlayer = chessGame.getColorOfPlayer();
+        SearchLimits searchLimits = new SearchLimits(depthToSearch, timeMillisToSearch, maxNodes);
+
+        return engineJobSchedulerService.submit(gameId, EngineJobPriority.ANALYSIS, cancelled -> {
+            List<SearchResult> analysis = chessEngineService.analyse(chessboard, colorOfPlayer, searchLimits,
+                    linesToSearch, cancelled, bestLines -> onDepthCompleted.accept(createAnalysisResponse(bestLines, colorOfPlayer)));
+            return analysis.isEmpty() ? null : createAnalysisResponse(analysis, colorOfPlayer);
+        });
+    }
+
+    private static AnalysisResponse createAnalysisResponse(List<SearchResult> bestLines, Color colorOfPlayer) {
+        SearchResult bestLine = bestLines.get(0);
+
+        return new AnalysisResponse()
+                .depth(bestLine.getDepth())
+                .lines(bestLines.stream()
+                        .map(searchResult -> new AnalysisLine()
+                                .score(searchResult.getScore())
+                                .moves(searchResult.getBestLine().stream().map(ChessMove::getNotation).toList()))
+                        .toList())
+                .nodes(bestLine.getNodes())
+                .colorOfPlayer(colorOfPlayer);
+    }
+
+}
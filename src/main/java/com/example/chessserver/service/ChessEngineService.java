@@ -0,0 +1,25 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.SearchResult;
+import com.example.openapi.chessserver.model.Color;
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public interface ChessEngineService {
+
+    SearchResult search(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer, @Nonnull SearchLimits searchLimits,
+                        @Nonnull AtomicBoolean cancelled);
+
+    List<SearchResult> analyse(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer, @Nonnull SearchLimits searchLimits,
+                               int lines, @Nonnull AtomicBoolean cancelled, @Nonnull Consumer<List<SearchResult>> onDepthCompleted);
+
+    default SearchResult search(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer, int depth, long timeLimitMillis) {
+        return search(chessboard, colorOfPlayer, new SearchLimits(depth, timeLimitMillis, Long.MAX_VALUE),
+                new AtomicBoolean());
+    }
+
+}
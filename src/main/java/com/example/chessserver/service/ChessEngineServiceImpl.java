@@ -0,0 +1,258 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.IncrementalEvaluator;
+import com.example.chessserver.jfr.EngineSearchIterationEvent;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.MadeChessMove;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.SearchResult;
+import com.example.chessserver.util.ThreadAllocationUtil;
+import com.example.openapi.chessserver.model.Color;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChessEngineServiceImpl implements ChessEngineService {
+
+    public static final int MATE_SCORE = 100000;
+    private static final int INFINITE_SCORE = 1000000;
+
+    private final ChessMoveGeneratorService chessMoveGeneratorService;
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final ChessPositionEvaluatorService chessPositionEvaluatorService;
+
+    @Autowired
+    public ChessEngineServiceImpl(ChessMoveGeneratorService chessMoveGeneratorService,
+                                  ChessmanMovementValidatorService chessmanMovementValidatorService,
+                                  ChessPositionEvaluatorService chessPositionEvaluatorService) {
+        this.chessMoveGeneratorService = chessMoveGeneratorService;
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.chessPositionEvaluatorService = chessPositionEvaluatorService;
+    }
+
+    // Iterative deepening alpha-beta search. Chessboard is modified during the search and restored afterward.
+    // Depth 1 always completes unless the search is cancelled, deeper iterations are discarded when the time
+    // or node budget runs out. Returns null only if cancelled before depth 1 completes.
+    @Override
+    public SearchResult search(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer, @Nonnull SearchLimits searchLimits,
+                               @Nonnull AtomicBoolean cancelled) {
+        SearchContext context = new SearchContext(
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchLimits.getTimeLimitMillis()),
+                searchLimits.getMaxNodes(), cancelled, chessPositionEvaluatorService.createIncrementalEvaluator(chessboard));
+        SearchResult searchResult = null;
+
+        for (int currentDepth = 1; currentDepth <= searchLimits.getDepth(); currentDepth++) {
+            context.budgetEnabled = currentDepth > 1;
+            EngineSearchIterationEvent event = new EngineSearchIterationEvent();
+            long allocatedBefore = event.isEnabled() ? ThreadAllocationUtil.getAllocatedBytes() : 0;
+            event.begin();
+
+            List<ChessMove> bestLine = new ArrayList<>();
+            int score = negamax(chessboard, colorOfPlayer, currentDepth, 0, -INFINITE_SCORE, INFINITE_SCORE,
+                    bestLine, context);
+            commitIteration(event, allocatedBefore, currentDepth, 1, score, context);
+
+            if (context.stopped) {
+                break;
+            }
+
+            searchResult = new SearchResult(score, currentDepth, bestLine, context.nodes);
+        }
+
+        return searchResult;
+    }
+
+    // Multi-PV variant of the iterative deepening search, every root move is searched with a window which only
+    // admits it when it beats the weakest of the best lines so far. Best lines of each completed depth are
+    // passed to the consumer in descending order of score and searched first at the next depth.
+    @Override
+    public List<SearchResult> analyse(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer, @Nonnull SearchLimits searchLimits,
+                                      int lines, @Nonnull AtomicBoolean cancelled, @Nonnull Consumer<List<SearchResult>> onDepthCompleted) {
+        SearchContext context = new SearchContext(
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchLimits.getTimeLimitMillis()),
+                searchLimits.getMaxNodes(), cancelled, chessPositionEvaluatorService.createIncrementalEvaluator(chessboard));
+        List<SearchResult> analysis = new ArrayList<>();
+
+        // Game is already over
+        if (chessboard.getKing(colorOfPlayer) == null || chessmanMovementValidatorService.isDrawGame(chessboard)) {
+            return analysis;
+        }
+
+        List<ChessMove> rootMoves = chessMoveGeneratorService.generateMoves(chessboard, colorOfPlayer);
+        rootMoves.sort(Comparator.comparingInt((ChessMove move) -> getCapturedValue(chessboard, move)).reversed());
+
+        Color colorOfOpponent = colorOfPlayer == Color.BLACK ? Color.WHITE : Color.BLACK;
+
+        for (int currentDepth = 1; currentDepth <= searchLimits.getDepth(); currentDepth++) {
+            context.budgetEnabled = currentDepth > 1;
+            EngineSearchIterationEvent event = new EngineSearchIterationEvent();
+            long allocatedBefore = event.isEnabled() ? ThreadAllocationUtil.getAllocatedBytes() : 0;
+            event.begin();
+
+            List<SearchResult> bestLines = new ArrayList<>(lines + 1);
+            for (ChessMove move : rootMoves) {
+                int alpha = bestLines.size() < lines ? -INFINITE_SCORE : bestLines.get(lines - 1).getScore();
+                List<ChessMove> childLine = new ArrayList<>();
+
+                MadeChessMove madeChessMove = chessMoveGeneratorService.makeMove(chessboard, move, context.incrementalEvaluator);
+                int score = -negamax(chessboard, colorOfOpponent, currentDepth - 1, 1, -INFINITE_SCORE, -alpha,
+                        childLine, context);
+                chessMoveGeneratorService.unmakeMove(chessboard, madeChessMove, context.incrementalEvaluator);
+
+                if (context.stopped) {
+                    break;
+                }
+
+                if (score > alpha) {
+                    childLine.add(0, move);
+                    addBestLine(bestLines, new SearchResult(score, currentDepth, childLine, 0), lines);
+                }
+            }
+            commitIteration(event, allocatedBefore, currentDepth, bestLines.size(),
+                    bestLines.isEmpty() ? 0 : bestLines.get(0).getScore(), context);
+
+            if (context.stopped) {
+                break;
+            }
+
+            analysis = bestLines.stream()
+                    .map(bestLine -> new SearchResult(bestLine.getScore(), bestLine.getDepth(), bestLine.getBestLine(),
+                            context.nodes))
+                    .toList();
+            onDepthCompleted.accept(analysis);
+
+            List<ChessMove> orderedRootMoves = new ArrayList<>(rootMoves.size());
+            analysis.forEach(bestLine -> orderedRootMoves.add(bestLine.getBestLine().get(0)));
+            rootMoves.stream().filter(move -> !orderedRootMoves.contains(move)).forEach(orderedRootMoves::add);
+            rootMoves = orderedRootMoves;
+        }
+
+        return analysis;
+    }
+
+    // Stopped depths are committed as well, they show where the budget went
+    private static void commitIteration(EngineSearchIterationEvent event, long allocatedBefore, int depth, int lines,
+                                        int score, SearchContext context) {
+        if (event.shouldCommit()) {
+            event.depth = depth;
+            event.lines = lines;
+            event.score = score;
+            event.nodes = context.nodes;
+            event.completed = !context.stopped;
+            event.allocated = ThreadAllocationUtil.getAllocatedBytes() - allocatedBefore;
+            event.commit();
+        }
+    }
+
+    private static void addBestLine(List<SearchResult> bestLines, SearchResult searchResult, int lines) {
+        int index = 0;
+        while (index < bestLines.size() && bestLines.get(index).getScore() >= searchResult.getScore()) {
+            index++;
+        }
+
+        bestLines.add(index, searchResult);
+        if (bestLines.size() > lines) {
+            bestLines.remove(lines);
+        }
+    }
+
+    private int negamax(Chessboard chessboard, Color colorOfPlayer, int depth, int ply, int alpha, int beta,
+                        List<ChessMove> line, SearchContext context) {
+        context.nodes++;
+        if (context.isStopRequested()) {
+            context.stopped = true;
+            return 0;
+        }
+
+        // King is captured by the previous move
+        if (chessboard.getKing(colorOfPlayer) == null) {
+            return -MATE_SCORE + ply;
+        }
+
+        if (depth == 0) {
+            return context.incrementalEvaluator.evaluate(colorOfPlayer);
+        }
+
+        if (chessmanMovementValidatorService.isDrawGame(chessboard)) {
+            return 0;
+        }
+
+        List<ChessMove> moves = chessMoveGeneratorService.generateMoves(chessboard, colorOfPlayer);
+        if (moves.isEmpty()) {
+            return 0;
+        }
+
+        // Captures of valuable chessmen first, so cut-offs happen early
+        moves.sort(Comparator.comparingInt((ChessMove move) -> getCapturedValue(chessboard, move)).reversed());
+
+        Color colorOfOpponent = colorOfPlayer == Color.BLACK ? Color.WHITE : Color.BLACK;
+
+        for (ChessMove move : moves) {
+            List<ChessMove> childLine = new ArrayList<>();
+
+            MadeChessMove madeChessMove = chessMoveGeneratorService.makeMove(chessboard, move, context.incrementalEvaluator);
+            int score = -negamax(chessboard, colorOfOpponent, depth - 1, ply + 1, -beta, -alpha, childLine, context);
+            chessMoveGeneratorService.unmakeMove(chessboard, madeChessMove, context.incrementalEvaluator);
+
+            if (context.stopped) {
+                return 0;
+            }
+
+            if (score > alpha) {
+                alpha = score;
+                line.clear();
+                line.add(move);
+                line.addAll(childLine);
+            }
+
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        return alpha;
+    }
+
+    private static int getCapturedValue(Chessboard chessboard, ChessMove move) {
+        ChessmanWithProperties captured = chessboard.getChessmanWithProperties(move.getCoordinateTo());
+        return captured == null ? 0 : ChessPositionEvaluatorServiceImpl.getValue(captured.getChessman());
+    }
+
+    private static class SearchContext {
+
+        private final long deadlineNanos;
+        private final long maxNodes;
+        private final AtomicBoolean cancelled;
+        private final IncrementalEvaluator incrementalEvaluator;
+        private boolean budgetEnabled;
+        private boolean stopped;
+        private long nodes;
+
+        private SearchContext(long deadlineNanos, long maxNodes, AtomicBoolean cancelled,
+                              IncrementalEvaluator incrementalEvaluator) {
+            this.deadlineNanos = deadlineNanos;
+            this.maxNodes = maxNodes;
+            this.cancelled = cancelled;
+            this.incrementalEvaluator = incrementalEvaluator;
+        }
+
+        private boolean isStopRequested() {
+            if (cancelled.get()) {
+                return true;
+            }
+
+            return budgetEnabled && (nodes > maxNodes || System.nanoTime() - deadlineNanos > 0);
+        }
+
+    }
+
+}
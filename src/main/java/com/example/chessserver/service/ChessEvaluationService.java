@@ -0,0 +1,11 @@
+package com.example.chessserver.service;
+
+import com.example.openapi.chessserver.model.EvaluationResponse;
+import java.util.concurrent.CompletableFuture;
+
+public interface ChessEvaluationService {
+
+    // Completes once the search does, cancel it to stop waiting. The search is cancelled once nobody waits for it.
+    CompletableFuture<EvaluationResponse> evaluateChessGame(String gameId, Integer depth, Integer timeMillis);
+
+}
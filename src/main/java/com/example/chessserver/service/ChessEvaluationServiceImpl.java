@@ -0,0 +1,153 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.component.EvaluationCache;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.SearchResult;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.repository.ChessGameRepository;
+import com.example.chessserver.util.ZobristHashUtil;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.EvaluationResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChessEvaluationServiceImpl implements ChessEvaluationService {
+
+    private static final String NOT_FOUND = "Game ID %s is not found";
+    private static final String DEPTH_IS_OUT_OF_RANGE = "Depth %s must be between 1 and %s";
+    private static final String TIME_IS_OUT_OF_RANGE = "Time limit %s must be between 1 and %s milliseconds";
+    private static final String SEARCH_IS_CANCELLED = "Evaluation of game %s is cancelled";
+
+    private final ChessGameRepository chessGameRepository;
+    private final ChessEngineService chessEngineService;
+    private final EngineJobSchedulerService engineJobSchedulerService;
+    private final EvaluationCache evaluationCache;
+    private final int defaultDepth;
+    private final int maxDepth;
+    private final int defaultTimeMillis;
+    private final int maxTimeMillis;
+    private final long maxNodes;
+
+    // Searches in progress, identical requests wait for the running search instead of starting their own
+    private final ConcurrentMap<SearchKey, EngineJob<SearchResult>> searchesInFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChessEvaluationServiceImpl(ChessGameRepository chessGameRepository,
+                                      ChessEngineService chessEngineService,
+                                      EngineJobSchedulerService engineJobSchedulerService,
+                                      EvaluationCache evaluationCache,
+                                      @Value("${chessserver.evaluation.default-depth:3}") int defaultDepth,
+                                      @Value("${chessserver.evaluation.max-depth:5}") int maxDepth,
+                                      @Value("${chessserver.evaluation.default-time-millis:2000}") int defaultTimeMillis,
+                                      @Value("${chessserver.evaluation.max-time-millis:10000}") int maxTimeMillis,
+                                      @Value("${chessserver.evaluation.max-nodes:1000000}") long maxNodes) {
+        this.chessGameRepository = chessGameRepository;
+        this.chessEngineService = chessEngineService;
+        this.engineJobSchedulerService = engineJobSchedulerService;
+        this.evaluationCache = evaluationCache;
+        this.defaultDepth = defaultDepth;
+        this.maxDepth = maxDepth;
+        this.defaultTimeMillis = defaultTimeMillis;
+        this.maxTimeMillis = maxTimeMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    @Override
+    public CompletableFuture<EvaluationResponse> evaluateChessGame(String gameId, Integer depth, Integer timeMillis) {
+        int depthToSearch = depth == null ? defaultDepth : depth;
+        if (depthToSearch < 1 || depthToSearch > maxDepth) {
+            throw new ServiceException(String.format(DEPTH_IS_OUT_OF_RANGE, depthToSearch, maxDepth),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        int timeMillisToSearch = timeMillis == null ? defaultTimeMillis : timeMillis;
+        if (timeMillisToSearch < 1 || timeMillisToSearch > maxTimeMillis) {
+            throw new ServiceException(String.format(TIME_IS_OUT_OF_RANGE, timeMillisToSearch, maxTimeMillis),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        ChessGame chessGame = chessGameRepository.findByGameId(gameId);
+        if (chessGame == null) {
+            throw new ServiceException(String.format(NOT_FOUND, gameId),
+                    HttpStatus.NOT_FOUND);
+        }
+
+        Chessboard chessboard = new Chessboard(chessGame.getChessboard());
+        Color colorOfPlayer = chessGame.getColorOfPlayer();
+        long positionHash = ZobristHashUtil.hash(chessboard, colorOfPlayer);
+
+        SearchResult searchResult = evaluationCache.get(positionHash, depthToSearch);
+        if (searchResult != null) {
+            return CompletableFuture.completedFuture(toEvaluationResponse(searchResult, colorOfPlayer));
+        }
+
+        return searchOnce(gameId, chessboard, colorOfPlayer, positionHash,
+                new SearchLimits(depthToSearch, timeMillisToSearch, maxNodes));
+    }
+
+    private CompletableFuture<EvaluationResponse> searchOnce(String gameId, Chessboard chessboard, Color colorOfPlayer,
+                                                             long positionHash, SearchLimits searchLimits) {
+        SearchKey searchKey = new SearchKey(positionHash, searchLimits.getDepth(), searchLimits.getTimeLimitMillis());
+
+        // Joins the search in progress, one cancelled since all its waiters left is replaced by a new search
+        EngineJob<SearchResult> search = searchesInFlight.compute(searchKey, (key, searchInFlight) -> {
+            if (searchInFlight != null && searchInFlight.tryJoin()) {
+                return searchInFlight;
+            }
+
+            EngineJob<SearchResult> newSearch = engineJobSchedulerService.submit(gameId, EngineJobPriority.EVALUATION,
+                    cancelled -> {
+                        SearchResult searchResult = chessEngineService.search(chessboard, colorOfPlayer, searchLimits,
+                                cancelled);
+                        if (searchResult != null) {
+                            evaluationCache.put(positionHash, searchResult);
+                        }
+                        return searchResult;
+                    });
+            newSearch.join();
+            return newSearch;
+        });
+        search.getResult().whenComplete((searchResult, throwable) -> searchesInFlight.remove(searchKey, search));
+
+        CompletableFuture<EvaluationResponse> evaluation = search.getResult().thenApply(searchResult -> {
+            if (searchResult == null) {
+                throw new ServiceException(String.format(SEARCH_IS_CANCELLED, gameId), HttpStatus.SERVICE_UNAVAILABLE);
+            }
+
+            return toEvaluationResponse(searchResult, colorOfPlayer);
+        });
+        // Leaves once the result is read or the caller stopped waiting by cancelling it
+        evaluation.whenComplete((evaluationResponse, throwable) -> {
+            search.leave();
+            if (search.isCancelled()) {
+                searchesInFlight.remove(searchKey, search);
+            }
+        });
+
+        return evaluation;
+    }
+
+    private static EvaluationResponse toEvaluationResponse(SearchResult searchResult, Color colorOfPlayer) {
+        return new EvaluationResponse()
+                .score(searchResult.getScore())
+                .depth(searchResult.getDepth())
+                .bestLine(searchResult.getBestLine().stream().map(ChessMove::getNotation).toList())
+                .colorOfPlayer(colorOfPlayer);
+    }
+
+    // Time limit is part of the key, a request never joins a search cut short by a smaller budget
+    private record SearchKey(long positionHash, int depth, long timeLimitMillis) {
+    }
+
+}
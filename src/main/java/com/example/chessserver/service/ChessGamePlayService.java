@@ -0,0 +1,23 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessGameChange;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.openapi.chessserver.model.Color;
+
+// Rules of a chess game applied in memory, storing the game is up to the caller
+public interface ChessGamePlayService {
+
+    ChessGame createChessGame(Color color);
+
+    // Chessboard of the chess game, updated along with the chess game. Outcome is counted by the caller once the move
+    // is saved, a move losing the race for its game is not an outcome.
+    ChessGameChange moveChessman(ChessGame chessGame, Chessboard chessboard, ChessCoordinate coordinateFrom,
+                                 ChessCoordinate coordinateTo);
+
+    ChessGameChange promotePawn(ChessGame chessGame, Chessboard chessboard, ChessCoordinate coordinate,
+                                Chessman chessmanToBePromoted);
+
+}
@@ -0,0 +1,184 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.MoveStageMetrics;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.jfr.MoveValidationEvent;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessGameChange;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.model.enums.MoveStage;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.model.jpa.ChessGameDelta;
+import com.example.chessserver.util.BoardDeltaConversionUtil;
+import com.example.chessserver.util.ChessboardMapConversionUtil;
+import com.example.chessserver.util.ThreadAllocationUtil;
+import com.example.chessserver.util.ZobristHashUtil;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChessGamePlayServiceImpl implements ChessGamePlayService {
+
+    private static final String CHESSMAN_NOT_FOUND = "Chessman is not found at %s%s";
+    private static final String CHESSMAN_COLOR_IS_WRONG = "Attempting to move chessman of %s player. It is not turn of %s player";
+    private static final String PROMOTION_COORDINATES_ARE_WRONG = "Promotion parameters are wrong";
+
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final MoveStageMetrics moveStageMetrics;
+
+    @Autowired
+    public ChessGamePlayServiceImpl(ChessmanMovementValidatorService chessmanMovementValidatorService,
+                                    MoveStageMetrics moveStageMetrics) {
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.moveStageMetrics = moveStageMetrics;
+    }
+
+    @Override
+    public ChessGame createChessGame(Color color) {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(generateGameId());
+        chessGame.setChessboard(Chessboard.INITIAL_CHESSBOARD_READABLE);
+        chessGame.setColorOfPlayer(color);
+
+        return chessGame;
+    }
+
+    @Override
+    public ChessGameChange moveChessman(ChessGame chessGame, Chessboard chessboard, ChessCoordinate coordinateFrom,
+                                        ChessCoordinate coordinateTo) {
+        long stageStart = System.nanoTime();
+        MoveValidationEvent event = new MoveValidationEvent();
+        long allocatedBefore = event.isEnabled() ? ThreadAllocationUtil.getAllocatedBytes() : 0;
+        event.begin();
+
+        ChessmanWithProperties chessmanWithProperties = chessboard.getChessmanWithProperties(coordinateFrom);
+        validateExistenceOfChessmanWithProperties(chessmanWithProperties, coordinateFrom);
+        validateColorOfChessmanWithProperties(chessmanWithProperties, chessGame.getColorOfPlayer());
+
+        boolean allowedToMove = chessmanMovementValidatorService.isChessmanAllowedToMove(chessboard,
+                chessmanWithProperties, coordinateTo);
+        stageStart = moveStageMetrics.record(MoveStage.VALIDATION, stageStart);
+        if (event.shouldCommit()) {
+            event.gameId = chessGame.getGameId();
+            event.chessman = chessmanWithProperties.getChessman().getShortName();
+            event.coordinateFrom = coordinateFrom.getXy();
+            event.coordinateTo = coordinateTo.getXy();
+            event.allowed = allowedToMove;
+            event.allocated = ThreadAllocationUtil.getAllocatedBytes() - allocatedBefore;
+            event.commit();
+        }
+        if (!allowedToMove) {
+            return new ChessGameChange(chessGame, ChessmanMovementStatus.FAIL, null, null);
+        }
+
+        // Update coordinates of chessman
+        ChessmanWithProperties capturedChessmanWithProperties = chessboard.getChessmanWithProperties(coordinateTo);
+        String captured = capturedChessmanWithProperties == null ? null :
+                ChessboardMapConversionUtil.createChessmanReadable(capturedChessmanWithProperties);
+        chessboard.removeChessmanWithProperties(chessmanWithProperties);
+
+        chessmanWithProperties.setCoordinate(new ChessCoordinate(coordinateTo.getX(), coordinateTo.getY()));
+        chessboard.putChessmanWithProperties(chessmanWithProperties);
+
+        ChessmanMovementStatus status;
+        if (chessmanMovementValidatorService.isCheckMate(chessboard, chessmanWithProperties.getColor())) {
+            status = ChessmanMovementStatus.CHECKMATE;
+            chessGame.switchColorOfPlayer();
+        } else if (chessmanMovementValidatorService.isDrawGame(chessboard)) {
+            status = ChessmanMovementStatus.DRAW;
+        } else if (chessmanWithProperties.getChessman() == Chessman.PAWN &&
+                chessmanMovementValidatorService.isPromotion(chessboard, chessmanWithProperties, coordinateTo)) {
+            status = ChessmanMovementStatus.PROMOTION;
+        } else {
+            status = ChessmanMovementStatus.SUCCESS;
+            chessGame.switchColorOfPlayer();
+        }
+        stageStart = moveStageMetrics.record(MoveStage.DETECTION, stageStart);
+
+        ChessGameChange change = createChange(chessGame, chessboard, status, coordinateFrom, coordinateTo, captured,
+                null, coordinateFrom.getXy(), ChessboardMapConversionUtil.createChessmanReadable(chessmanWithProperties));
+        moveStageMetrics.record(MoveStage.ENCODE, stageStart);
+
+        return change;
+    }
+
+    @Override
+    public ChessGameChange promotePawn(ChessGame chessGame, Chessboard chessboard, ChessCoordinate coordinate,
+                                       Chessman chessmanToBePromoted) {
+        ChessmanWithProperties chessmanWithProperties = chessboard.getChessmanWithProperties(coordinate);
+        validateExistenceOfChessmanWithProperties(chessmanWithProperties, coordinate);
+        validateColorOfChessmanWithProperties(chessmanWithProperties, chessGame.getColorOfPlayer());
+
+        if (!chessmanMovementValidatorService.isPromotion(chessboard, chessmanWithProperties, chessmanWithProperties.getCoordinate())) {
+            throw new ServiceException(PROMOTION_COORDINATES_ARE_WRONG, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        chessmanWithProperties.setChessman(chessmanToBePromoted);
+        chessboard.putChessmanWithProperties(chessmanWithProperties);
+
+        ChessmanMovementStatus status;
+        if (chessmanMovementValidatorService.isCheckMate(chessboard, chessmanWithProperties.getColor())) {
+            status = ChessmanMovementStatus.CHECKMATE;
+        } else if (chessmanMovementValidatorService.isDrawGame(chessboard)) {
+            status = ChessmanMovementStatus.DRAW;
+        } else {
+            status = ChessmanMovementStatus.SUCCESS;
+        }
+        chessGame.switchColorOfPlayer();
+
+        return createChange(chessGame, chessboard, status, coordinate, coordinate, null,
+                chessmanToBePromoted, ChessboardMapConversionUtil.createChessmanReadable(chessmanWithProperties));
+    }
+
+    // Next version of the chess game along with its delta and event, nothing is saved yet
+    private static ChessGameChange createChange(ChessGame chessGame, Chessboard chessboard, ChessmanMovementStatus status,
+                                                ChessCoordinate coordinateFrom, ChessCoordinate coordinateTo, String captured,
+                                                Chessman promotedTo, String... changes) {
+        chessGame.setChessboard(chessboard.getChessboardReadable());
+        chessGame.increaseVersion();
+
+        ChessGameDelta chessGameDelta = new ChessGameDelta();
+        chessGameDelta.setGameId(chessGame.getGameId());
+        chessGameDelta.setVersion(chessGame.getVersion());
+        chessGameDelta.setChanges(BoardDeltaConversionUtil.createChanges(changes));
+        chessGameDelta.setCaptured(captured);
+        chessGameDelta.setPromotedTo(promotedTo == null ? null : promotedTo.getShortName());
+        chessGameDelta.setColorOfPlayer(chessGame.getColorOfPlayer());
+        chessGameDelta.setHash(ZobristHashUtil.hash(chessboard, chessGame.getColorOfPlayer()));
+
+        ChessMoveEvent chessMoveEvent = new ChessMoveEvent(chessGame.getGameId(), status, coordinateFrom.getXy(),
+                coordinateTo.getXy(), promotedTo, chessGame.getColorOfPlayer(), chessGame.getChessboard(),
+                chessGame.getVersion(), BoardDeltaConversionUtil.createBoardDelta(chessGameDelta));
+
+        return new ChessGameChange(chessGame, status, chessGameDelta, chessMoveEvent);
+    }
+
+    private void validateExistenceOfChessmanWithProperties(ChessmanWithProperties chessmanWithProperties, ChessCoordinate coordinate) {
+        if (chessmanWithProperties == null) {
+            throw new ServiceException(String.format(CHESSMAN_NOT_FOUND, coordinate.getX(), coordinate.getY()),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    private void validateColorOfChessmanWithProperties(ChessmanWithProperties chessmanWithProperties, Color colorOfPlayer) {
+        if (chessmanWithProperties.getColor() != colorOfPlayer) {
+            throw new ServiceException(String.format(CHESSMAN_COLOR_IS_WRONG, colorOfPlayer, colorOfPlayer),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    private static String generateGameId() {
+        UUID uuid = UUID.randomUUID();
+        long uuidLong = ByteBuffer.wrap(uuid.toString().getBytes()).getLong();
+        return Long.toString(uuidLong, Character.MAX_RADIX);
+    }
+
+}
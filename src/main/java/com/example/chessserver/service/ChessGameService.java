@@ -5,20 +5,36 @@ import com.example.chessserver.model.enums.Chessman;
 import com.example.openapi.chessserver.model.ChessboardResponse;
 import com.example.openapi.chessserver.model.CreateChessGameRequest;
 import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.CreateChessGamesRequest;
+import com.example.openapi.chessserver.model.CreateChessGamesResponse;
+import com.example.openapi.chessserver.model.MoveBatchItem;
+import com.example.openapi.chessserver.model.MoveBatchResponse;
 import com.example.openapi.chessserver.model.MoveChessmanResponse;
 import com.example.openapi.chessserver.model.PromotePawnResponse;
+import java.util.List;
 
 public interface ChessGameService {
 
 
     CreateChessGameResponse createChessGame(CreateChessGameRequest createChessGameRequest);
 
+    // Games are saved in one batched insert
+    CreateChessGamesResponse createChessGames(CreateChessGamesRequest createChessGamesRequest);
+
     ChessboardResponse getChessGame(String gameId);
 
+    // Deltas since given version instead of the chessboard, as long as they are kept
+    ChessboardResponse getChessGameSince(String gameId, long sinceVersion);
+
+    long getVersion(String gameId);
+
     MoveChessmanResponse moveChessman(ChessCoordinate coordinateFrom, ChessCoordinate coordinateTo,
                                       String gameId);
 
     PromotePawnResponse promotePawn(ChessCoordinate coordinate, Chessman chessmanToBePromoted,
                                     String gameId);
 
+    // Moves are applied in order per game and saved in one transaction, results are in the order of the moves
+    MoveBatchResponse moveChessmen(List<MoveBatchItem> moves);
+
 }
@@ -1,109 +1,231 @@
 package com.example.chessserver.service;
 
 import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.GameIdFilter;
+import com.example.chessserver.component.MoveStageMetrics;
 import com.example.chessserver.exception.ServiceException;
 import com.example.chessserver.model.ChessCoordinate;
-import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.ChessGameChange;
 import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.model.enums.MoveStage;
 import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.model.jpa.ChessGameDelta;
+import com.example.chessserver.repository.ChessGameDeltaRepository;
 import com.example.chessserver.repository.ChessGameRepository;
+import com.example.chessserver.util.BoardDeltaConversionUtil;
 import com.example.openapi.chessserver.model.ChessboardResponse;
 import com.example.openapi.chessserver.model.ChessmanMovementStatus;
-import com.example.openapi.chessserver.model.Color;
 import com.example.openapi.chessserver.model.CreateChessGameRequest;
 import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.CreateChessGamesRequest;
+import com.example.openapi.chessserver.model.CreateChessGamesResponse;
+import com.example.openapi.chessserver.model.MoveBatchItem;
+import com.example.openapi.chessserver.model.MoveBatchResponse;
+import com.example.openapi.chessserver.model.MoveBatchResult;
 import com.example.openapi.chessserver.model.MoveChessmanResponse;
 import com.example.openapi.chessserver.model.PromotePawnResponse;
-import java.nio.ByteBuffer;
-import java.util.UUID;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class ChessGameServiceImpl implements ChessGameService {
 
     private static final String NOT_FOUND = "Game ID %s is not found";
-    private static final String CHESSMAN_NOT_FOUND = "Chessman is not found at %s%s";
-    private static final String CHESSMAN_COLOR_IS_WRONG = "Attempting to move chessman of %s player. It is not turn of %s player";
-    private static final String PROMOTION_COORDINATES_ARE_WRONG = "Promotion parameters are wrong";
+    private static final String CONCURRENT_MOVE = "Game ID %s was changed by a concurrent move";
+    private static final String VERSION_IS_AHEAD = "Version %d is ahead of chessboard version %d";
+    private static final String INVALID_GAME_COUNT = "Count must be between 1 and %d games";
+    private static final String INVALID_BATCH_SIZE = "Batch must hold between 1 and %d moves";
+    private static final String PROMOTION_IS_NOT_ALLOWED = "Promotion is not allowed";
+    private static final String INVALID_CHESSMAN_NAME = "Short name of chessman %s is invalid";
+    private static final String NOT_VALID_COORD_FROM = "%s%s is not a valid chess coordinate for from";
+    private static final String NOT_VALID_COORD_TO = "%s%s is not a valid chess coordinate for to";
 
     private final ChessGameRepository chessGameRepository;
+    private final ChessGameDeltaRepository chessGameDeltaRepository;
+    private final GameIdFilter gameIdFilter;
+    private final MoveStageMetrics moveStageMetrics;
+    private final ChessGamePlayService chessGamePlayService;
     private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final EngineJobSchedulerService engineJobSchedulerService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxDeltas;
+    private final int maxBatchMoves;
+    private final int maxBatchGames;
+    private final ExecutorService batchExecutor;
+
+    // Reads of a chessboard in flight by game, concurrent reads of a game share the first one instead of querying
+    private final ConcurrentMap<String, CompletableFuture<ChessboardResponse>> chessboardLoads = new ConcurrentHashMap<>();
+    private final Counter chessboardLoadCounter;
+    private final Counter coalescedChessboardLoadCounter;
 
     @Autowired
     public ChessGameServiceImpl(ChessGameRepository chessGameRepository,
-                                ChessmanMovementValidatorService chessmanMovementValidatorService) {
+                                ChessGameDeltaRepository chessGameDeltaRepository,
+                                GameIdFilter gameIdFilter,
+                                MoveStageMetrics moveStageMetrics,
+                                ChessGamePlayService chessGamePlayService,
+                                ChessmanMovementValidatorService chessmanMovementValidatorService,
+                                EngineJobSchedulerService engineJobSchedulerService,
+                                ApplicationEventPublisher applicationEventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${chessserver.chessboard.max-deltas:64}") int maxDeltas,
+                                @Value("${chessserver.batch.max-moves:500}") int maxBatchMoves,
+                                @Value("${chessserver.batch.max-games:1000}") int maxBatchGames,
+                                @Value("${chessserver.batch.threads:0}") int batchThreads,
+                                MeterRegistry meterRegistry) {
         this.chessGameRepository = chessGameRepository;
+        this.chessGameDeltaRepository = chessGameDeltaRepository;
+        this.gameIdFilter = gameIdFilter;
+        this.moveStageMetrics = moveStageMetrics;
+        this.chessGamePlayService = chessGamePlayService;
         this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.engineJobSchedulerService = engineJobSchedulerService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxDeltas = maxDeltas;
+        this.maxBatchMoves = maxBatchMoves;
+        this.maxBatchGames = maxBatchGames;
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.batchExecutor = Executors.newFixedThreadPool(
+                batchThreads > 0 ? batchThreads : Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable, "move-batch-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.chessboardLoadCounter = Counter.builder("chessserver.chessboard.loads")
+                .description("Chessboards read from the DB by getChessGame and getChessGameSince")
+                .register(meterRegistry);
+        this.coalescedChessboardLoadCounter = Counter.builder("chessserver.chessboard.loads.coalesced")
+                .description("Chessboard reads answered by a read of the same game already in flight")
+                .register(meterRegistry);
     }
 
     @Override
     public CreateChessGameResponse createChessGame(CreateChessGameRequest createChessGameRequest) {
-        String gameId = generateGameId();
-        storeNewChessGame(gameId, createChessGameRequest.getColor());
+        ChessGame chessGame = chessGamePlayService.createChessGame(createChessGameRequest.getColor());
+        chessGameRepository.save(chessGame);
+        gameIdFilter.put(chessGame.getGameId());
 
-        return new CreateChessGameResponse().gameId(gameId);
+        return new CreateChessGameResponse().gameId(chessGame.getGameId());
+    }
+
+    @Override
+    public CreateChessGamesResponse createChessGames(CreateChessGamesRequest createChessGamesRequest) {
+        Integer count = createChessGamesRequest.getCount();
+        if (count == null || count < 1 || count > maxBatchGames) {
+            throw new ServiceException(String.format(INVALID_GAME_COUNT, maxBatchGames), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        List<ChessGame> chessGames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            chessGames.add(chessGamePlayService.createChessGame(createChessGamesRequest.getColor()));
+        }
+        chessGameRepository.saveAll(chessGames);
+        chessGames.forEach(chessGame -> gameIdFilter.put(chessGame.getGameId()));
+
+        return new CreateChessGamesResponse().gameIds(chessGames.stream().map(ChessGame::getGameId).toList());
     }
 
     @Override
     public ChessboardResponse getChessGame(String gameId) {
-        ChessGame chessGame = chessGameRepository.findByGameId(gameId);
-        if (chessGame == null) {
+        ChessboardResponse chessboardResponse = loadChessboard(gameId);
+
+        // Every caller gets a response of its own, the loaded one is shared
+        return new ChessboardResponse().chessboard(chessboardResponse.getChessboard())
+                .colorOfPlayer(chessboardResponse.getColorOfPlayer())
+                .version(chessboardResponse.getVersion());
+    }
+
+    @Override
+    public ChessboardResponse getChessGameSince(String gameId, long sinceVersion) {
+        ChessboardResponse loaded = loadChessboard(gameId);
+
+        long version = loaded.getVersion();
+        if (sinceVersion > version) {
+            throw new ServiceException(String.format(VERSION_IS_AHEAD, sinceVersion, version),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        // Older deltas are pruned, such clients get the chessboard instead
+        if (version - sinceVersion <= maxDeltas) {
+            List<ChessGameDelta> chessGameDeltas =
+                    chessGameDeltaRepository.findByGameIdAndVersionBetweenOrderByVersion(gameId, sinceVersion + 1, version);
+            if (chessGameDeltas.size() == version - sinceVersion) {
+                return new ChessboardResponse().colorOfPlayer(loaded.getColorOfPlayer())
+                        .version(version)
+                        .deltas(chessGameDeltas.stream().map(BoardDeltaConversionUtil::createBoardDelta).toList());
+            }
+        }
+
+        return new ChessboardResponse().chessboard(loaded.getChessboard())
+                .colorOfPlayer(loaded.getColorOfPlayer())
+                .version(version);
+    }
+
+    @Override
+    public long getVersion(String gameId) {
+        requireKnownGameId(gameId);
+        Long version = chessGameRepository.findVersionByGameId(gameId);
+        if (version == null) {
             throw new ServiceException(String.format(NOT_FOUND, gameId),
                     HttpStatus.NOT_FOUND);
         }
 
-        return new ChessboardResponse().chessboard(chessGame.getChessboard())
-                .colorOfPlayer(chessGame.getColorOfPlayer());
+        return version;
     }
 
     @Override
     public MoveChessmanResponse moveChessman(ChessCoordinate coordinateFrom, ChessCoordinate coordinateTo, String gameId) {
         // Retrieve chess game
-        ChessGame chessGame = chessGameRepository.findByGameId(gameId);
-        if (chessGame == null) {
-            throw new ServiceException(String.format(NOT_FOUND, gameId),
-                    HttpStatus.NOT_FOUND);
-        }
+        long stageStart = System.nanoTime();
+        ChessGame chessGame = findChessGame(gameId);
+        stageStart = moveStageMetrics.record(MoveStage.LOAD, stageStart);
 
-        // Build chessboard and get chessman from chessboard
+        // Build chessboard and try to move chessman
         Chessboard chessboard = new Chessboard(chessGame.getChessboard());
+        moveStageMetrics.record(MoveStage.DECODE, stageStart);
+        ChessGameChange change = chessGamePlayService.moveChessman(chessGame, chessboard, coordinateFrom, coordinateTo);
 
-        ChessmanWithProperties chessmanWithProperties = chessboard.getChessmanWithProperties(coordinateFrom);
-        validateExistenceOfChessmanWithProperties(chessmanWithProperties, coordinateFrom);
-        validateColorOfChessmanWithProperties(chessmanWithProperties, chessGame.getColorOfPlayer());
-
-        // Try to move chessman
         MoveChessmanResponse moveChessmanResponse = new MoveChessmanResponse();
-
-        if (!chessmanMovementValidatorService.isChessmanAllowedToMove(chessboard, chessmanWithProperties,
-                coordinateTo)) {
-            moveChessmanResponse.setStatus(ChessmanMovementStatus.FAIL);
+        moveChessmanResponse.setStatus(change.getStatus());
+        if (change.getChessGameDelta() == null) {
+            moveStageMetrics.countOutcome(change.getStatus());
             return moveChessmanResponse;
         }
 
-        // Update coordinates of chessman and persist it to DB
-        chessboard.removeChessmanWithProperties(chessmanWithProperties);
-
-        chessmanWithProperties.setCoordinate(new ChessCoordinate(coordinateTo.getX(), coordinateTo.getY()));
-        chessboard.putChessmanWithProperties(chessmanWithProperties);
+        // Persist it to DB
+        stageStart = System.nanoTime();
+        saveChange(change);
+        moveStageMetrics.record(MoveStage.SAVE, stageStart);
+        moveStageMetrics.countOutcome(change.getStatus());
 
-        if (chessmanMovementValidatorService.isCheckMate(chessboard, chessmanWithProperties.getColor())) {
-            moveChessmanResponse.setStatus(ChessmanMovementStatus.CHECKMATE);
-            chessGame.switchColorOfPlayer();
-        } else if (chessmanMovementValidatorService.isDrawGame(chessboard)) {
-            moveChessmanResponse.setStatus(ChessmanMovementStatus.DRAW);
-        } else if (chessmanWithProperties.getChessman() == Chessman.PAWN &&
-                chessmanMovementValidatorService.isPromotion(chessboard, chessmanWithProperties, coordinateTo)) {
-            moveChessmanResponse.setStatus(ChessmanMovementStatus.PROMOTION);
-        } else {
-            moveChessmanResponse.setStatus(ChessmanMovementStatus.SUCCESS);
-            chessGame.switchColorOfPlayer();
-        }
-
-        chessGame.setChessboard(chessboard.getChessboardReadable());
-        chessGameRepository.save(chessGame);
+        moveChessmanResponse.setDelta(change.getChessMoveEvent().getDelta());
+        publish(change);
 
         return moveChessmanResponse;
     }
@@ -111,73 +233,260 @@ public class ChessGameServiceImpl implements ChessGameService {
     @Override
     public PromotePawnResponse promotePawn(ChessCoordinate coordinate, Chessman chessmanToBePromoted, String gameId) {
         // Retrieve chess game
+        ChessGame chessGame = findChessGame(gameId);
+
+        // Build chessboard and replace chessman with promoted one
+        Chessboard chessboard = new Chessboard(chessGame.getChessboard());
+        ChessGameChange change = chessGamePlayService.promotePawn(chessGame, chessboard, coordinate, chessmanToBePromoted);
+
+        // Persist it to DB
+        saveChange(change);
+
+        PromotePawnResponse promotePawnResponse = new PromotePawnResponse();
+        promotePawnResponse.setStatus(change.getStatus());
+        promotePawnResponse.setDelta(change.getChessMoveEvent().getDelta());
+        publish(change);
+
+        return promotePawnResponse;
+    }
+
+    @Override
+    public MoveBatchResponse moveChessmen(List<MoveBatchItem> moves) {
+        if (moves == null || moves.isEmpty() || moves.size() > maxBatchMoves) {
+            throw new ServiceException(String.format(INVALID_BATCH_SIZE, maxBatchMoves), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        // Indices of moves by game, a game is applied by one thread in the order of its moves
+        Map<String, List<Integer>> indicesByGameId = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            indicesByGameId.computeIfAbsent(moves.get(i).getGameId(), gameId -> new ArrayList<>()).add(i);
+        }
+
+        // Unknown game IDs are rejected by the filter before they become part of the query
+        List<String> knownGameIds = indicesByGameId.keySet().stream().filter(gameIdFilter::mightContain).toList();
+        Map<String, ChessGame> chessGamesByGameId = new HashMap<>();
+        if (!knownGameIds.isEmpty()) {
+            for (ChessGame chessGame : chessGameRepository.findAllById(knownGameIds)) {
+                chessGamesByGameId.put(chessGame.getGameId(), chessGame);
+            }
+        }
+
+        // Games share nothing but the results array, each of its slots is written by one game only
+        MoveBatchResult[] results = new MoveBatchResult[moves.size()];
+        List<CompletableFuture<List<ChessGameChange>>> futures = new ArrayList<>();
+        indicesByGameId.forEach((gameId, indices) -> futures.add(CompletableFuture.supplyAsync(() ->
+                applyMoves(chessGamesByGameId.get(gameId), gameId, indices, moves, results), batchExecutor)));
+
+        List<ChessGameChange> changes = new ArrayList<>();
+        for (CompletableFuture<List<ChessGameChange>> future : futures) {
+            changes.addAll(join(future));
+        }
+
+        // Listeners read the committed state
+        changes.forEach(this::publish);
+
+        return new MoveBatchResponse().results(Arrays.asList(results));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    private List<ChessGameChange> applyMoves(ChessGame chessGame, String gameId, List<Integer> indices,
+                                             List<MoveBatchItem> moves, MoveBatchResult[] results) {
+        List<ChessGameChange> changes = new ArrayList<>();
+        // Outcomes of the moves are counted once the game is saved
+        List<ChessmanMovementStatus> outcomes = new ArrayList<>();
+        // Chessboard is parsed once for all moves of the game
+        Chessboard chessboard = chessGame == null ? null : new Chessboard(chessGame.getChessboard());
+
+        for (int index : indices) {
+            MoveBatchResult result = new MoveBatchResult().gameId(gameId);
+            results[index] = result;
+            try {
+                if (chessGame == null) {
+                    throw new ServiceException(String.format(NOT_FOUND, gameId), HttpStatus.NOT_FOUND);
+                }
+                applyMove(chessGame, chessboard, moves.get(index), result, changes, outcomes);
+            } catch (ServiceException e) {
+                result.setMessage(e.getMessage());
+            }
+        }
+
+        if (changes.isEmpty()) {
+            outcomes.forEach(moveStageMetrics::countOutcome);
+            return changes;
+        }
+
+        // Each game is saved in a transaction of its own, a game changed by a concurrent move fails its moves only
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveChanges(chessGame, changes));
+        } catch (OptimisticLockingFailureException e) {
+            for (int index : indices) {
+                MoveBatchResult result = results[index];
+                if (result.getMessage() == null) {
+                    result.setStatus(null);
+                    result.setDeltas(null);
+                    result.setMessage(String.format(CONCURRENT_MOVE, gameId));
+                }
+            }
+            return List.of();
+        }
+
+        outcomes.forEach(moveStageMetrics::countOutcome);
+        return changes;
+    }
+
+    private void applyMove(ChessGame chessGame, Chessboard chessboard, MoveBatchItem move, MoveBatchResult result,
+                           List<ChessGameChange> changes, List<ChessmanMovementStatus> outcomes) {
+        ChessCoordinate coordinateFrom = toChessCoordinate(move.getCoordinateFrom(), NOT_VALID_COORD_FROM);
+        ChessCoordinate coordinateTo = toChessCoordinate(move.getCoordinateTo(), NOT_VALID_COORD_TO);
+        // Promotion is validated before the move, so a rejected move leaves the chessboard as it is
+        Chessman chessmanToBePromoted = move.getPromotion() == null ? null : toPromotedChessman(move.getPromotion());
+
+        ChessGameChange change = chessGamePlayService.moveChessman(chessGame, chessboard, coordinateFrom, coordinateTo);
+        result.setStatus(change.getStatus());
+        outcomes.add(change.getStatus());
+        if (change.getChessGameDelta() == null) {
+            return;
+        }
+        changes.add(change);
+        result.addDeltasItem(change.getChessMoveEvent().getDelta());
+
+        if (change.getStatus() == ChessmanMovementStatus.PROMOTION && chessmanToBePromoted != null) {
+            ChessGameChange promotion = chessGamePlayService.promotePawn(chessGame, chessboard, coordinateTo, chessmanToBePromoted);
+            result.setStatus(promotion.getStatus());
+            changes.add(promotion);
+            result.addDeltasItem(promotion.getChessMoveEvent().getDelta());
+        }
+    }
+
+    // Single flight: the first reader of a game queries the DB, readers arriving while it does wait for its result,
+    // failure included. Moves end the flight, so a read started once a move has returned never gets the chessboard
+    // of before the move.
+    private ChessboardResponse loadChessboard(String gameId) {
+        requireKnownGameId(gameId);
+        CompletableFuture<ChessboardResponse> load = new CompletableFuture<>();
+        CompletableFuture<ChessboardResponse> loadInFlight = chessboardLoads.putIfAbsent(gameId, load);
+        if (loadInFlight != null) {
+            coalescedChessboardLoadCounter.increment();
+            return join(loadInFlight);
+        }
+
+        try {
+            chessboardLoadCounter.increment();
+            ChessGame chessGame = findChessGame(gameId);
+            load.complete(new ChessboardResponse().chessboard(chessGame.getChessboard())
+                    .colorOfPlayer(chessGame.getColorOfPlayer())
+                    .version(chessGame.getVersion()));
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+        } finally {
+            chessboardLoads.remove(gameId, load);
+        }
+
+        return join(load);
+    }
+
+    private ChessGame findChessGame(String gameId) {
+        requireKnownGameId(gameId);
         ChessGame chessGame = chessGameRepository.findByGameId(gameId);
         if (chessGame == null) {
             throw new ServiceException(String.format(NOT_FOUND, gameId),
                     HttpStatus.NOT_FOUND);
         }
 
-        // Build chessboard and get chessman from chessboard
-        Chessboard chessboard = new Chessboard(chessGame.getChessboard());
+        return chessGame;
+    }
 
-        ChessmanWithProperties chessmanWithProperties = chessboard.getChessmanWithProperties(coordinate);
-        validateExistenceOfChessmanWithProperties(chessmanWithProperties, coordinate);
-        validateColorOfChessmanWithProperties(chessmanWithProperties, chessGame.getColorOfPlayer());
+    // Unknown game IDs are rejected by the filter before they become a query
+    private void requireKnownGameId(String gameId) {
+        if (!gameIdFilter.mightContain(gameId)) {
+            throw new ServiceException(String.format(NOT_FOUND, gameId),
+                    HttpStatus.NOT_FOUND);
+        }
+    }
 
-        if (!chessmanMovementValidatorService.isPromotion(chessboard, chessmanWithProperties, chessmanWithProperties.getCoordinate())) {
-            throw new ServiceException(PROMOTION_COORDINATES_ARE_WRONG, HttpStatus.UNPROCESSABLE_ENTITY);
+    // Game and its delta are saved together, so the deltas never fall behind the chessboard. Update fails if the game
+    // was changed since it was loaded, the client retries with the current chessboard. It is flushed first, inserts
+    // would otherwise come first and a racing move would fail on the delta of the same version instead.
+    private void saveChange(ChessGameChange change) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveChanges(change.getChessGame(), List.of(change)));
+        } catch (OptimisticLockingFailureException e) {
+            throw new ServiceException(String.format(CONCURRENT_MOVE, change.getChessGame().getGameId()),
+                    HttpStatus.CONFLICT);
         }
+    }
 
-        // Replace chessman with promoted one and persist it to DB
-        chessmanWithProperties.setChessman(chessmanToBePromoted);
-        chessboard.putChessmanWithProperties(chessmanWithProperties);
+    private void saveChanges(ChessGame chessGame, List<ChessGameChange> changes) {
+        chessGameRepository.saveAndFlush(chessGame);
+        storeDeltas(changes.stream().map(ChessGameChange::getChessGameDelta).toList());
+    }
 
-        PromotePawnResponse promotePawnResponse = new PromotePawnResponse();
+    // Deltas no longer served by getChessGameSince are pruned
+    private void storeDeltas(List<ChessGameDelta> chessGameDeltas) {
+        chessGameDeltaRepository.saveAll(chessGameDeltas);
 
-        if (chessmanMovementValidatorService.isCheckMate(chessboard, chessmanWithProperties.getColor())) {
-            promotePawnResponse.setStatus(ChessmanMovementStatus.CHECKMATE);
-        } else if (chessmanMovementValidatorService.isDrawGame(chessboard)) {
-            promotePawnResponse.setStatus(ChessmanMovementStatus.DRAW);
-        } else {
-            promotePawnResponse.setStatus(ChessmanMovementStatus.SUCCESS);
+        Map<String, Long> versionsByGameId = new HashMap<>();
+        for (ChessGameDelta chessGameDelta : chessGameDeltas) {
+            versionsByGameId.merge(chessGameDelta.getGameId(), chessGameDelta.getVersion(), Math::max);
         }
+        versionsByGameId.forEach((gameId, version) -> {
+            if (version > maxDeltas) {
+                chessGameDeltaRepository.deleteUpToVersion(gameId, version - maxDeltas);
+            }
+        });
+    }
 
-        chessGame.switchColorOfPlayer();
-        chessGame.setChessboard(chessboard.getChessboardReadable());
-        chessGameRepository.save(chessGame);
-
-        return promotePawnResponse;
+    private void publish(ChessGameChange change) {
+        chessboardLoads.remove(change.getChessGame().getGameId());
+        applicationEventPublisher.publishEvent(change.getChessMoveEvent());
+        cancelEngineJobsIfGameIsOver(change.getChessGame().getGameId(), change.getStatus());
     }
 
-    private void storeNewChessGame(String gameId, Color color) {
-        ChessGame chessGame = new ChessGame();
-        chessGame.setGameId(gameId);
+    // Engine work on a finished game is of no use to anyone
+    private void cancelEngineJobsIfGameIsOver(String gameId, ChessmanMovementStatus status) {
+        if (status == ChessmanMovementStatus.CHECKMATE || status == ChessmanMovementStatus.DRAW) {
+            engineJobSchedulerService.cancelJobsOfGame(gameId);
+        }
+    }
 
-        Chessboard chessboard = new Chessboard();
-        chessGame.setChessboard(chessboard.getChessboardReadable());
-        chessGame.setColorOfPlayer(color);
+    private ChessCoordinate toChessCoordinate(String xy, String invalidCoordinateMessage) {
+        ChessCoordinate coordinate = new ChessCoordinate(xy);
+        if (chessmanMovementValidatorService.isNotInChessBorder(coordinate)) {
+            throw new ServiceException(String.format(invalidCoordinateMessage, coordinate.getX(), coordinate.getY()),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
 
-        chessGameRepository.save(chessGame);
+        return coordinate;
     }
 
-    private void validateExistenceOfChessmanWithProperties(ChessmanWithProperties chessmanWithProperties, ChessCoordinate coordinate) {
-        if (chessmanWithProperties == null) {
-            throw new ServiceException(String.format(CHESSMAN_NOT_FOUND, coordinate.getX(), coordinate.getY()),
+    private Chessman toPromotedChessman(String shortName) {
+        Chessman chessmanToBePromoted = Chessman.getByShortName(shortName);
+        if (chessmanToBePromoted == null) {
+            throw new ServiceException(String.format(INVALID_CHESSMAN_NAME, shortName),
                     HttpStatus.UNPROCESSABLE_ENTITY);
         }
-    }
 
-    private void validateColorOfChessmanWithProperties(ChessmanWithProperties chessmanWithProperties, Color colorOfPlayer) {
-        if (chessmanWithProperties.getColor() != colorOfPlayer) {
-            throw new ServiceException(String.format(CHESSMAN_COLOR_IS_WRONG, colorOfPlayer, colorOfPlayer),
+        if (!chessmanMovementValidatorService.isPromotionAllowed(chessmanToBePromoted)) {
+            throw new ServiceException(PROMOTION_IS_NOT_ALLOWED,
                     HttpStatus.UNPROCESSABLE_ENTITY);
         }
+
+        return chessmanToBePromoted;
     }
 
-    private static String generateGameId() {
-        UUID uuid = UUID.randomUUID();
-        long uuidLong = ByteBuffer.wrap(uuid.toString().getBytes()).getLong();
-        return Long.toString(uuidLong, Character.MAX_RADIX);
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
     }
 
-}
\ No newline at end of file
+}
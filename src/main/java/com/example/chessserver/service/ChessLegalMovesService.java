@@ -0,0 +1,9 @@
+package com.example.chessserver.service;
+
+import com.example.openapi.chessserver.model.LegalMovesResponse;
+
+public interface ChessLegalMovesService {
+
+    LegalMovesResponse getLegalMoves(String gameId);
+
+}
@@ -0,0 +1,78 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.LegalMovesCache;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.util.ZobristHashUtil;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.LegalMove;
+import com.example.openapi.chessserver.model.LegalMovesResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChessLegalMovesServiceImpl implements ChessLegalMovesService {
+
+    private static final int CHESSBOARD_SIZE = 8;
+    private static final String DESTINATIONS_FORMAT = "%016x";
+
+    private final ChessGameService chessGameService;
+    private final ChessMoveGeneratorService chessMoveGeneratorService;
+    private final LegalMovesCache legalMovesCache;
+
+    @Autowired
+    public ChessLegalMovesServiceImpl(ChessGameService chessGameService,
+                                      ChessMoveGeneratorService chessMoveGeneratorService,
+                                      LegalMovesCache legalMovesCache) {
+        this.chessGameService = chessGameService;
+        this.chessMoveGeneratorService = chessMoveGeneratorService;
+        this.legalMovesCache = legalMovesCache;
+    }
+
+    // Moves come from the move generator, which accepts exactly what moveChessman does
+    @Override
+    public LegalMovesResponse getLegalMoves(String gameId) {
+        ChessboardResponse chessboardResponse = chessGameService.getChessGame(gameId);
+        Chessboard chessboard = new Chessboard(chessboardResponse.getChessboard());
+
+        // A move changes the hash, so cached moves never outlive the position they are generated for
+        long positionHash = ZobristHashUtil.hash(chessboard, chessboardResponse.getColorOfPlayer());
+        List<LegalMove> legalMoves = legalMovesCache.get(positionHash);
+        if (legalMoves == null) {
+            legalMoves = createLegalMoves(
+                    chessMoveGeneratorService.generateMoves(chessboard, chessboardResponse.getColorOfPlayer()));
+            legalMovesCache.put(positionHash, legalMoves);
+        }
+
+        return new LegalMovesResponse()
+                .colorOfPlayer(chessboardResponse.getColorOfPlayer())
+                .version(chessboardResponse.getVersion())
+                .moves(legalMoves);
+    }
+
+    private static List<LegalMove> createLegalMoves(List<ChessMove> moves) {
+        // Insertion ordered, so chessmen are listed in the order the generator finds them
+        Map<String, Long> destinationsByFrom = new LinkedHashMap<>();
+        for (ChessMove move : moves) {
+            destinationsByFrom.merge(move.getCoordinateFrom().getXy(), toBit(move.getCoordinateTo()), (a, b) -> a | b);
+        }
+
+        List<LegalMove> legalMoves = new ArrayList<>(destinationsByFrom.size());
+        for (Map.Entry<String, Long> entry : destinationsByFrom.entrySet()) {
+            legalMoves.add(new LegalMove().from(entry.getKey())
+                    .destinations(String.format(DESTINATIONS_FORMAT, entry.getValue())));
+        }
+
+        return List.copyOf(legalMoves);
+    }
+
+    private static long toBit(ChessCoordinate coordinate) {
+        return 1L << ((coordinate.getY() - 1) * CHESSBOARD_SIZE + (coordinate.getXInt() - 1));
+    }
+
+}
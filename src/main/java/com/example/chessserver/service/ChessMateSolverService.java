@@ -0,0 +1,12 @@
+package com.example.chessserver.service;
+
+import com.example.openapi.chessserver.model.SolveMateRequest;
+import com.example.openapi.chessserver.model.SolveMateResponse;
+import java.util.concurrent.CompletableFuture;
+
+public interface ChessMateSolverService {
+
+    // Completes once the search does, cancel it to stop waiting. The search is cancelled once nobody waits for it.
+    CompletableFuture<SolveMateResponse> solveMate(SolveMateRequest solveMateRequest);
+
+}
@@ -0,0 +1,344 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.MadeChessMove;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import com.example.chessserver.util.ChessboardMapConversionUtil;
+import com.example.chessserver.util.ZobristHashUtil;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.SolveMateRequest;
+import com.example.openapi.chessserver.model.SolveMateResponse;
+import com.example.openapi.chessserver.model.SolveMateResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+// Proof-number search over king captures, since checkmate in this server is capturing the king.
+// Checkmate in N moves is proven when the king can be captured at the latest with the (N + 1)th move.
+@Service
+public class ChessMateSolverServiceImpl implements ChessMateSolverService {
+
+    private static final String INVALID_CHESSBOARD = "Chessboard %s is invalid";
+    private static final String COLOR_IS_MISSING = "Color of player is missing";
+    private static final String KING_IS_MISSING = "Chessboard must have a king of each player";
+    private static final String MOVES_ARE_OUT_OF_RANGE = "Moves %s must be between 1 and %s";
+    // Solver jobs have no game, they are keyed by the position instead, which no game ID can be mistaken for
+    private static final String SOLVER_JOB_KEY = "solver-%016x";
+
+    private static final int INFINITE = Integer.MAX_VALUE;
+    // Garbage collection shrinks the proof tree to this share of its limit
+    private static final double GARBAGE_COLLECTION_TARGET = 0.75;
+
+    private final ChessMoveGeneratorService chessMoveGeneratorService;
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+    private final EngineJobSchedulerService engineJobSchedulerService;
+    private final int maxMoves;
+    private final long maxNodes;
+    private final int maxTreeNodes;
+
+    @Autowired
+    public ChessMateSolverServiceImpl(ChessMoveGeneratorService chessMoveGeneratorService,
+                                      ChessmanMovementValidatorService chessmanMovementValidatorService,
+                                      EngineJobSchedulerService engineJobSchedulerService,
+                                      @Value("${chessserver.solver.max-moves:5}") int maxMoves,
+                                      @Value("${chessserver.solver.max-nodes:2000000}") long maxNodes,
+                                      @Value("${chessserver.solver.max-tree-nodes:200000}") int maxTreeNodes) {
+        this.chessMoveGeneratorService = chessMoveGeneratorService;
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+        this.engineJobSchedulerService = engineJobSchedulerService;
+        this.maxMoves = maxMoves;
+        this.maxNodes = maxNodes;
+        this.maxTreeNodes = maxTreeNodes;
+    }
+
+    @Override
+    public CompletableFuture<SolveMateResponse> solveMate(SolveMateRequest solveMateRequest) {
+        if (!ChessboardMapConversionUtil.isChessboardReadableValid(solveMateRequest.getChessboard())) {
+            throw new ServiceException(String.format(INVALID_CHESSBOARD, solveMateRequest.getChessboard()),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        Color colorOfPlayer = solveMateRequest.getColorOfPlayer();
+        if (colorOfPlayer == null) {
+            throw new ServiceException(COLOR_IS_MISSING, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        Integer moves = solveMateRequest.getMoves();
+        if (moves == null || moves < 1 || moves > maxMoves) {
+            throw new ServiceException(String.format(MOVES_ARE_OUT_OF_RANGE, moves, maxMoves),
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        Chessboard chessboard = new Chessboard(solveMateRequest.getChessboard());
+        if (chessboard.getKing(Color.BLACK) == null || chessboard.getKing(Color.WHITE) == null) {
+            throw new ServiceException(KING_IS_MISSING, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
+        long nodeBudget = solveMateRequest.getMaxNodes() == null ? maxNodes :
+                Math.min(Math.max(solveMateRequest.getMaxNodes(), 1), maxNodes);
+
+        String jobKey = String.format(SOLVER_JOB_KEY, ZobristHashUtil.hash(chessboard, colorOfPlayer));
+        EngineJob<SolveMateResponse> search = engineJobSchedulerService.submit(jobKey, EngineJobPriority.ANALYSIS,
+                cancelled -> new ProofNumberSearch(chessboard, colorOfPlayer, nodeBudget, cancelled).solve(moves + 1));
+
+        CompletableFuture<SolveMateResponse> solution = search.join().thenApply(Function.identity());
+        // Leaves once the result is read or the caller stopped waiting by cancelling it
+        solution.whenComplete((solveMateResponse, throwable) -> search.leave());
+
+        return solution;
+    }
+
+    private static final class ProofNode {
+
+        private final ProofNode parent;
+        private final ChessMove move;
+        private final boolean attackerToMove;
+        private final int attackerMovesLeft;
+        private int proofNumber = 1;
+        private int disproofNumber = 1;
+        // Null until the node is expanded, and again after garbage collection drops its subtree
+        private List<ProofNode> children;
+
+        private ProofNode(ProofNode parent, ChessMove move, boolean attackerToMove, int attackerMovesLeft) {
+            this.parent = parent;
+            this.move = move;
+            this.attackerToMove = attackerToMove;
+            this.attackerMovesLeft = attackerMovesLeft;
+        }
+
+        private boolean isSolved() {
+            return proofNumber == 0 || disproofNumber == 0;
+        }
+
+        private void prove() {
+            proofNumber = 0;
+            disproofNumber = INFINITE;
+        }
+
+        private void disprove() {
+            proofNumber = INFINITE;
+            disproofNumber = 0;
+        }
+
+    }
+
+    private class ProofNumberSearch {
+
+        private final Chessboard chessboard;
+        private final Color colorOfAttacker;
+        private final Color colorOfDefender;
+        private final long nodeBudget;
+        private final AtomicBoolean cancelled;
+        private long nodes;
+        private int treeSize;
+
+        private ProofNumberSearch(Chessboard chessboard, Color colorOfAttacker, long nodeBudget, AtomicBoolean cancelled) {
+            this.chessboard = chessboard;
+            this.colorOfAttacker = colorOfAttacker;
+            this.colorOfDefender = colorOfAttacker == Color.BLACK ? Color.WHITE : Color.BLACK;
+            this.nodeBudget = nodeBudget;
+            this.cancelled = cancelled;
+        }
+
+        private SolveMateResponse solve(int attackerMoves) {
+            ProofNode root = new ProofNode(null, null, true, attackerMoves);
+            treeSize = 1;
+
+            while (!root.isSolved() && nodes < nodeBudget && !cancelled.get()) {
+                // Descend to the most proving node, making its moves on the chessboard
+                List<MadeChessMove> path = new ArrayList<>();
+                ProofNode mostProvingNode = root;
+                while (mostProvingNode.children != null) {
+                    mostProvingNode = selectMostProvingChild(mostProvingNode);
+                    path.add(chessMoveGeneratorService.makeMove(chessboard, mostProvingNode.move, null));
+                }
+
+                expand(mostProvingNode);
+
+                for (int i = path.size() - 1; i >= 0; i--) {
+                    chessMoveGeneratorService.unmakeMove(chessboard, path.get(i), null);
+                }
+
+                updateAncestors(mostProvingNode);
+
+                if (treeSize > maxTreeNodes) {
+                    collectGarbage(root);
+                }
+            }
+
+            SolveMateResponse solveMateResponse = new SolveMateResponse().nodes(nodes);
+            if (root.proofNumber == 0) {
+                return solveMateResponse.result(SolveMateResult.PROVEN).mateLine(getMateLine(root));
+            }
+
+            return solveMateResponse.result(root.disproofNumber == 0 ? SolveMateResult.DISPROVEN : SolveMateResult.UNKNOWN);
+        }
+
+        private ProofNode selectMostProvingChild(ProofNode node) {
+            for (ProofNode child : node.children) {
+                if (node.attackerToMove ? child.proofNumber == node.proofNumber :
+                        child.disproofNumber == node.disproofNumber) {
+                    return child;
+                }
+            }
+
+            return node.children.get(0);
+        }
+
+        private void expand(ProofNode node) {
+            List<ChessMove> moves = chessMoveGeneratorService.generateMoves(chessboard,
+                    node.attackerToMove ? colorOfAttacker : colorOfDefender);
+            List<ProofNode> children = new ArrayList<>(moves.size());
+
+            for (ChessMove move : moves) {
+                nodes++;
+                ProofNode child = new ProofNode(node, move, !node.attackerToMove,
+                        node.attackerToMove ? node.attackerMovesLeft - 1 : node.attackerMovesLeft);
+
+                MadeChessMove madeChessMove = chessMoveGeneratorService.makeMove(chessboard, move, null);
+                initialize(child);
+                chessMoveGeneratorService.unmakeMove(chessboard, madeChessMove, null);
+
+                children.add(child);
+
+                // One refutation is enough, the remaining moves do not change the result of the node
+                if (node.attackerToMove ? child.proofNumber == 0 : child.disproofNumber == 0) {
+                    break;
+                }
+            }
+
+            node.children = children;
+            treeSize += children.size();
+        }
+
+        // Chessboard holds the position of the child while it is initialized
+        private void initialize(ProofNode child) {
+            if (chessboard.getKing(colorOfDefender) == null) {
+                child.prove();
+            } else if (chessboard.getKing(colorOfAttacker) == null ||
+                    chessmanMovementValidatorService.isDrawGame(chessboard)) {
+                child.disprove();
+            } else if (!child.attackerToMove && child.attackerMovesLeft == 0) {
+                // Attacker has used the last move without capturing the king
+                child.disprove();
+            }
+        }
+
+        private void updateAncestors(ProofNode node) {
+            for (ProofNode current = node; current != null; current = current.parent) {
+                updateNumbers(current);
+                if (current.isSolved()) {
+                    releaseChildren(current);
+                }
+            }
+        }
+
+        private void updateNumbers(ProofNode node) {
+            // Player without any move cannot capture the king
+            if (node.children.isEmpty()) {
+                node.disprove();
+                return;
+            }
+
+            int minimum = INFINITE;
+            int sum = 0;
+            for (ProofNode child : node.children) {
+                int minimized = node.attackerToMove ? child.proofNumber : child.disproofNumber;
+                int summed = node.attackerToMove ? child.disproofNumber : child.proofNumber;
+                minimum = Math.min(minimum, minimized);
+                sum = summed == INFINITE || sum > INFINITE - summed ? INFINITE : sum + summed;
+            }
+
+            node.proofNumber = node.attackerToMove ? minimum : sum;
+            node.disproofNumber = node.attackerToMove ? sum : minimum;
+        }
+
+        // Solved subtrees are not searched again. Proven nodes keep one proven child, which is enough to
+        // report the mate line, and disproven nodes keep nothing.
+        private void releaseChildren(ProofNode node) {
+            if (node.proofNumber == 0 ? node.children.size() == 1 : node.children.isEmpty()) {
+                return;
+            }
+
+            List<ProofNode> keptChildren = new ArrayList<>(1);
+            if (node.proofNumber == 0) {
+                for (ProofNode child : node.children) {
+                    if (child.proofNumber == 0) {
+                        keptChildren.add(child);
+                        break;
+                    }
+                }
+            }
+
+            for (ProofNode child : node.children) {
+                if (!keptChildren.contains(child)) {
+                    treeSize -= getSubtreeSize(child);
+                }
+            }
+            node.children = keptChildren;
+        }
+
+        // Drops the subtrees of unsolved nodes at the frontier. Such nodes keep their proof and disproof
+        // numbers, so the search still knows how promising they are and expands them again when needed.
+        private void collectGarbage(ProofNode root) {
+            int target = (int) (maxTreeNodes * GARBAGE_COLLECTION_TARGET);
+            int previousTreeSize;
+            do {
+                previousTreeSize = treeSize;
+                collapseFrontier(root, root, target);
+            } while (treeSize > target && treeSize < previousTreeSize);
+        }
+
+        private void collapseFrontier(ProofNode root, ProofNode node, int target) {
+            if (node.children == null || node.isSolved() || treeSize <= target) {
+                return;
+            }
+
+            boolean isFrontier = true;
+            for (ProofNode child : node.children) {
+                if (child.children != null) {
+                    isFrontier = false;
+                    collapseFrontier(root, child, target);
+                }
+            }
+
+            if (isFrontier && node != root) {
+                treeSize -= node.children.size();
+                node.children = null;
+            }
+        }
+
+        private int getSubtreeSize(ProofNode node) {
+            int size = 1;
+            if (node.children != null) {
+                for (ProofNode child : node.children) {
+                    size += getSubtreeSize(child);
+                }
+            }
+
+            return size;
+        }
+
+        private List<String> getMateLine(ProofNode root) {
+            List<String> mateLine = new ArrayList<>();
+            ProofNode node = root;
+            while (node.children != null && !node.children.isEmpty()) {
+                node = node.children.get(0);
+                mateLine.add(node.move.getNotation());
+            }
+
+            return mateLine;
+        }
+
+    }
+
+}
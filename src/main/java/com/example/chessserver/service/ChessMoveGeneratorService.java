@@ -0,0 +1,21 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.IncrementalEvaluator;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.MadeChessMove;
+import com.example.openapi.chessserver.model.Color;
+import jakarta.annotation.Nonnull;
+import java.util.List;
+
+public interface ChessMoveGeneratorService {
+
+    List<ChessMove> generateMoves(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer);
+
+    MadeChessMove makeMove(@Nonnull Chessboard chessboard, @Nonnull ChessMove move,
+                           IncrementalEvaluator incrementalEvaluator);
+
+    void unmakeMove(@Nonnull Chessboard chessboard, @Nonnull MadeChessMove madeChessMove,
+                    IncrementalEvaluator incrementalEvaluator);
+
+}
@@ -0,0 +1,127 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.IncrementalEvaluator;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.MadeChessMove;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.Color;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChessMoveGeneratorServiceImpl implements ChessMoveGeneratorService {
+
+    private static final int CHESSBOARD_SIZE = 8;
+
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService;
+
+    @Autowired
+    public ChessMoveGeneratorServiceImpl(ChessmanMovementValidatorService chessmanMovementValidatorService) {
+        this.chessmanMovementValidatorService = chessmanMovementValidatorService;
+    }
+
+    // Generates moves accepted by the movement validator, so that every generated move can be played by moveChessman
+    @Override
+    public List<ChessMove> generateMoves(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer) {
+        List<ChessMove> moves = new ArrayList<>();
+
+        for (ChessmanWithProperties chessmanWithProperties : chessboard.getAllChessmanWithProperties(colorOfPlayer)) {
+            ChessCoordinate coordinateFrom = chessmanWithProperties.getCoordinate();
+
+            for (int x = 1; x <= CHESSBOARD_SIZE; x++) {
+                for (int y = 1; y <= CHESSBOARD_SIZE; y++) {
+                    if (!isReachableByAnyChessman(coordinateFrom, x, y)) {
+                        continue;
+                    }
+
+                    ChessCoordinate coordinateTo = new ChessCoordinate(x, y);
+                    if (chessmanMovementValidatorService.isChessmanAllowedToMove(chessboard, chessmanWithProperties,
+                            coordinateTo)) {
+                        moves.add(new ChessMove(coordinateFrom, coordinateTo));
+                    }
+                }
+            }
+        }
+
+        return moves;
+    }
+
+    // Pawns reaching the last row are promoted to queen, since a search cannot wait for promotePawn.
+    // Incremental evaluator is optional and follows every chessman taken off and put on the chessboard.
+    @Override
+    public MadeChessMove makeMove(@Nonnull Chessboard chessboard, @Nonnull ChessMove move,
+                                  IncrementalEvaluator incrementalEvaluator) {
+        ChessmanWithProperties moved = chessboard.getChessmanWithProperties(move.getCoordinateFrom());
+        ChessmanWithProperties captured = chessboard.getChessmanWithProperties(move.getCoordinateTo());
+        boolean promoted = moved.getChessman() == Chessman.PAWN &&
+                chessmanMovementValidatorService.isPromotion(chessboard, moved, move.getCoordinateTo());
+
+        if (captured != null) {
+            chessboard.removeChessmanWithProperties(captured);
+            removeChessman(incrementalEvaluator, captured);
+        }
+
+        chessboard.removeChessmanWithProperties(moved);
+        removeChessman(incrementalEvaluator, moved);
+        moved.setCoordinate(move.getCoordinateTo());
+        if (promoted) {
+            moved.setChessman(Chessman.QUEEN);
+        }
+        chessboard.putChessmanWithProperties(moved);
+        addChessman(incrementalEvaluator, moved);
+
+        return new MadeChessMove(moved, move.getCoordinateFrom(), captured, promoted);
+    }
+
+    @Override
+    public void unmakeMove(@Nonnull Chessboard chessboard, @Nonnull MadeChessMove madeChessMove,
+                           IncrementalEvaluator incrementalEvaluator) {
+        ChessmanWithProperties moved = madeChessMove.getMoved();
+
+        chessboard.removeChessmanWithProperties(moved);
+        removeChessman(incrementalEvaluator, moved);
+        moved.setCoordinate(madeChessMove.getCoordinateFrom());
+        if (madeChessMove.isPromoted()) {
+            moved.setChessman(Chessman.PAWN);
+        }
+        chessboard.putChessmanWithProperties(moved);
+        addChessman(incrementalEvaluator, moved);
+
+        if (madeChessMove.getCaptured() != null) {
+            chessboard.putChessmanWithProperties(madeChessMove.getCaptured());
+            addChessman(incrementalEvaluator, madeChessMove.getCaptured());
+        }
+    }
+
+    private static void addChessman(IncrementalEvaluator incrementalEvaluator, ChessmanWithProperties chessmanWithProperties) {
+        if (incrementalEvaluator != null) {
+            incrementalEvaluator.addChessman(chessmanWithProperties);
+        }
+    }
+
+    private static void removeChessman(IncrementalEvaluator incrementalEvaluator, ChessmanWithProperties chessmanWithProperties) {
+        if (incrementalEvaluator != null) {
+            incrementalEvaluator.removeChessman(chessmanWithProperties);
+        }
+    }
+
+    // Cheap geometric filter: same file, rank or diagonal, or a knight jump away
+    private static boolean isReachableByAnyChessman(ChessCoordinate coordinateFrom, int x, int y) {
+        int changeInX = Math.abs(x - coordinateFrom.getXInt());
+        int changeInY = Math.abs(y - coordinateFrom.getY());
+
+        if (changeInX == 0 && changeInY == 0) {
+            return false;
+        }
+
+        return changeInX == 0 || changeInY == 0 || changeInX == changeInY ||
+                (changeInX == 1 && changeInY == 2) || (changeInX == 2 && changeInY == 1);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.IncrementalEvaluator;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.openapi.chessserver.model.Color;
+import jakarta.annotation.Nonnull;
+
+public interface ChessPositionEvaluatorService {
+
+    // Returns static score of position in centipawns from the point of view of given player
+    int evaluate(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer);
+
+    // Evaluators without incremental state evaluate the followed chessboard from scratch
+    default IncrementalEvaluator createIncrementalEvaluator(@Nonnull Chessboard chessboard) {
+        return new IncrementalEvaluator() {
+            @Override
+            public void addChessman(ChessmanWithProperties chessmanWithProperties) {
+            }
+
+            @Override
+            public void removeChessman(ChessmanWithProperties chessmanWithProperties) {
+            }
+
+            @Override
+            public int evaluate(Color colorOfPlayer) {
+                return ChessPositionEvaluatorService.this.evaluate(chessboard, colorOfPlayer);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.Color;
+import jakarta.annotation.Nonnull;
+import java.util.HashMap;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChessPositionEvaluatorServiceImpl implements ChessPositionEvaluatorService {
+
+    private static final int CENTER_BONUS_PER_RING = 5;
+
+    @Override
+    public int evaluate(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer) {
+        int score = 0;
+
+        for (HashMap<Integer, ChessmanWithProperties> yCoordMap : chessboard.getChessboardMap().values()) {
+            for (ChessmanWithProperties chessmanWithProperties : yCoordMap.values()) {
+                int chessmanScore = getValue(chessmanWithProperties.getChessman()) +
+                        getCenterBonus(chessmanWithProperties.getChessman(), chessmanWithProperties.getCoordinate());
+                score += chessmanWithProperties.getColor() == colorOfPlayer ? chessmanScore : -chessmanScore;
+            }
+        }
+
+        return score;
+    }
+
+    public static int getValue(Chessman chessman) {
+        return switch (chessman) {
+            case PAWN -> 100;
+            case KNIGHT -> 320;
+            case BISHOP -> 330;
+            case ROOK -> 500;
+            case QUEEN -> 900;
+            case KING -> 20000;
+        };
+    }
+
+    // Minor pieces, pawns and queens are worth more close to the center of the chessboard
+    private static int getCenterBonus(Chessman chessman, ChessCoordinate coordinate) {
+        if (chessman == Chessman.KING || chessman == Chessman.ROOK) {
+            return 0;
+        }
+
+        // Ring 0 is the four center slots, ring 3 is the border of the chessboard
+        int ring = (Math.max(Math.abs(2 * coordinate.getXInt() - 9), Math.abs(2 * coordinate.getY() - 9)) - 1) / 2;
+        return (3 - ring) * CENTER_BONUS_PER_RING;
+    }
+
+}
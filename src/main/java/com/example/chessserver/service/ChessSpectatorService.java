@@ -0,0 +1,10 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.GameEventSink;
+
+public interface ChessSpectatorService {
+
+    // Returns the action removing the spectator
+    Runnable addSpectator(String gameId, GameEventSink gameEventSink);
+
+}
@@ -0,0 +1,289 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.GameEventRingBuffer;
+import com.example.chessserver.component.GameEventSink;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Fans move events of a game out to its spectators. Moves are written to a ring buffer of the game, and each
+// spectator is drained on the fan-out pool from its own cursor, so the request saving a move never waits for
+// spectators. A spectator falling behind by more than the buffer capacity gets the latest snapshot instead of
+// the moves it missed. A spectator whose send takes longer than the send timeout is dropped, and the thread stuck
+// sending to it is made up for by growing the pool, so stalled sockets never hold up spectators of other games.
+// The stuck send ends with the write timeout of the connector at the latest, the pool shrinks back then.
+@Slf4j
+@Service
+public class ChessSpectatorServiceImpl implements ChessSpectatorService {
+
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    private final ChessGameService chessGameService;
+    private final int bufferCapacity;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor fanOutExecutor;
+    private final ScheduledExecutorService sendWatchdogExecutor;
+    private final Counter resyncCounter;
+    private final Counter droppedCounter;
+    private final Counter stalledCounter;
+
+    // Only games with spectators have a channel
+    private final ConcurrentMap<String, GameChannel> channelsByGameId = new ConcurrentHashMap<>();
+    private final AtomicInteger spectatorCount = new AtomicInteger();
+
+    @Autowired
+    public ChessSpectatorServiceImpl(ChessGameService chessGameService,
+                                     @Value("${chessserver.spectator.buffer-capacity:64}") int bufferCapacity,
+                                     @Value("${chessserver.spectator.fan-out-threads:4}") int fanOutThreads,
+                                     @Value("${chessserver.spectator.send-timeout-millis:5000}") long sendTimeoutMillis,
+                                     MeterRegistry meterRegistry) {
+        this.chessGameService = chessGameService;
+        this.bufferCapacity = bufferCapacity;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.fanOutExecutor = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "spectator-fan-out-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sendWatchdogExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "spectator-send-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkIntervalMillis = Math.max(1, sendTimeoutMillis / 4);
+        sendWatchdogExecutor.scheduleWithFixedDelay(this::dropStalledSpectators, checkIntervalMillis,
+                checkIntervalMillis, TimeUnit.MILLISECONDS);
+
+        this.resyncCounter = Counter.builder("chessserver.spectator.resyncs")
+                .description("Spectators resynced with a snapshot since they fell behind the ring buffer")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("chessserver.spectator.dropped")
+                .description("Spectators dropped since events could not be sent to them")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("chessserver.spectator.stalled")
+                .description("Spectators dropped since a send to them took longer than the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("chessserver.spectator.count", spectatorCount, AtomicInteger::get)
+                .description("Connected spectators")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Runnable addSpectator(String gameId, GameEventSink gameEventSink) {
+        Spectator spectator = new Spectator(gameEventSink);
+        GameChannel gameChannel = channelsByGameId.compute(gameId, (key, channel) -> {
+            GameChannel channelOfGame = channel == null ? new GameChannel(new GameEventRingBuffer(bufferCapacity)) : channel;
+            channelOfGame.spectators.add(spectator);
+            return channelOfGame;
+        });
+        spectatorCount.incrementAndGet();
+
+        // Spectator is registered before the chessboard is read, so it may be sent a move the snapshot
+        // already contains but never misses one
+        ChessboardResponse chessboardResponse;
+        try {
+            chessboardResponse = chessGameService.getChessGame(gameId);
+        } catch (RuntimeException e) {
+            removeSpectator(gameId, spectator);
+            throw e;
+        }
+
+        GameSnapshot gameSnapshot = gameChannel.ringBuffer.getSnapshot();
+        if (gameSnapshot == null) {
+            gameSnapshot = new GameSnapshot(0, chessboardResponse.getChessboard(), chessboardResponse.getColorOfPlayer(),
+                    chessboardResponse.getVersion());
+        }
+
+        spectator.pendingSnapshot = gameSnapshot;
+        spectator.cursor = gameSnapshot.getSequence();
+        spectator.ready = true;
+        schedule(gameChannel, spectator, gameId);
+
+        return () -> removeSpectator(gameId, spectator);
+    }
+
+    @EventListener
+    public void onChessMove(ChessMoveEvent chessMoveEvent) {
+        GameChannel gameChannel = channelsByGameId.get(chessMoveEvent.getGameId());
+        if (gameChannel == null) {
+            return;
+        }
+
+        gameChannel.ringBuffer.publish(chessMoveEvent);
+        for (Spectator spectator : gameChannel.spectators) {
+            schedule(gameChannel, spectator, chessMoveEvent.getGameId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendWatchdogExecutor.shutdownNow();
+        fanOutExecutor.shutdownNow();
+    }
+
+    // At most one drain of a spectator is queued or running, so the events of a spectator are sent in order
+    private void schedule(GameChannel gameChannel, Spectator spectator, String gameId) {
+        if (spectator.ready && spectator.scheduled.compareAndSet(false, true)) {
+            fanOutExecutor.execute(() -> drain(gameChannel, spectator, gameId));
+        }
+    }
+
+    private void drain(GameChannel gameChannel, Spectator spectator, String gameId) {
+        GameEventRingBuffer ringBuffer = gameChannel.ringBuffer;
+        do {
+            try {
+                send(ringBuffer, spectator);
+            } catch (IOException | RuntimeException e) {
+                // Stalled spectators are dropped and counted already
+                if (!spectator.removed.get()) {
+                    log.debug("Spectator of game {} is dropped", gameId, e);
+                    droppedCounter.increment();
+                    removeSpectator(gameId, spectator);
+                }
+                return;
+            }
+
+            spectator.scheduled.set(false);
+            // Events published while the flag was still set are picked up here
+        } while (!spectator.removed.get() && spectator.cursor < ringBuffer.getWriteSequence() &&
+                spectator.scheduled.compareAndSet(false, true));
+    }
+
+    private void send(GameEventRingBuffer ringBuffer, Spectator spectator) throws IOException {
+        GameSnapshot pendingSnapshot = spectator.pendingSnapshot;
+        if (pendingSnapshot != null) {
+            send(spectator, () -> spectator.gameEventSink.sendSnapshot(pendingSnapshot));
+            spectator.pendingSnapshot = null;
+        }
+
+        while (!spectator.removed.get() && spectator.cursor < ringBuffer.getWriteSequence()) {
+            ChessMoveEvent chessMoveEvent = ringBuffer.get(spectator.cursor);
+            if (chessMoveEvent == null) {
+                resyncCounter.increment();
+                GameSnapshot gameSnapshot = ringBuffer.getSnapshot();
+                send(spectator, () -> spectator.gameEventSink.sendSnapshot(gameSnapshot));
+                spectator.cursor = gameSnapshot.getSequence();
+                continue;
+            }
+
+            long sequence = spectator.cursor;
+            send(spectator, () -> spectator.gameEventSink.sendMove(sequence, chessMoveEvent));
+            spectator.cursor++;
+        }
+    }
+
+    // Either the send ends or the watchdog marks it stalled, whichever comes first
+    private void send(Spectator spectator, Send send) throws IOException {
+        spectator.sendStartedNanos = System.nanoTime();
+        spectator.sendState.set(SENDING);
+        try {
+            send.send();
+        } finally {
+            if (!spectator.sendState.compareAndSet(SENDING, IDLE)) {
+                // Dropped while sending, its stream misses events from now on
+                resizeFanOutPool(-1);
+                spectator.gameEventSink.close();
+            }
+        }
+    }
+
+    private void dropStalledSpectators() {
+        long now = System.nanoTime();
+        channelsByGameId.forEach((gameId, gameChannel) -> {
+            for (Spectator spectator : gameChannel.spectators) {
+                if (spectator.sendState.get() == SENDING && now - spectator.sendStartedNanos > sendTimeoutNanos &&
+                        spectator.sendState.compareAndSet(SENDING, STALLED)) {
+                    log.debug("Spectator of game {} is dropped since it is stalled", gameId);
+                    stalledCounter.increment();
+                    removeSpectator(gameId, spectator);
+                    resizeFanOutPool(1);
+                }
+            }
+        });
+    }
+
+    // Grown before the core size and shrunk after it, max pool size is never below core pool size
+    private synchronized void resizeFanOutPool(int delta) {
+        int poolSize = fanOutExecutor.getCorePoolSize() + delta;
+        if (delta > 0) {
+            fanOutExecutor.setMaximumPoolSize(poolSize);
+            fanOutExecutor.setCorePoolSize(poolSize);
+        } else {
+            fanOutExecutor.setCorePoolSize(poolSize);
+            fanOutExecutor.setMaximumPoolSize(poolSize);
+        }
+    }
+
+    private void removeSpectator(String gameId, Spectator spectator) {
+        if (!spectator.removed.compareAndSet(false, true)) {
+            return;
+        }
+
+        spectatorCount.decrementAndGet();
+        channelsByGameId.computeIfPresent(gameId, (key, channel) -> {
+            channel.spectators.remove(spectator);
+            return channel.spectators.isEmpty() ? null : channel;
+        });
+    }
+
+    private interface Send {
+
+        void send() throws IOException;
+
+    }
+
+    private static class GameChannel {
+
+        private final GameEventRingBuffer ringBuffer;
+        private final Set<Spectator> spectators = ConcurrentHashMap.newKeySet();
+
+        private GameChannel(GameEventRingBuffer ringBuffer) {
+            this.ringBuffer = ringBuffer;
+        }
+
+    }
+
+    private static class Spectator {
+
+        private final GameEventSink gameEventSink;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStartedNanos;
+        // Written before the first drain is scheduled and by drains only afterward
+        private volatile GameSnapshot pendingSnapshot;
+        private volatile long cursor;
+        private volatile boolean ready;
+
+        private Spectator(GameEventSink gameEventSink) {
+            this.gameEventSink = gameEventSink;
+        }
+
+    }
+
+}
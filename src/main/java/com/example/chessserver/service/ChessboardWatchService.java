@@ -0,0 +1,11 @@
+package com.example.chessserver.service;
+
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import java.util.concurrent.CompletableFuture;
+
+public interface ChessboardWatchService {
+
+    // Completes with the chessboard once its version differs from the known one, cancel it to stop waiting
+    CompletableFuture<ChessboardResponse> awaitChange(String gameId, long knownVersion);
+
+}
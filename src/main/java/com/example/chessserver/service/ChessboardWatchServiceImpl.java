@@ -0,0 +1,113 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Holds long-poll requests of the chessboard until a move changes its version. Waiters are completed from the move
+// event itself, so a move wakes any number of waiting clients without reading the chessboard again. They are completed
+// on the notifier pool rather than by the listener, so whatever runs on completion never holds up the saving move.
+@Service
+public class ChessboardWatchServiceImpl implements ChessboardWatchService {
+
+    private final ChessGameService chessGameService;
+
+    // Only games with waiting clients have an entry
+    private final ConcurrentMap<String, Set<Waiter>> waitersByGameId = new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+    private final ExecutorService notifierExecutor;
+
+    @Autowired
+    public ChessboardWatchServiceImpl(ChessGameService chessGameService,
+                                      @Value("${chessserver.chessboard.notifier-threads:2}") int notifierThreads,
+                                      MeterRegistry meterRegistry) {
+        this.chessGameService = chessGameService;
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.notifierExecutor = Executors.newFixedThreadPool(notifierThreads, runnable -> {
+            Thread thread = new Thread(runnable, "chessboard-watch-notifier-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("chessserver.chessboard.waiters", waiterCount, AtomicInteger::get)
+                .description("Requests waiting for a chessboard to change")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifierExecutor.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<ChessboardResponse> awaitChange(String gameId, long knownVersion) {
+        Waiter waiter = new Waiter(knownVersion, new CompletableFuture<>());
+        waitersByGameId.compute(gameId, (key, waiters) -> {
+            Set<Waiter> waitersOfGame = waiters == null ? ConcurrentHashMap.newKeySet() : waiters;
+            waitersOfGame.add(waiter);
+            return waitersOfGame;
+        });
+        waiterCount.incrementAndGet();
+        waiter.result.whenComplete((chessboardResponse, throwable) -> removeWaiter(gameId, waiter));
+
+        // Waiter is registered before the version is read again, so a move saved in between is not missed
+        try {
+            if (chessGameService.getVersion(gameId) != knownVersion) {
+                waiter.result.complete(chessGameService.getChessGame(gameId));
+            }
+        } catch (RuntimeException e) {
+            waiter.result.completeExceptionally(e);
+        }
+
+        return waiter.result;
+    }
+
+    @EventListener
+    public void onChessMove(ChessMoveEvent chessMoveEvent) {
+        Set<Waiter> waitersOfGame = waitersByGameId.get(chessMoveEvent.getGameId());
+        if (waitersOfGame == null) {
+            return;
+        }
+
+        ChessboardResponse chessboardResponse = new ChessboardResponse().chessboard(chessMoveEvent.getChessboard())
+                .colorOfPlayer(chessMoveEvent.getColorOfPlayer())
+                .version(chessMoveEvent.getVersion());
+        for (Waiter waiter : waitersOfGame) {
+            if (waiter.knownVersion != chessMoveEvent.getVersion()) {
+                notifierExecutor.execute(() -> {
+                    // Removed first, so that it is no longer counted once its result is seen
+                    removeWaiter(chessMoveEvent.getGameId(), waiter);
+                    waiter.result.complete(chessboardResponse);
+                });
+            }
+        }
+    }
+
+    // Removed once only, by the notifier or on completion, whichever comes first
+    private void removeWaiter(String gameId, Waiter waiter) {
+        waitersByGameId.computeIfPresent(gameId, (key, waitersOfGame) -> {
+            if (waitersOfGame.remove(waiter)) {
+                waiterCount.decrementAndGet();
+            }
+            return waitersOfGame.isEmpty() ? null : waitersOfGame;
+        });
+    }
+
+    private record Waiter(long knownVersion, CompletableFuture<ChessboardResponse> result) {
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.model.EncodedChessboardResponse;
+
+public interface EncodedChessboardService {
+
+    // Serialised chessboard of at least given version, the chessboard is loaded and serialised only once per version
+    EncodedChessboardResponse getChessboard(String gameId, long version);
+
+}
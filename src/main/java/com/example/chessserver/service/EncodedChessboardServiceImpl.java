@@ -0,0 +1,53 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EncodedChessboardCache;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.EncodedChessboardResponse;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class EncodedChessboardServiceImpl implements EncodedChessboardService {
+
+    private static final String UNEXPECTED_ERROR = "Unexpected error";
+
+    private final ChessGameService chessGameService;
+    private final EncodedChessboardCache encodedChessboardCache;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public EncodedChessboardServiceImpl(ChessGameService chessGameService, EncodedChessboardCache encodedChessboardCache,
+                                        ObjectMapper objectMapper) {
+        this.chessGameService = chessGameService;
+        this.encodedChessboardCache = encodedChessboardCache;
+        this.objectMapper = objectMapper;
+    }
+
+    // Serialised by the ObjectMapper of the message converters, so the body is the one Jackson would write
+    @Override
+    public EncodedChessboardResponse getChessboard(String gameId, long version) {
+        EncodedChessboardResponse encodedChessboardResponse = encodedChessboardCache.get(gameId, version);
+        if (encodedChessboardResponse != null) {
+            return encodedChessboardResponse;
+        }
+
+        ChessboardResponse chessboardResponse = chessGameService.getChessGame(gameId);
+        try {
+            encodedChessboardResponse = new EncodedChessboardResponse(chessboardResponse,
+                    objectMapper.writeValueAsBytes(chessboardResponse));
+        } catch (JsonProcessingException e) {
+            log.error("Chessboard of game {} could not be serialised", gameId, e);
+            throw new ServiceException(UNEXPECTED_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        encodedChessboardCache.put(gameId, encodedChessboardResponse);
+
+        return encodedChessboardResponse;
+    }
+
+}
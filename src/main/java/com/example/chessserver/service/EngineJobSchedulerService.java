@@ -0,0 +1,15 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+public interface EngineJobSchedulerService {
+
+    // Queues engine work off the request threads. Task receives the cancellation flag of the job.
+    <T> EngineJob<T> submit(String gameId, EngineJobPriority priority, Function<AtomicBoolean, T> task);
+
+    void cancelJobsOfGame(String gameId);
+
+}
@@ -0,0 +1,201 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class EngineJobSchedulerServiceImpl implements EngineJobSchedulerService {
+
+    private static final String ENGINE_IS_BUSY = "Engine is busy, try again later";
+    private static final String PRIORITY_TAG = "priority";
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Set<EngineJob<?>>> jobsByGameId = new ConcurrentHashMap<>();
+
+    private final Map<EngineJobPriority, Timer> queueWaitTimers = new EnumMap<>(EngineJobPriority.class);
+    private final Map<EngineJobPriority, Timer> runTimers = new EnumMap<>(EngineJobPriority.class);
+    private final Map<EngineJobPriority, Counter> rejectedCounters = new EnumMap<>(EngineJobPriority.class);
+    private final Counter cancelledCounter;
+
+    @Autowired
+    public EngineJobSchedulerServiceImpl(@Value("${chessserver.engine.workers:0}") int workers,
+                                         @Value("${chessserver.engine.queue-capacity:256}") int queueCapacity,
+                                         MeterRegistry meterRegistry) {
+        // Half of the cores by default, the other half stays with the request threads serving moves
+        int poolSize = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new EngineThreadFactory());
+        this.queueCapacity = queueCapacity;
+
+        for (EngineJobPriority priority : EngineJobPriority.values()) {
+            String priorityName = priority.name().toLowerCase(Locale.ENGLISH);
+            queueWaitTimers.put(priority, Timer.builder("chessserver.engine.queue.wait")
+                    .description("Time engine jobs wait in the queue before a worker picks them")
+                    .tag(PRIORITY_TAG, priorityName)
+                    .register(meterRegistry));
+            runTimers.put(priority, Timer.builder("chessserver.engine.job.duration")
+                    .description("Time engine jobs run on a worker")
+                    .tag(PRIORITY_TAG, priorityName)
+                    .register(meterRegistry));
+            rejectedCounters.put(priority, Counter.builder("chessserver.engine.jobs.rejected")
+                    .description("Engine jobs rejected since the queue is full")
+                    .tag(PRIORITY_TAG, priorityName)
+                    .register(meterRegistry));
+        }
+
+        this.cancelledCounter = Counter.builder("chessserver.engine.jobs.cancelled")
+                .description("Engine jobs cancelled before they completed")
+                .register(meterRegistry);
+        Gauge.builder("chessserver.engine.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Engine jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("chessserver.engine.utilisation", executor,
+                        pool -> (double) pool.getActiveCount() / pool.getMaximumPoolSize())
+                .description("Share of engine workers running a job")
+                .register(meterRegistry);
+
+        log.info("Engine job scheduler started with {} workers and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public <T> EngineJob<T> submit(String gameId, EngineJobPriority priority, Function<AtomicBoolean, T> task) {
+        if (executor.getQueue().size() >= queueCapacity) {
+            rejectedCounters.get(priority).increment();
+            throw new ServiceException(ENGINE_IS_BUSY, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        EngineJob<T> engineJob = new EngineJob<>(gameId, priority);
+        jobsByGameId.compute(gameId, (key, engineJobs) -> {
+            Set<EngineJob<?>> jobsOfGame = engineJobs == null ? ConcurrentHashMap.newKeySet() : engineJobs;
+            jobsOfGame.add(engineJob);
+            return jobsOfGame;
+        });
+
+        long submittedAt = System.nanoTime();
+        PrioritizedTask prioritizedTask = new PrioritizedTask(priority, sequence.getAndIncrement(),
+                () -> run(engineJob, task, submittedAt));
+        engineJob.getResult().whenComplete((result, throwable) -> removeJob(engineJob, prioritizedTask));
+        executor.execute(prioritizedTask);
+
+        return engineJob;
+    }
+
+    @Override
+    public void cancelJobsOfGame(String gameId) {
+        Set<EngineJob<?>> jobsOfGame = jobsByGameId.get(gameId);
+        if (jobsOfGame == null) {
+            return;
+        }
+
+        for (EngineJob<?> engineJob : jobsOfGame) {
+            engineJob.cancel();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> void run(EngineJob<T> engineJob, Function<AtomicBoolean, T> task, long submittedAt) {
+        long startedAt = System.nanoTime();
+        queueWaitTimers.get(engineJob.getPriority()).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+
+        // Cancelled while queued, the job is already completed and counted unless it was removed too late
+        if (!engineJob.start()) {
+            cancelledCounter.increment();
+            return;
+        }
+
+        T result = null;
+        RuntimeException failure = null;
+        try {
+            result = task.apply(engineJob.getCancelled());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        // Metrics are recorded before completion, so waiters see them once the job is done
+        if (engineJob.isCancelled()) {
+            cancelledCounter.increment();
+        }
+        runTimers.get(engineJob.getPriority()).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        if (failure != null) {
+            engineJob.getResult().completeExceptionally(failure);
+        } else {
+            engineJob.getResult().complete(result);
+        }
+    }
+
+    private void removeJob(EngineJob<?> engineJob, PrioritizedTask prioritizedTask) {
+        // A job cancelled while queued gives its slot back at once instead of once a worker picks it
+        if (executor.remove(prioritizedTask)) {
+            cancelledCounter.increment();
+        }
+
+        jobsByGameId.computeIfPresent(engineJob.getGameId(), (key, jobsOfGame) -> {
+            jobsOfGame.remove(engineJob);
+            return jobsOfGame.isEmpty() ? null : jobsOfGame;
+        });
+    }
+
+    // Queue entry ordered by priority first and submission order second
+    private record PrioritizedTask(EngineJobPriority priority, long sequence, Runnable task)
+            implements Runnable, Comparable<PrioritizedTask> {
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+
+    }
+
+    private static class EngineThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "engine-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
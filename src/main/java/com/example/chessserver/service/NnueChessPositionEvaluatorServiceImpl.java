@@ -0,0 +1,53 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.IncrementalEvaluator;
+import com.example.chessserver.component.nnue.NnueAccumulator;
+import com.example.chessserver.component.nnue.NnueNetwork;
+import com.example.openapi.chessserver.model.Color;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "chessserver.engine.nnue.weights-file")
+public class NnueChessPositionEvaluatorServiceImpl implements ChessPositionEvaluatorService {
+
+    private final NnueNetwork nnueNetwork;
+
+    @Autowired
+    public NnueChessPositionEvaluatorServiceImpl(@Value("${chessserver.engine.nnue.weights-file}") String weightsFile,
+                                                 @Value("${chessserver.engine.nnue.vectorized:true}") boolean vectorized) {
+        try {
+            this.nnueNetwork = NnueNetwork.load(Path.of(weightsFile), vectorized);
+        } catch (IOException e) {
+            throw new IllegalStateException("NNUE weights could not be loaded from " + weightsFile, e);
+        }
+
+        log.info("NNUE evaluator loaded from {} with hidden size {}, vectorized {}", weightsFile,
+                nnueNetwork.getHiddenSize(), vectorized);
+    }
+
+    public NnueChessPositionEvaluatorServiceImpl(NnueNetwork nnueNetwork) {
+        this.nnueNetwork = nnueNetwork;
+    }
+
+    @Override
+    public int evaluate(@Nonnull Chessboard chessboard, @Nonnull Color colorOfPlayer) {
+        return new NnueAccumulator(nnueNetwork, chessboard).evaluate(colorOfPlayer);
+    }
+
+    @Override
+    public IncrementalEvaluator createIncrementalEvaluator(@Nonnull Chessboard chessboard) {
+        return new NnueAccumulator(nnueNetwork, chessboard);
+    }
+
+}
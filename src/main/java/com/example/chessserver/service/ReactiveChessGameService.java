@@ -0,0 +1,31 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.CreateChessGameRequest;
+import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.example.openapi.chessserver.model.PromotePawnResponse;
+import reactor.core.publisher.Mono;
+
+// Chess games of the reactive ChessApi, kept apart from the games stored by ChessGameService
+public interface ReactiveChessGameService {
+
+    Mono<CreateChessGameResponse> createChessGame(CreateChessGameRequest createChessGameRequest);
+
+    Mono<ChessboardResponse> getChessGame(String gameId);
+
+    // No deltas are kept, so the chessboard is returned for any version up to the current one
+    Mono<ChessboardResponse> getChessGameSince(String gameId, long sinceVersion);
+
+    // Completes once the version differs from the known one, never completes while it does not
+    Mono<ChessboardResponse> awaitChange(String gameId, long knownVersion);
+
+    Mono<MoveChessmanResponse> moveChessman(ChessCoordinate coordinateFrom, ChessCoordinate coordinateTo,
+                                            String gameId);
+
+    Mono<PromotePawnResponse> promotePawn(ChessCoordinate coordinate, Chessman chessmanToBePromoted,
+                                          String gameId);
+
+}
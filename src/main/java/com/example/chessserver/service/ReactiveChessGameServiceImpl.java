@@ -0,0 +1,129 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.MoveStageMetrics;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessGameChange;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.repository.ReactiveChessGameRepository;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.CreateChessGameRequest;
+import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.example.openapi.chessserver.model.PromotePawnResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Rules are applied by ChessGamePlayService on the calling event loop thread, they neither block nor wait
+@Service
+public class ReactiveChessGameServiceImpl implements ReactiveChessGameService {
+
+    private static final String NOT_FOUND = "Game ID %s is not found";
+    private static final String CONCURRENT_MOVE = "Game ID %s was changed by a concurrent move";
+    private static final String VERSION_IS_AHEAD = "Version %d is ahead of chessboard version %d";
+
+    private final ReactiveChessGameRepository reactiveChessGameRepository;
+    private final ChessGamePlayService chessGamePlayService;
+    private final MoveStageMetrics moveStageMetrics;
+
+    @Autowired
+    public ReactiveChessGameServiceImpl(ReactiveChessGameRepository reactiveChessGameRepository,
+                                        ChessGamePlayService chessGamePlayService,
+                                        MoveStageMetrics moveStageMetrics) {
+        this.reactiveChessGameRepository = reactiveChessGameRepository;
+        this.chessGamePlayService = chessGamePlayService;
+        this.moveStageMetrics = moveStageMetrics;
+    }
+
+    @Override
+    public Mono<CreateChessGameResponse> createChessGame(CreateChessGameRequest createChessGameRequest) {
+        return Mono.fromSupplier(() -> chessGamePlayService.createChessGame(createChessGameRequest.getColor()))
+                .flatMap(reactiveChessGameRepository::save)
+                .map(chessGame -> new CreateChessGameResponse().gameId(chessGame.getGameId()));
+    }
+
+    @Override
+    public Mono<ChessboardResponse> getChessGame(String gameId) {
+        return findChessGame(gameId).map(ReactiveChessGameServiceImpl::toChessboardResponse);
+    }
+
+    @Override
+    public Mono<ChessboardResponse> getChessGameSince(String gameId, long sinceVersion) {
+        return findChessGame(gameId).handle((chessGame, sink) -> {
+            if (sinceVersion > chessGame.getVersion()) {
+                sink.error(new ServiceException(String.format(VERSION_IS_AHEAD, sinceVersion, chessGame.getVersion()),
+                        HttpStatus.UNPROCESSABLE_ENTITY));
+            } else {
+                sink.next(toChessboardResponse(chessGame));
+            }
+        });
+    }
+
+    @Override
+    public Mono<ChessboardResponse> awaitChange(String gameId, long knownVersion) {
+        // Changes are subscribed to before the game is read again, so a move saved in between is not missed
+        return Flux.merge(reactiveChessGameRepository.findChangesByGameId(gameId),
+                        reactiveChessGameRepository.findByGameId(gameId))
+                .filter(chessGame -> chessGame.getVersion() != knownVersion)
+                .next()
+                .map(ReactiveChessGameServiceImpl::toChessboardResponse);
+    }
+
+    @Override
+    public Mono<MoveChessmanResponse> moveChessman(ChessCoordinate coordinateFrom, ChessCoordinate coordinateTo,
+                                                   String gameId) {
+        return findChessGame(gameId).flatMap(chessGame -> {
+            ChessGameChange change = chessGamePlayService.moveChessman(chessGame,
+                    new Chessboard(chessGame.getChessboard()), coordinateFrom, coordinateTo);
+
+            MoveChessmanResponse moveChessmanResponse = new MoveChessmanResponse().status(change.getStatus());
+            if (change.getChessGameDelta() == null) {
+                moveStageMetrics.countOutcome(change.getStatus());
+                return Mono.just(moveChessmanResponse);
+            }
+
+            return saveChange(chessGame)
+                    .doOnSuccess(savedChessGame -> moveStageMetrics.countOutcome(change.getStatus()))
+                    .thenReturn(moveChessmanResponse.delta(change.getChessMoveEvent().getDelta()));
+        });
+    }
+
+    @Override
+    public Mono<PromotePawnResponse> promotePawn(ChessCoordinate coordinate, Chessman chessmanToBePromoted,
+                                                 String gameId) {
+        return findChessGame(gameId).flatMap(chessGame -> {
+            ChessGameChange change = chessGamePlayService.promotePawn(chessGame,
+                    new Chessboard(chessGame.getChessboard()), coordinate, chessmanToBePromoted);
+
+            return saveChange(chessGame)
+                    .thenReturn(new PromotePawnResponse().status(change.getStatus())
+                            .delta(change.getChessMoveEvent().getDelta()));
+        });
+    }
+
+    // Save fails if the game was changed since it was loaded, the client retries with the current chessboard
+    private Mono<ChessGame> saveChange(ChessGame chessGame) {
+        return reactiveChessGameRepository.save(chessGame)
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new ServiceException(
+                        String.format(CONCURRENT_MOVE, chessGame.getGameId()), HttpStatus.CONFLICT));
+    }
+
+    private Mono<ChessGame> findChessGame(String gameId) {
+        return reactiveChessGameRepository.findByGameId(gameId)
+                .switchIfEmpty(Mono.error(() -> new ServiceException(String.format(NOT_FOUND, gameId),
+                        HttpStatus.NOT_FOUND)));
+    }
+
+    private static ChessboardResponse toChessboardResponse(ChessGame chessGame) {
+        return new ChessboardResponse().chessboard(chessGame.getChessboard())
+                .colorOfPlayer(chessGame.getColorOfPlayer())
+                .version(chessGame.getVersion());
+    }
+
+}
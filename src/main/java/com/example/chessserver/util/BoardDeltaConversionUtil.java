@@ -0,0 +1,29 @@
+package com.example.chessserver.util;
+
+import com.example.chessserver.model.jpa.ChessGameDelta;
+import com.example.openapi.chessserver.model.BoardDelta;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoardDeltaConversionUtil {
+
+    private static final String CHANGES_DELIMITER = ",";
+    private static final String HASH_FORMAT = "%016x";
+
+    public static BoardDelta createBoardDelta(ChessGameDelta chessGameDelta) {
+        return new BoardDelta()
+                .version(chessGameDelta.getVersion())
+                .changes(Arrays.asList(chessGameDelta.getChanges().split(CHANGES_DELIMITER)))
+                .captured(chessGameDelta.getCaptured())
+                .promotedTo(chessGameDelta.getPromotedTo())
+                .colorOfPlayer(chessGameDelta.getColorOfPlayer())
+                .hash(String.format(HASH_FORMAT, chessGameDelta.getHash()));
+    }
+
+    public static String createChanges(String... changes) {
+        return String.join(CHANGES_DELIMITER, changes);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.chessserver.util;
+
+import com.example.chessserver.model.ChessGameMessage;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import com.example.chessserver.model.enums.ChessGameMessageType;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// Messages shared by the push channels, so WebSocket and SSE clients read the same payloads
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ChessGameMessageConversionUtil {
+
+    public static ChessGameMessage createMovedMessage(ChessMoveEvent chessMoveEvent) {
+        ChessGameMessage message = new ChessGameMessage();
+        message.setType(ChessGameMessageType.MOVED);
+        message.setGameId(chessMoveEvent.getGameId());
+        message.setCoordinateFrom(chessMoveEvent.getCoordinateFrom());
+        message.setCoordinateTo(chessMoveEvent.getCoordinateTo());
+        message.setChessman(chessMoveEvent.getPromotedTo() == null ? null : chessMoveEvent.getPromotedTo().getShortName());
+        message.setStatus(chessMoveEvent.getStatus());
+        message.setColorOfPlayer(chessMoveEvent.getColorOfPlayer());
+        message.setDelta(chessMoveEvent.getDelta());
+        return message;
+    }
+
+    public static ChessGameMessage createSnapshotMessage(String gameId, GameSnapshot gameSnapshot) {
+        ChessGameMessage message = new ChessGameMessage();
+        message.setType(ChessGameMessageType.SNAPSHOT);
+        message.setGameId(gameId);
+        message.setChessboard(gameSnapshot.getChessboard());
+        message.setColorOfPlayer(gameSnapshot.getColorOfPlayer());
+        message.setVersion(gameSnapshot.getVersion());
+        return message;
+    }
+
+}
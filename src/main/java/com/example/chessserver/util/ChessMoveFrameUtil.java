@@ -0,0 +1,136 @@
+package com.example.chessserver.util;
+
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import java.nio.ByteBuffer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+// Frames of the binary move protocol, big-endian and of a fixed length per type. Requests start with the type, a
+// reserved byte and the handle the connection has given the game, replies echo type and handle around a code:
+//   open     12 bytes  type, 0, handle, game ID as the long its base 36 string stands for
+//   move      8 bytes  type, 0, handle, from square, to square, 0, 0
+//   promote   8 bytes  type, 0, handle, square, chessman ordinal, 0, 0
+//   reply     4 bytes  type, code, handle
+// A square is (y - 1) * 8 + (x - 1), as in the legal moves masks.
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ChessMoveFrameUtil {
+
+    public static final byte OPEN = 1;
+    public static final byte MOVE = 2;
+    public static final byte PROMOTE = 3;
+
+    public static final int OPEN_LENGTH = 12;
+    public static final int MOVE_LENGTH = 8;
+    public static final int PROMOTE_LENGTH = 8;
+    public static final int MIN_REQUEST_LENGTH = 8;
+    public static final int MAX_REQUEST_LENGTH = 12;
+    public static final int REPLY_LENGTH = 4;
+
+    public static final byte OK = 0;
+    public static final byte SUCCESS = 1;
+    public static final byte FAIL = 2;
+    public static final byte CHECKMATE = 3;
+    public static final byte DRAW = 4;
+    public static final byte PROMOTION = 5;
+    public static final byte BAD_REQUEST = (byte) 0x80;
+    public static final byte NOT_FOUND = (byte) 0x81;
+    public static final byte UNPROCESSABLE_ENTITY = (byte) 0x82;
+    public static final byte INTERNAL_ERROR = (byte) 0x83;
+    // Game was moved concurrently, the request can be retried
+    public static final byte CONFLICT = (byte) 0x84;
+
+    private static final int GAME_ID_RADIX = Character.MAX_RADIX;
+    private static final int SQUARES = 64;
+    private static final int ROW_LENGTH = 8;
+
+    // 0 for an unknown type
+    public static int getRequestLength(byte type) {
+        return switch (type) {
+            case OPEN -> OPEN_LENGTH;
+            case MOVE -> MOVE_LENGTH;
+            case PROMOTE -> PROMOTE_LENGTH;
+            default -> 0;
+        };
+    }
+
+    // Requests of given buffer in write mode hold a frame to handle, a frame of unknown type counts as one
+    public static boolean hasCompleteRequest(ByteBuffer requests) {
+        if (requests.position() == 0) {
+            return false;
+        }
+
+        int length = getRequestLength(requests.get(0));
+        return length == 0 || requests.position() >= length;
+    }
+
+    // Game IDs are generated as base 36 strings of a long
+    public static long toGameIdBits(String gameId) {
+        return Long.parseLong(gameId, GAME_ID_RADIX);
+    }
+
+    public static String toGameId(long gameIdBits) {
+        return Long.toString(gameIdBits, GAME_ID_RADIX);
+    }
+
+    // Null if the square is off the chessboard
+    public static ChessCoordinate toChessCoordinate(int square) {
+        if (square < 0 || square >= SQUARES) {
+            return null;
+        }
+
+        return new ChessCoordinate(square % ROW_LENGTH + 1, square / ROW_LENGTH + 1);
+    }
+
+    public static int toSquare(ChessCoordinate coordinate) {
+        return (coordinate.getY() - 1) * ROW_LENGTH + coordinate.getXInt() - 1;
+    }
+
+    // Null if the ordinal is out of range
+    public static Chessman toChessman(int ordinal) {
+        Chessman[] chessmen = Chessman.values();
+        return ordinal >= 0 && ordinal < chessmen.length ? chessmen[ordinal] : null;
+    }
+
+    public static byte toCode(ChessmanMovementStatus status) {
+        return switch (status) {
+            case SUCCESS -> SUCCESS;
+            case FAIL -> FAIL;
+            case CHECKMATE -> CHECKMATE;
+            case DRAW -> DRAW;
+            case PROMOTION -> PROMOTION;
+        };
+    }
+
+    public static byte toCode(HttpStatus status) {
+        return switch (status) {
+            case BAD_REQUEST -> BAD_REQUEST;
+            case NOT_FOUND -> NOT_FOUND;
+            case UNPROCESSABLE_ENTITY -> UNPROCESSABLE_ENTITY;
+            case CONFLICT -> CONFLICT;
+            default -> INTERNAL_ERROR;
+        };
+    }
+
+    public static void putOpen(ByteBuffer requests, int handle, String gameId) {
+        requests.put(OPEN).put((byte) 0).putShort((short) handle).putLong(toGameIdBits(gameId));
+    }
+
+    public static void putMove(ByteBuffer requests, int handle, ChessCoordinate coordinateFrom,
+                               ChessCoordinate coordinateTo) {
+        requests.put(MOVE).put((byte) 0).putShort((short) handle)
+                .put((byte) toSquare(coordinateFrom)).put((byte) toSquare(coordinateTo)).putShort((short) 0);
+    }
+
+    public static void putPromote(ByteBuffer requests, int handle, ChessCoordinate coordinate, Chessman chessman) {
+        requests.put(PROMOTE).put((byte) 0).putShort((short) handle)
+                .put((byte) toSquare(coordinate)).put((byte) chessman.ordinal()).putShort((short) 0);
+    }
+
+    public static void putReply(ByteBuffer replies, byte type, byte code, int handle) {
+        replies.put(type).put(code).putShort((short) handle);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.chessserver.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// Strong ETag of a chessboard, derived from its version so it is known without reading the chessboard
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ChessboardETagUtil {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String DELIMITER = ",";
+
+    public static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match may list several ETags, weak ones are compared by their opaque tag as RFC 9110 requires
+    public static boolean matches(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        String eTag = toETag(version);
+        for (String candidate : ifNoneMatch.split(DELIMITER)) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith(WEAK_PREFIX)) {
+                trimmed = trimmed.substring(WEAK_PREFIX.length());
+            }
+
+            if (ANY.equals(trimmed) || eTag.equals(trimmed)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
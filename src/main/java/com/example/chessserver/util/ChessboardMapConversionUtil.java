@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Pattern;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ public class ChessboardMapConversionUtil {
     private static final String CHESSBOARD_DELIMITER = ",";
     private static final int CHESSMAN_MIN_LENGTH = 5;
     private static final String SHORT_NAME_OF_BLACK = "b";
+    private static final Pattern CHESSMAN_PATTERN = Pattern.compile("[a-h][1-8](pa|ro|kn|bi|qu|ki)[bw]");
 
     public static Map<String, HashMap<Integer, ChessmanWithProperties>> createChessboardMap(String chessboardReadable) {
         HashMap<String, HashMap<Integer, ChessmanWithProperties>> chessboardMap = new HashMap<>();
@@ -55,6 +57,21 @@ public class ChessboardMapConversionUtil {
         return chessboardMap;
     }
 
+    // Checks chessboard given by a client, before it is parsed by createChessboardMap
+    public static boolean isChessboardReadableValid(String chessboardReadable) {
+        if (StringUtils.isEmpty(chessboardReadable)) {
+            return false;
+        }
+
+        for (String chessmanCoord : chessboardReadable.split(CHESSBOARD_DELIMITER)) {
+            if (!CHESSMAN_PATTERN.matcher(chessmanCoord).matches()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     public static String createChessboardReadable(Map<String, HashMap<Integer, ChessmanWithProperties>> chessboardMap) {
         if (MapUtils.isEmpty(chessboardMap)) {
             return "";
@@ -76,21 +93,24 @@ public class ChessboardMapConversionUtil {
                     continue;
                 }
 
-                int yCoord = entryYCoord.getKey();
-                Chessman chessman = chessmanWithProperties.getChessman();
-                String color = chessmanWithProperties.getColor().name().substring(0, 1).toLowerCase(Locale.ENGLISH);
-
-                chessmen.add(xCoord +
-                        yCoord +
-                        chessman.getShortName() +
-                        color
-                );
+                chessmen.add(createChessmanReadable(chessmanWithProperties));
             }
         }
 
         return StringUtils.join(chessmen, CHESSBOARD_DELIMITER);
     }
 
+    public static String createChessmanReadable(ChessmanWithProperties chessmanWithProperties) {
+        ChessCoordinate coordinate = chessmanWithProperties.getCoordinate();
+        Chessman chessman = chessmanWithProperties.getChessman();
+        String color = chessmanWithProperties.getColor().name().substring(0, 1).toLowerCase(Locale.ENGLISH);
+
+        return coordinate.getX() +
+                coordinate.getY() +
+                chessman.getShortName() +
+                color;
+    }
+
     private static void placeChessmanToBoard(HashMap<String, HashMap<Integer, ChessmanWithProperties>> chessboardMap,
                                              ChessCoordinate coordinate, Chessman chessman, Color color) {
         HashMap<Integer, ChessmanWithProperties> yCoordMap = chessboardMap.get(coordinate.getX());
@@ -0,0 +1,78 @@
+package com.example.chessserver.util;
+
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.Color;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// Converts positions of the Forsyth-Edwards Notation used by UCI tools. Castling rights, en passant square and move
+// counters have no counterpart in this server and are ignored.
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class FenConversionUtil {
+
+    private static final String INVALID_PIECE_PLACEMENT = "Invalid FEN piece placement '%s'";
+    private static final String INVALID_ACTIVE_COLOR = "Invalid FEN active color '%s'";
+    private static final String CHESSBOARD_DELIMITER = ",";
+    private static final String RANK_DELIMITER = "/";
+    private static final int CHESSBOARD_SIZE = 8;
+
+    // Returns chessboard of given piece placement, ranks being listed from 8 down to 1
+    public static String toChessboardReadable(String piecePlacement) {
+        String[] ranks = piecePlacement.split(RANK_DELIMITER);
+        if (ranks.length != CHESSBOARD_SIZE) {
+            throw new IllegalArgumentException(String.format(INVALID_PIECE_PLACEMENT, piecePlacement));
+        }
+
+        List<String> chessmen = new ArrayList<>();
+        for (int rank = 0; rank < CHESSBOARD_SIZE; rank++) {
+            int y = CHESSBOARD_SIZE - rank;
+            int x = 1;
+
+            for (char symbol : ranks[rank].toCharArray()) {
+                if (symbol >= '1' && symbol <= '8') {
+                    x += symbol - '0';
+                    continue;
+                }
+
+                Chessman chessman = toChessman(symbol);
+                if (chessman == null || x > CHESSBOARD_SIZE) {
+                    throw new IllegalArgumentException(String.format(INVALID_PIECE_PLACEMENT, piecePlacement));
+                }
+                String colorCode = Character.isUpperCase(symbol) ? "w" : "b";
+                chessmen.add(new ChessCoordinate(x, y).getXy() + chessman.getShortName() + colorCode);
+                x++;
+            }
+
+            if (x != CHESSBOARD_SIZE + 1) {
+                throw new IllegalArgumentException(String.format(INVALID_PIECE_PLACEMENT, piecePlacement));
+            }
+        }
+
+        return String.join(CHESSBOARD_DELIMITER, chessmen);
+    }
+
+    public static Color toColor(String activeColor) {
+        return switch (activeColor) {
+            case "w" -> Color.WHITE;
+            case "b" -> Color.BLACK;
+            default -> throw new IllegalArgumentException(String.format(INVALID_ACTIVE_COLOR, activeColor));
+        };
+    }
+
+    // Returns chessman of a piece letter of either color, or of a promotion suffix of UCI moves
+    public static Chessman toChessman(char symbol) {
+        return switch (Character.toLowerCase(symbol)) {
+            case 'p' -> Chessman.PAWN;
+            case 'r' -> Chessman.ROOK;
+            case 'n' -> Chessman.KNIGHT;
+            case 'b' -> Chessman.BISHOP;
+            case 'q' -> Chessman.QUEEN;
+            case 'k' -> Chessman.KING;
+            default -> null;
+        };
+    }
+
+}
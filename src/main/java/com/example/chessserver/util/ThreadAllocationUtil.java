@@ -0,0 +1,24 @@
+package com.example.chessserver.util;
+
+import java.lang.management.ManagementFactory;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ThreadAllocationUtil {
+
+    // HotSpot counts the bytes allocated by each thread, other JVMs may not
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean &&
+                    threadMXBean.isThreadAllocatedMemorySupported() ? threadMXBean : null;
+
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    // Returns bytes allocated by the current thread so far, or 0 if the JVM does not count them
+    public static long getAllocatedBytes() {
+        return THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+}
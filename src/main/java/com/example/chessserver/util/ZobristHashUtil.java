@@ -0,0 +1,55 @@
+package com.example.chessserver.util;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.Color;
+import java.util.HashMap;
+import java.util.Random;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ZobristHashUtil {
+
+    private static final int CHESSBOARD_SIZE = 8;
+    private static final long SEED = 0x5DEECE66DL;
+
+    // [color][chessman][slot] keys, fixed seed keeps hashes stable between restarts
+    private static final long[][][] CHESSMAN_KEYS =
+            new long[Color.values().length][Chessman.values().length][CHESSBOARD_SIZE * CHESSBOARD_SIZE];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        Random random = new Random(SEED);
+        for (long[][] chessmanKeys : CHESSMAN_KEYS) {
+            for (long[] slotKeys : chessmanKeys) {
+                for (int i = 0; i < slotKeys.length; i++) {
+                    slotKeys[i] = random.nextLong();
+                }
+            }
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    // Hashes chessmen and the player to move, so equal positions share the hash regardless of the game
+    public static long hash(Chessboard chessboard, Color colorOfPlayer) {
+        long hash = colorOfPlayer == Color.BLACK ? BLACK_TO_MOVE_KEY : 0L;
+
+        for (HashMap<Integer, ChessmanWithProperties> yCoordMap : chessboard.getChessboardMap().values()) {
+            for (ChessmanWithProperties chessmanWithProperties : yCoordMap.values()) {
+                hash ^= getKey(chessmanWithProperties);
+            }
+        }
+
+        return hash;
+    }
+
+    public static long getKey(ChessmanWithProperties chessmanWithProperties) {
+        ChessCoordinate coordinate = chessmanWithProperties.getCoordinate();
+        int slot = (coordinate.getXInt() - 1) * CHESSBOARD_SIZE + (coordinate.getY() - 1);
+        return CHESSMAN_KEYS[chessmanWithProperties.getColor().ordinal()][chessmanWithProperties.getChessman().ordinal()][slot];
+    }
+
+}
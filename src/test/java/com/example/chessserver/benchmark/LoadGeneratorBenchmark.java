@@ -0,0 +1,399 @@
+package com.example.chessserver.benchmark;
+
+import com.example.chessserver.ChessServerApplication;
+import com.example.chessserver.repository.ChessGameDeltaRepository;
+import com.example.chessserver.repository.ChessGameRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Capacity of a node under games played the way clients play them. Every simulated game creates itself, then per
+// step polls its chessboard with the ETag of the last poll, lists legal moves, plays a random one and promotes pawns
+// to queens, then thinks before the next step. Finished games, and those past MAX_MOVES_PER_GAME, start over.
+// Requests are asynchronous, so thousands of games need no thread each. Run against a server started in-process,
+// which also reports DB row counts:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -Dmdep.includeScope=test
+//   java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes:$(cat target/classpath.txt) \
+//     com.example.chessserver.benchmark.LoadGeneratorBenchmark in-process 2000 60 250
+// or against a running server by its base URL instead of in-process. Arguments are target, games, seconds and think
+// time in milliseconds.
+public class LoadGeneratorBenchmark {
+
+    private static final String IN_PROCESS = "in-process";
+    private static final String CREATE_CHESS_GAME_PATH = "/chess/v1/create";
+    private static final String CREATE_CHESS_GAME_BODY = "{\"color\": \"white\"}";
+    private static final String GET_CHESSBOARD_PATH = "/chess/v1/chessboard/";
+    private static final String GET_LEGAL_MOVES_PATH = "/chess/v1/games/%s/legal-moves";
+    private static final String MOVE_CHESSMAN_PATH = "/chess/v1/move-chessman";
+    private static final String MOVE_CHESSMAN_BODY = "{\"gameId\": \"%s\", \"coordinate_from\": \"%s\", \"coordinate_to\": \"%s\"}";
+    private static final String PROMOTE_PAWN_PATH = "/chess/v1/promote-pawn";
+    private static final String PROMOTE_PAWN_BODY = "{\"gameId\": \"%s\", \"coordinate\": \"%s\", \"chessman\": \"qu\"}";
+
+    private static final int MAX_MOVES_PER_GAME = 200;
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+    private static final CompletableFuture<Void> STEP_DONE = CompletableFuture.completedFuture(null);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private enum Operation {
+        CREATE,
+        POLL,
+        LEGAL_MOVES,
+        MOVE,
+        PROMOTE
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicLong gamesCreated = new AtomicLong();
+    private final AtomicLong gamesFinished = new AtomicLong();
+    private final CompletableFuture<Void> allGamesStopped = new CompletableFuture<>();
+    private final String baseUrl;
+    private final long thinkMillis;
+
+    private AtomicInteger runningGames;
+    private volatile long deadlineNanos;
+    private volatile boolean stopped;
+
+    LoadGeneratorBenchmark(String baseUrl, long thinkMillis) {
+        this.baseUrl = baseUrl;
+        this.thinkMillis = thinkMillis;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : IN_PROCESS;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        long thinkMillis = args.length > 3 ? Long.parseLong(args[3]) : 250;
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = target;
+        if (IN_PROCESS.equals(target)) {
+            context = SpringApplication.run(ChessServerApplication.class, "--server.port=0",
+                    "--spring.main.banner-mode=off", "--logging.level.root=WARN",
+                    "--logging.level.org.springframework.web=WARN", "--logging.level.com.example=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            LoadGeneratorBenchmark loadGenerator = new LoadGeneratorBenchmark(baseUrl, thinkMillis);
+            loadGenerator.run(games, seconds);
+            loadGenerator.report(games, seconds);
+
+            if (context != null) {
+                System.out.printf(Locale.ENGLISH, "DB rows: chess games %d, chess game deltas %d%n",
+                        context.getBean(ChessGameRepository.class).count(),
+                        context.getBean(ChessGameDeltaRepository.class).count());
+            } else {
+                System.out.println("DB rows are counted in-process only");
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    void run(int games, int seconds) throws Exception {
+        runningGames = new AtomicInteger(games);
+        deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        // Games start spread over a think time rather than all at once
+        for (int i = 0; i < games; i++) {
+            SimulatedGame game = new SimulatedGame();
+            scheduler.schedule(() -> step(game), ThreadLocalRandom.current().nextLong(thinkMillis + 1),
+                    TimeUnit.MILLISECONDS);
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        stopped = true;
+        allGamesStopped.get(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        scheduler.shutdown();
+    }
+
+    private void step(SimulatedGame game) {
+        if (stopped) {
+            if (runningGames.decrementAndGet() == 0) {
+                allGamesStopped.complete(null);
+            }
+            return;
+        }
+
+        CompletableFuture<Void> stepFuture;
+        try {
+            stepFuture = game.gameId == null ? create(game) : poll(game);
+        } catch (RuntimeException e) {
+            stepFuture = CompletableFuture.failedFuture(e);
+        }
+
+        // Failed requests are counted when they complete, the game carries on with its next step
+        stepFuture.whenComplete((ignored, e) ->
+                scheduler.schedule(() -> step(game), thinkMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private CompletableFuture<Void> create(SimulatedGame game) {
+        return send(Operation.CREATE, post(CREATE_CHESS_GAME_PATH, CREATE_CHESS_GAME_BODY)).thenAccept(response -> {
+            if (isSuccessful(response)) {
+                game.gameId = readJson(response.body()).get("gameId").asText();
+                game.eTag = null;
+                game.moves = 0;
+                gamesCreated.incrementAndGet();
+            }
+        });
+    }
+
+    // Chessboard is polled the way spectators poll it, 304 while the ETag is current
+    private CompletableFuture<Void> poll(SimulatedGame game) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + GET_CHESSBOARD_PATH + game.gameId));
+        if (game.eTag != null) {
+            request.header("If-None-Match", game.eTag);
+        }
+
+        return send(Operation.POLL, request.build()).thenCompose(response -> {
+            if (!isSuccessful(response) && response.statusCode() != 304) {
+                return STEP_DONE;
+            }
+            response.headers().firstValue("ETag").ifPresent(eTag -> game.eTag = eTag);
+            return moveRandomly(game);
+        });
+    }
+
+    private CompletableFuture<Void> moveRandomly(SimulatedGame game) {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create(baseUrl + String.format(GET_LEGAL_MOVES_PATH, game.gameId))).build();
+
+        return send(Operation.LEGAL_MOVES, request).thenCompose(response -> {
+            if (!isSuccessful(response)) {
+                return STEP_DONE;
+            }
+
+            String[] move = pickRandomMove(readJson(response.body()).get("moves"));
+            if (move == null || game.moves >= MAX_MOVES_PER_GAME) {
+                finish(game);
+                return STEP_DONE;
+            }
+            return move(game, move[0], move[1]);
+        });
+    }
+
+    private CompletableFuture<Void> move(SimulatedGame game, String coordinateFrom, String coordinateTo) {
+        String body = String.format(MOVE_CHESSMAN_BODY, game.gameId, coordinateFrom, coordinateTo);
+
+        return send(Operation.MOVE, put(MOVE_CHESSMAN_PATH, body)).thenCompose(response -> {
+            if (!isSuccessful(response)) {
+                return STEP_DONE;
+            }
+
+            game.moves++;
+            String status = readJson(response.body()).get("status").asText();
+            if ("promotion".equals(status)) {
+                return promote(game, coordinateTo);
+            }
+            finishIfOver(game, status);
+            return STEP_DONE;
+        });
+    }
+
+    private CompletableFuture<Void> promote(SimulatedGame game, String coordinate) {
+        String body = String.format(PROMOTE_PAWN_BODY, game.gameId, coordinate);
+
+        return send(Operation.PROMOTE, put(PROMOTE_PAWN_PATH, body)).thenAccept(response -> {
+            if (isSuccessful(response)) {
+                finishIfOver(game, readJson(response.body()).get("status").asText());
+            }
+        });
+    }
+
+    private void finishIfOver(SimulatedGame game, String status) {
+        if ("checkmate".equals(status) || "draw".equals(status)) {
+            finish(game);
+        }
+    }
+
+    // Next step creates a new game
+    private void finish(SimulatedGame game) {
+        game.gameId = null;
+        gamesFinished.incrementAndGet();
+    }
+
+    // Requests started after the deadline are not counted, they run only to let games stop cleanly
+    private CompletableFuture<HttpResponse<String>> send(Operation operation, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean counted = start < deadlineNanos;
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, e) -> {
+            if (counted) {
+                stats.get(operation).record(System.nanoTime() - start, response == null ? -1 : response.statusCode());
+            }
+        });
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest put(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    // Picks uniformly among all legal moves, returns null if there is none
+    private static String[] pickRandomMove(JsonNode legalMoves) {
+        int count = 0;
+        for (JsonNode legalMove : legalMoves) {
+            count += Long.bitCount(toDestinations(legalMove));
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        int pick = ThreadLocalRandom.current().nextInt(count);
+        for (JsonNode legalMove : legalMoves) {
+            long destinations = toDestinations(legalMove);
+            int destinationCount = Long.bitCount(destinations);
+            if (pick >= destinationCount) {
+                pick -= destinationCount;
+                continue;
+            }
+
+            for (int i = 0; i < pick; i++) {
+                destinations &= destinations - 1;
+            }
+            int square = Long.numberOfTrailingZeros(destinations);
+            String coordinateTo = (char) ('a' + square % 8) + String.valueOf(square / 8 + 1);
+            return new String[]{legalMove.get("from").asText(), coordinateTo};
+        }
+
+        return null;
+    }
+
+    // Mask is hexadecimal, a JSON number would lose its high bits in clients reading it as a double
+    private static long toDestinations(JsonNode legalMove) {
+        return Long.parseUnsignedLong(legalMove.get("destinations").asText(), 16);
+    }
+
+    private static JsonNode readJson(String body) {
+        try {
+            return OBJECT_MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void report(int games, int seconds) {
+        System.out.printf(Locale.ENGLISH, "games %d, think time %d ms, %d s, games created %d, games finished %d%n",
+                games, thinkMillis, seconds, gamesCreated.get(), gamesFinished.get());
+        System.out.printf(Locale.ENGLISH, "%-12s %9s %9s %8s %8s %9s %9s %9s %9s%n", "operation", "requests", "per s",
+                "errors", "shed", "p50 ms", "p95 ms", "p99 ms", "max ms");
+
+        OperationStats total = new OperationStats();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            report(entry.getKey().name().toLowerCase(Locale.ENGLISH), entry.getValue(), seconds);
+            total.add(entry.getValue());
+        }
+        report("total", total, seconds);
+    }
+
+    // Shed requests are those answered 503 by admission control, errors any other failure
+    private static void report(String name, OperationStats operationStats, int seconds) {
+        long[] latencies = operationStats.getSortedLatencies();
+        System.out.printf(Locale.ENGLISH, "%-12s %9d %9.0f %7.2f%% %7.2f%% %9.1f %9.1f %9.1f %9.1f%n", name,
+                latencies.length, (double) latencies.length / seconds,
+                percentOf(operationStats.errors, latencies.length), percentOf(operationStats.shed, latencies.length),
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.95), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 1.0));
+    }
+
+    private static double percentOf(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+
+    private static double percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    // Fields are only touched by the step of the game in progress, and steps of a game never overlap
+    private static class SimulatedGame {
+
+        private volatile String gameId;
+        private volatile String eTag;
+        private volatile int moves;
+
+    }
+
+    private static class OperationStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long shed;
+
+        // Status code is -1 if the request failed without a response
+        private synchronized void record(long latencyNanos, int statusCode) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+
+            if (statusCode == 503) {
+                shed++;
+            } else if (statusCode < 200 || statusCode >= 400) {
+                errors++;
+            }
+        }
+
+        private synchronized void add(OperationStats other) {
+            long[] otherLatencies = other.getSortedLatencies();
+            if (count + otherLatencies.length > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + otherLatencies.length);
+            }
+            System.arraycopy(otherLatencies, 0, latencies, count, otherLatencies.length);
+            count += otherLatencies.length;
+            errors += other.errors;
+            shed += other.shed;
+        }
+
+        private synchronized long[] getSortedLatencies() {
+            long[] sortedLatencies = Arrays.copyOf(latencies, count);
+            Arrays.sort(sortedLatencies);
+            return sortedLatencies;
+        }
+
+    }
+
+}
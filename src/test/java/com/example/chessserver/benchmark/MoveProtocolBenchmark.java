@@ -0,0 +1,148 @@
+package com.example.chessserver.benchmark;
+
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.util.ChessMoveFrameUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Moves per second of the REST move-chessman endpoint and of the binary move protocol. Each game cycles its knights
+// out and back, so every move is legal. Start the server with the TCP listener:
+//   mvn spring-boot:run -Dspring-boot.run.arguments=--chessserver.tcp.enabled=true
+// and run with base URL, TCP port, games and seconds per protocol:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -Dmdep.includeScope=test
+//   java -cp target/classes:target/test-classes:$(cat target/classpath.txt) \
+//     com.example.chessserver.benchmark.MoveProtocolBenchmark http://localhost:8080 9090 64 20
+public class MoveProtocolBenchmark {
+
+    private static final String CREATE_CHESS_GAMES_PATH = "/chess/v1/create:batch";
+    private static final String MOVE_CHESSMAN_PATH = "/chess/v1/move-chessman";
+    private static final String MOVE_CHESSMAN_BODY = "{\"gameId\": \"%s\", \"coordinate_from\": \"%s\", \"coordinate_to\": \"%s\"}";
+
+    // White and black knight out and back, starting with white
+    private static final String[][] KNIGHT_CYCLE = {{"b1", "c3"}, {"b8", "c6"}, {"c3", "b1"}, {"c6", "b8"}};
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int tcpPort = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        List<String> httpGameIds = createChessGames(httpClient, baseUrl, games);
+        long[] httpMoves = moveOverHttp(httpClient, baseUrl, httpGameIds, seconds);
+        report("HTTP/JSON", httpMoves, seconds);
+
+        List<String> tcpGameIds = createChessGames(httpClient, baseUrl, games);
+        String host = URI.create(baseUrl).getHost();
+        long[] tcpMoves = moveOverTcp(new InetSocketAddress(host, tcpPort), tcpGameIds, seconds);
+        report("binary TCP", tcpMoves, seconds);
+    }
+
+    private static List<String> createChessGames(HttpClient httpClient, String baseUrl, int count)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + CREATE_CHESS_GAMES_PATH))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"count\": " + count + ", \"color\": \"white\"}"))
+                .build();
+        JsonNode response = OBJECT_MAPPER.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+
+        List<String> gameIds = new ArrayList<>(count);
+        response.get("gameIds").forEach(gameId -> gameIds.add(gameId.asText()));
+        return gameIds;
+    }
+
+    // One request at a time, round robin over the games. Returns moves and rejected moves.
+    private static long[] moveOverHttp(HttpClient httpClient, String baseUrl, List<String> gameIds, int seconds)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long moves = 0;
+        long rejected = 0;
+        for (int round = 0; System.nanoTime() < deadline; round++) {
+            String[] move = KNIGHT_CYCLE[round % KNIGHT_CYCLE.length];
+            for (String gameId : gameIds) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + MOVE_CHESSMAN_PATH))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(String.format(MOVE_CHESSMAN_BODY, gameId, move[0], move[1])))
+                        .build();
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200 || !response.body().contains("\"success\"")) {
+                    rejected++;
+                }
+                moves++;
+            }
+        }
+
+        return new long[]{moves, rejected};
+    }
+
+    // One connection, a move per game pipelined each round. Returns moves and rejected moves.
+    private static long[] moveOverTcp(InetSocketAddress address, List<String> gameIds, int seconds) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            ByteBuffer requests = ByteBuffer.allocate(gameIds.size() * ChessMoveFrameUtil.OPEN_LENGTH);
+            for (int handle = 0; handle < gameIds.size(); handle++) {
+                ChessMoveFrameUtil.putOpen(requests, handle, gameIds.get(handle));
+            }
+            exchange(channel, requests, gameIds.size());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            long moves = 0;
+            long rejected = 0;
+            for (int round = 0; System.nanoTime() < deadline; round++) {
+                String[] move = KNIGHT_CYCLE[round % KNIGHT_CYCLE.length];
+                requests.clear();
+                for (int handle = 0; handle < gameIds.size(); handle++) {
+                    ChessMoveFrameUtil.putMove(requests, handle, new ChessCoordinate(move[0]), new ChessCoordinate(move[1]));
+                }
+
+                ByteBuffer replies = exchange(channel, requests, gameIds.size());
+                while (replies.hasRemaining()) {
+                    byte type = replies.get();
+                    byte code = replies.get();
+                    replies.getShort();
+                    if (type != ChessMoveFrameUtil.MOVE || code != ChessMoveFrameUtil.SUCCESS) {
+                        rejected++;
+                    }
+                    moves++;
+                }
+            }
+
+            return new long[]{moves, rejected};
+        }
+    }
+
+    private static ByteBuffer exchange(SocketChannel channel, ByteBuffer requests, int count) throws IOException {
+        requests.flip();
+        while (requests.hasRemaining()) {
+            channel.write(requests);
+        }
+
+        ByteBuffer replies = ByteBuffer.allocate(count * ChessMoveFrameUtil.REPLY_LENGTH);
+        while (replies.hasRemaining()) {
+            if (channel.read(replies) < 0) {
+                throw new IOException("Connection closed by server");
+            }
+        }
+        return replies.flip();
+    }
+
+    private static void report(String protocol, long[] moves, int seconds) {
+        System.out.printf(Locale.ENGLISH, "%-10s moves %d (%.0f/s), rejected %d%n", protocol, moves[0],
+                (double) moves[0] / seconds, moves[1]);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.example.chessserver.benchmark;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.nnue.NnueAccumulator;
+import com.example.chessserver.component.nnue.NnueNetwork;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.openapi.chessserver.model.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Evaluations per second of the NNUE evaluator with and without the Vector API.
+// Run with:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -Dmdep.includeScope=test
+//   java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes:$(cat target/classpath.txt) \
+//     org.openjdk.jmh.Main NnueEvaluationBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class NnueEvaluationBenchmark {
+
+    private static final String CHESSBOARD_MIDDLE_GAME_READABLE =
+            "a8rob,d8kib,e8qub,h8rob,a7pab,b7pab,e5pab,d4paw,c3knw,a2paw,b2paw,a1row,e1kiw,d1quw,h1row";
+
+    @Param({"128", "256", "512"})
+    private int hiddenSize;
+
+    @Param({"true", "false"})
+    private boolean vectorized;
+
+    private NnueAccumulator nnueAccumulator;
+    private ChessmanWithProperties moved;
+    private ChessCoordinate coordinateFrom;
+    private ChessCoordinate coordinateTo;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1L);
+        NnueNetwork nnueNetwork = new NnueNetwork(hiddenSize,
+                randomShorts(random, NnueNetwork.FEATURE_COUNT * hiddenSize),
+                randomShorts(random, hiddenSize),
+                randomShorts(random, 2 * hiddenSize),
+                0,
+                vectorized);
+
+        Chessboard chessboard = new Chessboard(CHESSBOARD_MIDDLE_GAME_READABLE);
+        nnueAccumulator = new NnueAccumulator(nnueNetwork, chessboard);
+        coordinateFrom = new ChessCoordinate("c3");
+        coordinateTo = new ChessCoordinate("e4");
+        moved = chessboard.getChessmanWithProperties(coordinateFrom);
+    }
+
+    // Make, evaluate and unmake, as the search does at every leaf
+    @Benchmark
+    public int makeEvaluateUnmake() {
+        nnueAccumulator.removeChessman(moved);
+        moved.setCoordinate(coordinateTo);
+        nnueAccumulator.addChessman(moved);
+
+        int score = nnueAccumulator.evaluate(Color.WHITE);
+
+        nnueAccumulator.removeChessman(moved);
+        moved.setCoordinate(coordinateFrom);
+        nnueAccumulator.addChessman(moved);
+
+        return score;
+    }
+
+    @Benchmark
+    public int evaluate() {
+        return nnueAccumulator.evaluate(Color.WHITE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NnueEvaluationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static short[] randomShorts(Random random, int length) {
+        short[] values = new short[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (short) (random.nextInt(128) - 64);
+        }
+
+        return values;
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.example.chessserver.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Max concurrent in-flight requests and latency of the blocking JPA endpoints, to compare the platform thread pool of
+// Tomcat with virtual threads. Start the server in either mode:
+//   mvn spring-boot:run
+//   JAVA_HOME=/path/to/jdk-21 mvn -Pvirtual-threads spring-boot:run
+// and run with base URL, concurrent clients and seconds:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -Dmdep.includeScope=test
+//   java -cp target/classes:target/test-classes:$(cat target/classpath.txt) \
+//     com.example.chessserver.benchmark.RequestConcurrencyBenchmark http://localhost:8080 1000 30
+public class RequestConcurrencyBenchmark {
+
+    private static final String CREATE_CHESS_GAMES_PATH = "/chess/v1/create:batch";
+    private static final String GET_CHESSBOARD_PATH = "/chess/v1/chessboard/";
+    private static final String GET_LEGAL_MOVES_PATH = "/chess/v1/games/%s/legal-moves";
+    private static final String ACTIVE_REQUESTS_PATH = "/actuator/metrics/http.server.requests.active";
+
+    private static final int MAX_GAMES_PER_REQUEST = 1000;
+    private static final long SAMPLE_INTERVAL_MILLIS = 20;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<String> gameIds = createChessGames(httpClient, baseUrl, clients);
+
+        // One thread per client, so the server rather than the client bounds the requests in flight
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(clients + 1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong errors = new AtomicLong();
+
+        Future<Long> maxInFlight = clientExecutor.submit(() -> sampleMaxInFlight(httpClient, baseUrl, deadline));
+        List<Future<long[]>> latencies = new ArrayList<>(clients);
+        for (String gameId : gameIds) {
+            latencies.add(clientExecutor.submit(() -> runClient(httpClient, baseUrl, gameId, deadline, errors)));
+        }
+
+        List<long[]> clientLatencies = new ArrayList<>(clients);
+        for (Future<long[]> future : latencies) {
+            clientLatencies.add(future.get());
+        }
+        long[] allLatencies = clientLatencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        clientExecutor.shutdown();
+
+        System.out.printf(Locale.ENGLISH, "clients %d, requests %d (%.0f/s), errors %d%n", clients,
+                allLatencies.length, (double) allLatencies.length / seconds, errors.get());
+        // The sampling request itself is counted as well
+        System.out.printf(Locale.ENGLISH, "max in-flight %d%n", maxInFlight.get());
+        System.out.printf(Locale.ENGLISH, "latency p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                percentileMillis(allLatencies, 0.50), percentileMillis(allLatencies, 0.99),
+                percentileMillis(allLatencies, 1.0));
+    }
+
+    private static List<String> createChessGames(HttpClient httpClient, String baseUrl, int count)
+            throws IOException, InterruptedException {
+        List<String> gameIds = new ArrayList<>(count);
+        while (gameIds.size() < count) {
+            int batch = Math.min(MAX_GAMES_PER_REQUEST, count - gameIds.size());
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + CREATE_CHESS_GAMES_PATH))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"count\": " + batch + ", \"color\": \"white\"}"))
+                    .build();
+            JsonNode response = OBJECT_MAPPER.readTree(
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            response.get("gameIds").forEach(gameId -> gameIds.add(gameId.asText()));
+        }
+
+        return gameIds;
+    }
+
+    // Alternates chessboard and legal moves of its game, both read the game from the DB
+    private static long[] runClient(HttpClient httpClient, String baseUrl, String gameId, long deadline,
+                                    AtomicLong errors) {
+        List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(URI.create(baseUrl + GET_CHESSBOARD_PATH + gameId)).build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + String.format(GET_LEGAL_MOVES_PATH, gameId))).build());
+
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(requests.get(count % requests.size()),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static long sampleMaxInFlight(HttpClient httpClient, String baseUrl, long deadline)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ACTIVE_REQUESTS_PATH)).build();
+        long maxInFlight = 0;
+        while (System.nanoTime() < deadline) {
+            try {
+                JsonNode metric = OBJECT_MAPPER.readTree(
+                        httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+                for (JsonNode measurement : metric.get("measurements")) {
+                    if ("ACTIVE_TASKS".equals(measurement.get("statistic").asText())) {
+                        maxInFlight = Math.max(maxInFlight, measurement.get("value").asLong());
+                    }
+                }
+            } catch (IOException e) {
+                // A sample lost to an overloaded server is skipped
+            }
+            Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+        }
+
+        return maxInFlight;
+    }
+
+    private static double percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+}
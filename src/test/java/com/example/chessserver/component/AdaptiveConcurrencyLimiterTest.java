@@ -0,0 +1,96 @@
+package com.example.chessserver.component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void shouldShedRequestOverLimitWithoutWait() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertEquals(0, limiter.acquire(0));
+        assertEquals(0, limiter.acquire(0));
+        assertEquals(-1, limiter.acquire(0));
+        assertEquals(-1, limiter.acquire(TimeUnit.MILLISECONDS.toNanos(10)));
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    void shouldAdmitWaitingRequestOnRelease() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10);
+        limiter.acquire(0);
+
+        CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> limiter.acquire(TimeUnit.SECONDS.toNanos(10)));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (limiter.getWaiting() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, limiter.getWaiting());
+
+        limiter.release(LATENCY_NANOS);
+
+        assertTrue(waited.get(5, TimeUnit.SECONDS) > 0, "Waiting request is not admitted");
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    void shouldGrowLimitInUseWhileLatencyStaysLow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100);
+
+        runSamples(limiter, 10, LATENCY_NANOS, 10);
+
+        assertTrue(limiter.getLimit() > 10, "Limit is not grown");
+    }
+
+    @Test
+    void shouldNotGrowUnusedLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100);
+
+        runSamples(limiter, 1, LATENCY_NANOS, 10);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 2, 100);
+        runSamples(limiter, 20, LATENCY_NANOS, 1);
+        int limitOfLowLatency = limiter.getLimit();
+
+        runSamples(limiter, 20, LATENCY_NANOS * 10, 10);
+
+        assertTrue(limiter.getLimit() < limitOfLowLatency, "Limit is not shrunk");
+        assertTrue(limiter.getLimit() >= 2, "Limit is below min limit");
+    }
+
+    @Test
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 2, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 0, 10));
+    }
+
+    // Runs rounds of given concurrency, 20 samples each so that every round updates the limit
+    private void runSamples(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (int sample = 0; sample < 20; sample += concurrency) {
+                for (int request = 0; request < concurrency; request++) {
+                    limiter.acquire(0);
+                }
+                for (int request = 0; request < concurrency; request++) {
+                    limiter.release(latencyNanos);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.chessserver.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int GAMES = 10000;
+
+    @Test
+    void shouldContainEveryPutGameId() {
+        BloomFilter bloomFilter = new BloomFilter(GAMES, 0.01);
+        for (long i = 0; i < GAMES; i++) {
+            bloomFilter.put(Long.toString(i * 7919, 36));
+        }
+
+        for (long i = 0; i < GAMES; i++) {
+            assertTrue(bloomFilter.mightContain(Long.toString(i * 7919, 36)), "Put game ID is not contained");
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRate() {
+        BloomFilter bloomFilter = new BloomFilter(GAMES, 0.01);
+        for (long i = 0; i < GAMES; i++) {
+            bloomFilter.put(Long.toString(i, 36));
+        }
+
+        int falsePositives = 0;
+        for (long i = GAMES; i < GAMES * 11L; i++) {
+            if (bloomFilter.mightContain(Long.toString(i, 36))) {
+                falsePositives++;
+            }
+        }
+
+        // 1% of 100000 unknown game IDs, with some room for chance
+        assertTrue(falsePositives < 1500, "False positive rate is " + falsePositives / 100000.0);
+    }
+
+    @Test
+    void shouldBeSizedForRate() {
+        BloomFilter bloomFilter = new BloomFilter(GAMES, 0.01);
+
+        // 9.59 bits and 7 hashes per game ID for 1%
+        assertEquals(95872, bloomFilter.getBitCount());
+        assertEquals(7, bloomFilter.getHashCount());
+        assertFalse(new BloomFilter(1, 0.01).mightContain("1ji7a2xo1aqev"));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(GAMES, 1));
+    }
+
+}
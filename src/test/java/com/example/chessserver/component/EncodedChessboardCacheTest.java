@@ -0,0 +1,50 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.EncodedChessboardResponse;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EncodedChessboardCacheTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final EncodedChessboardResponse VERSION_12 =
+            new EncodedChessboardResponse(new ChessboardResponse().version(12L), new byte[]{1});
+    private static final EncodedChessboardResponse VERSION_13 =
+            new EncodedChessboardResponse(new ChessboardResponse().version(13L), new byte[]{2});
+
+    @Test
+    void shouldReturnChessboardOfSameVersionOnly() {
+        EncodedChessboardCache encodedChessboardCache = new EncodedChessboardCache(10);
+        encodedChessboardCache.put(GAME_ID, VERSION_12);
+
+        assertEquals(VERSION_12, encodedChessboardCache.get(GAME_ID, 12));
+        assertNull(encodedChessboardCache.get(GAME_ID, 13));
+    }
+
+    @Test
+    void shouldKeepNewerChessboard() {
+        EncodedChessboardCache encodedChessboardCache = new EncodedChessboardCache(10);
+        encodedChessboardCache.put(GAME_ID, VERSION_13);
+        encodedChessboardCache.put(GAME_ID, VERSION_12);
+
+        assertEquals(VERSION_13, encodedChessboardCache.get(GAME_ID, 13));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyReadGame() {
+        EncodedChessboardCache encodedChessboardCache = new EncodedChessboardCache(2);
+        encodedChessboardCache.put("1", VERSION_12);
+        encodedChessboardCache.put("2", VERSION_12);
+        encodedChessboardCache.get("1", 12);
+        encodedChessboardCache.put("3", VERSION_12);
+
+        assertEquals(2, encodedChessboardCache.size());
+        assertNotNull(encodedChessboardCache.get("1", 12));
+        assertNull(encodedChessboardCache.get("2", 12));
+    }
+
+}
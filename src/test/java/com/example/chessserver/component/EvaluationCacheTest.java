@@ -0,0 +1,47 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.SearchResult;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EvaluationCacheTest {
+
+    private static final SearchResult SEARCH_RESULT_DEPTH_2 = new SearchResult(10, 2, List.of(), 10);
+    private static final SearchResult SEARCH_RESULT_DEPTH_4 = new SearchResult(20, 4, List.of(), 100);
+
+    @Test
+    void shouldNotReturnShallowerResult() {
+        EvaluationCache evaluationCache = new EvaluationCache(10);
+        evaluationCache.put(1L, SEARCH_RESULT_DEPTH_2);
+
+        assertNull(evaluationCache.get(1L, 3));
+        assertEquals(SEARCH_RESULT_DEPTH_2, evaluationCache.get(1L, 2));
+    }
+
+    @Test
+    void shouldKeepDeeperResult() {
+        EvaluationCache evaluationCache = new EvaluationCache(10);
+        evaluationCache.put(1L, SEARCH_RESULT_DEPTH_4);
+        evaluationCache.put(1L, SEARCH_RESULT_DEPTH_2);
+
+        assertEquals(SEARCH_RESULT_DEPTH_4, evaluationCache.get(1L, 2));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedResult() {
+        EvaluationCache evaluationCache = new EvaluationCache(2);
+        evaluationCache.put(1L, SEARCH_RESULT_DEPTH_2);
+        evaluationCache.put(2L, SEARCH_RESULT_DEPTH_2);
+        evaluationCache.get(1L, 1);
+        evaluationCache.put(3L, SEARCH_RESULT_DEPTH_2);
+
+        assertEquals(2, evaluationCache.size());
+        assertNotNull(evaluationCache.get(1L, 1));
+        assertNull(evaluationCache.get(2L, 1));
+    }
+
+}
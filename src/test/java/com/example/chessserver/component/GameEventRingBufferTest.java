@@ -0,0 +1,61 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameEventRingBufferTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+
+    @Test
+    void shouldReadPublishedEvents() {
+        GameEventRingBuffer ringBuffer = new GameEventRingBuffer(4);
+        ChessMoveEvent firstMove = createChessMoveEvent("a2", "a3", Color.BLACK);
+        ChessMoveEvent secondMove = createChessMoveEvent("a7", "a6", Color.WHITE);
+
+        ringBuffer.publish(firstMove);
+        ringBuffer.publish(secondMove);
+
+        assertEquals(2, ringBuffer.getWriteSequence());
+        assertEquals(firstMove, ringBuffer.get(0));
+        assertEquals(secondMove, ringBuffer.get(1));
+        assertNull(ringBuffer.get(2));
+        assertEquals(new GameSnapshot(2, secondMove.getChessboard(), Color.WHITE, 1), ringBuffer.getSnapshot());
+    }
+
+    @Test
+    void shouldOverwriteOldestEvents() {
+        GameEventRingBuffer ringBuffer = new GameEventRingBuffer(2);
+
+        ringBuffer.publish(createChessMoveEvent("a2", "a3", Color.BLACK));
+        ringBuffer.publish(createChessMoveEvent("a7", "a6", Color.WHITE));
+        ChessMoveEvent thirdMove = createChessMoveEvent("a3", "a4", Color.BLACK);
+        ringBuffer.publish(thirdMove);
+
+        assertNull(ringBuffer.get(0));
+        assertEquals(thirdMove, ringBuffer.get(2));
+    }
+
+    @Test
+    void shouldHaveNoSnapshotBeforeFirstEvent() {
+        assertNull(new GameEventRingBuffer(2).getSnapshot());
+    }
+
+    @Test
+    void shouldRejectCapacityNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEventRingBuffer(3));
+    }
+
+    private static ChessMoveEvent createChessMoveEvent(String coordinateFrom, String coordinateTo, Color colorOfPlayer) {
+        return new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, coordinateFrom, coordinateTo, null,
+                colorOfPlayer, coordinateTo + "paw,e1kiw,e8kib", 1, null);
+    }
+
+}
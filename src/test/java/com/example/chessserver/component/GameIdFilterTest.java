@@ -0,0 +1,112 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.repository.ChessGameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class GameIdFilterTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String OTHER_GAME_ID = "-1ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+
+    @Mock
+    private ChessGameRepository chessGameRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GameIdFilter gameIdFilter;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameIdFilter = new GameIdFilter(chessGameRepository, transactionManager, true, 1000, 0.01, 3600000,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        gameIdFilter.shutdown();
+    }
+
+    @Test
+    void shouldAdmitEveryGameIdUntilBuilt() {
+        assertTrue(gameIdFilter.mightContain(GAME_ID_NOT_EXISTED), "Game ID is rejected before the filter is built");
+    }
+
+    @Test
+    void shouldRejectGameIdNotScanned() {
+        when(chessGameRepository.count()).thenReturn(1L);
+        when(chessGameRepository.streamAllGameIds()).thenReturn(Stream.of(GAME_ID));
+
+        gameIdFilter.rebuild();
+
+        assertTrue(gameIdFilter.mightContain(GAME_ID), "Scanned game ID is rejected");
+        assertFalse(gameIdFilter.mightContain(GAME_ID_NOT_EXISTED), "Unknown game ID is admitted");
+        assertEquals(1, meterRegistry.counter("chessserver.game-id-filter.rejected").count());
+    }
+
+    @Test
+    void shouldAdmitGameIdCreatedAfterBuild() {
+        when(chessGameRepository.streamAllGameIds()).thenReturn(Stream.of(GAME_ID));
+        gameIdFilter.rebuild();
+
+        gameIdFilter.put(OTHER_GAME_ID);
+
+        assertTrue(gameIdFilter.mightContain(OTHER_GAME_ID), "Created game ID is rejected");
+    }
+
+    @Test
+    void shouldKeepGameIdCreatedDuringRebuild() {
+        // Game is created while the scan runs, after the scan has passed it
+        when(chessGameRepository.streamAllGameIds()).thenReturn(Stream.of(GAME_ID).peek(gameId ->
+                gameIdFilter.put(OTHER_GAME_ID)));
+
+        gameIdFilter.rebuild();
+
+        assertTrue(gameIdFilter.mightContain(OTHER_GAME_ID), "Game ID created during rebuild is rejected");
+    }
+
+    @Test
+    void shouldForgetDeletedGameIdOnRebuild() {
+        when(chessGameRepository.streamAllGameIds()).thenReturn(Stream.of(GAME_ID, OTHER_GAME_ID))
+                .thenReturn(Stream.of(GAME_ID));
+
+        gameIdFilter.rebuild();
+        gameIdFilter.rebuild();
+
+        assertFalse(gameIdFilter.mightContain(OTHER_GAME_ID), "Deleted game ID is admitted");
+    }
+
+    @Test
+    void shouldKeepPreviousFilterIfRebuildFails() {
+        when(chessGameRepository.streamAllGameIds()).thenReturn(Stream.of(GAME_ID))
+                .thenThrow(new IllegalStateException("Connection refused"));
+        gameIdFilter.rebuild();
+
+        assertThrows(IllegalStateException.class, () -> gameIdFilter.rebuild());
+        gameIdFilter.put(OTHER_GAME_ID);
+
+        assertTrue(gameIdFilter.mightContain(GAME_ID), "Previous filter is dropped");
+        assertFalse(gameIdFilter.mightContain(GAME_ID_NOT_EXISTED), "Previous filter is dropped");
+        assertTrue(gameIdFilter.mightContain(OTHER_GAME_ID), "Created game ID is rejected");
+    }
+
+}
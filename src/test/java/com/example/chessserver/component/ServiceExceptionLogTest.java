@@ -0,0 +1,35 @@
+package com.example.chessserver.component;
+
+import com.example.chessserver.exception.ServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServiceExceptionLogTest {
+
+    @Test
+    void shouldCountServiceExceptionsByStatus() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ServiceExceptionLog serviceExceptionLog = new ServiceExceptionLog(1, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            serviceExceptionLog.log(new ServiceException("Game ID 1 is not found", HttpStatus.NOT_FOUND));
+        }
+        serviceExceptionLog.log(new ServiceException("Unexpected error", HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertEquals(3, meterRegistry.get("chessserver.errors").tag("status", "404").counter().count());
+        assertEquals(1, meterRegistry.get("chessserver.errors").tag("status", "500").counter().count());
+    }
+
+    @Test
+    void shouldFillInStackTraceOfServerErrorsOnly() {
+        assertEquals(0, new ServiceException("Game ID 1 is not found", HttpStatus.NOT_FOUND).getStackTrace().length);
+        assertEquals(0, new ServiceException("Invalid", HttpStatus.UNPROCESSABLE_ENTITY).getStackTrace().length);
+        assertTrue(new ServiceException("Unexpected", HttpStatus.INTERNAL_SERVER_ERROR).getStackTrace().length > 0,
+                "Stack trace of server error is not filled in");
+    }
+
+}
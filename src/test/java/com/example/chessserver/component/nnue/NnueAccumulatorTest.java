@@ -0,0 +1,124 @@
+package com.example.chessserver.component.nnue;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.openapi.chessserver.model.Color;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NnueAccumulatorTest {
+
+    // Not a multiple of any vector length, so the scalar tail of the vectorised loops is covered too
+    private static final int HIDDEN_SIZE = 40;
+
+    private static final String CHESSBOARD_MIDDLE_GAME_READABLE =
+            "a8rob,d8kib,e8qub,h8rob,a7pab,b7pab,e5pab,d4paw,c3knw,a2paw,b2paw,a1row,e1kiw,d1quw,h1row";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldEvaluateSameWithAndWithoutVectorization() {
+        NnueNetwork vectorized = createRandomNetwork(1L, true);
+        NnueNetwork scalar = createRandomNetwork(1L, false);
+        Chessboard chessboard = new Chessboard(CHESSBOARD_MIDDLE_GAME_READABLE);
+
+        for (Color color : Color.values()) {
+            assertEquals(new NnueAccumulator(scalar, chessboard).evaluate(color),
+                    new NnueAccumulator(vectorized, chessboard).evaluate(color));
+        }
+    }
+
+    @Test
+    void shouldEvaluateSameIncrementallyAndFromScratch() {
+        NnueNetwork nnueNetwork = createRandomNetwork(2L, true);
+        Chessboard chessboard = new Chessboard(CHESSBOARD_MIDDLE_GAME_READABLE);
+        NnueAccumulator nnueAccumulator = new NnueAccumulator(nnueNetwork, chessboard);
+
+        // d4 takes e5
+        ChessmanWithProperties moved = chessboard.getChessmanWithProperties(new ChessCoordinate("d4"));
+        ChessmanWithProperties captured = chessboard.getChessmanWithProperties(new ChessCoordinate("e5"));
+        chessboard.removeChessmanWithProperties(captured);
+        nnueAccumulator.removeChessman(captured);
+        chessboard.removeChessmanWithProperties(moved);
+        nnueAccumulator.removeChessman(moved);
+        moved.setCoordinate(new ChessCoordinate("e5"));
+        chessboard.putChessmanWithProperties(moved);
+        nnueAccumulator.addChessman(moved);
+
+        for (Color color : Color.values()) {
+            assertEquals(new NnueAccumulator(nnueNetwork, chessboard).evaluate(color), nnueAccumulator.evaluate(color));
+        }
+    }
+
+    @Test
+    void shouldMirrorFeaturesOfBlack() {
+        ChessmanWithProperties whiteRook = new ChessmanWithProperties(
+                Chessman.ROOK, new ChessCoordinate("a1"), Color.WHITE);
+        ChessmanWithProperties blackRook = new ChessmanWithProperties(
+                Chessman.ROOK, new ChessCoordinate("a8"), Color.BLACK);
+
+        assertEquals(NnueAccumulator.getFeature(Color.WHITE, whiteRook), NnueAccumulator.getFeature(Color.BLACK, blackRook));
+    }
+
+    @Test
+    void shouldLoadNetworkFromWeightsFile() throws IOException {
+        Random random = new Random(3L);
+        short[] featureWeights = randomShorts(random, NnueNetwork.FEATURE_COUNT * HIDDEN_SIZE, 64);
+        short[] featureBiases = randomShorts(random, HIDDEN_SIZE, 64);
+        short[] outputWeights = randomShorts(random, 2 * HIDDEN_SIZE, 64);
+
+        Path weightsFile = tempDir.resolve("weights.nnue");
+        try (DataOutputStream dataOutputStream = new DataOutputStream(Files.newOutputStream(weightsFile))) {
+            dataOutputStream.writeInt(NnueNetwork.MAGIC);
+            dataOutputStream.writeInt(NnueNetwork.VERSION);
+            dataOutputStream.writeInt(HIDDEN_SIZE);
+            for (short value : featureWeights) {
+                dataOutputStream.writeShort(value);
+            }
+            for (short value : featureBiases) {
+                dataOutputStream.writeShort(value);
+            }
+            for (short value : outputWeights) {
+                dataOutputStream.writeShort(value);
+            }
+            dataOutputStream.writeInt(100);
+        }
+
+        NnueNetwork expected = new NnueNetwork(HIDDEN_SIZE, featureWeights, featureBiases, outputWeights, 100, true);
+        NnueNetwork actual = NnueNetwork.load(weightsFile, true);
+        Chessboard chessboard = new Chessboard(CHESSBOARD_MIDDLE_GAME_READABLE);
+
+        assertEquals(new NnueAccumulator(expected, chessboard).evaluate(Color.WHITE),
+                new NnueAccumulator(actual, chessboard).evaluate(Color.WHITE));
+    }
+
+    private static NnueNetwork createRandomNetwork(long seed, boolean vectorized) {
+        Random random = new Random(seed);
+        return new NnueNetwork(HIDDEN_SIZE,
+                randomShorts(random, NnueNetwork.FEATURE_COUNT * HIDDEN_SIZE, 64),
+                randomShorts(random, HIDDEN_SIZE, 64),
+                randomShorts(random, 2 * HIDDEN_SIZE, 64),
+                random.nextInt(1000),
+                vectorized);
+    }
+
+    private static short[] randomShorts(Random random, int length, int bound) {
+        short[] values = new short[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (short) (random.nextInt(2 * bound) - bound);
+        }
+
+        return values;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.model.enums.EndpointClass;
+import com.example.chessserver.service.AdmissionControlService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class AdmissionControlFilterTest {
+
+    @Mock
+    private AdmissionControlService admissionControlService;
+
+    private AdmissionControlFilter admissionControlFilter;
+
+    @BeforeEach
+    void setupEach() {
+        admissionControlFilter = new AdmissionControlFilter(admissionControlService, new ObjectMapper(), 2);
+    }
+
+    @Test
+    void shouldClassifyEndpoints() {
+        assertEquals(EndpointClass.MOVE, AdmissionControlFilter.classify("PUT", "/chess/v1/move-chessman"));
+        assertEquals(EndpointClass.MOVE, AdmissionControlFilter.classify("PUT", "/chess/v1/promote-pawn"));
+        assertEquals(EndpointClass.MOVE, AdmissionControlFilter.classify("POST", "/chess/v1/moves:batch"));
+        assertEquals(EndpointClass.CREATE, AdmissionControlFilter.classify("POST", "/chess/v1/create"));
+        assertEquals(EndpointClass.CREATE, AdmissionControlFilter.classify("POST", "/chess/v1/create:batch"));
+        assertEquals(EndpointClass.READ, AdmissionControlFilter.classify("GET", "/chess/v1/chessboard/1ji7a2xo1aqev"));
+        assertEquals(EndpointClass.READ,
+                AdmissionControlFilter.classify("GET", "/chess/v1/games/1ji7a2xo1aqev/legal-moves"));
+        assertEquals(EndpointClass.ENGINE, AdmissionControlFilter.classify("GET", "/chess/v1/evaluation/1ji7a2xo1aqev"));
+        assertEquals(EndpointClass.ENGINE, AdmissionControlFilter.classify("GET", "/chess/v1/analysis/1ji7a2xo1aqev"));
+        assertEquals(EndpointClass.ENGINE, AdmissionControlFilter.classify("POST", "/chess/v1/solve"));
+        assertNull(AdmissionControlFilter.classify("GET", "/actuator/health"));
+        assertNull(AdmissionControlFilter.classify("GET", "/chess/v1/ws"));
+    }
+
+    @Test
+    void shouldReleaseAdmittedRequest() throws Exception {
+        when(admissionControlService.tryAdmit(EndpointClass.MOVE)).thenReturn(true);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        admissionControlFilter.doFilter(new MockHttpServletRequest("PUT", "/chess/v1/move-chessman"),
+                new MockHttpServletResponse(), filterChain);
+
+        assertNotNull(filterChain.getRequest(), "Admitted request is not handled");
+        verify(admissionControlService).release(eq(EndpointClass.MOVE), anyLong());
+    }
+
+    @Test
+    void shouldShedRequestWithRetryAfter() throws Exception {
+        when(admissionControlService.tryAdmit(EndpointClass.READ)).thenReturn(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        admissionControlFilter.doFilter(new MockHttpServletRequest("GET", "/chess/v1/chessboard/1ji7a2xo1aqev"),
+                response, filterChain);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("{\"message\":\"Server is overloaded, retry later\"}", response.getContentAsString());
+        assertNull(filterChain.getRequest(), "Shed request is handled");
+        verify(admissionControlService, never()).release(eq(EndpointClass.READ), anyLong());
+    }
+
+    @Test
+    void shouldNotLimitOtherRequests() throws Exception {
+        MockFilterChain filterChain = new MockFilterChain();
+
+        admissionControlFilter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                new MockHttpServletResponse(), filterChain);
+
+        assertNotNull(filterChain.getRequest());
+        verifyNoInteractions(admissionControlService);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.example.chessserver.config;
+
+import com.example.chessserver.controller.ChessMoveFrameHandler;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.util.ChessMoveFrameUtil;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessMoveTcpServerTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final int HANDLE = 3;
+    private static final int MOVES = 100;
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    @Mock
+    private ChessmanMovementValidatorService chessmanMovementValidatorService;
+
+    private ChessMoveTcpServer chessMoveTcpServer;
+
+    @BeforeEach
+    void setupEach() {
+        // Buffers hold fewer requests than are pipelined, so batches are handled one after another
+        chessMoveTcpServer = new ChessMoveTcpServer(
+                new ChessMoveFrameHandler(chessGameService, chessmanMovementValidatorService), 0, 2, 16);
+        chessMoveTcpServer.start();
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        chessMoveTcpServer.stop();
+    }
+
+    @Test
+    void shouldAnswerPipelinedRequestsInOrder() throws IOException {
+        when(chessGameService.moveChessman(any(), any(), eq(GAME_ID)))
+                .thenReturn(new MoveChessmanResponse().status(ChessmanMovementStatus.SUCCESS));
+
+        ByteBuffer requests = ByteBuffer.allocate(ChessMoveFrameUtil.OPEN_LENGTH + MOVES * ChessMoveFrameUtil.MOVE_LENGTH);
+        ChessMoveFrameUtil.putOpen(requests, HANDLE, GAME_ID);
+        for (int i = 0; i < MOVES; i++) {
+            ChessMoveFrameUtil.putMove(requests, HANDLE, new ChessCoordinate("a2"), new ChessCoordinate("a3"));
+        }
+        requests.flip();
+
+        try (SocketChannel channel = SocketChannel.open(
+                new InetSocketAddress("localhost", chessMoveTcpServer.getPort()))) {
+            while (requests.hasRemaining()) {
+                channel.write(requests);
+            }
+
+            ByteBuffer replies = read(channel, (MOVES + 1) * ChessMoveFrameUtil.REPLY_LENGTH);
+            assertEquals(ChessMoveFrameUtil.OPEN, replies.get());
+            assertEquals(ChessMoveFrameUtil.OK, replies.get());
+            assertEquals(HANDLE, replies.getShort());
+            for (int i = 0; i < MOVES; i++) {
+                assertEquals(ChessMoveFrameUtil.MOVE, replies.get());
+                assertEquals(ChessMoveFrameUtil.SUCCESS, replies.get());
+                assertEquals(HANDLE, replies.getShort());
+            }
+        }
+    }
+
+    @Test
+    void shouldCloseConnectionAfterRequestOfUnknownType() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(
+                new InetSocketAddress("localhost", chessMoveTcpServer.getPort()))) {
+            channel.write(ByteBuffer.wrap(new byte[]{9, 0, 0, 0, 0, 0, 0, 0}));
+
+            ByteBuffer replies = read(channel, ChessMoveFrameUtil.REPLY_LENGTH);
+            assertEquals(9, replies.get());
+            assertEquals(ChessMoveFrameUtil.BAD_REQUEST, replies.get());
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    private static ByteBuffer read(SocketChannel channel, int length) throws IOException {
+        ByteBuffer replies = ByteBuffer.allocate(length);
+        while (replies.hasRemaining()) {
+            if (channel.read(replies) < 0) {
+                break;
+            }
+        }
+        return replies.flip();
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import com.example.chessserver.service.ChessAnalysisService;
+import com.example.openapi.chessserver.model.AnalysisLine;
+import com.example.openapi.chessserver.model.AnalysisResponse;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+class ChessAnalysisControllerTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GET_ANALYSIS_URL = "/chess/v1/analysis/1ji7a2xo1aqev";
+
+    @Mock
+    private ChessAnalysisService chessAnalysisService;
+
+    // Sends of depth events block until released, as they do for a client that stops reading
+    private final CountDownLatch releaseSend = new CountDownLatch(1);
+    private volatile boolean blockSends;
+    private final List<String> senderThreadNames = new CopyOnWriteArrayList<>();
+
+    private MockMvc mockMvc;
+
+    private JacksonTester<AnalysisResponse> analysisResponseTester;
+    private JacksonTester<ErrorMessage> errorMessageTester;
+
+    @BeforeEach
+    void setupEach() {
+        ServiceExceptionLog serviceExceptionLog = new ServiceExceptionLog(10, new SimpleMeterRegistry());
+        this.mockMvc = MockMvcBuilders
+                .standaloneSetup(new ChessAnalysisController(chessAnalysisService, serviceExceptionLog, 60000, 2))
+                .setMessageConverters(new StringHttpMessageConverter(), new BlockingMessageConverter())
+                .setControllerAdvice(new GlobalExceptionHandler(serviceExceptionLog)).build();
+        JacksonTester.initFields(this, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        releaseSend.countDown();
+    }
+
+    @Test
+    void shouldStreamDepthEvents() throws Exception {
+        AnalysisResponse depthOne = createAnalysisResponse(1, 890);
+        AnalysisResponse depthTwo = createAnalysisResponse(2, 880);
+
+        when(chessAnalysisService.analyseChessGame(eq(GAME_ID), eq(2), eq(2), any(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<AnalysisResponse> onDepthCompleted = invocation.getArgument(4);
+                    onDepthCompleted.accept(depthOne);
+                    onDepthCompleted.accept(depthTwo);
+
+                    EngineJob<AnalysisResponse> analysis = new EngineJob<>(GAME_ID, EngineJobPriority.ANALYSIS);
+                    analysis.getResult().complete(depthTwo);
+                    return analysis;
+                });
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_ANALYSIS_URL)
+                        .param("lines", "2")
+                        .param("depth", "2")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(
+                "event:depth\ndata:" + analysisResponseTester.write(depthOne).getJson() + "\n\n" +
+                        "event:depth\ndata:" + analysisResponseTester.write(depthTwo).getJson() + "\n\n");
+    }
+
+    @Test
+    void shouldSendErrorEventIfAnalysisFails() throws Exception {
+        AnalysisResponse depthOne = createAnalysisResponse(1, 890);
+        EngineJob<AnalysisResponse> analysis = new EngineJob<>(GAME_ID, EngineJobPriority.ANALYSIS);
+        when(chessAnalysisService.analyseChessGame(eq(GAME_ID), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<AnalysisResponse> onDepthCompleted = invocation.getArgument(4);
+                    onDepthCompleted.accept(depthOne);
+                    return analysis;
+                });
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_ANALYSIS_URL)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        analysis.getResult().completeExceptionally(
+                new ServiceException("Engine job of game 1ji7a2xo1aqev is cancelled", HttpStatus.SERVICE_UNAVAILABLE));
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(
+                "event:depth\ndata:" + analysisResponseTester.write(depthOne).getJson() + "\n\n" +
+                        "event:error\ndata:" + errorMessageTester.write(
+                                new ErrorMessage().message("Engine job of game 1ji7a2xo1aqev is cancelled")).getJson() +
+                        "\n\n");
+    }
+
+    @Test
+    void shouldCancelAnalysisOnceStreamTimesOut() throws Exception {
+        EngineJob<AnalysisResponse> analysis = new EngineJob<>(GAME_ID, EngineJobPriority.ANALYSIS);
+        when(chessAnalysisService.analyseChessGame(eq(GAME_ID), any(), any(), any(), any())).thenReturn(analysis);
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_ANALYSIS_URL)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Mock servlet container never times out on its own
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertThat(analysis.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldStopAnalysisOnceClientFallsBehind() throws Exception {
+        AtomicReference<Consumer<AnalysisResponse>> onDepthCompleted = new AtomicReference<>();
+        EngineJob<AnalysisResponse> analysis = new EngineJob<>(GAME_ID, EngineJobPriority.ANALYSIS);
+        when(chessAnalysisService.analyseChessGame(eq(GAME_ID), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    onDepthCompleted.set(invocation.getArgument(4));
+                    return analysis;
+                });
+
+        mockMvc.perform(get(GET_ANALYSIS_URL)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        blockSends = true;
+
+        // First event is stuck being sent and the second one queued, the third one is past the limit of pending events
+        onDepthCompleted.get().accept(createAnalysisResponse(1, 890));
+        onDepthCompleted.get().accept(createAnalysisResponse(2, 880));
+        ServiceException thrown = assertThrows(ServiceException.class,
+                () -> onDepthCompleted.get().accept(createAnalysisResponse(3, 870)));
+
+        assertEquals("Analysis stream of game 1ji7a2xo1aqev is backed up", thrown.getMessage());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getStatus());
+        assertThat(senderThreadNames).allMatch(threadName -> threadName.startsWith("analysis-stream-sender-"));
+    }
+
+    @Test
+    void shouldRespondWithErrorBeforeStreaming() throws Exception {
+        when(chessAnalysisService.analyseChessGame(eq(GAME_ID), any(), any(), any(), any()))
+                .thenThrow(new ServiceException("Game ID 1ji7a2xo1aqev is not found", HttpStatus.NOT_FOUND));
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get(GET_ANALYSIS_URL))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(
+                errorMessageTester.write(new ErrorMessage().message("Game ID 1ji7a2xo1aqev is not found")).getJson());
+    }
+
+    private class BlockingMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            senderThreadNames.add(Thread.currentThread().getName());
+            if (blockSends) {
+                try {
+                    releaseSend.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.writeInternal(object, type, outputMessage);
+        }
+
+    }
+
+    private static AnalysisResponse createAnalysisResponse(int depth, int score) {
+        return new AnalysisResponse()
+                .depth(depth)
+                .lines(List.of(new AnalysisLine().score(score).moves(List.of("d4d6"))))
+                .nodes(100L * depth)
+                .colorOfPlayer(Color.WHITE);
+    }
+
+}
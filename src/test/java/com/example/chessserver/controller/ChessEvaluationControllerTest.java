@@ -0,0 +1,150 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.service.ChessEvaluationService;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import com.example.openapi.chessserver.model.EvaluationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+class ChessEvaluationControllerTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GET_EVALUATION_URL = "/chess/v1/evaluation/1ji7a2xo1aqev";
+
+    @Mock
+    private ChessEvaluationService chessEvaluationService;
+
+    private MockMvc mockMvc;
+
+    private JacksonTester<EvaluationResponse> evaluationResponseTester;
+    private JacksonTester<ErrorMessage> errorMessageTester;
+
+    @BeforeEach
+    void setupEach() {
+        this.mockMvc = MockMvcBuilders
+                .standaloneSetup(new ChessEvaluationController(chessEvaluationService, 15000))
+                .setControllerAdvice(new GlobalExceptionHandler(new ServiceExceptionLog(10, new SimpleMeterRegistry()))).build();
+        JacksonTester.initFields(this, new ObjectMapper());
+    }
+
+    @Test
+    void shouldGetEvaluation() throws Exception {
+        EvaluationResponse expectedResponse = new EvaluationResponse()
+                .score(35).depth(3).bestLine(List.of("e2e4", "e7e5", "g1f3")).colorOfPlayer(Color.WHITE);
+        when(chessEvaluationService.evaluateChessGame(GAME_ID, 3, null))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_EVALUATION_URL)
+                        .param("depth", "3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString())
+                .isEqualTo(evaluationResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldFailAtEvaluatingIfSearchFails() throws Exception {
+        when(chessEvaluationService.evaluateChessGame(GAME_ID, null, null))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceException(
+                        "Evaluation of game 1ji7a2xo1aqev is cancelled", HttpStatus.SERVICE_UNAVAILABLE)));
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_EVALUATION_URL)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Evaluation of game 1ji7a2xo1aqev is cancelled")).getJson());
+    }
+
+    @Test
+    void shouldStopWaitingOnTimeout() throws Exception {
+        CompletableFuture<EvaluationResponse> evaluation = new CompletableFuture<>();
+        when(chessEvaluationService.evaluateChessGame(GAME_ID, null, null)).thenReturn(evaluation);
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_EVALUATION_URL)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Mock servlet container never times out on its own
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Evaluation of game 1ji7a2xo1aqev timed out")).getJson());
+        assertThat(evaluation.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldStopWaitingOnceConnectionFails() throws Exception {
+        CompletableFuture<EvaluationResponse> evaluation = new CompletableFuture<>();
+        when(chessEvaluationService.evaluateChessGame(GAME_ID, null, null)).thenReturn(evaluation);
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_EVALUATION_URL)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Servlet container reports a failed connection as an error of the async request
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        AsyncEvent disconnect = new AsyncEvent(asyncContext, new IOException("Broken pipe"));
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(disconnect);
+        }
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onComplete(disconnect);
+        }
+
+        assertThat(evaluation.isCancelled()).isTrue();
+    }
+
+}
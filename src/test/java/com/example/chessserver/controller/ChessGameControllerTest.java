@@ -1,22 +1,39 @@
 package com.example.chessserver.controller;
 
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.config.EncodedChessboardMessageConverter;
 import com.example.chessserver.exception.ServiceException;
 import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.EncodedChessboardResponse;
 import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessLegalMovesService;
 import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.EncodedChessboardService;
+import com.example.openapi.chessserver.model.BoardDelta;
 import com.example.openapi.chessserver.model.ChessboardResponse;
 import com.example.openapi.chessserver.model.ChessmanMovementStatus;
 import com.example.openapi.chessserver.model.Color;
 import com.example.openapi.chessserver.model.CreateChessGameRequest;
 import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.CreateChessGamesRequest;
+import com.example.openapi.chessserver.model.CreateChessGamesResponse;
 import com.example.openapi.chessserver.model.ErrorMessage;
+import com.example.openapi.chessserver.model.LegalMove;
+import com.example.openapi.chessserver.model.LegalMovesResponse;
+import com.example.openapi.chessserver.model.MoveBatchItem;
+import com.example.openapi.chessserver.model.MoveBatchRequest;
+import com.example.openapi.chessserver.model.MoveBatchResponse;
+import com.example.openapi.chessserver.model.MoveBatchResult;
 import com.example.openapi.chessserver.model.MoveChessmanRequest;
 import com.example.openapi.chessserver.model.MoveChessmanResponse;
 import com.example.openapi.chessserver.model.PromotePawnRequest;
 import com.example.openapi.chessserver.model.PromotePawnResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,8 +41,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,11 +52,16 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -59,10 +83,14 @@ class ChessGameControllerTest {
 
     private static final ErrorMessage SOMETHING_GOES_WRONG_ERROR_MESSAGE = new ErrorMessage().message(ERROR_MESSAGE);
     private static final String CREATE_CHESS_URL = "/chess/v1/create";
+    private static final String CREATE_CHESS_GAMES_URL = "/chess/v1/create:batch";
     private static final String GET_CHESSBOARD_URL = "/chess/v1/chessboard/1ji7a2xo1aqev";
     private static final String MOVE_CHESSMAN_URL = "/chess/v1/move-chessman";
+    private static final String MOVE_CHESSMEN_URL = "/chess/v1/moves:batch";
     private static final String PROMOTE_PAWN_URL = "/chess/v1/promote-pawn";
+    private static final String GET_LEGAL_MOVES_URL = "/chess/v1/games/1ji7a2xo1aqev/legal-moves";
     private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String ENCODED_CHESSBOARD = "{\"chessboard\":\"a3paw,e1kiw,e8kib\",\"version\":12}";
 
     @Mock
     private ChessGameService chessGameService;
@@ -70,6 +98,12 @@ class ChessGameControllerTest {
     @Mock
     private ChessmanMovementValidatorService chessmanMovementValidatorService;
 
+    @Mock
+    private ChessLegalMovesService chessLegalMovesService;
+
+    @Mock
+    private EncodedChessboardService encodedChessboardService;
+
     @InjectMocks
     private ChessGameController controller;
 
@@ -78,17 +112,23 @@ class ChessGameControllerTest {
     private JacksonTester<ErrorMessage> errorMessageTester;
     private JacksonTester<CreateChessGameRequest> createChessGameRequestTester;
     private JacksonTester<CreateChessGameResponse> createChessGameResponseTester;
+    private JacksonTester<CreateChessGamesRequest> createChessGamesRequestTester;
+    private JacksonTester<CreateChessGamesResponse> createChessGamesResponseTester;
     private JacksonTester<ChessboardResponse> chessboardResponseTester;
     private JacksonTester<MoveChessmanRequest> moveChessmanRequestTester;
     private JacksonTester<MoveChessmanResponse> moveChessmanResponseTester;
+    private JacksonTester<MoveBatchRequest> moveBatchRequestTester;
+    private JacksonTester<MoveBatchResponse> moveBatchResponseTester;
     private JacksonTester<PromotePawnRequest> promotePawnRequestTester;
     private JacksonTester<PromotePawnResponse> promotePawnResponseTester;
+    private JacksonTester<LegalMovesResponse> legalMovesResponseTester;
 
     @BeforeEach
     void setupEach() {
         this.mockMvc = MockMvcBuilders
                 .standaloneSetup(controller)
-                .setControllerAdvice(new GlobalExceptionHandler()).build();
+                .setMessageConverters(new EncodedChessboardMessageConverter(), new MappingJackson2HttpMessageConverter())
+                .setControllerAdvice(new GlobalExceptionHandler(new ServiceExceptionLog(10, new SimpleMeterRegistry()))).build();
         JacksonTester.initFields(this, new ObjectMapper().registerModule(new JavaTimeModule()));
     }
 
@@ -113,16 +153,102 @@ class ChessGameControllerTest {
     }
 
     @Test
-    void shouldGetChessboard() throws Exception {
-        ChessboardResponse expectedResponse = new ChessboardResponse().chessboard(CHESSBOARD_INITIAL_READABLE);
-        when(chessGameService.getChessGame(any()))
+    void shouldCreateChessGames() throws Exception {
+        CreateChessGamesResponse expectedResponse = new CreateChessGamesResponse().gameIds(List.of(GAME_ID));
+        CreateChessGamesRequest request = new CreateChessGamesRequest().count(1).color(Color.WHITE);
+        when(chessGameService.createChessGames(request))
                 .thenReturn(expectedResponse);
 
+        MockHttpServletResponse response = mockMvc
+                .perform(post(CREATE_CHESS_GAMES_URL)
+                        .content(createChessGamesRequestTester.write(request).getJson())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString())
+                .isEqualTo(createChessGamesResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldGetChessboard() throws Exception {
+        ChessboardResponse chessboardResponse = new ChessboardResponse().chessboard("a3paw,e1kiw,e8kib").version(12L);
+        when(chessGameService.getVersion(GAME_ID))
+                .thenReturn(12L);
+        when(encodedChessboardService.getChessboard(GAME_ID, 12))
+                .thenReturn(new EncodedChessboardResponse(chessboardResponse,
+                        ENCODED_CHESSBOARD.getBytes(StandardCharsets.UTF_8)));
+
         MockHttpServletResponse response = mockMvc
                 .perform(get(GET_CHESSBOARD_URL)
                         .accept(MediaType.APPLICATION_JSON)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"12\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // Bytes serialised once per version are written as they are
+        assertThat(response.getContentAsString()).isEqualTo(ENCODED_CHESSBOARD);
+        verify(chessGameService, never()).getChessGame(any());
+    }
+
+    @Test
+    void shouldGetDeltasSinceVersion() throws Exception {
+        ChessboardResponse expectedResponse = new ChessboardResponse().colorOfPlayer(Color.WHITE).version(12L)
+                .deltas(List.of(new BoardDelta().version(12L).changes(List.of("a7", "a6pab"))
+                        .colorOfPlayer(Color.WHITE).hash("00000000000000ff")));
+        when(chessGameService.getChessGameSince(GAME_ID, 11))
+                .thenReturn(expectedResponse);
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get(GET_CHESSBOARD_URL)
+                        .param("sinceVersion", "11")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"12\""))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString())
+                .isEqualTo(chessboardResponseTester.write(expectedResponse).getJson());
+        verify(chessGameService, never()).getChessGame(any());
+        verify(encodedChessboardService, never()).getChessboard(anyString(), anyLong());
+    }
+
+    @Test
+    void shouldNotModifyChessboardIfETagMatches() throws Exception {
+        when(chessGameService.getVersion(GAME_ID))
+                .thenReturn(12L);
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get(GET_CHESSBOARD_URL)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"12\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"12\""))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEmpty();
+        verify(encodedChessboardService, never()).getChessboard(anyString(), anyLong());
+    }
+
+    @Test
+    void shouldGetChessboardIfETagIsStale() throws Exception {
+        ChessboardResponse expectedResponse = new ChessboardResponse().chessboard(CHESSBOARD_INITIAL_READABLE)
+                .version(13L);
+        when(chessGameService.getVersion(GAME_ID))
+                .thenReturn(13L);
+        when(encodedChessboardService.getChessboard(GAME_ID, 13))
+                .thenReturn(new EncodedChessboardResponse(expectedResponse,
+                        chessboardResponseTester.write(expectedResponse).getJson().getBytes(StandardCharsets.UTF_8)));
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get(GET_CHESSBOARD_URL)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"12\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"13\""))
                 .andReturn().getResponse();
 
         assertThat(response.getContentAsString())
@@ -152,6 +278,30 @@ class ChessGameControllerTest {
                 .isEqualTo(moveChessmanResponseTester.write(expectedResponse).getJson());
     }
 
+    @Test
+    void shouldMoveChessmen() throws Exception {
+        MoveBatchResponse expectedResponse = new MoveBatchResponse().results(List.of(
+                new MoveBatchResult().gameId(GAME_ID).status(ChessmanMovementStatus.SUCCESS),
+                new MoveBatchResult().gameId(GAME_ID).message("Chessman is not found at a3")));
+
+        List<MoveBatchItem> moves = List.of(
+                new MoveBatchItem().gameId(GAME_ID).coordinateFrom("a2").coordinateTo("a3"),
+                new MoveBatchItem().gameId(GAME_ID).coordinateFrom("a3").coordinateTo("a4"));
+        when(chessGameService.moveChessmen(moves))
+                .thenReturn(expectedResponse);
+
+        MockHttpServletResponse response = mockMvc
+                .perform(post(MOVE_CHESSMEN_URL)
+                        .content(moveBatchRequestTester.write(new MoveBatchRequest().moves(moves)).getJson())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString())
+                .isEqualTo(moveBatchResponseTester.write(expectedResponse).getJson());
+    }
+
     @Test
     void shouldNotMoveChessboardIfCoordinateFromIsNotValid() throws Exception {
         when(chessmanMovementValidatorService.isNotInChessBorder(new ChessCoordinate("a9")))
@@ -293,9 +443,26 @@ class ChessGameControllerTest {
                 .isEqualTo(errorMessageTester.write(expectedResponse).getJson());
     }
 
+    @Test
+    void shouldGetLegalMoves() throws Exception {
+        LegalMovesResponse expectedResponse = new LegalMovesResponse().colorOfPlayer(Color.WHITE).version(3L)
+                .moves(List.of(new LegalMove().from("b1").destinations("0000000000050000")));
+        when(chessLegalMovesService.getLegalMoves(GAME_ID))
+                .thenReturn(expectedResponse);
+
+        MockHttpServletResponse response = mockMvc
+                .perform(get(GET_LEGAL_MOVES_URL)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString())
+                .isEqualTo(legalMovesResponseTester.write(expectedResponse).getJson());
+    }
+
     @Test
     void shouldHandleServiceExceptionWith400() throws Exception {
-        when(chessGameService.getChessGame(any()))
+        when(chessGameService.getVersion(any()))
                 .thenThrow(new ServiceException(ERROR_MESSAGE, HttpStatus.BAD_REQUEST));
 
         MockHttpServletResponse response = mockMvc
@@ -312,7 +479,7 @@ class ChessGameControllerTest {
 
     @Test
     void shouldHandleServiceExceptionWith404() throws Exception {
-        when(chessGameService.getChessGame(any()))
+        when(chessGameService.getVersion(any()))
                 .thenThrow(new ServiceException(ERROR_MESSAGE, HttpStatus.NOT_FOUND));
 
         MockHttpServletResponse response = mockMvc
@@ -329,7 +496,7 @@ class ChessGameControllerTest {
 
     @Test
     void shouldHandleServiceExceptionWith422() throws Exception {
-        when(chessGameService.getChessGame(any()))
+        when(chessGameService.getVersion(any()))
                 .thenThrow(new ServiceException(ERROR_MESSAGE, HttpStatus.UNPROCESSABLE_ENTITY));
 
         MockHttpServletResponse response = mockMvc
@@ -346,7 +513,7 @@ class ChessGameControllerTest {
 
     @Test
     void shouldHandleServiceExceptionWith500() throws Exception {
-        when(chessGameService.getChessGame(any()))
+        when(chessGameService.getVersion(any()))
                 .thenThrow(new ServiceException(ERROR_MESSAGE, HttpStatus.INTERNAL_SERVER_ERROR));
 
         MockHttpServletResponse response = mockMvc
@@ -363,7 +530,7 @@ class ChessGameControllerTest {
 
     @Test
     void shouldHandleExceptionWith500() throws Exception {
-        when(chessGameService.getChessGame(any()))
+        when(chessGameService.getVersion(any()))
                 .thenThrow(new RuntimeException(ERROR_MESSAGE));
 
         MockHttpServletResponse response = mockMvc
@@ -0,0 +1,204 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessmanMovementValidatorServiceImpl;
+import com.example.openapi.chessserver.model.BoardDelta;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessGameWebSocketHandlerTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String CHESSBOARD_READABLE = "a1kiw,h8kib";
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    private ChessGameWebSocketHandler chessGameWebSocketHandler;
+
+    @BeforeEach
+    void setupEach() {
+        chessGameWebSocketHandler = new ChessGameWebSocketHandler(chessGameService,
+                new ChessmanMovementValidatorServiceImpl(), new ObjectMapper(), 5000, 65536, 2, 2);
+
+        when(chessGameService.getChessGame(GAME_ID))
+                .thenReturn(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).colorOfPlayer(Color.WHITE).version(0L));
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        chessGameWebSocketHandler.shutdown();
+    }
+
+    @Test
+    void shouldPushMovesToSubscribers() throws Exception {
+        WebSocketSession subscriber = openSession("1");
+        WebSocketSession otherSession = openSession("2");
+
+        chessGameWebSocketHandler.handleTextMessage(subscriber,
+                new TextMessage("{\"type\":\"subscribe\",\"gameId\":\"" + GAME_ID + "\"}"));
+        BoardDelta delta = new BoardDelta().version(1L).changes(List.of("a1", "a2kiw")).captured("a2pab")
+                .colorOfPlayer(Color.BLACK).hash("00000000000000ff");
+        chessGameWebSocketHandler.onChessMove(
+                new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, "a1", "a2", null, Color.BLACK, "a2kiw,h8kib", 1, delta));
+
+        assertEquals(List.of(
+                        "{\"type\":\"subscribed\",\"gameId\":\"" + GAME_ID + "\",\"colorOfPlayer\":\"white\"," +
+                                "\"chessboard\":\"" + CHESSBOARD_READABLE + "\",\"version\":0}",
+                        "{\"type\":\"moved\",\"gameId\":\"" + GAME_ID + "\",\"coordinateFrom\":\"a1\"," +
+                                "\"coordinateTo\":\"a2\",\"status\":\"success\",\"colorOfPlayer\":\"black\"," +
+                                "\"delta\":{\"version\":1,\"changes\":[\"a1\",\"a2kiw\"],\"captured\":\"a2pab\"," +
+                                "\"promotedTo\":null,\"colorOfPlayer\":\"black\",\"hash\":\"00000000000000ff\"}}"),
+                getSentMessages(subscriber, 2));
+        verify(otherSession, never()).sendMessage(any());
+    }
+
+    @Test
+    void shouldStopPushingAfterConnectionIsClosed() throws Exception {
+        WebSocketSession subscriber = openSession("1");
+
+        chessGameWebSocketHandler.handleTextMessage(subscriber,
+                new TextMessage("{\"type\":\"subscribe\",\"gameId\":\"" + GAME_ID + "\"}"));
+        chessGameWebSocketHandler.afterConnectionClosed(subscriber, CloseStatus.NORMAL);
+        chessGameWebSocketHandler.onChessMove(
+                new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, "a1", "a2", null, Color.BLACK, "a2kiw,h8kib", 1, null));
+
+        verify(subscriber, timeout(TIMEOUT_MILLIS).times(1)).sendMessage(any());
+    }
+
+    @Test
+    void shouldPushMoveOffThreadOfMove() throws Exception {
+        WebSocketSession subscriber = openSession("1");
+        List<String> senderThreadNames = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> senderThreadNames.add(Thread.currentThread().getName()))
+                .when(subscriber).sendMessage(any());
+
+        chessGameWebSocketHandler.handleTextMessage(subscriber,
+                new TextMessage("{\"type\":\"subscribe\",\"gameId\":\"" + GAME_ID + "\"}"));
+        chessGameWebSocketHandler.onChessMove(
+                new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, "a1", "a2", null, Color.BLACK, "a2kiw,h8kib", 1, null));
+
+        verify(subscriber, timeout(TIMEOUT_MILLIS).times(2)).sendMessage(any());
+        assertThat(senderThreadNames).allMatch(threadName -> threadName.startsWith("websocket-fan-out-"));
+    }
+
+    @Test
+    void shouldPushMoveCommittedWhileSubscribing() throws Exception {
+        WebSocketSession subscriber = openSession("1");
+        // Move is committed after the subscription is registered and before the chessboard is read
+        when(chessGameService.getChessGame(GAME_ID)).thenAnswer(invocation -> {
+            chessGameWebSocketHandler.onChessMove(new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS,
+                    "a1", "a2", null, Color.BLACK, "a2kiw,h8kib", 1, null));
+            return new ChessboardResponse().chessboard("a2kiw,h8kib").colorOfPlayer(Color.BLACK).version(1L);
+        });
+
+        chessGameWebSocketHandler.handleTextMessage(subscriber,
+                new TextMessage("{\"type\":\"subscribe\",\"gameId\":\"" + GAME_ID + "\"}"));
+
+        List<String> sentMessages = getSentMessages(subscriber, 2);
+        assertThat(sentMessages.get(0)).startsWith("{\"type\":\"subscribed\"");
+        assertThat(sentMessages.get(1)).startsWith("{\"type\":\"moved\"");
+    }
+
+    @Test
+    void shouldMoveChessman() throws Exception {
+        WebSocketSession session = openSession("1");
+        when(chessGameService.moveChessman(new ChessCoordinate("a1"), new ChessCoordinate("a2"), GAME_ID))
+                .thenReturn(new MoveChessmanResponse().status(ChessmanMovementStatus.SUCCESS)
+                        .delta(new BoardDelta().version(1L).changes(List.of("a1", "a2kiw")).colorOfPlayer(Color.BLACK)
+                                .hash("00000000000000ff")));
+
+        chessGameWebSocketHandler.handleTextMessage(session, new TextMessage(
+                "{\"type\":\"move\",\"gameId\":\"" + GAME_ID + "\",\"coordinateFrom\":\"a1\",\"coordinateTo\":\"a2\"}"));
+
+        assertEquals(List.of("{\"type\":\"result\",\"gameId\":\"" + GAME_ID + "\",\"status\":\"success\"," +
+                        "\"delta\":{\"version\":1,\"changes\":[\"a1\",\"a2kiw\"],\"captured\":null," +
+                        "\"promotedTo\":null,\"colorOfPlayer\":\"black\",\"hash\":\"00000000000000ff\"}}"),
+                getSentMessages(session, 1));
+    }
+
+    @Test
+    void shouldSendErrorForInvalidCoordinate() throws Exception {
+        WebSocketSession session = openSession("1");
+
+        chessGameWebSocketHandler.handleTextMessage(session, new TextMessage(
+                "{\"type\":\"move\",\"gameId\":\"" + GAME_ID + "\",\"coordinateFrom\":\"a1\",\"coordinateTo\":\"a9\"}"));
+
+        assertEquals(List.of("{\"type\":\"error\",\"gameId\":\"" + GAME_ID + "\"," +
+                        "\"message\":\"a9 is not a valid chess coordinate for to\"}"),
+                getSentMessages(session, 1));
+    }
+
+    @Test
+    void shouldSendErrorForNotExistedGame() throws Exception {
+        WebSocketSession session = openSession("1");
+        when(chessGameService.getChessGame("aaaaaaaaaa"))
+                .thenThrow(new ServiceException("Game ID aaaaaaaaaa is not found", HttpStatus.NOT_FOUND));
+
+        chessGameWebSocketHandler.handleTextMessage(session,
+                new TextMessage("{\"type\":\"subscribe\",\"gameId\":\"aaaaaaaaaa\"}"));
+
+        assertEquals(List.of("{\"type\":\"error\",\"gameId\":\"aaaaaaaaaa\"," +
+                        "\"message\":\"Game ID aaaaaaaaaa is not found\"}"),
+                getSentMessages(session, 1));
+    }
+
+    @Test
+    void shouldSendErrorForInvalidMessage() throws Exception {
+        WebSocketSession session = openSession("1");
+
+        chessGameWebSocketHandler.handleTextMessage(session, new TextMessage("{\"type\":"));
+
+        assertEquals(List.of("{\"type\":\"error\",\"message\":\"Message is invalid\"}"), getSentMessages(session, 1));
+    }
+
+    private WebSocketSession openSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        when(session.isOpen()).thenReturn(true);
+
+        chessGameWebSocketHandler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private static List<String> getSentMessages(WebSocketSession session, int count) throws Exception {
+        ArgumentCaptor<TextMessage> textMessages = ArgumentCaptor.forClass(TextMessage.class);
+        // Pushed messages are sent on the fan-out pool
+        verify(session, timeout(TIMEOUT_MILLIS).times(count)).sendMessage(textMessages.capture());
+        return textMessages.getAllValues().stream().map(TextMessage::getPayload).toList();
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.service.ChessMateSolverService;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import com.example.openapi.chessserver.model.SolveMateRequest;
+import com.example.openapi.chessserver.model.SolveMateResponse;
+import com.example.openapi.chessserver.model.SolveMateResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+class ChessMateSolverControllerTest {
+
+    private static final String SOLVE_MATE_URL = "/chess/v1/solve";
+    private static final SolveMateRequest REQUEST = new SolveMateRequest()
+            .chessboard("a1row,g7pab,h7pab,h8kib,e1kiw").colorOfPlayer(Color.WHITE).moves(1);
+
+    @Mock
+    private ChessMateSolverService chessMateSolverService;
+
+    private MockMvc mockMvc;
+
+    private JacksonTester<SolveMateRequest> solveMateRequestTester;
+    private JacksonTester<SolveMateResponse> solveMateResponseTester;
+    private JacksonTester<ErrorMessage> errorMessageTester;
+
+    @BeforeEach
+    void setupEach() {
+        this.mockMvc = MockMvcBuilders
+                .standaloneSetup(new ChessMateSolverController(chessMateSolverService, 30000))
+                .setControllerAdvice(new GlobalExceptionHandler(new ServiceExceptionLog(10, new SimpleMeterRegistry()))).build();
+        JacksonTester.initFields(this, new ObjectMapper());
+    }
+
+    @Test
+    void shouldSolveMate() throws Exception {
+        SolveMateResponse expectedResponse = new SolveMateResponse()
+                .result(SolveMateResult.PROVEN).mateLine(List.of("a1a8", "h8g8", "a8g8")).nodes(42L);
+        when(chessMateSolverService.solveMate(REQUEST)).thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        MvcResult mvcResult = mockMvc
+                .perform(post(SOLVE_MATE_URL)
+                        .content(solveMateRequestTester.write(REQUEST).getJson())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString())
+                .isEqualTo(solveMateResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldFailAtSolvingIfSearchFails() throws Exception {
+        when(chessMateSolverService.solveMate(REQUEST))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceException(
+                        "Engine job of game solver-0 is cancelled", HttpStatus.SERVICE_UNAVAILABLE)));
+
+        MvcResult mvcResult = mockMvc
+                .perform(post(SOLVE_MATE_URL)
+                        .content(solveMateRequestTester.write(REQUEST).getJson())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Engine job of game solver-0 is cancelled")).getJson());
+    }
+
+    @Test
+    void shouldStopWaitingOnTimeout() throws Exception {
+        CompletableFuture<SolveMateResponse> solution = new CompletableFuture<>();
+        when(chessMateSolverService.solveMate(REQUEST)).thenReturn(solution);
+
+        MvcResult mvcResult = mockMvc
+                .perform(post(SOLVE_MATE_URL)
+                        .content(solveMateRequestTester.write(REQUEST).getJson())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Mock servlet container never times out on its own
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Solving mate timed out")).getJson());
+        assertThat(solution.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldStopWaitingOnceConnectionFails() throws Exception {
+        CompletableFuture<SolveMateResponse> solution = new CompletableFuture<>();
+        when(chessMateSolverService.solveMate(REQUEST)).thenReturn(solution);
+
+        MvcResult mvcResult = mockMvc
+                .perform(post(SOLVE_MATE_URL)
+                        .content(solveMateRequestTester.write(REQUEST).getJson())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Servlet container reports a failed connection as an error of the async request
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        AsyncEvent disconnect = new AsyncEvent(asyncContext, new IOException("Broken pipe"));
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(disconnect);
+        }
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onComplete(disconnect);
+        }
+
+        assertThat(solution.isCancelled()).isTrue();
+    }
+
+}
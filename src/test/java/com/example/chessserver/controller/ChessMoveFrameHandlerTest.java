@@ -0,0 +1,212 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.util.ChessMoveFrameUtil;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.example.openapi.chessserver.model.PromotePawnResponse;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessMoveFrameHandlerTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String OTHER_GAME_ID = "-1ji7a2xo1aqev";
+    private static final int HANDLE = 7;
+    private static final int OTHER_HANDLE = 65535;
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    @Mock
+    private ChessmanMovementValidatorService chessmanMovementValidatorService;
+
+    private ChessMoveFrameHandler chessMoveFrameHandler;
+    private ByteBuffer requests;
+    private ByteBuffer replies;
+    private Map<Integer, String> gameIdsByHandle;
+
+    @BeforeEach
+    void setupEach() {
+        chessMoveFrameHandler = new ChessMoveFrameHandler(chessGameService, chessmanMovementValidatorService);
+        requests = ByteBuffer.allocate(64);
+        replies = ByteBuffer.allocate(64);
+        gameIdsByHandle = new HashMap<>();
+    }
+
+    @Test
+    void shouldAnswerPipelinedRequestsOfManyGamesInOrder() {
+        when(chessGameService.moveChessman(new ChessCoordinate("a2"), new ChessCoordinate("a3"), GAME_ID))
+                .thenReturn(new MoveChessmanResponse().status(ChessmanMovementStatus.SUCCESS));
+        when(chessGameService.moveChessman(new ChessCoordinate("h7"), new ChessCoordinate("h8"), OTHER_GAME_ID))
+                .thenReturn(new MoveChessmanResponse().status(ChessmanMovementStatus.PROMOTION));
+
+        ChessMoveFrameUtil.putOpen(requests, HANDLE, GAME_ID);
+        ChessMoveFrameUtil.putOpen(requests, OTHER_HANDLE, OTHER_GAME_ID);
+        ChessMoveFrameUtil.putMove(requests, OTHER_HANDLE, new ChessCoordinate("h7"), new ChessCoordinate("h8"));
+        ChessMoveFrameUtil.putMove(requests, HANDLE, new ChessCoordinate("a2"), new ChessCoordinate("a3"));
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.OPEN, ChessMoveFrameUtil.OK, HANDLE);
+        assertReply(ChessMoveFrameUtil.OPEN, ChessMoveFrameUtil.OK, OTHER_HANDLE);
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.PROMOTION, OTHER_HANDLE);
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.SUCCESS, HANDLE);
+        assertFalse(replies.hasRemaining());
+    }
+
+    @Test
+    void shouldLeavePartialRequestInBuffer() {
+        gameIdsByHandle.put(HANDLE, GAME_ID);
+        when(chessGameService.moveChessman(any(), any(), any()))
+                .thenReturn(new MoveChessmanResponse().status(ChessmanMovementStatus.SUCCESS));
+
+        ChessMoveFrameUtil.putMove(requests, HANDLE, new ChessCoordinate("a2"), new ChessCoordinate("a3"));
+        requests.put(ChessMoveFrameUtil.MOVE).put((byte) 0);
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.SUCCESS, HANDLE);
+        assertFalse(replies.hasRemaining());
+        assertEquals(2, requests.remaining());
+    }
+
+    @Test
+    void shouldRejectOpeningOfUnknownGame() {
+        when(chessGameService.getVersion(GAME_ID))
+                .thenThrow(new ServiceException("Game ID 1ji7a2xo1aqev is not found", HttpStatus.NOT_FOUND));
+
+        ChessMoveFrameUtil.putOpen(requests, HANDLE, GAME_ID);
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.OPEN, ChessMoveFrameUtil.NOT_FOUND, HANDLE);
+        assertTrue(gameIdsByHandle.isEmpty());
+    }
+
+    @Test
+    void shouldRejectMoveOfHandleNotOpen() {
+        ChessMoveFrameUtil.putMove(requests, HANDLE, new ChessCoordinate("a2"), new ChessCoordinate("a3"));
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.BAD_REQUEST, HANDLE);
+        verify(chessGameService, never()).moveChessman(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectMoveOffChessboardAndHandleNextRequest() {
+        gameIdsByHandle.put(HANDLE, GAME_ID);
+        when(chessGameService.moveChessman(any(), any(), any()))
+                .thenReturn(new MoveChessmanResponse().status(ChessmanMovementStatus.FAIL));
+
+        requests.put(ChessMoveFrameUtil.MOVE).put((byte) 0).putShort((short) HANDLE)
+                .put((byte) 64).put((byte) 0).putShort((short) 0);
+        ChessMoveFrameUtil.putMove(requests, HANDLE, new ChessCoordinate("a2"), new ChessCoordinate("a5"));
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.UNPROCESSABLE_ENTITY, HANDLE);
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.FAIL, HANDLE);
+    }
+
+    @Test
+    void shouldPromotePawn() {
+        gameIdsByHandle.put(HANDLE, GAME_ID);
+        when(chessmanMovementValidatorService.isPromotionAllowed(Chessman.QUEEN))
+                .thenReturn(true);
+        when(chessGameService.promotePawn(new ChessCoordinate("a8"), Chessman.QUEEN, GAME_ID))
+                .thenReturn(new PromotePawnResponse().status(ChessmanMovementStatus.CHECKMATE));
+
+        ChessMoveFrameUtil.putPromote(requests, HANDLE, new ChessCoordinate("a8"), Chessman.QUEEN);
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.PROMOTE, ChessMoveFrameUtil.CHECKMATE, HANDLE);
+    }
+
+    @Test
+    void shouldRejectPromotionToChessmanNotAllowed() {
+        gameIdsByHandle.put(HANDLE, GAME_ID);
+
+        ChessMoveFrameUtil.putPromote(requests, HANDLE, new ChessCoordinate("a8"), Chessman.KING);
+        requests.put(ChessMoveFrameUtil.PROMOTE).put((byte) 0).putShort((short) HANDLE)
+                .put((byte) 56).put((byte) 9).putShort((short) 0);
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.PROMOTE, ChessMoveFrameUtil.UNPROCESSABLE_ENTITY, HANDLE);
+        assertReply(ChessMoveFrameUtil.PROMOTE, ChessMoveFrameUtil.UNPROCESSABLE_ENTITY, HANDLE);
+        verify(chessGameService, never()).promotePawn(any(), any(), any());
+    }
+
+    @Test
+    void shouldAnswerConcurrentMoveWithConflict() {
+        gameIdsByHandle.put(HANDLE, GAME_ID);
+        when(chessGameService.moveChessman(any(), any(), any()))
+                .thenThrow(new ServiceException("Game ID 1ji7a2xo1aqev was changed by a concurrent move",
+                        HttpStatus.CONFLICT));
+
+        ChessMoveFrameUtil.putMove(requests, HANDLE, new ChessCoordinate("a2"), new ChessCoordinate("a3"));
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.CONFLICT, HANDLE);
+    }
+
+    @Test
+    void shouldAnswerUnexpectedErrorWithInternalError() {
+        gameIdsByHandle.put(HANDLE, GAME_ID);
+        when(chessGameService.moveChessman(any(), any(), any()))
+                .thenThrow(new RuntimeException("Something goes wrong"));
+
+        ChessMoveFrameUtil.putMove(requests, HANDLE, new ChessCoordinate("a2"), new ChessCoordinate("a3"));
+
+        assertTrue(handleRequests());
+
+        assertReply(ChessMoveFrameUtil.MOVE, ChessMoveFrameUtil.INTERNAL_ERROR, HANDLE);
+    }
+
+    @Test
+    void shouldStopAtRequestOfUnknownType() {
+        requests.put((byte) 9).put(new byte[11]);
+
+        assertFalse(handleRequests());
+
+        assertReply((byte) 9, ChessMoveFrameUtil.BAD_REQUEST, 0);
+    }
+
+    private boolean handleRequests() {
+        requests.flip();
+        boolean open = chessMoveFrameHandler.handleRequests(requests, replies, gameIdsByHandle);
+        replies.flip();
+        return open;
+    }
+
+    private void assertReply(byte type, byte code, int handle) {
+        assertEquals(type, replies.get());
+        assertEquals(code, replies.get());
+        assertEquals(handle, Short.toUnsignedInt(replies.getShort()));
+    }
+
+}
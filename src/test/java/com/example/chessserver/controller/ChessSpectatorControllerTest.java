@@ -0,0 +1,81 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.GameEventSink;
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import com.example.chessserver.service.ChessSpectatorService;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+class ChessSpectatorControllerTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GET_GAME_EVENTS_URL = "/chess/v1/games/1ji7a2xo1aqev/events";
+
+    @Mock
+    private ChessSpectatorService chessSpectatorService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setupEach() {
+        this.mockMvc = MockMvcBuilders
+                .standaloneSetup(new ChessSpectatorController(chessSpectatorService, 60000))
+                .setControllerAdvice(new GlobalExceptionHandler(new ServiceExceptionLog(10, new SimpleMeterRegistry()))).build();
+    }
+
+    @Test
+    void shouldStreamSnapshotAndMoves() throws Exception {
+        when(chessSpectatorService.addSpectator(eq(GAME_ID), any())).thenAnswer(invocation -> {
+            GameEventSink gameEventSink = invocation.getArgument(1);
+            gameEventSink.sendSnapshot(new GameSnapshot(0, "a2paw,e1kiw,e8kib", Color.WHITE, 0));
+            gameEventSink.sendMove(0, new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, "a2", "a3", null,
+                    Color.BLACK, "a3paw,e1kiw,e8kib", 1, null));
+            return (Runnable) () -> {
+            };
+        });
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_GAME_EVENTS_URL).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(
+                "event:snapshot\nid:0\ndata:{\"type\":\"snapshot\",\"gameId\":\"" + GAME_ID + "\"," +
+                        "\"colorOfPlayer\":\"white\",\"chessboard\":\"a2paw,e1kiw,e8kib\",\"version\":0}\n\n" +
+                        "event:moved\nid:1\ndata:{\"type\":\"moved\",\"gameId\":\"" + GAME_ID + "\"," +
+                        "\"coordinateFrom\":\"a2\",\"coordinateTo\":\"a3\",\"status\":\"success\",\"colorOfPlayer\":\"black\"}\n\n");
+    }
+
+    @Test
+    void shouldRespondWithErrorForNotExistedGame() throws Exception {
+        when(chessSpectatorService.addSpectator(eq(GAME_ID), any()))
+                .thenThrow(new ServiceException("Game ID 1ji7a2xo1aqev is not found", HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get(GET_GAME_EVENTS_URL))
+                .andExpect(status().isNotFound());
+    }
+
+}
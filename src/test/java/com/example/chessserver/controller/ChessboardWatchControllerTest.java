@@ -0,0 +1,146 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.service.ChessGameService;
+import com.example.chessserver.service.ChessboardWatchService;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+class ChessboardWatchControllerTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GET_CHESSBOARD_URL = "/chess/v1/chessboard/1ji7a2xo1aqev";
+    private static final String CHESSBOARD_READABLE = "a3paw,e1kiw,e8kib";
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    @Mock
+    private ChessboardWatchService chessboardWatchService;
+
+    private MockMvc mockMvc;
+
+    private JacksonTester<ChessboardResponse> chessboardResponseTester;
+    private JacksonTester<ErrorMessage> errorMessageTester;
+
+    @BeforeEach
+    void setupEach() {
+        this.mockMvc = MockMvcBuilders
+                .standaloneSetup(new ChessboardWatchController(chessGameService, chessboardWatchService, 30000))
+                .setControllerAdvice(new GlobalExceptionHandler(new ServiceExceptionLog(10, new SimpleMeterRegistry()))).build();
+        JacksonTester.initFields(this, new ObjectMapper());
+    }
+
+    @Test
+    void shouldRespondOnceChessboardChanges() throws Exception {
+        ChessboardResponse changed = new ChessboardResponse().chessboard(CHESSBOARD_READABLE).colorOfPlayer(Color.WHITE)
+                .version(13L);
+        when(chessGameService.getVersion(GAME_ID)).thenReturn(12L);
+        when(chessboardWatchService.awaitChange(GAME_ID, 12)).thenReturn(CompletableFuture.completedFuture(changed));
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_CHESSBOARD_URL)
+                        .param("wait", "30000")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"12\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"13\""))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(chessboardResponseTester.write(changed).getJson());
+    }
+
+    @Test
+    void shouldRespondWithNotModifiedOnTimeout() throws Exception {
+        CompletableFuture<ChessboardResponse> change = new CompletableFuture<>();
+        when(chessGameService.getVersion(GAME_ID)).thenReturn(12L);
+        when(chessboardWatchService.awaitChange(GAME_ID, 12)).thenReturn(change);
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_CHESSBOARD_URL)
+                        .param("wait", "1000")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Mock servlet container never times out on its own
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"12\""));
+        assertThat(change.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldRespondAtOnceIfETagIsStale() throws Exception {
+        ChessboardResponse current = new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(13L);
+        when(chessGameService.getVersion(GAME_ID)).thenReturn(13L);
+        when(chessGameService.getChessGame(GAME_ID)).thenReturn(current);
+
+        MvcResult mvcResult = mockMvc
+                .perform(get(GET_CHESSBOARD_URL)
+                        .param("wait", "30000")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"12\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"13\""));
+        verify(chessboardWatchService, never()).awaitChange(eq(GAME_ID), anyLong());
+    }
+
+    @Test
+    void shouldRejectWaitAboveMaximum() throws Exception {
+        MockHttpServletResponse response = mockMvc
+                .perform(get(GET_CHESSBOARD_URL)
+                        .param("wait", "30001")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString()).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Wait must be between 1 and 30000 milliseconds")).getJson());
+    }
+
+}
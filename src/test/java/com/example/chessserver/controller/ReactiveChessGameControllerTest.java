@@ -0,0 +1,397 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.ServiceExceptionLog;
+import com.example.chessserver.config.ReactiveWebConfig;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.ReactiveChessGameService;
+import com.example.openapi.chessserver.model.BoardDelta;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.CreateChessGameRequest;
+import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.ErrorMessage;
+import com.example.openapi.chessserver.model.MoveChessmanRequest;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.example.openapi.chessserver.model.PromotePawnRequest;
+import com.example.openapi.chessserver.model.PromotePawnResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ReactiveChessGameControllerTest {
+
+    private static final String CHESSBOARD_READABLE = "a3paw,e1kiw,e8kib";
+    private static final String ERROR_MESSAGE = "Something goes wrong";
+    private static final String UNEXPECTED_ERROR = "Unexpected error";
+    private static final String CREATE_CHESS_URL = "/chess/v1/create";
+    private static final String GET_CHESSBOARD_URL = "/chess/v1/chessboard/1ji7a2xo1aqev";
+    private static final String MOVE_CHESSMAN_URL = "/chess/v1/move-chessman";
+    private static final String PROMOTE_PAWN_URL = "/chess/v1/promote-pawn";
+    private static final String GET_LEGAL_MOVES_URL = "/chess/v1/games/1ji7a2xo1aqev/legal-moves";
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+
+    @Mock
+    private ReactiveChessGameService reactiveChessGameService;
+
+    @Mock
+    private ChessmanMovementValidatorService chessmanMovementValidatorService;
+
+    private AnnotationConfigApplicationContext context;
+    private WebTestClient webTestClient;
+
+    private JacksonTester<ErrorMessage> errorMessageTester;
+    private JacksonTester<CreateChessGameResponse> createChessGameResponseTester;
+    private JacksonTester<ChessboardResponse> chessboardResponseTester;
+    private JacksonTester<MoveChessmanResponse> moveChessmanResponseTester;
+    private JacksonTester<PromotePawnResponse> promotePawnResponseTester;
+
+    @BeforeEach
+    void setupEach() {
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        context = ReactiveWebConfig.createApplicationContext(objectMapper,
+                new ReactiveChessGameController(reactiveChessGameService, chessmanMovementValidatorService,
+                        new ServiceExceptionLog(10, new SimpleMeterRegistry()), 30000));
+        webTestClient = WebTestClient.bindToApplicationContext(context).build();
+        JacksonTester.initFields(this, objectMapper);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        context.close();
+    }
+
+    @Test
+    void shouldCreateChessGame() throws Exception {
+        CreateChessGameResponse expectedResponse = new CreateChessGameResponse().gameId(GAME_ID);
+        when(reactiveChessGameService.createChessGame(new CreateChessGameRequest().color(Color.BLACK)))
+                .thenReturn(Mono.just(expectedResponse));
+
+        String response = webTestClient.post().uri(CREATE_CHESS_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"color\": \"black\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(createChessGameResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldGetChessboard() throws Exception {
+        ChessboardResponse expectedResponse = new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(12L);
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.just(expectedResponse));
+
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"12\"")
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(chessboardResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldGetChessboardSinceVersion() throws Exception {
+        ChessboardResponse expectedResponse = new ChessboardResponse().chessboard(CHESSBOARD_READABLE)
+                .colorOfPlayer(Color.WHITE).version(12L);
+        when(reactiveChessGameService.getChessGameSince(GAME_ID, 11))
+                .thenReturn(Mono.just(expectedResponse));
+
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL + "?sinceVersion=11")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"12\"")
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(chessboardResponseTester.write(expectedResponse).getJson());
+        verify(reactiveChessGameService, never()).getChessGame(any());
+    }
+
+    @Test
+    void shouldNotModifyChessboardIfETagMatches() {
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.just(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(12L)));
+
+        webTestClient.get().uri(GET_CHESSBOARD_URL)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"12\"")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"12\"")
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void shouldGetChessboardIfETagIsStale() throws Exception {
+        ChessboardResponse expectedResponse = new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(13L);
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.just(expectedResponse));
+
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"12\"")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"13\"")
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(chessboardResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldRespondOnceChessboardChanges() throws Exception {
+        ChessboardResponse expectedResponse = new ChessboardResponse().chessboard(CHESSBOARD_READABLE)
+                .colorOfPlayer(Color.BLACK).version(4L);
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.just(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(3L)));
+        when(reactiveChessGameService.awaitChange(GAME_ID, 3))
+                .thenReturn(Mono.just(expectedResponse));
+
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL + "?wait=30000")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"")
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(chessboardResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldRespondWithNotModifiedOnTimeout() {
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.just(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(3L)));
+        when(reactiveChessGameService.awaitChange(GAME_ID, 3))
+                .thenReturn(Mono.never());
+
+        webTestClient.get().uri(GET_CHESSBOARD_URL + "?wait=50")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"");
+    }
+
+    @Test
+    void shouldRespondAtOnceIfETagIsStaleWhileWaiting() {
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.just(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(5L)));
+
+        webTestClient.get().uri(GET_CHESSBOARD_URL + "?wait=30000")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5\"");
+
+        verify(reactiveChessGameService, never()).awaitChange(any(), anyLong());
+    }
+
+    @Test
+    void shouldRejectWaitAboveMaximum() throws Exception {
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL + "?wait=30001")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Wait must be between 1 and 30000 milliseconds")).getJson());
+        verify(reactiveChessGameService, never()).getChessGame(any());
+    }
+
+    @Test
+    void shouldMoveChessman() throws Exception {
+        MoveChessmanResponse expectedResponse = new MoveChessmanResponse().status(ChessmanMovementStatus.SUCCESS)
+                .delta(new BoardDelta().version(1L).changes(List.of("a7", "a6pab")));
+        when(reactiveChessGameService.moveChessman(new ChessCoordinate("a7"), new ChessCoordinate("a6"), GAME_ID))
+                .thenReturn(Mono.just(expectedResponse));
+
+        String response = webTestClient.put().uri(MOVE_CHESSMAN_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new MoveChessmanRequest().coordinateFrom("a7").coordinateTo("a6").gameId(GAME_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(moveChessmanResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldNotMoveChessmanIfCoordinateFromIsNotValid() throws Exception {
+        when(chessmanMovementValidatorService.isNotInChessBorder(new ChessCoordinate("a9")))
+                .thenReturn(true);
+
+        String response = webTestClient.put().uri(MOVE_CHESSMAN_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new MoveChessmanRequest().coordinateFrom("a9").coordinateTo("a7").gameId(GAME_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("a9 is not a valid chess coordinate for from")).getJson());
+    }
+
+    @Test
+    void shouldNotMoveChessmanIfCoordinateToIsNotValid() throws Exception {
+        when(chessmanMovementValidatorService.isNotInChessBorder(new ChessCoordinate("a9")))
+                .thenReturn(true);
+
+        String response = webTestClient.put().uri(MOVE_CHESSMAN_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new MoveChessmanRequest().coordinateFrom("a7").coordinateTo("a9").gameId(GAME_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("a9 is not a valid chess coordinate for to")).getJson());
+    }
+
+    @Test
+    void shouldPromotePawn() throws Exception {
+        when(chessmanMovementValidatorService.isPromotionAllowed(any()))
+                .thenReturn(true);
+
+        PromotePawnResponse expectedResponse = new PromotePawnResponse().status(ChessmanMovementStatus.SUCCESS);
+        when(reactiveChessGameService.promotePawn(any(), any(), eq(GAME_ID)))
+                .thenReturn(Mono.just(expectedResponse));
+
+        String response = webTestClient.put().uri(PROMOTE_PAWN_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PromotePawnRequest().coordinate("a8").chessman("qu").gameId(GAME_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(promotePawnResponseTester.write(expectedResponse).getJson());
+    }
+
+    @Test
+    void shouldNotPromotePawnIfCoordinateIsNotValid() throws Exception {
+        when(chessmanMovementValidatorService.isNotInChessBorder(any()))
+                .thenReturn(true);
+
+        String response = webTestClient.put().uri(PROMOTE_PAWN_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PromotePawnRequest().coordinate("a9").chessman("qu").gameId(GAME_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("a9 is not a valid chess coordinate")).getJson());
+    }
+
+    @Test
+    void shouldNotPromotePawnIfChessmanShortNameIsWrong() throws Exception {
+        String response = webTestClient.put().uri(PROMOTE_PAWN_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PromotePawnRequest().coordinate("a8").chessman("paa").gameId(GAME_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Short name of chessman paa is invalid")).getJson());
+    }
+
+    @Test
+    void shouldNotPromotePawnIfPromotionIsNotAllowed() throws Exception {
+        when(chessmanMovementValidatorService.isPromotionAllowed(any()))
+                .thenReturn(false);
+
+        String response = webTestClient.put().uri(PROMOTE_PAWN_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PromotePawnRequest().coordinate("a8").chessman("ki").gameId(GAME_ID))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(
+                new ErrorMessage().message("Promotion is not allowed")).getJson());
+    }
+
+    @Test
+    void shouldHandleServiceExceptionWith404() throws Exception {
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.error(new ServiceException(ERROR_MESSAGE, HttpStatus.NOT_FOUND)));
+
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(new ErrorMessage().message(ERROR_MESSAGE)).getJson());
+    }
+
+    @Test
+    void shouldHandleServiceExceptionWith500() throws Exception {
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenReturn(Mono.error(new ServiceException(ERROR_MESSAGE, HttpStatus.INTERNAL_SERVER_ERROR)));
+
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(new ErrorMessage().message(ERROR_MESSAGE)).getJson());
+    }
+
+    @Test
+    void shouldHandleExceptionWith500() throws Exception {
+        when(reactiveChessGameService.getChessGame(GAME_ID))
+                .thenThrow(new RuntimeException(ERROR_MESSAGE));
+
+        String response = webTestClient.get().uri(GET_CHESSBOARD_URL)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(errorMessageTester.write(new ErrorMessage().message(UNEXPECTED_ERROR)).getJson());
+    }
+
+    @Test
+    void shouldNotImplementOperationsLeftOut() {
+        webTestClient.get().uri(GET_LEGAL_MOVES_URL)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.example.chessserver.controller;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.service.ChessMoveGeneratorService;
+import com.example.chessserver.service.ChessMoveGeneratorServiceImpl;
+import com.example.chessserver.service.ChessPositionEvaluatorServiceImpl;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.ChessmanMovementValidatorServiceImpl;
+import com.example.openapi.chessserver.model.Color;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UciProtocolHandlerTest {
+
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService =
+            new ChessmanMovementValidatorServiceImpl();
+    private final ChessMoveGeneratorService chessMoveGeneratorService =
+            new ChessMoveGeneratorServiceImpl(chessmanMovementValidatorService);
+
+    private ByteArrayOutputStream output;
+    private UciProtocolHandler uciProtocolHandler;
+
+    @BeforeEach
+    void setupEach() {
+        output = new ByteArrayOutputStream();
+        uciProtocolHandler = new UciProtocolHandler(chessMoveGeneratorService, chessmanMovementValidatorService,
+                new ChessPositionEvaluatorServiceImpl(), new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldIdentifyAndAnswerReadiness() throws IOException {
+        uciProtocolHandler.run(new BufferedReader(new StringReader("uci\nisready\nquit\n")));
+
+        List<String> lines = getLines();
+        assertTrue(lines.contains("id name chess-server"), "Engine name is not sent");
+        assertEquals(List.of("uciok", "readyok"), lines.subList(lines.size() - 2, lines.size()));
+    }
+
+    @Test
+    void shouldSetPositionOfFen() {
+        uciProtocolHandler.handleCommand("position fen 4k3/8/8/8/8/8/3p4/R3K3 b - - 0 1");
+        uciProtocolHandler.handleCommand("d");
+
+        assertEquals(List.of("black to move: a1row,d2pab,e1kiw,e8kib"), getLines());
+    }
+
+    @Test
+    void shouldPlayMovesOfPosition() {
+        uciProtocolHandler.handleCommand("position startpos moves b1c3 b8c6");
+        uciProtocolHandler.handleCommand("d");
+
+        List<String> chessmen = List.of(getLines().get(0).substring("white to move: ".length()).split(","));
+        assertTrue(chessmen.containsAll(List.of("c3knw", "c6knb")), "Moves are not played");
+        assertFalse(chessmen.contains("b1knw"), "Moves are not played");
+    }
+
+    @Test
+    void shouldRejectIllegalMoveAndInvalidFen() {
+        uciProtocolHandler.handleCommand("position startpos moves b1b3");
+        uciProtocolHandler.handleCommand("position fen 4k3/8/8 w - - 0 1");
+        uciProtocolHandler.handleCommand("go depth x");
+
+        List<String> lines = getLines();
+        assertEquals("info string Illegal move 'b1b3'", lines.get(0));
+        assertTrue(lines.get(1).startsWith("info string Invalid position"), "Invalid FEN is accepted");
+        assertEquals("info string Invalid command 'go depth x'", lines.get(2));
+    }
+
+    @Test
+    void shouldSendInfoOfEveryDepthAndBestMove() {
+        uciProtocolHandler.handleCommand("position startpos");
+        uciProtocolHandler.handleCommand("go depth 2");
+        uciProtocolHandler.awaitSearch();
+
+        List<String> lines = getLines();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("info depth 1 score cp "), "Depth 1 is not sent");
+        assertTrue(lines.get(1).startsWith("info depth 2 score cp "), "Depth 2 is not sent");
+        assertTrue(lines.get(2).matches("bestmove [a-h][1-8][a-h][1-8]"), "Best move is not sent");
+    }
+
+    @Test
+    void shouldReportCaptureOfKingAsMate() {
+        uciProtocolHandler.handleCommand("position fen 4k3/8/8/8/8/8/8/4QK2 w - - 0 1");
+        uciProtocolHandler.handleCommand("go depth 2");
+        uciProtocolHandler.awaitSearch();
+
+        List<String> lines = getLines();
+        assertTrue(lines.get(0).startsWith("info depth 1 score mate 1 "), "Capture of the king is not mate");
+        assertEquals("bestmove e1e8", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void shouldCountLeavesOfMoveGenerator() {
+        uciProtocolHandler.handleCommand("go perft 1");
+
+        int moves = chessMoveGeneratorService.generateMoves(new Chessboard(), Color.WHITE).size();
+        List<String> lines = getLines();
+        assertEquals(moves + 3, lines.size());
+        assertEquals("Nodes searched: " + moves, lines.get(moves + 1));
+    }
+
+    @Test
+    void shouldAnswerStopWithBestMove() {
+        uciProtocolHandler.handleCommand("go infinite");
+        uciProtocolHandler.handleCommand("stop");
+
+        List<String> lines = getLines();
+        assertTrue(lines.get(lines.size() - 1).matches("bestmove [a-h][1-8][a-h][1-8]"), "Best move is not sent");
+        assertFalse(uciProtocolHandler.handleCommand("quit"), "Engine does not quit");
+    }
+
+    private List<String> getLines() {
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.example.chessserver.jfr;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.MoveStageMetrics;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.service.ChessEngineService;
+import com.example.chessserver.service.ChessEngineServiceImpl;
+import com.example.chessserver.service.ChessGamePlayServiceImpl;
+import com.example.chessserver.service.ChessMoveGeneratorServiceImpl;
+import com.example.chessserver.service.ChessPositionEvaluatorServiceImpl;
+import com.example.chessserver.service.ChessmanMovementValidatorService;
+import com.example.chessserver.service.ChessmanMovementValidatorServiceImpl;
+import com.example.openapi.chessserver.model.Color;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChessEventsTest {
+
+    private static final String CHESSBOARD = "a1row,a7pab,e1kiw,e8kib";
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService =
+            new ChessmanMovementValidatorServiceImpl();
+
+    @Test
+    void shouldRecordParseAndSerialiseOfChessboard() throws IOException {
+        List<RecordedEvent> events = record(() -> new Chessboard(CHESSBOARD).getChessboardReadable(),
+                ChessboardParseEvent.class, ChessboardSerialiseEvent.class);
+
+        RecordedEvent parseEvent = find(events, "com.example.chessserver.ChessboardParse");
+        assertEquals(4, parseEvent.getInt("chessmen"));
+        assertTrue(parseEvent.getLong("allocated") > 0, "Allocation is not recorded");
+        assertEquals(CHESSBOARD.length(), find(events, "com.example.chessserver.ChessboardSerialise").getInt("length"));
+    }
+
+    @Test
+    void shouldRecordMoveValidationWithGameId() throws IOException {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setColorOfPlayer(Color.WHITE);
+        ChessGamePlayServiceImpl chessGamePlayService = new ChessGamePlayServiceImpl(chessmanMovementValidatorService,
+                new MoveStageMetrics(new SimpleMeterRegistry()));
+
+        List<RecordedEvent> events = record(() -> chessGamePlayService.moveChessman(chessGame, new Chessboard(CHESSBOARD),
+                new ChessCoordinate("a1"), new ChessCoordinate("b2")), MoveValidationEvent.class);
+
+        RecordedEvent event = find(events, "com.example.chessserver.MoveValidation");
+        assertEquals(GAME_ID, event.getString("gameId"));
+        assertEquals("ro", event.getString("chessman"));
+        assertEquals("a1", event.getString("coordinateFrom"));
+        assertEquals("b2", event.getString("coordinateTo"));
+        assertFalse(event.getBoolean("allowed"), "Diagonal move of rook is allowed");
+    }
+
+    @Test
+    void shouldRecordEveryDepthOfSearch() throws IOException {
+        ChessEngineService chessEngineService = new ChessEngineServiceImpl(
+                new ChessMoveGeneratorServiceImpl(chessmanMovementValidatorService), chessmanMovementValidatorService,
+                new ChessPositionEvaluatorServiceImpl());
+
+        List<RecordedEvent> events = record(() -> chessEngineService.search(new Chessboard(CHESSBOARD), Color.WHITE,
+                new SearchLimits(3, 10000, Long.MAX_VALUE), new AtomicBoolean()), EngineSearchIterationEvent.class);
+
+        List<Integer> depths = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.chessserver.EngineSearchIteration"))
+                .map(event -> event.getInt("depth"))
+                .toList();
+        assertEquals(List.of(1, 2, 3), depths);
+    }
+
+    @Test
+    void shouldNotRecordEventsNotEnabled() throws IOException {
+        List<RecordedEvent> events = record(() -> new Chessboard(CHESSBOARD), ChessboardSerialiseEvent.class);
+
+        assertTrue(events.stream()
+                .noneMatch(event -> event.getEventType().getName().equals("com.example.chessserver.ChessboardParse")),
+                "Event not enabled is recorded");
+    }
+
+    @SafeVarargs
+    private static List<RecordedEvent> record(Runnable runnable, Class<? extends Event>... eventClasses)
+            throws IOException {
+        Path file = Files.createTempFile("chess-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (Class<? extends Event> eventClass : eventClasses) {
+                recording.enable(eventClass).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(name + " is not recorded"));
+    }
+
+}
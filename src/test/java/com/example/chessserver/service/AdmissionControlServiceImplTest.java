@@ -0,0 +1,68 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.model.enums.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlServiceImplTest {
+
+    private static final long LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlService admissionControlService;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        admissionControlService = new AdmissionControlServiceImpl(1, 10, 1, 10000, 1, 0, 2, 0, 1, 0, meterRegistry);
+    }
+
+    @Test
+    void shouldShedRequestsOverLimitOfTheirClass() {
+        assertTrue(admissionControlService.tryAdmit(EndpointClass.READ));
+        assertTrue(admissionControlService.tryAdmit(EndpointClass.READ));
+        assertFalse(admissionControlService.tryAdmit(EndpointClass.READ));
+        assertTrue(admissionControlService.tryAdmit(EndpointClass.ENGINE), "Limits of classes are not separate");
+
+        assertEquals(1, meterRegistry.get("chessserver.admission.rejected").tag("class", "read").counter().count());
+        assertEquals(2, meterRegistry.get("chessserver.admission.in-flight").tag("class", "read").gauge().value());
+        assertEquals(2, meterRegistry.get("chessserver.admission.limit").tag("class", "read").gauge().value());
+
+        admissionControlService.release(EndpointClass.READ, LATENCY_NANOS);
+
+        assertTrue(admissionControlService.tryAdmit(EndpointClass.READ));
+    }
+
+    @Test
+    void shouldShedReadsWhileMovesAreQueueing() throws Exception {
+        assertTrue(admissionControlService.tryAdmit(EndpointClass.MOVE));
+        CompletableFuture<Boolean> queuedMove =
+                CompletableFuture.supplyAsync(() -> admissionControlService.tryAdmit(EndpointClass.MOVE));
+        awaitWaitingMoves(1);
+
+        assertFalse(admissionControlService.tryAdmit(EndpointClass.READ), "Read is admitted while moves queue");
+        assertFalse(admissionControlService.tryAdmit(EndpointClass.ENGINE), "Engine work is admitted while moves queue");
+
+        admissionControlService.release(EndpointClass.MOVE, LATENCY_NANOS);
+
+        assertTrue(queuedMove.get(5, TimeUnit.SECONDS), "Queued move is not admitted");
+        assertTrue(admissionControlService.tryAdmit(EndpointClass.READ));
+        assertEquals(2, meterRegistry.get("chessserver.admission.queue.wait").tag("class", "move").timer().count());
+    }
+
+    private void awaitWaitingMoves(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("chessserver.admission.waiting").tag("class", "move").gauge().value() < count &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.GameIdFilter;
+import com.example.chessserver.component.MoveStageMetrics;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessmanWithProperties;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.repository.ChessGameDeltaRepository;
+import com.example.chessserver.repository.ChessGameRepository;
+import com.example.chessserver.util.ThreadAllocationUtil;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// Bytes allocated per call of hot paths, measured by the allocation counter of the thread after warm-up, against the
+// budgets of allocation-budgets.properties. Repositories are stubs, so budgets cover the code of this server alone.
+class AllocationBudgetTest {
+
+    private static final String BUDGETS_FILE = "/allocation-budgets.properties";
+    private static final int WARM_UP_CALLS = 5000;
+    private static final int MEASURED_CALLS = 1000;
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    // Open a-file, so that the rook of a1 moves along it
+    private static final String CHESSBOARD = "a1row,h1row,b2paw,g2paw,h2paw,e1kiw,b7pab,g7pab,h7pab,a8rob,h8rob,d8kib";
+
+    private static Properties budgets;
+
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService =
+            new ChessmanMovementValidatorServiceImpl();
+    private ChessGameServiceImpl chessGameService;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        budgets = new Properties();
+        try (InputStream inputStream = AllocationBudgetTest.class.getResourceAsStream(BUDGETS_FILE)) {
+            budgets.load(inputStream);
+        }
+    }
+
+    @BeforeEach
+    void setupEach() {
+        assumeTrue(ThreadAllocationUtil.isSupported(), "JVM does not count allocated bytes per thread");
+
+        ChessGameRepository chessGameRepository = stub(ChessGameRepository.class);
+        when(chessGameRepository.findByGameId(GAME_ID)).thenAnswer(invocation -> createChessGame());
+        GameIdFilter gameIdFilter = stub(GameIdFilter.class);
+        when(gameIdFilter.mightContain(any())).thenReturn(true);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MoveStageMetrics moveStageMetrics = new MoveStageMetrics(meterRegistry);
+        chessGameService = new ChessGameServiceImpl(chessGameRepository, stub(ChessGameDeltaRepository.class),
+                gameIdFilter, moveStageMetrics,
+                new ChessGamePlayServiceImpl(chessmanMovementValidatorService, moveStageMetrics),
+                chessmanMovementValidatorService, stub(EngineJobSchedulerService.class),
+                stub(ApplicationEventPublisher.class), stub(PlatformTransactionManager.class), 64, 500, 1000, 1,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        if (chessGameService != null) {
+            chessGameService.shutdown();
+        }
+    }
+
+    @Test
+    void shouldMoveChessmanWithinBudget() {
+        ChessCoordinate coordinateFrom = new ChessCoordinate("a1");
+        ChessCoordinate coordinateTo = new ChessCoordinate("a5");
+        assertEquals(ChessmanMovementStatus.SUCCESS,
+                chessGameService.moveChessman(coordinateFrom, coordinateTo, GAME_ID).getStatus());
+
+        assertWithinBudget("move-chessman",
+                () -> chessGameService.moveChessman(coordinateFrom, coordinateTo, GAME_ID));
+    }
+
+    @Test
+    void shouldGetChessGameWithinBudget() {
+        assertWithinBudget("get-chess-game", () -> chessGameService.getChessGame(GAME_ID));
+    }
+
+    @Test
+    void shouldValidateMoveWithinBudget() {
+        Chessboard chessboard = new Chessboard(CHESSBOARD);
+        ChessmanWithProperties rook = chessboard.getChessmanWithProperties(new ChessCoordinate("a1"));
+        ChessCoordinate coordinateTo = new ChessCoordinate("a5");
+        assertTrue(chessmanMovementValidatorService.isChessmanAllowedToMove(chessboard, rook, coordinateTo));
+
+        assertWithinBudget("is-chessman-allowed-to-move",
+                () -> chessmanMovementValidatorService.isChessmanAllowedToMove(chessboard, rook, coordinateTo));
+    }
+
+    private static void assertWithinBudget(String name, Runnable call) {
+        long budget = Long.parseLong(budgets.getProperty(name));
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            call.run();
+        }
+
+        long allocatedBefore = ThreadAllocationUtil.getAllocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            call.run();
+        }
+        long bytesPerCall = (ThreadAllocationUtil.getAllocatedBytes() - allocatedBefore) / MEASURED_CALLS;
+
+        assertTrue(bytesPerCall <= budget,
+                String.format("%s allocates %d bytes per call, over its budget of %d", name, bytesPerCall, budget));
+    }
+
+    private static ChessGame createChessGame() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD);
+        chessGame.setColorOfPlayer(Color.WHITE);
+
+        return chessGame;
+    }
+
+    // Stubs do not record their calls, which would be counted as allocations of the code under test
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.repository.ChessGameRepository;
+import com.example.openapi.chessserver.model.AnalysisResponse;
+import com.example.openapi.chessserver.model.Color;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessAnalysisServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final String CHESSBOARD_READABLE = "d4row,d6qub,a1kiw,h8kib";
+
+    @Mock
+    private ChessGameRepository chessGameRepository;
+
+    private EngineJobSchedulerServiceImpl engineJobSchedulerService;
+
+    private ChessAnalysisService chessAnalysisService;
+
+    @BeforeEach
+    void setupEach() {
+        ChessmanMovementValidatorService chessmanMovementValidatorService = new ChessmanMovementValidatorServiceImpl();
+        ChessEngineService chessEngineService = new ChessEngineServiceImpl(
+                new ChessMoveGeneratorServiceImpl(chessmanMovementValidatorService),
+                chessmanMovementValidatorService,
+                new ChessPositionEvaluatorServiceImpl());
+
+        engineJobSchedulerService = new EngineJobSchedulerServiceImpl(1, 16, new SimpleMeterRegistry());
+        chessAnalysisService = new ChessAnalysisServiceImpl(chessGameRepository, chessEngineService,
+                engineJobSchedulerService, 3, 5, 4, 6, 5000, 30000, 5000000);
+
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_READABLE);
+        chessGame.setColorOfPlayer(Color.WHITE);
+
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        engineJobSchedulerService.shutdown();
+    }
+
+    @Test
+    void shouldStreamEveryDepth() {
+        List<AnalysisResponse> depthsCompleted = new CopyOnWriteArrayList<>();
+
+        AnalysisResponse analysisResponse = chessAnalysisService
+                .analyseChessGame(GAME_ID, 2, 2, null, depthsCompleted::add)
+                .await();
+
+        assertEquals(2, depthsCompleted.size());
+        assertEquals(1, depthsCompleted.get(0).getDepth());
+        assertEquals(analysisResponse, depthsCompleted.get(1));
+        assertEquals(2, analysisResponse.getLines().size());
+        assertEquals("d4d6", analysisResponse.getLines().get(0).getMoves().get(0));
+        assertEquals(Color.WHITE, analysisResponse.getColorOfPlayer());
+    }
+
+    @Test
+    void shouldStopWhenConsumerFails() {
+        EngineJob<AnalysisResponse> analysis = chessAnalysisService.analyseChessGame(GAME_ID, 2, 6, null,
+                analysisResponse -> {
+                    throw new IllegalStateException("Client is gone");
+                });
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, analysis::await);
+        assertEquals("Client is gone", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionForLinesOutOfRange() {
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> chessAnalysisService.analyseChessGame(GAME_ID, 6, null, null, analysisResponse -> {
+                }));
+
+        assertEquals("Lines 6 must be between 1 and 5", exception.getMessage());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+    }
+
+    @Test
+    void shouldThrowExceptionForNotExistedGame() {
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> chessAnalysisService.analyseChessGame(GAME_ID_NOT_EXISTED, null, null, null, analysisResponse -> {
+                }));
+
+        assertEquals("Game ID aaaaaaaaaa is not found", exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+}
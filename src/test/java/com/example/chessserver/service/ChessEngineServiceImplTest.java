@@ -0,0 +1,126 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.SearchResult;
+import com.example.openapi.chessserver.model.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChessEngineServiceImplTest {
+
+    private static final String CHESSBOARD_DELIMITER = ",";
+    private static final long TIME_LIMIT_MILLIS = 10000;
+
+    private static final String CHESSBOARD_QUEEN_IS_HANGING_READABLE = StringUtils.join(
+            Arrays.asList(
+                    "d4row", "d6qub", "a1kiw", "h8kib"),
+            CHESSBOARD_DELIMITER);
+
+    private static final String CHESSBOARD_KING_IS_HANGING_READABLE = StringUtils.join(
+            Arrays.asList(
+                    "a1row", "a8kib", "h1kiw"),
+            CHESSBOARD_DELIMITER);
+
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService =
+            new ChessmanMovementValidatorServiceImpl();
+
+    private final ChessEngineService chessEngineService = new ChessEngineServiceImpl(
+            new ChessMoveGeneratorServiceImpl(chessmanMovementValidatorService),
+            chessmanMovementValidatorService,
+            new ChessPositionEvaluatorServiceImpl());
+
+    @Test
+    void shouldCaptureHangingQueen() {
+        SearchResult searchResult = chessEngineService.search(new Chessboard(CHESSBOARD_QUEEN_IS_HANGING_READABLE),
+                Color.WHITE, 2, TIME_LIMIT_MILLIS);
+
+        assertNotNull(searchResult, "SearchResult is null");
+        assertEquals(2, searchResult.getDepth());
+        assertEquals("d4d6", searchResult.getBestLine().get(0).getNotation());
+        assertTrue(searchResult.getScore() > 0, "Capturing the queen is not scored as advantage");
+    }
+
+    @Test
+    void shouldAnalyseBestLinesOfEveryDepth() {
+        Chessboard chessboard = new Chessboard(CHESSBOARD_QUEEN_IS_HANGING_READABLE);
+        List<List<SearchResult>> depthsCompleted = new ArrayList<>();
+
+        List<SearchResult> analysis = chessEngineService.analyse(chessboard, Color.WHITE,
+                new SearchLimits(2, TIME_LIMIT_MILLIS, Long.MAX_VALUE), 3, new AtomicBoolean(), depthsCompleted::add);
+
+        assertEquals(2, depthsCompleted.size());
+        assertEquals(1, depthsCompleted.get(0).get(0).getDepth());
+        assertEquals(analysis, depthsCompleted.get(1));
+        assertEquals(3, analysis.size());
+        assertEquals("d4d6", analysis.get(0).getBestLine().get(0).getNotation());
+        assertTrue(analysis.get(0).getScore() >= analysis.get(1).getScore(), "Lines are not ordered by score");
+        assertTrue(analysis.get(1).getScore() >= analysis.get(2).getScore(), "Lines are not ordered by score");
+        assertEquals(new Chessboard(CHESSBOARD_QUEEN_IS_HANGING_READABLE).getChessboardReadable(), chessboard.getChessboardReadable());
+    }
+
+    @Test
+    void shouldStopAnalysisWhenCancelledAfterFirstDepth() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        List<SearchResult> analysis = chessEngineService.analyse(new Chessboard(CHESSBOARD_QUEEN_IS_HANGING_READABLE),
+                Color.WHITE, new SearchLimits(5, TIME_LIMIT_MILLIS, Long.MAX_VALUE), 2, cancelled,
+                bestLines -> cancelled.set(true));
+
+        assertEquals(1, analysis.get(0).getDepth());
+    }
+
+    @Test
+    void shouldCaptureKing() {
+        SearchResult searchResult = chessEngineService.search(new Chessboard(CHESSBOARD_KING_IS_HANGING_READABLE),
+                Color.WHITE, 1, TIME_LIMIT_MILLIS);
+
+        assertEquals("a1a8", searchResult.getBestLine().get(0).getNotation());
+        assertEquals(ChessEngineServiceImpl.MATE_SCORE - 1, searchResult.getScore());
+    }
+
+    @Test
+    void shouldRestoreChessboardAfterSearch() {
+        Chessboard chessboard = new Chessboard(CHESSBOARD_QUEEN_IS_HANGING_READABLE);
+
+        chessEngineService.search(chessboard, Color.WHITE, 3, TIME_LIMIT_MILLIS);
+
+        assertEquals(new Chessboard(CHESSBOARD_QUEEN_IS_HANGING_READABLE).getChessboardMap(), chessboard.getChessboardMap());
+    }
+
+    @Test
+    void shouldCompleteFirstDepthWhenTimeIsUp() {
+        SearchResult searchResult = chessEngineService.search(new Chessboard(), Color.WHITE, 5, 1);
+
+        assertNotNull(searchResult, "SearchResult is null");
+        assertTrue(searchResult.getDepth() >= 1, "Depth 1 is not completed");
+    }
+
+    @Test
+    void shouldStopWhenNodeBudgetIsSpent() {
+        SearchResult searchResult = chessEngineService.search(new Chessboard(), Color.WHITE,
+                new SearchLimits(5, TIME_LIMIT_MILLIS, 100), new AtomicBoolean());
+
+        assertNotNull(searchResult, "SearchResult is null");
+        assertTrue(searchResult.getDepth() < 5, "Node budget is not respected");
+        assertTrue(searchResult.getNodes() <= 100, "Node budget is not respected");
+    }
+
+    @Test
+    void shouldNotSearchIfCancelled() {
+        SearchResult searchResult = chessEngineService.search(new Chessboard(), Color.WHITE,
+                new SearchLimits(5, TIME_LIMIT_MILLIS, Long.MAX_VALUE), new AtomicBoolean(true));
+
+        assertNull(searchResult);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EvaluationCache;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessMove;
+import com.example.chessserver.model.SearchLimits;
+import com.example.chessserver.model.SearchResult;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.repository.ChessGameRepository;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.EvaluationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessEvaluationServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final String CHESSBOARD_READABLE = "d4row,d6qub,a1kiw,h8kib";
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final SearchResult SEARCH_RESULT = new SearchResult(890, 3,
+            List.of(new ChessMove(new ChessCoordinate("d4"), new ChessCoordinate("d6"))), 100);
+
+    @Mock
+    private ChessGameRepository chessGameRepository;
+
+    @Mock
+    private ChessEngineService chessEngineService;
+
+    private EngineJobSchedulerServiceImpl engineJobSchedulerService;
+
+    private ChessEvaluationService chessEvaluationService;
+
+    @BeforeEach
+    void setupEach() {
+        engineJobSchedulerService = new EngineJobSchedulerServiceImpl(1, 16, new SimpleMeterRegistry());
+        chessEvaluationService = new ChessEvaluationServiceImpl(chessGameRepository, chessEngineService,
+                engineJobSchedulerService, new EvaluationCache(100), 3, 5, 2000, 10000, 1000000);
+
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_READABLE);
+        chessGame.setColorOfPlayer(Color.WHITE);
+
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        engineJobSchedulerService.shutdown();
+    }
+
+    @Test
+    void shouldEvaluateChessGame() throws Exception {
+        when(chessEngineService.search(any(), any(), any(SearchLimits.class), any())).thenReturn(SEARCH_RESULT);
+
+        EvaluationResponse expectedResponse = new EvaluationResponse()
+                .score(890)
+                .depth(3)
+                .bestLine(List.of("d4d6"))
+                .colorOfPlayer(Color.WHITE);
+
+        assertEquals(expectedResponse,
+                chessEvaluationService.evaluateChessGame(GAME_ID, null, null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldSearchPositionOnlyOnce() throws Exception {
+        when(chessEngineService.search(any(), any(), any(SearchLimits.class), any())).thenReturn(SEARCH_RESULT);
+
+        chessEvaluationService.evaluateChessGame(GAME_ID, 3, null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        chessEvaluationService.evaluateChessGame(GAME_ID, 3, null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        // Shallower request is answered by the deeper cached result
+        chessEvaluationService.evaluateChessGame(GAME_ID, 2, null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        verify(chessEngineService, times(1)).search(any(), any(), any(SearchLimits.class), any());
+    }
+
+    @Test
+    void shouldFailAtEvaluatingIfSearchIsCancelled() {
+        when(chessEngineService.search(any(), any(), any(SearchLimits.class), any())).thenReturn(null);
+
+        CompletableFuture<EvaluationResponse> evaluation = chessEvaluationService.evaluateChessGame(GAME_ID, null, null);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> evaluation.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        ServiceException cause = assertInstanceOf(ServiceException.class, thrown.getCause());
+        assertEquals("Evaluation of game 1ji7a2xo1aqev is cancelled", cause.getMessage());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cause.getStatus());
+    }
+
+    @Test
+    void shouldCancelSearchOnceEveryWaiterHasStopped() throws InterruptedException {
+        CountDownLatch searchIsRunning = new CountDownLatch(1);
+        CountDownLatch searchIsCancelled = new CountDownLatch(1);
+        when(chessEngineService.search(any(), any(), any(SearchLimits.class), any())).thenAnswer(invocation -> {
+            AtomicBoolean cancelled = invocation.getArgument(3);
+            searchIsRunning.countDown();
+            while (!cancelled.get()) {
+                Thread.onSpinWait();
+            }
+            searchIsCancelled.countDown();
+            return null;
+        });
+
+        CompletableFuture<EvaluationResponse> first = chessEvaluationService.evaluateChessGame(GAME_ID, null, null);
+        CompletableFuture<EvaluationResponse> second = chessEvaluationService.evaluateChessGame(GAME_ID, null, null);
+        assertTrue(searchIsRunning.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Search is not started");
+
+        // Search goes on while the second request still waits for it
+        first.cancel(false);
+        assertEquals(1, searchIsCancelled.getCount());
+
+        second.cancel(false);
+        assertTrue(searchIsCancelled.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Search is not cancelled");
+    }
+
+    @Test
+    void shouldStartNewSearchIfSearchInFlightIsCancelled() throws Exception {
+        CountDownLatch searchIsRunning = new CountDownLatch(1);
+        CountDownLatch releaseSearch = new CountDownLatch(1);
+        when(chessEngineService.search(any(), any(), any(SearchLimits.class), any()))
+                .thenAnswer(invocation -> {
+                    searchIsRunning.countDown();
+                    releaseSearch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    return null;
+                })
+                .thenReturn(SEARCH_RESULT);
+
+        CompletableFuture<EvaluationResponse> first = chessEvaluationService.evaluateChessGame(GAME_ID, null, null);
+        assertTrue(searchIsRunning.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Search is not started");
+        first.cancel(false);
+
+        // Cancelled search has not completed yet, the next request must not join it
+        CompletableFuture<EvaluationResponse> second = chessEvaluationService.evaluateChessGame(GAME_ID, null, null);
+        releaseSearch.countDown();
+
+        assertEquals(890, second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getScore());
+        verify(chessEngineService, times(2)).search(any(), any(), any(SearchLimits.class), any());
+    }
+
+    @Test
+    void shouldNotJoinSearchWithSmallerTimeLimit() throws Exception {
+        CountDownLatch searchIsRunning = new CountDownLatch(1);
+        CountDownLatch releaseSearch = new CountDownLatch(1);
+        when(chessEngineService.search(any(), any(), any(SearchLimits.class), any())).thenAnswer(invocation -> {
+            searchIsRunning.countDown();
+            releaseSearch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return SEARCH_RESULT;
+        });
+
+        CompletableFuture<EvaluationResponse> first = chessEvaluationService.evaluateChessGame(GAME_ID, 4, 1);
+        assertTrue(searchIsRunning.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Search is not started");
+        CompletableFuture<EvaluationResponse> second = chessEvaluationService.evaluateChessGame(GAME_ID, 4, 5000);
+        releaseSearch.countDown();
+
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        verify(chessEngineService, times(2)).search(any(), any(), any(SearchLimits.class), any());
+    }
+
+    @Test
+    void shouldFailAtEvaluatingIfDepthIsTooHigh() {
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> chessEvaluationService.evaluateChessGame(GAME_ID, 6, null));
+
+        assertEquals("Depth 6 must be between 1 and 5", thrown.getMessage());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, thrown.getStatus());
+        verify(chessEngineService, never()).search(any(), any(), any(SearchLimits.class), any());
+    }
+
+    @Test
+    void shouldFailAtEvaluatingIfGameNotExists() {
+        when(chessGameRepository.findByGameId(GAME_ID_NOT_EXISTED)).thenReturn(null);
+
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> chessEvaluationService.evaluateChessGame(GAME_ID_NOT_EXISTED, null, null));
+
+        assertEquals("Game ID aaaaaaaaaa is not found", thrown.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatus());
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.GameIdFilter;
+import com.example.chessserver.component.MoveStageMetrics;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.jpa.ChessGameDelta;
+import com.example.chessserver.repository.ChessGameDeltaRepository;
+import com.example.chessserver.repository.ChessGameRepository;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.CreateChessGameRequest;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Moves of one game raced against each other on a real DB, every thread moving a pawn of its own file from the same
+// chessboard. Exactly one move of each round may win, the others fail, so versions increase by one per round.
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChessGameServiceImplConcurrentMoveTest {
+
+    private static final int FILES = 8;
+    private static final int ROUNDS = 16;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private ChessGameRepository chessGameRepository;
+
+    @Autowired
+    private ChessGameDeltaRepository chessGameDeltaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ChessGameServiceImpl chessGameService;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setupEach() {
+        GameIdFilter gameIdFilter = mock(GameIdFilter.class);
+        when(gameIdFilter.mightContain(any())).thenReturn(true);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MoveStageMetrics moveStageMetrics = new MoveStageMetrics(meterRegistry);
+        ChessmanMovementValidatorService chessmanMovementValidatorService = new ChessmanMovementValidatorServiceImpl();
+        chessGameService = new ChessGameServiceImpl(chessGameRepository, chessGameDeltaRepository, gameIdFilter,
+                moveStageMetrics, new ChessGamePlayServiceImpl(chessmanMovementValidatorService, moveStageMetrics),
+                chessmanMovementValidatorService, mock(EngineJobSchedulerService.class),
+                mock(ApplicationEventPublisher.class), transactionManager, 64, 500, 1000, 1, meterRegistry);
+        executorService = Executors.newFixedThreadPool(FILES);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        executorService.shutdownNow();
+        chessGameService.shutdown();
+        chessGameDeltaRepository.deleteAll();
+        chessGameRepository.deleteAll();
+    }
+
+    @Test
+    void testMoveChessmanConcurrently() throws Exception {
+        String gameId = chessGameService.createChessGame(new CreateChessGameRequest().color(Color.WHITE)).getGameId();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            // White pawns step from rank 2 to 3, black ones from 7 to 6, a pawn moved in an earlier round is gone
+            boolean white = round % 2 == 0;
+            CyclicBarrier barrier = new CyclicBarrier(FILES);
+            List<Future<MoveChessmanResponse>> futures = new ArrayList<>();
+            for (int file = 0; file < FILES; file++) {
+                char x = (char) ('a' + file);
+                ChessCoordinate coordinateFrom = new ChessCoordinate(x + (white ? "2" : "7"));
+                ChessCoordinate coordinateTo = new ChessCoordinate(x + (white ? "3" : "6"));
+                futures.add(executorService.submit(() -> {
+                    barrier.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    try {
+                        return chessGameService.moveChessman(coordinateFrom, coordinateTo, gameId);
+                    } catch (ServiceException e) {
+                        // Lost the race, either to a move in flight or to one already saved
+                        if (e.getStatus() != HttpStatus.CONFLICT && e.getStatus() != HttpStatus.UNPROCESSABLE_ENTITY) {
+                            throw e;
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            List<MoveChessmanResponse> moved = new ArrayList<>();
+            for (Future<MoveChessmanResponse> future : futures) {
+                MoveChessmanResponse moveChessmanResponse = future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (moveChessmanResponse != null) {
+                    moved.add(moveChessmanResponse);
+                }
+            }
+
+            assertEquals(1, moved.size());
+            assertNotNull(moved.get(0).getDelta());
+            assertEquals(round + 1, moved.get(0).getDelta().getVersion());
+        }
+
+        assertEquals(ROUNDS, chessGameRepository.findByGameId(gameId).getVersion());
+        List<ChessGameDelta> chessGameDeltas =
+                chessGameDeltaRepository.findByGameIdAndVersionBetweenOrderByVersion(gameId, 1, ROUNDS);
+        assertEquals(ROUNDS, chessGameDeltas.size());
+        for (int i = 0; i < ROUNDS; i++) {
+            assertEquals(i + 1, chessGameDeltas.get(i).getVersion());
+        }
+    }
+
+}
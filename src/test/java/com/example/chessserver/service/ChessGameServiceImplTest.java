@@ -1,30 +1,67 @@
 package com.example.chessserver.service;
 
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.GameIdFilter;
+import com.example.chessserver.component.MoveStageMetrics;
 import com.example.chessserver.exception.ServiceException;
 import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.ChessMoveEvent;
 import com.example.chessserver.model.enums.Chessman;
 import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.model.jpa.ChessGameDelta;
+import com.example.chessserver.repository.ChessGameDeltaRepository;
 import com.example.chessserver.repository.ChessGameRepository;
+import com.example.chessserver.util.ZobristHashUtil;
+import com.example.openapi.chessserver.model.BoardDelta;
 import com.example.openapi.chessserver.model.ChessboardResponse;
 import com.example.openapi.chessserver.model.ChessmanMovementStatus;
 import com.example.openapi.chessserver.model.Color;
 import com.example.openapi.chessserver.model.CreateChessGameRequest;
 import com.example.openapi.chessserver.model.CreateChessGameResponse;
+import com.example.openapi.chessserver.model.CreateChessGamesRequest;
+import com.example.openapi.chessserver.model.CreateChessGamesResponse;
+import com.example.openapi.chessserver.model.MoveBatchItem;
+import com.example.openapi.chessserver.model.MoveBatchResponse;
+import com.example.openapi.chessserver.model.MoveBatchResult;
 import com.example.openapi.chessserver.model.MoveChessmanResponse;
 import com.example.openapi.chessserver.model.PromotePawnResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -32,6 +69,7 @@ class ChessGameServiceImplTest {
 
     private static final String GAME_ID = "1ji7a2xo1aqev";
     private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final String OTHER_GAME_ID = "2kx8b3yp2brfw";
 
     private static final String CHESSBOARD_DELIMITER = ",";
     private static final String CHESSBOARD_INITIAL_READABLE = StringUtils.join(
@@ -54,15 +92,81 @@ class ChessGameServiceImplTest {
     @Mock
     private ChessGameRepository chessGameRepository;
 
-    @InjectMocks
+    @Mock
+    private EngineJobSchedulerService engineJobSchedulerService;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private ChessGameDeltaRepository chessGameDeltaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private GameIdFilter gameIdFilter;
+
+    private SimpleMeterRegistry meterRegistry;
     private ChessGameServiceImpl chessGameService;
 
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(gameIdFilter.mightContain(any())).thenReturn(true);
+        MoveStageMetrics moveStageMetrics = new MoveStageMetrics(meterRegistry);
+        chessGameService = new ChessGameServiceImpl(chessGameRepository, chessGameDeltaRepository, gameIdFilter,
+                moveStageMetrics, new ChessGamePlayServiceImpl(chessmanMovementValidatorService, moveStageMetrics),
+                chessmanMovementValidatorService, engineJobSchedulerService, applicationEventPublisher,
+                transactionManager, 2, 4, 3, 2, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        chessGameService.shutdown();
+    }
+
     @Test
     void shouldCreateChessGame() {
         when(chessGameRepository.save(any())).thenReturn(new ChessGame());
         CreateChessGameResponse createChessGameResponse = chessGameService.createChessGame(new CreateChessGameRequest().color(Color.BLACK));
         assertNotNull(createChessGameResponse, "CreateChessGameResponse is null");
         assertNotNull(createChessGameResponse.getGameId(), "Game ID is null");
+        verify(gameIdFilter).put(createChessGameResponse.getGameId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCreateChessGames() {
+        CreateChessGamesResponse createChessGamesResponse = chessGameService.createChessGames(
+                new CreateChessGamesRequest().count(3).color(Color.WHITE));
+
+        List<String> gameIds = createChessGamesResponse.getGameIds();
+        assertEquals(3, gameIds.size());
+        assertEquals(3, gameIds.stream().distinct().count());
+
+        ArgumentCaptor<List<ChessGame>> captor = ArgumentCaptor.forClass(List.class);
+        verify(chessGameRepository).saveAll(captor.capture());
+        verify(chessGameRepository, never()).save(any());
+        assertEquals(gameIds, captor.getValue().stream().map(ChessGame::getGameId).toList());
+        gameIds.forEach(gameId -> verify(gameIdFilter).put(gameId));
+        for (ChessGame chessGame : captor.getValue()) {
+            assertEquals(new Chessboard().getChessboardReadable(), chessGame.getChessboard());
+            assertEquals(Color.WHITE, chessGame.getColorOfPlayer());
+            assertTrue(chessGame.isNew());
+        }
+    }
+
+    @Test
+    void shouldFailAtCreatingChessGamesIfCountIsOutOfBounds() {
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> chessGameService.createChessGames(new CreateChessGamesRequest().count(4)));
+
+        assertEquals("Count must be between 1 and 3 games", thrown.getMessage());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, thrown.getStatus());
+        assertThrows(ServiceException.class,
+                () -> chessGameService.createChessGames(new CreateChessGamesRequest().count(0)));
     }
 
     @Test
@@ -71,12 +175,14 @@ class ChessGameServiceImplTest {
         chessGame.setGameId(GAME_ID);
         chessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
         chessGame.setColorOfPlayer(Color.BLACK);
+        chessGame.setVersion(12);
 
         when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
 
         ChessboardResponse expectedResponse = new ChessboardResponse()
                 .chessboard(CHESSBOARD_INITIAL_READABLE)
-                .colorOfPlayer(Color.BLACK);
+                .colorOfPlayer(Color.BLACK)
+                .version(12L);
         ChessboardResponse actualResponse = chessGameService.getChessGame(GAME_ID);
 
         assertEquals(expectedResponse, actualResponse);
@@ -94,6 +200,142 @@ class ChessGameServiceImplTest {
         assertEquals(HttpStatus.NOT_FOUND, thrown.getStatus());
     }
 
+    @Test
+    void shouldRejectUnknownGameIdWithoutQuery() {
+        when(gameIdFilter.mightContain(GAME_ID_NOT_EXISTED)).thenReturn(false);
+
+        for (Executable executable : List.<Executable>of(
+                () -> chessGameService.getChessGame(GAME_ID_NOT_EXISTED),
+                () -> chessGameService.getChessGameSince(GAME_ID_NOT_EXISTED, 1),
+                () -> chessGameService.getVersion(GAME_ID_NOT_EXISTED),
+                () -> chessGameService.moveChessman(new ChessCoordinate("a7"), new ChessCoordinate("a6"),
+                        GAME_ID_NOT_EXISTED),
+                () -> chessGameService.promotePawn(new ChessCoordinate("a8"), Chessman.QUEEN, GAME_ID_NOT_EXISTED))) {
+            ServiceException thrown = assertThrows(ServiceException.class, executable);
+            assertEquals("Game ID aaaaaaaaaa is not found", thrown.getMessage());
+            assertEquals(HttpStatus.NOT_FOUND, thrown.getStatus());
+        }
+
+        verify(chessGameRepository, never()).findByGameId(any());
+        verify(chessGameRepository, never()).findVersionByGameId(any());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentReadsOfSameGame() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readReleased = new CountDownLatch(1);
+        when(chessGameRepository.findByGameId(GAME_ID)).thenAnswer(invocation -> {
+            readStarted.countDown();
+            readReleased.await();
+            return createChessGame(12);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<ChessboardResponse> first = executor.submit(() -> chessGameService.getChessGame(GAME_ID));
+            assertTrue(readStarted.await(5, TimeUnit.SECONDS), "Read is not started");
+            List<Future<ChessboardResponse>> coalesced = List.of(
+                    executor.submit(() -> chessGameService.getChessGame(GAME_ID)),
+                    executor.submit(() -> chessGameService.getChessGame(GAME_ID)),
+                    executor.submit(() -> chessGameService.getChessGameSince(GAME_ID, 12)),
+                    executor.submit(() -> chessGameService.getChessGame(GAME_ID)));
+            awaitCount("chessserver.chessboard.loads.coalesced", 4);
+            readReleased.countDown();
+
+            assertEquals(12L, first.get(5, TimeUnit.SECONDS).getVersion());
+            for (Future<ChessboardResponse> future : coalesced) {
+                assertEquals(12L, future.get(5, TimeUnit.SECONDS).getVersion());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(chessGameRepository, times(1)).findByGameId(GAME_ID);
+        assertEquals(1, meterRegistry.counter("chessserver.chessboard.loads").count());
+    }
+
+    @Test
+    void shouldShareFailureOfCoalescedRead() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readReleased = new CountDownLatch(1);
+        when(chessGameRepository.findByGameId(GAME_ID_NOT_EXISTED)).thenAnswer(invocation -> {
+            readStarted.countDown();
+            readReleased.await();
+            return null;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ChessboardResponse> first = executor.submit(() -> chessGameService.getChessGame(GAME_ID_NOT_EXISTED));
+            assertTrue(readStarted.await(5, TimeUnit.SECONDS), "Read is not started");
+            Future<ChessboardResponse> coalesced = executor.submit(() -> chessGameService.getChessGame(GAME_ID_NOT_EXISTED));
+            awaitCount("chessserver.chessboard.loads.coalesced", 1);
+            readReleased.countDown();
+
+            for (Future<ChessboardResponse> future : List.of(first, coalesced)) {
+                ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertEquals(HttpStatus.NOT_FOUND, ((ServiceException) thrown.getCause()).getStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(chessGameRepository, times(1)).findByGameId(GAME_ID_NOT_EXISTED);
+    }
+
+    @Test
+    void shouldNotCoalesceReadWithReadStartedBeforeMove() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readReleased = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        ChessGame movedChessGame = createChessGame(0);
+        when(chessGameRepository.findByGameId(GAME_ID)).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() > 1) {
+                return movedChessGame;
+            }
+            readStarted.countDown();
+            readReleased.await();
+            return createChessGame(0);
+        });
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ChessboardResponse> beforeMove = executor.submit(() -> chessGameService.getChessGame(GAME_ID));
+            assertTrue(readStarted.await(5, TimeUnit.SECONDS), "Read is not started");
+
+            chessGameService.moveChessman(new ChessCoordinate("a7"), new ChessCoordinate("a6"), GAME_ID);
+            ChessboardResponse afterMove = chessGameService.getChessGame(GAME_ID);
+            readReleased.countDown();
+
+            assertEquals(1L, afterMove.getVersion());
+            assertEquals(0L, beforeMove.get(5, TimeUnit.SECONDS).getVersion());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, meterRegistry.counter("chessserver.chessboard.loads.coalesced").count());
+    }
+
+    @Test
+    void shouldGetVersion() {
+        when(chessGameRepository.findVersionByGameId(GAME_ID)).thenReturn(12L);
+
+        assertEquals(12, chessGameService.getVersion(GAME_ID));
+    }
+
+    @Test
+    void shouldFailAtGettingVersionIfGameNotExists() {
+        when(chessGameRepository.findVersionByGameId(GAME_ID_NOT_EXISTED)).thenReturn(null);
+
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> chessGameService.getVersion(GAME_ID_NOT_EXISTED));
+
+        assertEquals("Game ID aaaaaaaaaa is not found", thrown.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatus());
+    }
+
     @Test
     void shouldFailAtMovingChessIfGameNotExists() {
         when(chessGameRepository.findByGameId(GAME_ID_NOT_EXISTED)).thenReturn(null);
@@ -148,7 +390,8 @@ class ChessGameServiceImplTest {
                 new ChessCoordinate("a6"),
                 GAME_ID);
 
-        assertEquals(expected, actual);
+        assertEquals(expected.getStatus(), actual.getStatus());
+        verify(engineJobSchedulerService).cancelJobsOfGame(GAME_ID);
     }
 
     @Test
@@ -169,7 +412,7 @@ class ChessGameServiceImplTest {
                 new ChessCoordinate("a6"),
                 GAME_ID);
 
-        assertEquals(expected, actual);
+        assertEquals(expected.getStatus(), actual.getStatus());
     }
 
     @Test
@@ -183,13 +426,160 @@ class ChessGameServiceImplTest {
         when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
         when(chessmanMovementValidatorService.isCheckMate(any(), any())).thenReturn(false);
 
-        MoveChessmanResponse expected = new MoveChessmanResponse().status(ChessmanMovementStatus.SUCCESS);
         MoveChessmanResponse actual = chessGameService.moveChessman(
                 new ChessCoordinate("a7"),
                 new ChessCoordinate("a6"),
                 GAME_ID);
 
+        BoardDelta expectedDelta = new BoardDelta().version(1L).changes(List.of("a7", "a6pab"))
+                .colorOfPlayer(Color.WHITE).hash(hash(chessGame));
+        MoveChessmanResponse expected = new MoveChessmanResponse().status(ChessmanMovementStatus.SUCCESS)
+                .delta(expectedDelta);
         assertEquals(expected, actual);
+        verify(applicationEventPublisher).publishEvent(
+                new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, "a7", "a6", null, Color.WHITE,
+                        chessGame.getChessboard(), 1, expectedDelta));
+        verify(chessGameDeltaRepository, never()).deleteUpToVersion(any(), anyLong());
+    }
+
+    @Test
+    void shouldSaveMovedChessGameAndDeltaInOneTransaction() {
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(createChessGame(0));
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        chessGameService.moveChessman(new ChessCoordinate("a7"), new ChessCoordinate("a6"), GAME_ID);
+
+        InOrder inOrder = inOrder(transactionManager, chessGameRepository, chessGameDeltaRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(chessGameRepository).saveAndFlush(any());
+        inOrder.verify(chessGameDeltaRepository).saveAll(any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldFailAtMovingChessmanChangedByConcurrentMove() {
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(createChessGame(0));
+        when(chessGameRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ChessGame.class, GAME_ID));
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> chessGameService.moveChessman(new ChessCoordinate("a7"), new ChessCoordinate("a6"), GAME_ID));
+
+        assertEquals("Game ID 1ji7a2xo1aqev was changed by a concurrent move", thrown.getMessage());
+        assertEquals(HttpStatus.CONFLICT, thrown.getStatus());
+        verify(chessGameDeltaRepository, never()).saveAll(any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+        assertEquals(0, meterRegistry.get("chessserver.move.outcomes").tag("status", "success").counter().count());
+    }
+
+    @Test
+    void shouldTimeStagesAndCountOutcomesOfMoves() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
+        chessGame.setColorOfPlayer(Color.BLACK);
+
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true, false);
+
+        chessGameService.moveChessman(new ChessCoordinate("a7"), new ChessCoordinate("a6"), GAME_ID);
+        chessGameService.moveChessman(new ChessCoordinate("b2"), new ChessCoordinate("b5"), GAME_ID);
+
+        for (String stage : List.of("load", "decode", "validation")) {
+            assertEquals(2, meterRegistry.get("chessserver.move.stage").tag("stage", stage).timer().count());
+        }
+        for (String stage : List.of("detection", "encode", "save")) {
+            assertEquals(1, meterRegistry.get("chessserver.move.stage").tag("stage", stage).timer().count());
+        }
+        assertEquals(1, meterRegistry.get("chessserver.move.outcomes").tag("status", "success").counter().count());
+        assertEquals(1, meterRegistry.get("chessserver.move.outcomes").tag("status", "fail").counter().count());
+    }
+
+    @Test
+    void shouldReportCapturedChessmanAndPruneDeltas() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard("a1row,a7pab,e1kiw,e8kib");
+        chessGame.setColorOfPlayer(Color.WHITE);
+        chessGame.setVersion(4);
+
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        MoveChessmanResponse actual = chessGameService.moveChessman(
+                new ChessCoordinate("a1"),
+                new ChessCoordinate("a7"),
+                GAME_ID);
+
+        assertEquals(new BoardDelta().version(5L).changes(List.of("a1", "a7row")).captured("a7pab")
+                .colorOfPlayer(Color.BLACK).hash(hash(chessGame)), actual.getDelta());
+        verify(chessGameDeltaRepository).deleteUpToVersion(GAME_ID, 3);
+    }
+
+    @Test
+    void shouldGetDeltasSinceVersion() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
+        chessGame.setColorOfPlayer(Color.BLACK);
+        chessGame.setVersion(7);
+
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
+        when(chessGameDeltaRepository.findByGameIdAndVersionBetweenOrderByVersion(GAME_ID, 6, 7))
+                .thenReturn(List.of(createChessGameDelta(6, "a2,a3paw"), createChessGameDelta(7, "a7,a6pab")));
+
+        ChessboardResponse expectedResponse = new ChessboardResponse()
+                .colorOfPlayer(Color.BLACK)
+                .version(7L)
+                .deltas(List.of(
+                        new BoardDelta().version(6L).changes(List.of("a2", "a3paw"))
+                                .colorOfPlayer(Color.BLACK).hash("00000000000000ff"),
+                        new BoardDelta().version(7L).changes(List.of("a7", "a6pab"))
+                                .colorOfPlayer(Color.BLACK).hash("00000000000000ff")));
+
+        assertEquals(expectedResponse, chessGameService.getChessGameSince(GAME_ID, 5));
+    }
+
+    @Test
+    void shouldGetChessboardIfDeltasSinceVersionAreNotKept() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
+        chessGame.setColorOfPlayer(Color.BLACK);
+        chessGame.setVersion(7);
+
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
+        when(chessGameDeltaRepository.findByGameIdAndVersionBetweenOrderByVersion(GAME_ID, 6, 7))
+                .thenReturn(List.of(createChessGameDelta(7, "a2,a3paw")));
+
+        ChessboardResponse expectedResponse = new ChessboardResponse()
+                .chessboard(CHESSBOARD_INITIAL_READABLE)
+                .colorOfPlayer(Color.BLACK)
+                .version(7L);
+
+        // Three versions behind is beyond the limit of two deltas
+        assertEquals(expectedResponse, chessGameService.getChessGameSince(GAME_ID, 4));
+        // Delta of version 6 is already pruned
+        assertEquals(expectedResponse, chessGameService.getChessGameSince(GAME_ID, 5));
+    }
+
+    @Test
+    void shouldFailAtGettingDeltasSinceVersionAhead() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
+        chessGame.setVersion(7);
+
+        when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
+
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> chessGameService.getChessGameSince(GAME_ID, 8));
+
+        assertEquals("Version 8 is ahead of chessboard version 7", thrown.getMessage());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, thrown.getStatus());
     }
 
     @Test
@@ -210,7 +600,7 @@ class ChessGameServiceImplTest {
                 new ChessCoordinate("a6"),
                 GAME_ID);
 
-        assertEquals(expected, actual);
+        assertEquals(expected.getStatus(), actual.getStatus());
     }
 
     @Test
@@ -247,7 +637,7 @@ class ChessGameServiceImplTest {
                 Chessman.QUEEN,
                 GAME_ID);
 
-        assertEquals(expected, actual);
+        assertEquals(expected.getStatus(), actual.getStatus());
     }
 
     @Test
@@ -268,7 +658,7 @@ class ChessGameServiceImplTest {
                 Chessman.QUEEN,
                 GAME_ID);
 
-        assertEquals(expected, actual);
+        assertEquals(expected.getStatus(), actual.getStatus());
     }
 
     @Test
@@ -281,13 +671,204 @@ class ChessGameServiceImplTest {
         when(chessGameRepository.findByGameId(GAME_ID)).thenReturn(chessGame);
         when(chessmanMovementValidatorService.isPromotion(any(), any(), any())).thenReturn(true);
 
-        PromotePawnResponse expected = new PromotePawnResponse().status(ChessmanMovementStatus.SUCCESS);
         PromotePawnResponse actual = chessGameService.promotePawn(
                 new ChessCoordinate("b8"),
                 Chessman.QUEEN,
                 GAME_ID);
 
+        BoardDelta expectedDelta = new BoardDelta().version(1L).changes(List.of("b8quw")).promotedTo("qu")
+                .colorOfPlayer(Color.BLACK).hash(hash(chessGame));
+        PromotePawnResponse expected = new PromotePawnResponse().status(ChessmanMovementStatus.SUCCESS)
+                .delta(expectedDelta);
         assertEquals(expected, actual);
+        verify(applicationEventPublisher).publishEvent(
+                new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, "b8", "b8", Chessman.QUEEN, Color.BLACK,
+                        chessGame.getChessboard(), 1, expectedDelta));
+    }
+
+    @Test
+    void shouldMoveChessmenOfManyGames() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
+        chessGame.setColorOfPlayer(Color.WHITE);
+
+        ChessGame otherChessGame = new ChessGame();
+        otherChessGame.setGameId(OTHER_GAME_ID);
+        otherChessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
+        otherChessGame.setColorOfPlayer(Color.BLACK);
+
+        when(chessGameRepository.findAllById(any())).thenReturn(List.of(chessGame, otherChessGame));
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        MoveBatchResponse actual = chessGameService.moveChessmen(List.of(
+                createMoveBatchItem(GAME_ID, "a2", "a3"),
+                createMoveBatchItem(OTHER_GAME_ID, "h7", "h6"),
+                createMoveBatchItem(GAME_ID_NOT_EXISTED, "a2", "a3"),
+                createMoveBatchItem(GAME_ID, "a7", "a6")));
+
+        List<MoveBatchResult> results = actual.getResults();
+        assertEquals(4, results.size());
+        assertEquals(ChessmanMovementStatus.SUCCESS, results.get(0).getStatus());
+        assertEquals(List.of("a2", "a3paw"), results.get(0).getDeltas().get(0).getChanges());
+        assertEquals(OTHER_GAME_ID, results.get(1).getGameId());
+        assertEquals(1L, results.get(1).getDeltas().get(0).getVersion());
+        assertEquals("Game ID aaaaaaaaaa is not found", results.get(2).getMessage());
+        assertNull(results.get(2).getStatus());
+        // Second move of the game is applied to the chessboard left by the first one
+        assertEquals(2L, results.get(3).getDeltas().get(0).getVersion());
+        assertEquals(Color.WHITE, chessGame.getColorOfPlayer());
+        assertEquals(2, chessGame.getVersion());
+
+        verify(chessGameRepository).saveAndFlush(chessGame);
+        verify(chessGameRepository).saveAndFlush(otherChessGame);
+        verify(chessGameDeltaRepository).saveAll(argThat(deltas -> ((List<?>) deltas).size() == 2));
+        verify(chessGameDeltaRepository).saveAll(argThat(deltas -> ((List<?>) deltas).size() == 1));
+        verify(chessGameRepository, never()).save(any());
+        verify(applicationEventPublisher, times(3)).publishEvent(any(ChessMoveEvent.class));
+    }
+
+    @Test
+    void shouldPromoteWhileMovingChessmen() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard("c7pab,b7paw");
+        chessGame.setColorOfPlayer(Color.WHITE);
+
+        when(chessGameRepository.findAllById(any())).thenReturn(List.of(chessGame));
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+        when(chessmanMovementValidatorService.isPromotion(any(), any(), any())).thenReturn(true);
+        when(chessmanMovementValidatorService.isPromotionAllowed(Chessman.QUEEN)).thenReturn(true);
+
+        MoveBatchResponse actual = chessGameService.moveChessmen(List.of(
+                createMoveBatchItem(GAME_ID, "b7", "b8").promotion("qu")));
+
+        MoveBatchResult result = actual.getResults().get(0);
+        assertEquals(ChessmanMovementStatus.SUCCESS, result.getStatus());
+        assertEquals(2, result.getDeltas().size());
+        assertEquals(List.of("b8quw"), result.getDeltas().get(1).getChanges());
+        assertEquals("qu", result.getDeltas().get(1).getPromotedTo());
+        assertEquals(Color.BLACK, chessGame.getColorOfPlayer());
+        verify(applicationEventPublisher, times(2)).publishEvent(any(ChessMoveEvent.class));
+    }
+
+    @Test
+    void shouldRejectMoveWithInvalidPromotionBeforeMoving() {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard("c7pab,b7paw");
+        chessGame.setColorOfPlayer(Color.WHITE);
+
+        when(chessGameRepository.findAllById(any())).thenReturn(List.of(chessGame));
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        MoveBatchResponse actual = chessGameService.moveChessmen(List.of(
+                createMoveBatchItem(GAME_ID, "b7", "b8").promotion("xx")));
+
+        assertEquals("Short name of chessman xx is invalid", actual.getResults().get(0).getMessage());
+        assertEquals("c7pab,b7paw", chessGame.getChessboard());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldRejectUnknownGameIdsOfBatchWithoutQuery() {
+        when(gameIdFilter.mightContain(GAME_ID_NOT_EXISTED)).thenReturn(false);
+        when(chessGameRepository.findAllById(any())).thenReturn(List.of(createChessGame(0)));
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        MoveBatchResponse actual = chessGameService.moveChessmen(List.of(
+                createMoveBatchItem(GAME_ID_NOT_EXISTED, "a2", "a3"),
+                createMoveBatchItem(GAME_ID, "a7", "a6")));
+
+        assertEquals("Game ID aaaaaaaaaa is not found", actual.getResults().get(0).getMessage());
+        assertEquals(ChessmanMovementStatus.SUCCESS, actual.getResults().get(1).getStatus());
+        verify(chessGameRepository).findAllById(List.of(GAME_ID));
+
+        MoveBatchResponse unknownOnly = chessGameService.moveChessmen(List.of(
+                createMoveBatchItem(GAME_ID_NOT_EXISTED, "a2", "a3")));
+
+        assertEquals("Game ID aaaaaaaaaa is not found", unknownOnly.getResults().get(0).getMessage());
+        verify(chessGameRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void shouldFailAtMovingChessmenOfGameChangedByConcurrentMoveOnly() {
+        ChessGame otherChessGame = createChessGame(0);
+        otherChessGame.setGameId(OTHER_GAME_ID);
+
+        when(chessGameRepository.findAllById(any())).thenReturn(List.of(createChessGame(0), otherChessGame));
+        when(chessGameRepository.saveAndFlush(argThat(chessGame -> GAME_ID.equals(chessGame.getGameId()))))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ChessGame.class, GAME_ID));
+        when(chessmanMovementValidatorService.isChessmanAllowedToMove(any(), any(), any())).thenReturn(true);
+
+        MoveBatchResponse actual = chessGameService.moveChessmen(List.of(
+                createMoveBatchItem(GAME_ID, "a7", "a6"),
+                createMoveBatchItem(OTHER_GAME_ID, "h7", "h6"),
+                createMoveBatchItem(GAME_ID, "a2", "a3")));
+
+        List<MoveBatchResult> results = actual.getResults();
+        for (MoveBatchResult result : List.of(results.get(0), results.get(2))) {
+            assertEquals("Game ID 1ji7a2xo1aqev was changed by a concurrent move", result.getMessage());
+            assertNull(result.getStatus());
+            assertNull(result.getDeltas());
+        }
+        assertEquals(ChessmanMovementStatus.SUCCESS, results.get(1).getStatus());
+        assertEquals(1L, results.get(1).getDeltas().get(0).getVersion());
+
+        verify(chessGameDeltaRepository, times(1)).saveAll(any());
+        verify(applicationEventPublisher, times(1)).publishEvent(any(ChessMoveEvent.class));
+        assertEquals(1, meterRegistry.get("chessserver.move.outcomes").tag("status", "success").counter().count());
+    }
+
+    @Test
+    void shouldFailAtMovingChessmenIfBatchSizeIsOutOfBounds() {
+        List<MoveBatchItem> moves = List.of(createMoveBatchItem(GAME_ID, "a2", "a3"),
+                createMoveBatchItem(GAME_ID, "a3", "a4"), createMoveBatchItem(GAME_ID, "a4", "a5"),
+                createMoveBatchItem(GAME_ID, "a5", "a6"), createMoveBatchItem(GAME_ID, "a6", "a7"));
+
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> chessGameService.moveChessmen(moves));
+
+        assertEquals("Batch must hold between 1 and 4 moves", thrown.getMessage());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, thrown.getStatus());
+        assertThrows(ServiceException.class, () -> chessGameService.moveChessmen(List.of()));
+    }
+
+    private static ChessGame createChessGame(long version) {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(CHESSBOARD_INITIAL_READABLE);
+        chessGame.setColorOfPlayer(Color.BLACK);
+        chessGame.setVersion(version);
+        return chessGame;
+    }
+
+    private void awaitCount(String counterName, double count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter(counterName).count() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, meterRegistry.counter(counterName).count());
+    }
+
+    private static String hash(ChessGame chessGame) {
+        return String.format("%016x", ZobristHashUtil.hash(new Chessboard(chessGame.getChessboard()),
+                chessGame.getColorOfPlayer()));
+    }
+
+    private static ChessGameDelta createChessGameDelta(long version, String changes) {
+        ChessGameDelta chessGameDelta = new ChessGameDelta();
+        chessGameDelta.setGameId(GAME_ID);
+        chessGameDelta.setVersion(version);
+        chessGameDelta.setChanges(changes);
+        chessGameDelta.setColorOfPlayer(Color.BLACK);
+        chessGameDelta.setHash(0xff);
+        return chessGameDelta;
+    }
+
+    private static MoveBatchItem createMoveBatchItem(String gameId, String coordinateFrom, String coordinateTo) {
+        return new MoveBatchItem().gameId(gameId).coordinateFrom(coordinateFrom).coordinateTo(coordinateTo);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.LegalMovesCache;
+import com.example.chessserver.exception.ServiceException;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.LegalMove;
+import com.example.openapi.chessserver.model.LegalMovesResponse;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessLegalMovesServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String OTHER_GAME_ID = "2ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final String CHESSBOARD_READABLE = "a1kiw,b1knw,h8kib";
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    private ChessMoveGeneratorService chessMoveGeneratorService;
+    private LegalMovesCache legalMovesCache;
+    private ChessLegalMovesService chessLegalMovesService;
+
+    @BeforeEach
+    void setupEach() {
+        chessMoveGeneratorService = spy(new ChessMoveGeneratorServiceImpl(new ChessmanMovementValidatorServiceImpl()));
+        legalMovesCache = new LegalMovesCache(100);
+        chessLegalMovesService = new ChessLegalMovesServiceImpl(chessGameService, chessMoveGeneratorService,
+                legalMovesCache);
+
+        when(chessGameService.getChessGame(GAME_ID)).thenReturn(
+                new ChessboardResponse().chessboard(CHESSBOARD_READABLE).colorOfPlayer(Color.WHITE).version(3L));
+        when(chessGameService.getChessGame(OTHER_GAME_ID)).thenReturn(
+                new ChessboardResponse().chessboard(CHESSBOARD_READABLE).colorOfPlayer(Color.WHITE).version(7L));
+        when(chessGameService.getChessGame(GAME_ID_NOT_EXISTED))
+                .thenThrow(new ServiceException("Game ID aaaaaaaaaa is not found", HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void shouldListDestinationMaskPerChessman() {
+        LegalMovesResponse legalMovesResponse = chessLegalMovesService.getLegalMoves(GAME_ID);
+
+        assertEquals(Color.WHITE, legalMovesResponse.getColorOfPlayer());
+        assertEquals(3L, legalMovesResponse.getVersion());
+        assertEquals(List.of(
+                        // a2, b2
+                        new LegalMove().from("a1").destinations(toHex(bit(1, 2) | bit(2, 2))),
+                        // d2, a3, c3
+                        new LegalMove().from("b1").destinations(toHex(bit(4, 2) | bit(1, 3) | bit(3, 3)))),
+                legalMovesResponse.getMoves().stream()
+                        .sorted((a, b) -> a.getFrom().compareTo(b.getFrom()))
+                        .toList());
+    }
+
+    @Test
+    void shouldGenerateMovesOncePerPosition() {
+        LegalMovesResponse legalMovesOfGame = chessLegalMovesService.getLegalMoves(GAME_ID);
+        LegalMovesResponse legalMovesOfOtherGame = chessLegalMovesService.getLegalMoves(OTHER_GAME_ID);
+
+        assertEquals(legalMovesOfGame.getMoves(), legalMovesOfOtherGame.getMoves());
+        assertEquals(7L, legalMovesOfOtherGame.getVersion());
+        assertEquals(1, legalMovesCache.size());
+        verify(chessMoveGeneratorService, times(1)).generateMoves(any(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionForNotExistedGame() {
+        ServiceException thrown = assertThrows(ServiceException.class,
+                () -> chessLegalMovesService.getLegalMoves(GAME_ID_NOT_EXISTED));
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatus());
+    }
+
+    @Test
+    void shouldKeepHighestBitOfDestinations() {
+        // Rook of h1 reaches h8, the bit a JSON number loses in clients reading it as a double
+        when(chessGameService.getChessGame(GAME_ID)).thenReturn(
+                new ChessboardResponse().chessboard("h1row,a1kiw,a8kib").colorOfPlayer(Color.WHITE).version(3L));
+
+        LegalMove legalMoveOfRook = chessLegalMovesService.getLegalMoves(GAME_ID).getMoves().stream()
+                .filter(legalMove -> legalMove.getFrom().equals("h1"))
+                .findFirst().orElseThrow();
+
+        // b1 to g1 and h2 to h8
+        assertEquals("808080808080807e", legalMoveOfRook.getDestinations());
+        assertEquals(bit(8, 8), Long.parseUnsignedLong(legalMoveOfRook.getDestinations(), 16) & bit(8, 8));
+    }
+
+    private static long bit(int x, int y) {
+        return 1L << ((y - 1) * 8 + (x - 1));
+    }
+
+    private static String toHex(long mask) {
+        return String.format("%016x", mask);
+    }
+
+}
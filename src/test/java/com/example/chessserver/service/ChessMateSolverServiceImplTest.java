@@ -0,0 +1,160 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import com.example.chessserver.util.ZobristHashUtil;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.SolveMateRequest;
+import com.example.openapi.chessserver.model.SolveMateResponse;
+import com.example.openapi.chessserver.model.SolveMateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class ChessMateSolverServiceImplTest {
+
+    // Black king is locked in by its own pawns, so a rook on the back rank wins it
+    private static final String BACK_RANK_MATE = "a1row,g7pab,h7pab,h8kib,e1kiw";
+    private static final String KINGS_ONLY = "a1kiw,h8kib";
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EngineJobSchedulerServiceImpl engineJobSchedulerService =
+            new EngineJobSchedulerServiceImpl(1, 16, meterRegistry);
+
+    private final ChessmanMovementValidatorService chessmanMovementValidatorService = new ChessmanMovementValidatorServiceImpl();
+
+    private final ChessMoveGeneratorService chessMoveGeneratorService =
+            new ChessMoveGeneratorServiceImpl(chessmanMovementValidatorService);
+
+    @AfterEach
+    void tearDownEach() {
+        engineJobSchedulerService.shutdown();
+    }
+
+    @Test
+    void shouldProveBackRankMate() throws Exception {
+        SolveMateResponse response = createSolver(200000).solveMate(createRequest(BACK_RANK_MATE, 1, null))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(SolveMateResult.PROVEN, response.getResult());
+        assertEquals("a1a8", response.getMateLine().get(0));
+        assertEquals(3, response.getMateLine().size());
+        assertTrue(response.getMateLine().get(2).endsWith("8"));
+    }
+
+    @Test
+    void shouldProveMateWhenProofTreeIsGarbageCollected() throws Exception {
+        SolveMateResponse response = createSolver(200).solveMate(createRequest(BACK_RANK_MATE, 2, null))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(SolveMateResult.PROVEN, response.getResult());
+    }
+
+    @Test
+    void shouldDisproveMateWithKingsOnly() throws Exception {
+        SolveMateResponse response = createSolver(200000).solveMate(createRequest(KINGS_ONLY, 1, null))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(SolveMateResult.DISPROVEN, response.getResult());
+        assertEquals(List.of(), response.getMateLine());
+    }
+
+    @Test
+    void shouldReturnUnknownWhenNodeBudgetIsExhausted() throws Exception {
+        SolveMateResponse response = createSolver(200000).solveMate(createRequest(BACK_RANK_MATE, 2, 1))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(SolveMateResult.UNKNOWN, response.getResult());
+    }
+
+    @Test
+    void shouldKeySolverJobByPosition() throws Exception {
+        EngineJobSchedulerService spiedScheduler = spy(engineJobSchedulerService);
+        new ChessMateSolverServiceImpl(chessMoveGeneratorService, chessmanMovementValidatorService, spiedScheduler,
+                5, 2000000, 200000).solveMate(createRequest(BACK_RANK_MATE, 1, null))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        String jobKey = String.format("solver-%016x", ZobristHashUtil.hash(new Chessboard(BACK_RANK_MATE), Color.WHITE));
+        verify(spiedScheduler).submit(eq(jobKey), eq(EngineJobPriority.ANALYSIS), any());
+    }
+
+    @Test
+    void shouldCancelSearchOnceCallerStopsWaiting() throws InterruptedException {
+        CountDownLatch workerIsBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        engineJobSchedulerService.submit("1ji7a2xo1aqev", EngineJobPriority.ANALYSIS, cancelled -> {
+            workerIsBlocked.countDown();
+            awaitQuietly(releaseWorker);
+            return null;
+        });
+        workerIsBlocked.await();
+
+        // Search waits behind the blocked worker, so it is still queued once the caller stops waiting
+        CompletableFuture<SolveMateResponse> solution = createSolver(200000)
+                .solveMate(createRequest(BACK_RANK_MATE, 1, null));
+        solution.cancel(false);
+        releaseWorker.countDown();
+
+        assertEquals(1, meterRegistry.get("chessserver.engine.jobs.cancelled").counter().count());
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidChessboard() {
+        ChessMateSolverService chessMateSolverService = createSolver(200000);
+        SolveMateRequest request = createRequest("a9row,h8kib,e1kiw", 1, null);
+
+        ServiceException exception = assertThrows(ServiceException.class, () -> chessMateSolverService.solveMate(request));
+        assertEquals("Chessboard a9row,h8kib,e1kiw is invalid", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionForMissingKing() {
+        ChessMateSolverService chessMateSolverService = createSolver(200000);
+        SolveMateRequest request = createRequest("a1row,e1kiw", 1, null);
+
+        ServiceException exception = assertThrows(ServiceException.class, () -> chessMateSolverService.solveMate(request));
+        assertEquals("Chessboard must have a king of each player", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionForMovesOutOfRange() {
+        ChessMateSolverService chessMateSolverService = createSolver(200000);
+        SolveMateRequest request = createRequest(BACK_RANK_MATE, 6, null);
+
+        ServiceException exception = assertThrows(ServiceException.class, () -> chessMateSolverService.solveMate(request));
+        assertEquals("Moves 6 must be between 1 and 5", exception.getMessage());
+    }
+
+    private ChessMateSolverService createSolver(int maxTreeNodes) {
+        return new ChessMateSolverServiceImpl(chessMoveGeneratorService, chessmanMovementValidatorService,
+                engineJobSchedulerService, 5, 2000000, maxTreeNodes);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SolveMateRequest createRequest(String chessboard, int moves, Integer maxNodes) {
+        return new SolveMateRequest().chessboard(chessboard).colorOfPlayer(Color.WHITE).moves(moves).maxNodes(maxNodes);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.model.ChessMove;
+import com.example.openapi.chessserver.model.Color;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChessMoveGeneratorServiceImplTest {
+
+    private static final String CHESSBOARD_DELIMITER = ",";
+
+    private static final Chessboard CHESSBOARD_ROOK_IS_BLOCKED =
+            new Chessboard(StringUtils.join(
+                    Arrays.asList(
+                            "a1row", "a3paw", "c1paw"),
+                    CHESSBOARD_DELIMITER));
+
+    private final ChessMoveGeneratorService chessMoveGeneratorService =
+            new ChessMoveGeneratorServiceImpl(new ChessmanMovementValidatorServiceImpl());
+
+    @Test
+    void shouldGenerateMovesOfInitialChessboard() {
+        List<ChessMove> moves = chessMoveGeneratorService.generateMoves(new Chessboard(), Color.WHITE);
+
+        // 16 pawn moves and 4 knight moves
+        assertEquals(20, moves.size());
+        assertThat(moves.stream().map(ChessMove::getNotation))
+                .contains("e2e4", "e2e3", "b1c3", "g1h3");
+    }
+
+    @Test
+    void shouldNotGenerateMovesThroughChessmen() {
+        List<ChessMove> moves = chessMoveGeneratorService.generateMoves(CHESSBOARD_ROOK_IS_BLOCKED, Color.WHITE);
+
+        assertThat(moves.stream().map(ChessMove::getNotation))
+                .contains("a1a2", "a1b1")
+                .doesNotContain("a1a3", "a1a4", "a1c1", "a1d1");
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.GameEventSink;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.chessserver.model.GameSnapshot;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessSpectatorServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final String OTHER_GAME_ID = "2kx8b3yp2brfw";
+    private static final String CHESSBOARD_READABLE = "a2paw,e1kiw,e8kib";
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ChessSpectatorServiceImpl chessSpectatorService;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        chessSpectatorService = new ChessSpectatorServiceImpl(chessGameService, 4, 2, 60000, meterRegistry);
+
+        when(chessGameService.getChessGame(GAME_ID))
+                .thenReturn(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).colorOfPlayer(Color.WHITE).version(0L));
+        when(chessGameService.getChessGame(OTHER_GAME_ID))
+                .thenReturn(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).colorOfPlayer(Color.WHITE).version(0L));
+        when(chessGameService.getChessGame(GAME_ID_NOT_EXISTED))
+                .thenThrow(new ServiceException("Game ID aaaaaaaaaa is not found", HttpStatus.NOT_FOUND));
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        chessSpectatorService.shutdown();
+    }
+
+    @Test
+    void shouldSendSnapshotAndMovesInOrder() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(3, null);
+        chessSpectatorService.addSpectator(GAME_ID, sink);
+
+        chessSpectatorService.onChessMove(createChessMoveEvent("a2", "a3"));
+        chessSpectatorService.onChessMove(createChessMoveEvent("a3", "a4"));
+
+        assertTrue(sink.received.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Events are not received");
+        assertEquals(List.of("snapshot 0 " + CHESSBOARD_READABLE, "moved 0 a2a3", "moved 1 a3a4"), sink.events);
+    }
+
+    @Test
+    void shouldResyncSlowSpectatorWithSnapshot() throws InterruptedException {
+        CountDownLatch releaseSpectator = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(2, releaseSpectator);
+        chessSpectatorService.addSpectator(GAME_ID, sink);
+
+        // Spectator is stuck sending the first snapshot while more moves than the capacity are published
+        for (int i = 1; i <= 6; i++) {
+            chessSpectatorService.onChessMove(createChessMoveEvent("a" + i, "a" + (i + 1)));
+        }
+        releaseSpectator.countDown();
+
+        assertTrue(sink.received.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Events are not received");
+        assertEquals(List.of("snapshot 0 " + CHESSBOARD_READABLE, "snapshot 6 a7paw,e1kiw,e8kib"), sink.events);
+        assertEquals(1, meterRegistry.get("chessserver.spectator.resyncs").counter().count());
+    }
+
+    @Test
+    void shouldDropStalledSpectatorWithoutHoldingUpOthers() throws InterruptedException {
+        // Single fan-out thread, which the stalled spectator holds until it is released
+        chessSpectatorService.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        chessSpectatorService = new ChessSpectatorServiceImpl(chessGameService, 4, 1, 100, meterRegistry);
+
+        CountDownLatch releaseStalled = new CountDownLatch(1);
+        RecordingSink stalled = new RecordingSink(1, releaseStalled);
+        chessSpectatorService.addSpectator(GAME_ID, stalled);
+        RecordingSink other = new RecordingSink(2, null);
+        chessSpectatorService.addSpectator(OTHER_GAME_ID, other);
+        chessSpectatorService.onChessMove(createChessMoveEvent(OTHER_GAME_ID, "a2", "a3"));
+
+        assertTrue(other.received.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Events are held up by stalled spectator");
+        assertEquals(List.of("snapshot 0 " + CHESSBOARD_READABLE, "moved 0 a2a3"), other.events);
+        assertEquals(1, meterRegistry.get("chessserver.spectator.stalled").counter().count());
+        assertEquals(1, meterRegistry.get("chessserver.spectator.count").gauge().value());
+
+        // Stream of the stalled spectator is ended once its send returns, it gets no more events
+        releaseStalled.countDown();
+        assertTrue(stalled.closed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Stalled spectator is not closed");
+        chessSpectatorService.onChessMove(createChessMoveEvent(GAME_ID, "a2", "a3"));
+        assertEquals(List.of("snapshot 0 " + CHESSBOARD_READABLE), stalled.events);
+    }
+
+    @Test
+    void shouldNotSendAfterSpectatorIsRemoved() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(1, null);
+        Runnable removeSpectator = chessSpectatorService.addSpectator(GAME_ID, sink);
+        assertTrue(sink.received.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Snapshot is not received");
+
+        removeSpectator.run();
+        chessSpectatorService.onChessMove(createChessMoveEvent("a2", "a3"));
+
+        assertEquals(List.of("snapshot 0 " + CHESSBOARD_READABLE), sink.events);
+        assertEquals(0, meterRegistry.get("chessserver.spectator.count").gauge().value());
+    }
+
+    @Test
+    void shouldThrowExceptionForNotExistedGame() {
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> chessSpectatorService.addSpectator(GAME_ID_NOT_EXISTED, new RecordingSink(1, null)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals(0, meterRegistry.get("chessserver.spectator.count").gauge().value());
+    }
+
+    private static ChessMoveEvent createChessMoveEvent(String coordinateFrom, String coordinateTo) {
+        return createChessMoveEvent(GAME_ID, coordinateFrom, coordinateTo);
+    }
+
+    private static ChessMoveEvent createChessMoveEvent(String gameId, String coordinateFrom, String coordinateTo) {
+        return new ChessMoveEvent(gameId, ChessmanMovementStatus.SUCCESS, coordinateFrom, coordinateTo, null,
+                Color.BLACK, coordinateTo + "paw,e1kiw,e8kib", 1, null);
+    }
+
+    private static class RecordingSink implements GameEventSink {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final CountDownLatch release;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        private RecordingSink(int expectedEvents, CountDownLatch release) {
+            this.received = new CountDownLatch(expectedEvents);
+            this.release = release;
+        }
+
+        @Override
+        public void sendSnapshot(GameSnapshot gameSnapshot) {
+            awaitRelease();
+            events.add("snapshot " + gameSnapshot.getSequence() + " " + gameSnapshot.getChessboard());
+            received.countDown();
+        }
+
+        @Override
+        public void sendMove(long sequence, ChessMoveEvent chessMoveEvent) {
+            events.add("moved " + sequence + " " + chessMoveEvent.getCoordinateFrom() + chessMoveEvent.getCoordinateTo());
+            received.countDown();
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        private void awaitRelease() {
+            try {
+                if (release != null) {
+                    release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
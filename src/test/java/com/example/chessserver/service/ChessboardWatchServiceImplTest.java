@@ -0,0 +1,120 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessMoveEvent;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class ChessboardWatchServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final String CHESSBOARD_READABLE = "a3paw,e1kiw,e8kib";
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChessboardWatchServiceImpl chessboardWatchService;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        chessboardWatchService = new ChessboardWatchServiceImpl(chessGameService, 2, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        chessboardWatchService.shutdown();
+    }
+
+    @Test
+    void shouldCompleteWaiterWithChessboardOfMove() throws Exception {
+        when(chessGameService.getVersion(GAME_ID)).thenReturn(3L);
+
+        CompletableFuture<ChessboardResponse> change = chessboardWatchService.awaitChange(GAME_ID, 3);
+        assertFalse(change.isDone());
+        assertEquals(1, meterRegistry.get("chessserver.chessboard.waiters").gauge().value());
+
+        chessboardWatchService.onChessMove(createChessMoveEvent(4));
+
+        assertEquals(new ChessboardResponse().chessboard(CHESSBOARD_READABLE).colorOfPlayer(Color.WHITE).version(4L),
+                change.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.get("chessserver.chessboard.waiters").gauge().value());
+    }
+
+    @Test
+    void shouldCompleteWaiterOffThreadOfMove() throws Exception {
+        when(chessGameService.getVersion(GAME_ID)).thenReturn(3L);
+
+        CompletableFuture<Thread> completingThread = chessboardWatchService.awaitChange(GAME_ID, 3)
+                .thenApply(chessboardResponse -> Thread.currentThread());
+        chessboardWatchService.onChessMove(createChessMoveEvent(4));
+
+        assertNotSame(Thread.currentThread(), completingThread.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldCompleteWaiterIfVersionChangedBeforeItIsRegistered() throws Exception {
+        ChessboardResponse chessboardResponse = new ChessboardResponse().chessboard(CHESSBOARD_READABLE).version(4L);
+        when(chessGameService.getVersion(GAME_ID)).thenReturn(4L);
+        when(chessGameService.getChessGame(GAME_ID)).thenReturn(chessboardResponse);
+
+        CompletableFuture<ChessboardResponse> change = chessboardWatchService.awaitChange(GAME_ID, 3);
+
+        assertTrue(change.isDone());
+        assertEquals(chessboardResponse, change.get());
+    }
+
+    @Test
+    void shouldNotCompleteCancelledWaiter() {
+        when(chessGameService.getVersion(GAME_ID)).thenReturn(3L);
+
+        CompletableFuture<ChessboardResponse> change = chessboardWatchService.awaitChange(GAME_ID, 3);
+        change.cancel(false);
+        chessboardWatchService.onChessMove(createChessMoveEvent(4));
+
+        assertTrue(change.isCancelled());
+        assertEquals(0, meterRegistry.get("chessserver.chessboard.waiters").gauge().value());
+    }
+
+    @Test
+    void shouldFailWaiterForNotExistedGame() {
+        when(chessGameService.getVersion(GAME_ID_NOT_EXISTED))
+                .thenThrow(new ServiceException("Game ID aaaaaaaaaa is not found", HttpStatus.NOT_FOUND));
+
+        CompletableFuture<ChessboardResponse> change = chessboardWatchService.awaitChange(GAME_ID_NOT_EXISTED, 0);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, change::get);
+        assertInstanceOf(ServiceException.class, thrown.getCause());
+        assertEquals(0, meterRegistry.get("chessserver.chessboard.waiters").gauge().value());
+    }
+
+    private static ChessMoveEvent createChessMoveEvent(long version) {
+        return new ChessMoveEvent(GAME_ID, ChessmanMovementStatus.SUCCESS, "a2", "a3", null, Color.WHITE,
+                CHESSBOARD_READABLE, version, null);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EncodedChessboardCache;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.EncodedChessboardResponse;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.Color;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class EncodedChessboardServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final ChessboardResponse CHESSBOARD_VERSION_12 = new ChessboardResponse().chessboard("a3paw,e1kiw,e8kib")
+            .colorOfPlayer(Color.BLACK).version(12L);
+    private static final ChessboardResponse CHESSBOARD_VERSION_13 = new ChessboardResponse().chessboard("a3paw,e1kiw,e7kib")
+            .colorOfPlayer(Color.WHITE).version(13L);
+
+    @Mock
+    private ChessGameService chessGameService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EncodedChessboardService encodedChessboardService;
+
+    @BeforeEach
+    void setupEach() {
+        encodedChessboardService = new EncodedChessboardServiceImpl(chessGameService, new EncodedChessboardCache(10),
+                objectMapper);
+    }
+
+    @Test
+    void shouldSerialiseChessboardOncePerVersion() throws Exception {
+        when(chessGameService.getChessGame(GAME_ID)).thenReturn(CHESSBOARD_VERSION_12);
+
+        EncodedChessboardResponse first = encodedChessboardService.getChessboard(GAME_ID, 12);
+        EncodedChessboardResponse second = encodedChessboardService.getChessboard(GAME_ID, 12);
+
+        assertEquals(12, first.getVersion());
+        assertEquals(objectMapper.writeValueAsString(CHESSBOARD_VERSION_12),
+                new String(first.getBody(), StandardCharsets.UTF_8));
+        assertSame(first, second);
+        verify(chessGameService, times(1)).getChessGame(GAME_ID);
+    }
+
+    @Test
+    void shouldRebuildChessboardOnFirstReadAfterMove() {
+        when(chessGameService.getChessGame(GAME_ID)).thenReturn(CHESSBOARD_VERSION_12, CHESSBOARD_VERSION_13);
+
+        encodedChessboardService.getChessboard(GAME_ID, 12);
+        EncodedChessboardResponse afterMove = encodedChessboardService.getChessboard(GAME_ID, 13);
+        encodedChessboardService.getChessboard(GAME_ID, 13);
+
+        assertEquals(13, afterMove.getVersion());
+        verify(chessGameService, times(2)).getChessGame(GAME_ID);
+    }
+
+    @Test
+    void shouldThrowIfGameIsNotFound() {
+        when(chessGameService.getChessGame(GAME_ID_NOT_EXISTED))
+                .thenThrow(new ServiceException("Game ID aaaaaaaaaa is not found", HttpStatus.NOT_FOUND));
+
+        ServiceException thrown = assertThrows(ServiceException.class,
+                () -> encodedChessboardService.getChessboard(GAME_ID_NOT_EXISTED, 1));
+
+        assertEquals(HttpStatus.NOT_FOUND, thrown.getStatus());
+    }
+
+}
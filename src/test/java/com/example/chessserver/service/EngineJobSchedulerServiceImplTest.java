@@ -0,0 +1,145 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.EngineJob;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.enums.EngineJobPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EngineJobSchedulerServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+
+    private SimpleMeterRegistry meterRegistry;
+    private EngineJobSchedulerServiceImpl engineJobSchedulerService;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        engineJobSchedulerService = new EngineJobSchedulerServiceImpl(1, 2, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDownEach() {
+        engineJobSchedulerService.shutdown();
+    }
+
+    @Test
+    void shouldRunEvaluationsBeforeAnalysis() throws InterruptedException {
+        CountDownLatch workerIsBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        List<EngineJobPriority> completionOrder = new CopyOnWriteArrayList<>();
+
+        engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> {
+            workerIsBlocked.countDown();
+            awaitQuietly(releaseWorker);
+            return null;
+        });
+        workerIsBlocked.await();
+
+        EngineJob<EngineJobPriority> analysis = engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS,
+                cancelled -> record(completionOrder, EngineJobPriority.ANALYSIS));
+        EngineJob<EngineJobPriority> evaluation = engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.EVALUATION,
+                cancelled -> record(completionOrder, EngineJobPriority.EVALUATION));
+        releaseWorker.countDown();
+
+        analysis.await();
+        evaluation.await();
+
+        assertEquals(List.of(EngineJobPriority.EVALUATION, EngineJobPriority.ANALYSIS), completionOrder);
+        assertEquals(3, meterRegistry.get("chessserver.engine.queue.wait").tag("priority", "analysis").timer().count() +
+                meterRegistry.get("chessserver.engine.queue.wait").tag("priority", "evaluation").timer().count());
+    }
+
+    @Test
+    void shouldRejectJobsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch workerIsBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+
+        engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> {
+            workerIsBlocked.countDown();
+            awaitQuietly(releaseWorker);
+            return null;
+        });
+        workerIsBlocked.await();
+        engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> null);
+        engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> null);
+
+        ServiceException thrown =
+                assertThrows(ServiceException.class,
+                        () -> engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.EVALUATION, cancelled -> null));
+        releaseWorker.countDown();
+
+        assertEquals("Engine is busy, try again later", thrown.getMessage());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getStatus());
+        assertEquals(1, meterRegistry.get("chessserver.engine.jobs.rejected").tag("priority", "evaluation").counter().count());
+    }
+
+    @Test
+    void shouldFreeQueueSlotOfJobCancelledWhileQueued() throws InterruptedException {
+        CountDownLatch workerIsBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+
+        engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> {
+            workerIsBlocked.countDown();
+            awaitQuietly(releaseWorker);
+            return null;
+        });
+        workerIsBlocked.await();
+        EngineJob<Object> queued = engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> null);
+        engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> null);
+
+        queued.cancel();
+
+        ServiceException thrown = assertThrows(ServiceException.class, queued::await);
+        engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.EVALUATION, cancelled -> null);
+        releaseWorker.countDown();
+
+        assertEquals("Engine job of game 1ji7a2xo1aqev is cancelled", thrown.getMessage());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getStatus());
+        assertEquals(1, meterRegistry.get("chessserver.engine.jobs.cancelled").counter().count());
+    }
+
+    @Test
+    void shouldCancelRunningJobsOfGame() throws InterruptedException {
+        CountDownLatch jobIsRunning = new CountDownLatch(1);
+
+        EngineJob<Boolean> engineJob = engineJobSchedulerService.submit(GAME_ID, EngineJobPriority.ANALYSIS, cancelled -> {
+            jobIsRunning.countDown();
+            while (!cancelled.get()) {
+                Thread.onSpinWait();
+            }
+            return true;
+        });
+        jobIsRunning.await();
+
+        engineJobSchedulerService.cancelJobsOfGame(GAME_ID);
+
+        assertTrue(engineJob.await());
+        assertEquals(1, meterRegistry.get("chessserver.engine.jobs.cancelled").counter().count());
+    }
+
+    private static EngineJobPriority record(List<EngineJobPriority> completionOrder, EngineJobPriority priority) {
+        completionOrder.add(priority);
+        return priority;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.example.chessserver.service;
+
+import com.example.chessserver.component.Chessboard;
+import com.example.chessserver.component.MoveStageMetrics;
+import com.example.chessserver.exception.ServiceException;
+import com.example.chessserver.model.ChessCoordinate;
+import com.example.chessserver.model.enums.Chessman;
+import com.example.chessserver.model.jpa.ChessGame;
+import com.example.chessserver.repository.InMemoryReactiveChessGameRepository;
+import com.example.openapi.chessserver.model.ChessboardResponse;
+import com.example.openapi.chessserver.model.ChessmanMovementStatus;
+import com.example.openapi.chessserver.model.Color;
+import com.example.openapi.chessserver.model.CreateChessGameRequest;
+import com.example.openapi.chessserver.model.MoveChessmanResponse;
+import com.example.openapi.chessserver.model.PromotePawnResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.scheduler.Schedulers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+class ReactiveChessGameServiceImplTest {
+
+    private static final String GAME_ID = "1ji7a2xo1aqev";
+    private static final String GAME_ID_NOT_EXISTED = "aaaaaaaaaa";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryReactiveChessGameRepository reactiveChessGameRepository;
+    private ChessmanMovementValidatorServiceImpl chessmanMovementValidatorService;
+    private ReactiveChessGameServiceImpl reactiveChessGameService;
+
+    @BeforeEach
+    void setupEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        reactiveChessGameRepository = new InMemoryReactiveChessGameRepository();
+        chessmanMovementValidatorService = spy(new ChessmanMovementValidatorServiceImpl());
+        reactiveChessGameService = createService();
+    }
+
+    @Test
+    void shouldCreateChessGame() {
+        String gameId = reactiveChessGameService.createChessGame(new CreateChessGameRequest().color(Color.WHITE))
+                .block(TIMEOUT).getGameId();
+
+        ChessboardResponse chessboardResponse = reactiveChessGameService.getChessGame(gameId).block(TIMEOUT);
+        assertEquals(Chessboard.INITIAL_CHESSBOARD_READABLE, chessboardResponse.getChessboard());
+        assertEquals(Color.WHITE, chessboardResponse.getColorOfPlayer());
+        assertEquals(0L, chessboardResponse.getVersion());
+    }
+
+    @Test
+    void shouldFailAtGettingChessGameIfGameNotExists() {
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reactiveChessGameService.getChessGame(GAME_ID_NOT_EXISTED).block(TIMEOUT));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void shouldFailAtGettingChessGameSinceVersionAhead() {
+        saveChessGame("a2paw,e1kiw,e8kib", Color.WHITE);
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reactiveChessGameService.getChessGameSince(GAME_ID, 1).block(TIMEOUT));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+    }
+
+    @Test
+    void shouldMoveChessman() {
+        saveChessGame("a2paw,e1kiw,e8kib", Color.WHITE);
+
+        MoveChessmanResponse moveChessmanResponse = reactiveChessGameService.moveChessman(new ChessCoordinate("a2"),
+                new ChessCoordinate("a3"), GAME_ID).block(TIMEOUT);
+
+        assertEquals(ChessmanMovementStatus.SUCCESS, moveChessmanResponse.getStatus());
+        assertEquals(List.of("a2", "a3paw"), moveChessmanResponse.getDelta().getChanges());
+        ChessboardResponse chessboardResponse = reactiveChessGameService.getChessGame(GAME_ID).block(TIMEOUT);
+        assertEquals(1L, chessboardResponse.getVersion());
+        assertEquals(Color.BLACK, chessboardResponse.getColorOfPlayer());
+    }
+
+    @Test
+    void shouldNotSaveFailedMove() {
+        saveChessGame("a2paw,e1kiw,e8kib", Color.WHITE);
+
+        MoveChessmanResponse moveChessmanResponse = reactiveChessGameService.moveChessman(new ChessCoordinate("a2"),
+                new ChessCoordinate("a5"), GAME_ID).block(TIMEOUT);
+
+        assertEquals(ChessmanMovementStatus.FAIL, moveChessmanResponse.getStatus());
+        assertNull(moveChessmanResponse.getDelta());
+        assertEquals(0L, reactiveChessGameService.getChessGame(GAME_ID).block(TIMEOUT).getVersion());
+    }
+
+    @Test
+    void shouldFailAtMovingChessmanOfOtherPlayer() {
+        saveChessGame("a2paw,e1kiw,e8kib", Color.BLACK);
+
+        ServiceException exception = assertThrows(ServiceException.class, () -> reactiveChessGameService
+                .moveChessman(new ChessCoordinate("a2"), new ChessCoordinate("a3"), GAME_ID).block(TIMEOUT));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+    }
+
+    @Test
+    void shouldPromotePawn() {
+        saveChessGame("a7paw,e1kiw,e8kib", Color.WHITE);
+        doReturn(true).when(chessmanMovementValidatorService).isPromotion(any(), any(), any());
+
+        MoveChessmanResponse moveChessmanResponse = reactiveChessGameService.moveChessman(new ChessCoordinate("a7"),
+                new ChessCoordinate("a8"), GAME_ID).block(TIMEOUT);
+        assertEquals(ChessmanMovementStatus.PROMOTION, moveChessmanResponse.getStatus());
+
+        PromotePawnResponse promotePawnResponse = reactiveChessGameService.promotePawn(new ChessCoordinate("a8"),
+                Chessman.QUEEN, GAME_ID).block(TIMEOUT);
+
+        assertEquals(ChessmanMovementStatus.SUCCESS, promotePawnResponse.getStatus());
+        assertEquals(List.of("a8quw"), promotePawnResponse.getDelta().getChanges());
+        ChessboardResponse chessboardResponse = reactiveChessGameService.getChessGame(GAME_ID).block(TIMEOUT);
+        assertEquals(2L, chessboardResponse.getVersion());
+        assertEquals(Color.BLACK, chessboardResponse.getColorOfPlayer());
+    }
+
+    @Test
+    void shouldFailAtMovingChessmanChangedByConcurrentMove() {
+        // Both moves load the game before either of them saves it
+        CountDownLatch bothLoaded = new CountDownLatch(2);
+        reactiveChessGameRepository = new InMemoryReactiveChessGameRepository() {
+            @Override
+            public Mono<ChessGame> findByGameId(String gameId) {
+                return super.findByGameId(gameId).doOnNext(chessGame -> {
+                    bothLoaded.countDown();
+                    awaitQuietly(bothLoaded);
+                });
+            }
+        };
+        reactiveChessGameService = createService();
+        saveChessGame("a2paw,e1kiw,e8kib", Color.WHITE);
+
+        List<Signal<MoveChessmanResponse>> signals = Flux.merge(
+                        moveConcurrently(new ChessCoordinate("a3")), moveConcurrently(new ChessCoordinate("a4")))
+                .collectList().block(TIMEOUT);
+
+        assertEquals(1, signals.stream().filter(Signal::isOnNext).count());
+        ServiceException exception = (ServiceException) signals.stream().filter(Signal::isOnError)
+                .findFirst().orElseThrow().getThrowable();
+        assertEquals("Game ID 1ji7a2xo1aqev was changed by a concurrent move", exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        assertEquals(1L, reactiveChessGameService.getChessGame(GAME_ID).block(TIMEOUT).getVersion());
+        assertEquals(1, meterRegistry.get("chessserver.move.outcomes").tag("status", "success").counter().count());
+    }
+
+    @Test
+    void shouldCompleteWaiterOnceChessmanIsMoved() throws Exception {
+        saveChessGame("a2paw,e1kiw,e8kib", Color.WHITE);
+
+        CompletableFuture<ChessboardResponse> change = reactiveChessGameService.awaitChange(GAME_ID, 0).toFuture();
+        assertFalse(change.isDone());
+
+        reactiveChessGameService.moveChessman(new ChessCoordinate("a2"), new ChessCoordinate("a3"), GAME_ID)
+                .block(TIMEOUT);
+
+        assertEquals(1L, change.get().getVersion());
+    }
+
+    @Test
+    void shouldCompleteWaiterAtOnceIfVersionDiffers() {
+        saveChessGame("a2paw,e1kiw,e8kib", Color.WHITE);
+
+        assertEquals(0L, reactiveChessGameService.awaitChange(GAME_ID, 3).block(TIMEOUT).getVersion());
+    }
+
+    @Test
+    void shouldNotCompleteWaiterWhileVersionIsUnchanged() {
+        saveChessGame("a2paw,e1kiw,e8kib", Color.WHITE);
+
+        assertNull(reactiveChessGameService.awaitChange(GAME_ID, 0)
+                .timeout(Duration.ofMillis(50), Mono.empty()).block(TIMEOUT));
+    }
+
+    private ReactiveChessGameServiceImpl createService() {
+        MoveStageMetrics moveStageMetrics = new MoveStageMetrics(meterRegistry);
+        return new ReactiveChessGameServiceImpl(reactiveChessGameRepository,
+                new ChessGamePlayServiceImpl(chessmanMovementValidatorService, moveStageMetrics), moveStageMetrics);
+    }
+
+    private Flux<Signal<MoveChessmanResponse>> moveConcurrently(ChessCoordinate coordinateTo) {
+        return reactiveChessGameService.moveChessman(new ChessCoordinate("a2"), coordinateTo, GAME_ID)
+                .subscribeOn(Schedulers.boundedElastic())
+                .materialize()
+                .filter(signal -> !signal.isOnComplete())
+                .flux();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void saveChessGame(String chessboard, Color colorOfPlayer) {
+        ChessGame chessGame = new ChessGame();
+        chessGame.setGameId(GAME_ID);
+        chessGame.setChessboard(chessboard);
+        chessGame.setColorOfPlayer(colorOfPlayer);
+        reactiveChessGameRepository.save(chessGame).block(TIMEOUT);
+    }
+
+}